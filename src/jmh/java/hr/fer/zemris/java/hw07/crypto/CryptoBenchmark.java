@@ -0,0 +1,126 @@
+package hr.fer.zemris.java.hw07.crypto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of file encryption and SHA-256 digest done by {@link Crypto}. </br>
+ * Input is either bundled file ({@code hw06test.bin}, {@code hw06part2.bin}) </br>
+ * or synthetic file of given size generated with fixed seed.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CryptoBenchmark {
+
+	/** key used for encryption, same as in homework examples */
+	private static final String KEY = "a52217e3ee213ef1ffdee3a192e2ac7e";
+	/** initialization vector used for encryption */
+	private static final String IV = "000102030405060708090a0b0c0d0e0f";
+	
+	/** input file: name of bundled resource or size of synthetic file in bytes */
+	@Param({"hw06test.bin", "hw06part2.bin", "1048576", "16777216"})
+	public String input;
+	
+	/** directory with files of benchmark */
+	private Path directory;
+	/** file that is encrypted and digested */
+	private Path source;
+	/** file to which encrypted content is written */
+	private Path destination;
+	/** key of cipher */
+	private SecretKeySpec keySpec;
+	/** initialization vector of cipher */
+	private IvParameterSpec ivSpec;
+	
+	/**
+	 * Method prepares input file.
+	 * 
+	 * @throws IOException if file could not be created
+	 */
+	@Setup
+	public void setup() throws IOException {
+		directory = Files.createTempDirectory("crypto-benchmark");
+		source = directory.resolve("source.bin");
+		destination = directory.resolve("destination.bin");
+		
+		if (input.endsWith(".bin")) {
+			try (InputStream is = CryptoBenchmark.class.getResourceAsStream("/" + input)) {
+				if (is == null)
+					throw new IOException("Missing resource " + input);
+				Files.copy(is, source, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} else {
+			byte[] data = new byte[Integer.parseInt(input)];
+			new Random(42).nextBytes(data);
+			Files.write(source, data);
+		}
+		keySpec = new SecretKeySpec(Util.hextobyte(KEY), "AES");
+		ivSpec = new IvParameterSpec(Util.hextobyte(IV));
+	}
+	
+	/**
+	 * Method deletes files of benchmark.
+	 * 
+	 * @throws IOException if files could not be deleted
+	 */
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(source);
+		Files.deleteIfExists(destination);
+		Files.deleteIfExists(directory);
+	}
+	
+	/**
+	 * Benchmark of AES encryption of whole file.
+	 * 
+	 * @throws Exception if encryption fails
+	 */
+	@Benchmark
+	public void encrypt() throws Exception {
+		Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+		cipher.init(Cipher.ENCRYPT_MODE, keySpec, ivSpec);
+		Crypto.cryptFile(source, destination, cipher, true);
+	}
+	
+	/**
+	 * Benchmark of SHA-256 digest of whole file.
+	 * 
+	 * @return digest
+	 * @throws Exception if digest fails
+	 */
+	@Benchmark
+	public byte[] digest() throws Exception {
+		return Crypto.digestFile(source, "SHA-256");
+	}
+	
+}
@@ -0,0 +1,72 @@
+package hr.fer.zemris.java.hw07.crypto;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link Util#bytesToHex(byte[])} and {@link Util#hextobyte(String)}.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilBenchmark {
+
+	/** number of bytes that are converted */
+	@Param({"16", "32", "4096"})
+	public int size;
+	
+	/** bytes that are converted to hex */
+	private byte[] bytes;
+	/** hex text that is converted to bytes */
+	private String hex;
+	
+	/**
+	 * Method generates data with fixed seed.
+	 */
+	@Setup
+	public void setup() {
+		bytes = new byte[size];
+		new Random(42).nextBytes(bytes);
+		hex = Util.bytesToHex(bytes);
+	}
+	
+	/**
+	 * Benchmark of conversion of bytes to hex text.
+	 * 
+	 * @return hex text
+	 */
+	@Benchmark
+	public String bytesToHex() {
+		return Util.bytesToHex(bytes);
+	}
+	
+	/**
+	 * Benchmark of conversion of hex text to bytes.
+	 * 
+	 * @return bytes
+	 */
+	@Benchmark
+	public byte[] hextobyte() {
+		return Util.hextobyte(hex);
+	}
+	
+}
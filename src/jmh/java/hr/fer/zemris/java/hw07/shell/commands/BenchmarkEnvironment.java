@@ -0,0 +1,66 @@
+package hr.fer.zemris.java.hw07.shell.commands;
+
+import java.nio.file.Path;
+import java.util.TreeMap;
+
+import hr.fer.zemris.java.hw07.shell.ShellIOException;
+import hr.fer.zemris.java.hw07.shell.environment.AbstractEnvironment;
+
+/**
+ * Environment used by command benchmarks. </br>
+ * Output is only counted, so benchmarks measure commands and not the console, </br>
+ * and every question of command is answered with {@code y}.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+class BenchmarkEnvironment extends AbstractEnvironment {
+
+	/** number of written characters */
+	private long written;
+	
+	/**
+	 * Constructor that creates new {@code BenchmarkEnvironment} object.
+	 * 
+	 * @param currentDirectory current directory of environment
+	 */
+	public BenchmarkEnvironment(Path currentDirectory) {
+		super(new TreeMap<>());
+		setCurrentDirectory(currentDirectory);
+	}
+	
+	/**
+	 * Method returns number of written characters.
+	 * 
+	 * @return written characters
+	 */
+	public long getWritten() {
+		return written;
+	}
+
+	@Override
+	public String readLine() throws ShellIOException {
+		return "y";
+	}
+
+	@Override
+	public boolean hasPipedInput() {
+		return false;
+	}
+
+	@Override
+	public void write(String text) throws ShellIOException {
+		written += text.length();
+	}
+
+	@Override
+	public void writeln(String text) throws ShellIOException {
+		written += text.length() + 1;
+	}
+
+	@Override
+	public void flush() throws ShellIOException {
+	}
+	
+}
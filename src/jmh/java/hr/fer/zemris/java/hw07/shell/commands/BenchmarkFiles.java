@@ -0,0 +1,75 @@
+package hr.fer.zemris.java.hw07.shell.commands;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Random;
+
+/**
+ * Helper methods that create and delete files used by command benchmarks. </br>
+ * All content is generated with fixed seed, so every run works on the same data.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+final class BenchmarkFiles {
+
+	/** seed of generated content */
+	public static final long SEED = 42;
+	
+	/**
+	 * Private constructor, class only has static methods.
+	 */
+	private BenchmarkFiles() {
+	}
+	
+	/**
+	 * Method creates file with given size and random content.
+	 * 
+	 * @param file path of file
+	 * @param size size of file in bytes
+	 * @param text {@code true} if content should be lines of printable characters
+	 * @throws IOException if file could not be written
+	 */
+	public static void createFile(Path file, int size, boolean text) throws IOException {
+		Random random = new Random(SEED);
+		byte[] data = new byte[size];
+		if (text) {
+			for (int i = 0; i < size; i++) {
+				data[i] = (i % 80 == 79) ? (byte) '\n' : (byte) ('a' + random.nextInt(26));
+			}
+		} else {
+			random.nextBytes(data);
+		}
+		Files.write(file, data);
+	}
+	
+	/**
+	 * Method deletes given file or directory tree if it exists.
+	 * 
+	 * @param root file or root of tree
+	 * @throws IOException if tree could not be deleted
+	 */
+	public static void delete(Path root) throws IOException {
+		if (!Files.exists(root))
+			return;
+		Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				Files.delete(file);
+				return FileVisitResult.CONTINUE;
+			}
+			
+			@Override
+			public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+				Files.delete(dir);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+	
+}
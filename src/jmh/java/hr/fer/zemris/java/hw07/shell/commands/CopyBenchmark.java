@@ -0,0 +1,86 @@
+package hr.fer.zemris.java.hw07.shell.commands;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link CopyCommand} on text and binary files. </br>
+ * Destination already exists after first invocation, so question </br>
+ * about overwriting is answered by {@link BenchmarkEnvironment}.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CopyBenchmark {
+
+	/** size of copied file in bytes */
+	@Param({"4096", "1048576", "16777216"})
+	public int size;
+	
+	/** flag that tells whether copied file contains text or random bytes */
+	@Param({"true", "false"})
+	public boolean text;
+	
+	/** directory with files of benchmark */
+	private Path directory;
+	/** command that is measured */
+	private CopyCommand command = new CopyCommand();
+	/** environment of command */
+	private BenchmarkEnvironment env;
+	
+	/**
+	 * Method creates copied file.
+	 * 
+	 * @throws IOException if file could not be created
+	 */
+	@Setup
+	public void setup() throws IOException {
+		directory = Files.createTempDirectory("copy-benchmark");
+		BenchmarkFiles.createFile(directory.resolve("source.bin"), size, text);
+		env = new BenchmarkEnvironment(directory);
+	}
+	
+	/**
+	 * Method deletes files of benchmark.
+	 * 
+	 * @throws IOException if files could not be deleted
+	 */
+	@TearDown
+	public void tearDown() throws IOException {
+		BenchmarkFiles.delete(directory);
+	}
+	
+	/**
+	 * Benchmark of copying whole file.
+	 * 
+	 * @return number of characters written so far
+	 */
+	@Benchmark
+	public long copy() {
+		command.executeCommand(env, "source.bin destination.bin");
+		return env.getWritten();
+	}
+	
+}
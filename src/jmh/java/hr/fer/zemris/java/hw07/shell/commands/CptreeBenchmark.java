@@ -0,0 +1,95 @@
+package hr.fer.zemris.java.hw07.shell.commands;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hr.fer.zemris.java.hw07.shell.workload.WorkloadGenerator;
+import hr.fer.zemris.java.hw07.shell.workload.WorkloadProfile;
+
+/**
+ * Benchmark of {@link CptreeCommand} on tree built by {@link WorkloadGenerator}. </br>
+ * Copy is deleted before every invocation, which is not measured.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class CptreeBenchmark {
+
+	/** profile of copied tree */
+	@Param({"SMALL", "DEEP", "HUGE"})
+	public WorkloadProfile profile;
+	
+	/** directory with files of benchmark */
+	private Path directory;
+	/** command that is measured */
+	private CptreeCommand command = new CptreeCommand();
+	/** environment of command */
+	private BenchmarkEnvironment env;
+	
+	/**
+	 * Method creates source tree.
+	 * 
+	 * @throws IOException if tree could not be created
+	 */
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		directory = Files.createTempDirectory("cptree-benchmark");
+		new WorkloadGenerator(BenchmarkFiles.SEED, profile).generate(directory.resolve("source"));
+		env = new BenchmarkEnvironment(directory);
+	}
+	
+	/**
+	 * Method deletes copy made by previous invocation.
+	 * 
+	 * @throws IOException if copy could not be deleted
+	 */
+	@Setup(Level.Invocation)
+	public void deleteCopy() throws IOException {
+		BenchmarkFiles.delete(directory.resolve("copy"));
+	}
+	
+	/**
+	 * Method deletes files of benchmark.
+	 * 
+	 * @throws IOException if files could not be deleted
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		BenchmarkFiles.delete(directory);
+	}
+	
+	/**
+	 * Benchmark of copying whole tree.
+	 * 
+	 * @return number of characters written so far
+	 */
+	@Benchmark
+	public long cptree() {
+		command.executeCommand(env, "source copy");
+		return env.getWritten();
+	}
+	
+}
@@ -0,0 +1,80 @@
+package hr.fer.zemris.java.hw07.shell.commands;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link HexdumbCommand}, which is dominated by formatting of rows.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HexdumbBenchmark {
+
+	/** size of dumped file in bytes */
+	@Param({"4096", "1048576"})
+	public int size;
+	
+	/** directory with files of benchmark */
+	private Path directory;
+	/** command that is measured */
+	private HexdumbCommand command = new HexdumbCommand();
+	/** environment of command */
+	private BenchmarkEnvironment env;
+	
+	/**
+	 * Method creates dumped file.
+	 * 
+	 * @throws IOException if file could not be created
+	 */
+	@Setup
+	public void setup() throws IOException {
+		directory = Files.createTempDirectory("hexdumb-benchmark");
+		BenchmarkFiles.createFile(directory.resolve("data.bin"), size, false);
+		env = new BenchmarkEnvironment(directory);
+	}
+	
+	/**
+	 * Method deletes files of benchmark.
+	 * 
+	 * @throws IOException if files could not be deleted
+	 */
+	@TearDown
+	public void tearDown() throws IOException {
+		BenchmarkFiles.delete(directory);
+	}
+	
+	/**
+	 * Benchmark of dumping whole file.
+	 * 
+	 * @return number of characters written so far
+	 */
+	@Benchmark
+	public long hexdumb() {
+		command.executeCommand(env, "data.bin");
+		return env.getWritten();
+	}
+	
+}
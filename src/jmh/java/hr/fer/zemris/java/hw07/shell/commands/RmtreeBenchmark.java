@@ -0,0 +1,96 @@
+package hr.fer.zemris.java.hw07.shell.commands;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hr.fer.zemris.java.hw07.shell.workload.WorkloadGenerator;
+import hr.fer.zemris.java.hw07.shell.workload.WorkloadProfile;
+
+/**
+ * Benchmark of {@link RmtreeCommand}. </br>
+ * Tree is generated again before every invocation, which is not measured.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RmtreeBenchmark {
+
+	/** profile of deleted tree */
+	@Param({"SMALL", "DEEP", "MIXED"})
+	public WorkloadProfile profile;
+	
+	/** directory with files of benchmark */
+	private Path directory;
+	/** command that is measured */
+	private RmtreeCommand command = new RmtreeCommand();
+	/** environment of command */
+	private BenchmarkEnvironment env;
+	
+	/**
+	 * Method creates directory of benchmark.
+	 * 
+	 * @throws IOException if directory could not be created
+	 */
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		directory = Files.createTempDirectory("rmtree-benchmark");
+		env = new BenchmarkEnvironment(directory);
+	}
+	
+	/**
+	 * Method generates tree that is deleted.
+	 * 
+	 * @throws IOException if tree could not be generated
+	 */
+	@Setup(Level.Invocation)
+	public void generate() throws IOException {
+		Path root = directory.resolve("tree");
+		BenchmarkFiles.delete(root);
+		new WorkloadGenerator(BenchmarkFiles.SEED, profile).generate(root);
+	}
+	
+	/**
+	 * Method deletes files of benchmark.
+	 * 
+	 * @throws IOException if files could not be deleted
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		BenchmarkFiles.delete(directory);
+	}
+	
+	/**
+	 * Benchmark of deleting whole tree.
+	 * 
+	 * @return number of characters written so far
+	 */
+	@Benchmark
+	public long rmtree() {
+		command.executeCommand(env, "tree");
+		return env.getWritten();
+	}
+	
+}
@@ -0,0 +1,110 @@
+package hr.fer.zemris.java.hw07.shell.commands;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hr.fer.zemris.java.hw07.shell.workload.WorkloadGenerator;
+import hr.fer.zemris.java.hw07.shell.workload.WorkloadProfile;
+
+/**
+ * Benchmark of commands that only read tree built by {@link WorkloadGenerator}: </br>
+ * {@code tree} on whole tree, {@code ls} and {@code massrename filter} on its root.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TreeWalkBenchmark {
+
+	/** profile of walked tree */
+	@Param({"SMALL", "DEEP", "MIXED"})
+	public WorkloadProfile profile;
+	
+	/** directory with files of benchmark */
+	private Path directory;
+	/** environment of commands */
+	private BenchmarkEnvironment env;
+	/** tree command */
+	private TreeCommand tree = new TreeCommand();
+	/** ls command */
+	private LsCommand ls = new LsCommand();
+	/** massrename command */
+	private MassrenameCommand massrename = new MassrenameCommand();
+	
+	/**
+	 * Method generates walked tree.
+	 * 
+	 * @throws IOException if tree could not be generated
+	 */
+	@Setup
+	public void setup() throws IOException {
+		directory = Files.createTempDirectory("tree-benchmark");
+		new WorkloadGenerator(BenchmarkFiles.SEED, profile).generate(directory.resolve("tree"));
+		env = new BenchmarkEnvironment(directory);
+	}
+	
+	/**
+	 * Method deletes files of benchmark.
+	 * 
+	 * @throws IOException if files could not be deleted
+	 */
+	@TearDown
+	public void tearDown() throws IOException {
+		BenchmarkFiles.delete(directory);
+	}
+	
+	/**
+	 * Benchmark of tree command.
+	 * 
+	 * @return number of characters written so far
+	 */
+	@Benchmark
+	public long tree() {
+		tree.executeCommand(env, "tree");
+		return env.getWritten();
+	}
+	
+	/**
+	 * Benchmark of ls command.
+	 * 
+	 * @return number of characters written so far
+	 */
+	@Benchmark
+	public long ls() {
+		ls.executeCommand(env, "tree");
+		return env.getWritten();
+	}
+	
+	/**
+	 * Benchmark of massrename command with filter action.
+	 * 
+	 * @return number of characters written so far
+	 */
+	@Benchmark
+	public long massrenameFilter() {
+		massrename.executeCommand(env, "tree tree filter slika(\\d+)-([a-z]+)\\.jpg");
+		return env.getWritten();
+	}
+	
+}
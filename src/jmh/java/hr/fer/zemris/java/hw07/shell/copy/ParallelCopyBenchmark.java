@@ -0,0 +1,114 @@
+package hr.fer.zemris.java.hw07.shell.copy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link CopyEngine} that copies single large file with different number of workers. </br>
+ * One worker is plain sequential transfer. Gain of more workers depends on storage: </br>
+ * it grows with queue depth of NVMe and striped disks and is small when file is served </br>
+ * from page cache or from single rotational disk. Results are meaningful only if directory </br>
+ * given by system property {@code java.io.tmpdir} is on storage that is measured.
+ *
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelCopyBenchmark {
+
+	/** size of block in which source is written */
+	private static final int BLOCK_SIZE = 1 << 20;
+
+	/** size of copied file in megabytes */
+	@Param({"256", "1024"})
+	public int megabytes;
+
+	/** number of workers */
+	@Param({"1", "2", "4", "8"})
+	public int workers;
+
+	/** size of chunk in megabytes */
+	@Param({"16"})
+	public int chunkMegabytes;
+
+	/** directory with files of benchmark */
+	private Path directory;
+	/** copied file */
+	private Path source;
+	/** destination of copy */
+	private Path destination;
+	/** engine that is measured */
+	private CopyEngine engine;
+
+	/**
+	 * Method creates copied file with random content.
+	 *
+	 * @throws IOException if file could not be created
+	 */
+	@Setup
+	public void setup() throws IOException {
+		directory = Files.createTempDirectory("parallel-copy-benchmark");
+		source = directory.resolve("source.bin");
+		destination = directory.resolve("destination.bin");
+		Random random = new Random(42);
+		byte[] block = new byte[BLOCK_SIZE];
+		try (OutputStream os = Files.newOutputStream(source)) {
+			for (int i = 0; i < megabytes; i++) {
+				random.nextBytes(block);
+				os.write(block);
+			}
+		}
+
+		CopyOptions options = new CopyOptions();
+		options.setWorkers(workers);
+		options.setChunkSize((long) chunkMegabytes << 20);
+		engine = new CopyEngine(options);
+	}
+
+	/**
+	 * Method deletes files of benchmark.
+	 *
+	 * @throws IOException if files could not be deleted
+	 */
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(source);
+		Files.deleteIfExists(destination);
+		Files.deleteIfExists(directory);
+	}
+
+	/**
+	 * Benchmark of copying whole file.
+	 *
+	 * @return number of copied bytes
+	 * @throws IOException if copy failed
+	 */
+	@Benchmark
+	public long copy() throws IOException {
+		return engine.copy(source, destination).getBytesWritten();
+	}
+
+}
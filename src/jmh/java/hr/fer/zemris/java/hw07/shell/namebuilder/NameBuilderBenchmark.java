@@ -0,0 +1,138 @@
+package hr.fer.zemris.java.hw07.shell.namebuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link NameBuilderParser} and {@link NameBuilder#execute(NameBuilderInfo)} </br>
+ * on expressions used by {@code massrename} command.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameBuilderBenchmark {
+
+	/** 
+	 * Expressions that build new name, benchmark parameter is index in this array </br>
+	 * because JMH splits parameter values given on command line by commas.
+	 */
+	private static final String[] EXPRESSIONS = {
+			"gradovi-${2}-${1,03}.jpg", 
+			"${1}${2}${3}${1,05}-${2,010}-${3}-copy-${1}.${3}"
+	};
+	
+	/** index of expression in {@link #EXPRESSIONS} */
+	@Param({"0", "1"})
+	public int expressionIndex;
+	
+	/** expression that builds new name */
+	private String expression;
+	/** pattern that selects groups of file name */
+	private static final Pattern pattern = Pattern.compile("slika(\\d+)-([^.]+)\\.(jpg)");
+	/** matched file name */
+	private Matcher matcher;
+	/** builder parsed from expression */
+	private NameBuilder builder;
+	
+	/**
+	 * Method prepares matcher and parsed builder.
+	 */
+	@Setup
+	public void setup() {
+		expression = EXPRESSIONS[expressionIndex];
+		matcher = pattern.matcher("slika12-zagreb.jpg");
+		if (!matcher.matches())
+			throw new IllegalStateException("Benchmark file name does not match pattern.");
+		builder = new NameBuilderParser(expression).getNameBuilder();
+	}
+	
+	/**
+	 * Benchmark of parsing expression.
+	 * 
+	 * @return parsed builder
+	 */
+	@Benchmark
+	public NameBuilder parse() {
+		return new NameBuilderParser(expression).getNameBuilder();
+	}
+	
+	/**
+	 * Benchmark of building name with already parsed builder.
+	 * 
+	 * @return built name
+	 */
+	@Benchmark
+	public String execute() {
+		MatcherInfo info = new MatcherInfo(matcher);
+		builder.execute(info);
+		return info.sb.toString();
+	}
+	
+	/**
+	 * Benchmark of parsing expression and building name.
+	 * 
+	 * @return built name
+	 */
+	@Benchmark
+	public String parseAndExecute() {
+		MatcherInfo info = new MatcherInfo(matcher);
+		new NameBuilderParser(expression).getNameBuilder().execute(info);
+		return info.sb.toString();
+	}
+	
+	/**
+	 * {@link NameBuilderInfo} that takes groups from matcher, same as the one used by {@code massrename}.
+	 * 
+	 * @author Ante Gazibarić
+	 * @version 1.0
+	 *
+	 */
+	private static class MatcherInfo implements NameBuilderInfo {
+		
+		/** builder of name */
+		private final StringBuilder sb = new StringBuilder();
+		/** matcher of file name */
+		private final Matcher matcher;
+		
+		/**
+		 * Constructor that creates new {@code MatcherInfo} object.
+		 * 
+		 * @param matcher {@link #matcher}
+		 */
+		public MatcherInfo(Matcher matcher) {
+			this.matcher = matcher;
+		}
+
+		@Override
+		public StringBuilder getStringBuilder() {
+			return sb;
+		}
+
+		@Override
+		public String getGroup(int index) {
+			return matcher.group(index);
+		}
+		
+	}
+	
+}
@@ -0,0 +1,82 @@
+package hr.fer.zemris.java.hw07.shell.parser;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of single long quoted argument full of escape sequences, </br>
+ * like patterns passed to {@code massrename}. </br>
+ * Time divided by {@link #length} should stay the same for every length, </br>
+ * which shows that parsing is linear in size of input.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LongArgumentBenchmark {
+
+	/** approximate length of argument in characters */
+	@Param({"1024", "16384", "262144"})
+	public int length;
+	
+	/** line with single quoted argument */
+	private String line;
+	
+	/**
+	 * Method generates argument, every eighth character is escaped.
+	 */
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		StringBuilder sb = new StringBuilder(length + 16);
+		sb.append("\"");
+		for (int i = 0; i < length; i++) {
+			if (i % 8 == 7) {
+				sb.append(random.nextBoolean() ? "\\\\" : "\\\"");
+			} else {
+				sb.append((char) ('a' + random.nextInt(26)));
+			}
+		}
+		sb.append("\" destination");
+		line = sb.toString();
+	}
+	
+	/**
+	 * Benchmark of parsing line with escaping.
+	 * 
+	 * @return parsed arguments
+	 */
+	@Benchmark
+	public String[] withEscaping() {
+		return new ShellParser(line, true).getArguments();
+	}
+	
+	/**
+	 * Benchmark of parsing line without escaping.
+	 * 
+	 * @return parsed arguments
+	 */
+	@Benchmark
+	public String[] noEscaping() {
+		return new ShellParser(line, false).getArguments();
+	}
+	
+}
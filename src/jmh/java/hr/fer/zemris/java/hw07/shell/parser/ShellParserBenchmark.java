@@ -0,0 +1,104 @@
+package hr.fer.zemris.java.hw07.shell.parser;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import hr.fer.zemris.java.hw07.shell.lexer.LexerState;
+import hr.fer.zemris.java.hw07.shell.lexer.ShellLexer;
+import hr.fer.zemris.java.hw07.shell.lexer.TokenType;
+
+/**
+ * Benchmark of {@link ShellLexer} and {@link ShellParser} on long argument lines. </br>
+ * Lines are generated with fixed seed, so every run parses the same input.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShellParserBenchmark {
+
+	/** number of arguments in line */
+	@Param({"4", "64", "1024"})
+	public int arguments;
+	
+	/** percentage of arguments that are quoted and contain escapes */
+	@Param({"0", "50"})
+	public int quotedPercent;
+	
+	/** line that is parsed */
+	private String line;
+	
+	/**
+	 * Method generates line that is parsed.
+	 */
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < arguments; i++) {
+			if (i > 0)
+				sb.append(random.nextBoolean() ? " " : " \t ");
+			String word = "dir" + i + "/file-" + random.nextInt(100_000) + ".txt";
+			if (random.nextInt(100) < quotedPercent) {
+				sb.append("\"C:\\\\Program Files\\\\").append(word).append(" \\\"x\\\"\"");
+			} else {
+				sb.append(word);
+			}
+		}
+		line = sb.toString();
+	}
+	
+	/**
+	 * Benchmark of lexer alone.
+	 * 
+	 * @param bh black hole that consumes tokens
+	 */
+	@Benchmark
+	public void lexer(Blackhole bh) {
+		ShellLexer lexer = new ShellLexer(line);
+		lexer.setLexerState(LexerState.WITH_ESCAPING);
+		while (lexer.nextToken().getType() != TokenType.EOF) {
+			bh.consume(lexer.getToken().getValue());
+		}
+	}
+	
+	/**
+	 * Benchmark of parser.
+	 * 
+	 * @return parsed inputs
+	 */
+	@Benchmark
+	public Object parser() {
+		return new ShellParser(line, true).getInputs();
+	}
+	
+	/**
+	 * Benchmark of {@link ShellParser#getArguments()} which every command uses.
+	 * 
+	 * @return parsed arguments
+	 */
+	@Benchmark
+	public String[] getArguments() {
+		return new ShellParser(line, true).getArguments();
+	}
+	
+}
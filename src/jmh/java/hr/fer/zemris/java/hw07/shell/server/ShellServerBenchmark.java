@@ -0,0 +1,180 @@
+package hr.fer.zemris.java.hw07.shell.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of throughput of {@link ShellServer}. </br>
+ * Every invocation connects given number of clients concurrently, each client sends </br>
+ * given number of commands and reads output of its session until session ends. </br>
+ * Throughput in commands per second is number of clients times number of commands </br>
+ * divided by average time of invocation.
+ *
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShellServerBenchmark {
+
+	/** number of clients */
+	@Param({"1", "8"})
+	public int clients;
+
+	/** number of commands that every client sends */
+	@Param({"1000"})
+	public int commands;
+
+	/** command that is sent */
+	@Param({"pwd"})
+	public String command;
+
+	/** directory with token file */
+	private Path directory;
+	/** server that is measured */
+	private ShellServer server;
+	/** executor that runs clients */
+	private ExecutorService executor;
+
+	/**
+	 * Method starts server.
+	 *
+	 * @throws IOException if server could not be started
+	 */
+	@Setup
+	public void setup() throws IOException {
+		directory = Files.createTempDirectory("shell-server-benchmark");
+		server = new ShellServer(0, directory.resolve("token"));
+		server.start();
+		executor = Executors.newFixedThreadPool(clients);
+	}
+
+	/**
+	 * Method stops server.
+	 *
+	 * @throws IOException if server could not be stopped
+	 */
+	@TearDown
+	public void tearDown() throws IOException {
+		executor.shutdown();
+		server.close();
+		Files.deleteIfExists(directory);
+	}
+
+	/**
+	 * Benchmark of clients that send commands concurrently.
+	 *
+	 * @return total number of sent commands
+	 * @throws ExecutionException   if any client fails
+	 * @throws InterruptedException if waiting is interrupted
+	 */
+	@Benchmark
+	public long sessions() throws ExecutionException, InterruptedException {
+		List<Future<Integer>> futures = new ArrayList<>();
+		for (int i = 0; i < clients; i++) {
+			futures.add(executor.submit(new Client(server.getPort(), server.getTokenFile(), commands, command)));
+		}
+		long total = 0;
+		for (Future<Integer> future : futures) {
+			total += future.get();
+		}
+		return total;
+	}
+
+	/**
+	 * Client that sends commands and reads output of session until session ends.
+	 *
+	 * @author Ante Gazibarić
+	 * @version 1.0
+	 *
+	 */
+	private static class Client implements Callable<Integer> {
+
+		/** port of server */
+		private int port;
+		/** token file of server */
+		private Path tokenFile;
+		/** number of commands that are sent */
+		private int commands;
+		/** command that is sent */
+		private String command;
+
+		/**
+		 * Constructor that creates new {@link Client} object.
+		 *
+		 * @param port      {@link #port}
+		 * @param tokenFile {@link #tokenFile}
+		 * @param commands  {@link #commands}
+		 * @param command   {@link #command}
+		 */
+		public Client(int port, Path tokenFile, int commands, String command) {
+			this.port = port;
+			this.tokenFile = tokenFile;
+			this.commands = commands;
+			this.command = command;
+		}
+
+		@Override
+		public Integer call() throws IOException, InterruptedException {
+			try (Socket socket = ShellClient.connect(port, tokenFile)) {
+				Thread sender = new Thread(() -> {
+					try {
+						Writer writer = new OutputStreamWriter(socket.getOutputStream(), ShellServer.CHARSET);
+						for (int i = 0; i < commands; i++) {
+							writer.write(command);
+							writer.write('\n');
+						}
+						writer.write("exit\n");
+						writer.flush();
+					} catch (IOException ex) {
+						System.err.println("Client failed to send commands: " + ex.getMessage());
+					}
+				});
+				sender.start();
+
+				BufferedReader reader = new BufferedReader(
+						new InputStreamReader(socket.getInputStream(), ShellServer.CHARSET));
+				char[] buff = new char[8192];
+				while (reader.read(buff) > 0) {
+					// output is discarded
+				}
+				sender.join();
+			}
+			return commands;
+		}
+
+	}
+
+}
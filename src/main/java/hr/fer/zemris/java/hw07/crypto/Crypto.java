@@ -22,6 +22,9 @@ import javax.crypto.NoSuchPaddingException;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 
+import hr.fer.zemris.java.hw07.jfr.CipherChunkEvent;
+import hr.fer.zemris.java.hw07.jfr.DigestChunkEvent;
+
 /**
  * Program allows user to calculate and check SHA-256 file digest </br>
  * or to encrypt or decrypt given file using AES crypto-algorithm. </p>
@@ -149,29 +152,8 @@ public class Crypto {
 			Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
 			cipher.init(toEncrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE, keySpec, paramSpec);
 			
-			Path sourcePath = Paths.get(sourceFile);
-			Path destinationPath = Paths.get(destinationFile);
-			
-			try (
-				InputStream is = new BufferedInputStream(
-						Files.newInputStream(sourcePath, 
-								StandardOpenOption.READ));
-				OutputStream os = new BufferedOutputStream(
-						Files.newOutputStream(destinationPath, 
-								StandardOpenOption.WRITE, 
-								StandardOpenOption.TRUNCATE_EXISTING, 
-								StandardOpenOption.CREATE))) {
-				
-				byte[] buff = new byte[1024];
-				while (true) {
-					int r = is.read(buff);
-					if (r < 1) break;
-					byte[] byteArray = cipher.update(buff, 0, r);
-					os.write(byteArray, 0, byteArray.length);
-				}
-				os.write(cipher.doFinal());
-			}
-	
+			cryptFile(Paths.get(sourceFile), Paths.get(destinationFile), cipher, toEncrypt);
+
 			System.out.format(cryptionMessageFormat,
 					toEncrypt ? "Encryption" : "Decryption", destinationFile, sourceFile);
 			
@@ -182,6 +164,52 @@ public class Crypto {
 		
 	}
 	
+	/**
+	 * Method passes content of {@code sourcePath} through given initialized cipher
+	 * and writes the result to {@code destinationPath}.
+	 * 
+	 * @param sourcePath      file that is encrypted or decrypted
+	 * @param destinationPath resulting file
+	 * @param cipher          initialized cipher
+	 * @param toEncrypt       flag that tells whether cipher encrypts, used only for reporting
+	 * @throws IOException    if file failed to open
+	 * @throws IllegalBlockSizeException if input of cipher is not valid
+	 * @throws BadPaddingException       if padding of decrypted data is not valid
+	 */
+	static void cryptFile(Path sourcePath, Path destinationPath, Cipher cipher, boolean toEncrypt) 
+			throws IOException, IllegalBlockSizeException, BadPaddingException {
+		try (
+			InputStream is = new BufferedInputStream(
+					Files.newInputStream(sourcePath, 
+							StandardOpenOption.READ));
+			OutputStream os = new BufferedOutputStream(
+					Files.newOutputStream(destinationPath, 
+							StandardOpenOption.WRITE, 
+							StandardOpenOption.TRUNCATE_EXISTING, 
+							StandardOpenOption.CREATE))) {
+			
+			byte[] buff = new byte[1024];
+			long offset = 0;
+			while (true) {
+				int r = is.read(buff);
+				if (r < 1) break;
+				CipherChunkEvent event = new CipherChunkEvent();
+				event.begin();
+				byte[] byteArray = cipher.update(buff, 0, r);
+				os.write(byteArray, 0, byteArray.length);
+				if (event.shouldCommit()) {
+					event.file = sourcePath.toString();
+					event.encrypt = toEncrypt;
+					event.offset = offset;
+					event.bytes = r;
+					event.commit();
+				}
+				offset += r;
+			}
+			os.write(cipher.doFinal());
+		}
+	}
+	
 	/**
 	 * Method gets input from user by using given {@code Scanner}.
 	 * 
@@ -208,15 +236,26 @@ public class Crypto {
 	 * @throws IOException 				if file failed to open
 	 * @throws NoSuchAlgorithmException if given algorithm is unsupported
 	 */
-	private static byte[] digestFile(Path path, String shaAlgorithm) throws IOException, NoSuchAlgorithmException {
+	static byte[] digestFile(Path path, String shaAlgorithm) throws IOException, NoSuchAlgorithmException {
 		MessageDigest mDigest = MessageDigest.getInstance(shaAlgorithm);
 		
 		try (InputStream is = new BufferedInputStream(Files.newInputStream(path, StandardOpenOption.READ))) {
 			byte[] buff = new byte[1024];
+			long offset = 0;
 			while (true) {
 				int r = is.read(buff);
 				if (r < 1) break;
+				DigestChunkEvent event = new DigestChunkEvent();
+				event.begin();
 				mDigest.update(buff, 0, r);
+				if (event.shouldCommit()) {
+					event.file = path.toString();
+					event.algorithm = shaAlgorithm;
+					event.offset = offset;
+					event.bytes = r;
+					event.commit();
+				}
+				offset += r;
 			}
 		} catch (IOException ex) {
 			throw new IOException(ex.getMessage());
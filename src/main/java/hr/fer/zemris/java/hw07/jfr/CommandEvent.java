@@ -0,0 +1,49 @@
+package hr.fer.zemris.java.hw07.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of single shell command execution.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+@Name("hr.fer.zemris.shell.Command")
+@Label("Shell Command")
+@Category({"MyShell", "Command"})
+@Description("Execution of single shell command")
+public class CommandEvent extends Event {
+
+	/** name of command */
+	@Label("Command")
+	public String command;
+	
+	/** arguments of command */
+	@Label("Arguments")
+	public String arguments;
+	
+	/** bytes read by command */
+	@Label("Bytes Read")
+	@DataAmount
+	public long bytesRead;
+	
+	/** bytes written by command */
+	@Label("Bytes Written")
+	@DataAmount
+	public long bytesWritten;
+	
+	/** files touched by command */
+	@Label("Files Touched")
+	public long filesTouched;
+	
+	/** flag that indicates whether command ended with exception or error message */
+	@Label("Failed")
+	public boolean failed;
+	
+}
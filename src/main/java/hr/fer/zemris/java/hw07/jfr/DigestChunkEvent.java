@@ -0,0 +1,45 @@
+package hr.fer.zemris.java.hw07.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event of single chunk passed through message digest. </br>
+ * There is event for every read buffer, so by default only chunks </br>
+ * that took longer than threshold are recorded.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+@Name("hr.fer.zemris.crypto.DigestChunk")
+@Label("Digest Chunk")
+@Category({"MyShell", "Crypto"})
+@Description("Digest of single chunk of file")
+@Threshold("1 ms")
+public class DigestChunkEvent extends Event {
+
+	/** path of file that is digested */
+	@Label("File")
+	public String file;
+	
+	/** name of digest algorithm */
+	@Label("Algorithm")
+	public String algorithm;
+	
+	/** offset of chunk in file */
+	@Label("Offset")
+	@DataAmount
+	public long offset;
+	
+	/** size of chunk */
+	@Label("Bytes")
+	@DataAmount
+	public long bytes;
+	
+}
@@ -0,0 +1,36 @@
+package hr.fer.zemris.java.hw07.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of single file copy.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+@Name("hr.fer.zemris.shell.FileCopy")
+@Label("File Copy")
+@Category({"MyShell", "File"})
+@Description("Copy of single file")
+public class FileCopyEvent extends Event {
+
+	/** path of source file */
+	@Label("Source")
+	public String source;
+	
+	/** path of destination file */
+	@Label("Destination")
+	public String destination;
+	
+	/** number of bytes copied */
+	@Label("Bytes")
+	@DataAmount
+	public long bytes;
+	
+}
@@ -0,0 +1,44 @@
+package hr.fer.zemris.java.hw07.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of walk over directory tree.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+@Name("hr.fer.zemris.shell.TreeWalk")
+@Label("Tree Walk")
+@Category({"MyShell", "File"})
+@Description("Walk over directory tree done by command")
+public class TreeWalkEvent extends Event {
+
+	/** operation done on tree */
+	@Label("Operation")
+	public String operation;
+	
+	/** root of walked tree */
+	@Label("Root")
+	public String root;
+	
+	/** number of visited files */
+	@Label("Files")
+	public long files;
+	
+	/** number of visited directories */
+	@Label("Directories")
+	public long directories;
+	
+	/** number of bytes in visited files */
+	@Label("Bytes")
+	@DataAmount
+	public long bytes;
+	
+}
@@ -0,0 +1,404 @@
+package hr.fer.zemris.java.hw07.shell;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SortedMap;
+
+import hr.fer.zemris.java.hw07.shell.commands.tools.AttributeCache;
+import hr.fer.zemris.java.hw07.shell.commands.tools.CommandTools;
+import hr.fer.zemris.java.hw07.shell.dispatch.Alias;
+import hr.fer.zemris.java.hw07.shell.dispatch.AliasTable;
+import hr.fer.zemris.java.hw07.shell.dispatch.CommandTable;
+import hr.fer.zemris.java.hw07.shell.dispatch.ParseCache;
+import hr.fer.zemris.java.hw07.shell.dispatch.ParsedCommand;
+import hr.fer.zemris.java.hw07.shell.environment.FileEnvironment;
+import hr.fer.zemris.java.hw07.shell.jobs.Job;
+import hr.fer.zemris.java.hw07.shell.jobs.JobManager;
+import hr.fer.zemris.java.hw07.shell.lexer.ShellLexer;
+import hr.fer.zemris.java.hw07.shell.pipeline.Pipeline;
+import hr.fer.zemris.java.hw07.shell.script.Script;
+import hr.fer.zemris.java.hw07.shell.script.ScriptCompiler;
+
+/**
+ * Class that executes single command line in given {@link Environment}. </br>
+ * Besides single command, command line can contain commands connected with {@code |} </br>
+ * operator, redirection of output with {@code >} and {@code >>} operators and </br>
+ * {@code &} at the end which starts command line as background {@link Job}. </br>
+ * Command line that starts with control statement is compiled by {@link ScriptCompiler}. </br>
+ * Command name that is not found among commands is looked up in {@link AliasTable} of session. </p>
+ * 
+ * Commands are resolved through {@link CommandTable} built once from given map of commands </br>
+ * and simple command lines that were already executed are kept parsed in {@link ParseCache}. </br>
+ * Executor has no other state, so it can be shared by any number of sessions.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class CommandLineExecutor {
+
+	/** key under which executor of session is stored in shared data */
+	public static final String SHARED_DATA_KEY = "executor";
+	
+	/** symbol that connects commands in pipeline */
+	private static final char PIPE_SYMBOL = '|';
+	
+	/** symbol that redirects output of command to the file */
+	private static final char REDIRECTION_SYMBOL = '>';
+	
+	/** symbol that runs command in background */
+	private static final char BACKGROUND_SYMBOL = '&';
+	
+	/** maximal number of parsed command lines that are cached */
+	private static final int CACHE_CAPACITY = 256;
+	
+	/** map of supported commands */
+	private SortedMap<String, ShellCommand> commands;
+	/** table used for resolving commands by name */
+	private CommandTable table;
+	/** cache of parsed simple command lines */
+	private ParseCache<ParsedCommand> cache = new ParseCache<>(CACHE_CAPACITY);
+	/** cache of compiled scripts */
+	private ParseCache<Script> scripts = new ParseCache<>(CACHE_CAPACITY);
+	
+	/**
+	 * Constructor that creates new {@code CommandLineExecutor} object.
+	 * 
+	 * @param commands {@link #commands}
+	 * @throws NullPointerException if given map is {@code null}
+	 */
+	public CommandLineExecutor(SortedMap<String, ShellCommand> commands) {
+		this.commands = Objects.requireNonNull(commands, "Commands must not be null");
+		this.table = new CommandTable(commands);
+	}
+	
+	/**
+	 * Method returns executor of session to which given environment belongs. </br>
+	 * If session has no executor, executor of its commands is created.
+	 * 
+	 * @param env environment of session
+	 * @return    executor of session
+	 */
+	public static CommandLineExecutor of(Environment env) {
+		return (CommandLineExecutor) env.computeSharedDataIfAbsent(SHARED_DATA_KEY, k -> new CommandLineExecutor(env.commands()));
+	}
+	
+	/**
+	 * Method returns map of supported commands.
+	 * 
+	 * @return map of commands
+	 */
+	public SortedMap<String, ShellCommand> getCommands() {
+		return commands;
+	}
+	
+	/**
+	 * Method returns cache of parsed command lines.
+	 * 
+	 * @return cache of command lines
+	 */
+	public ParseCache<ParsedCommand> getCache() {
+		return cache;
+	}
+	
+	/**
+	 * Method executes given command line. </br>
+	 * If command line ends with {@link #BACKGROUND_SYMBOL} it is started as background {@link Job}. </br>
+	 * If command line ends with {@link #REDIRECTION_SYMBOL} and file name 
+	 * output of command is written to that file.
+	 * 
+	 * @param env         environment used by commands
+	 * @param commandLine command line that is executed
+	 * @return            {@link ShellStatus} of executed command
+	 * @throws IllegalArgumentException if command line is invalid or if redirection file can not be written
+	 */
+	public ShellStatus execute(Environment env, String commandLine) {
+		ParsedCommand parsed = cache.get(commandLine);
+		if (parsed != null)
+			return parsed.execute(env);
+		
+		if (ScriptCompiler.isScript(commandLine)) {
+			Script script = scripts.get(commandLine);
+			if (script == null) {
+				script = ScriptCompiler.compile(commandLine, this, env);
+				if (!script.usesAliases()) {
+					scripts.put(commandLine, script);
+				}
+			}
+			return script.execute(env);
+		}
+		
+		String expanded = expandAlias(env, commandLine);
+		if (expanded != null)
+			return execute(env, expanded);
+		
+		String trimmed = commandLine.trim();
+		int background = indexOfUnquoted(trimmed, BACKGROUND_SYMBOL, 0);
+		if (background >= 0) {
+			if (background != trimmed.length() - 1)
+				throw new IllegalArgumentException("Invalid command. '" + BACKGROUND_SYMBOL + "' must be at the end of command.");
+			String jobLine = trimmed.substring(0, background).trim();
+			if (jobLine.isEmpty())
+				throw new IllegalArgumentException("Invalid command. Command is missing before '" + BACKGROUND_SYMBOL + "'.");
+			parseCommand(env, jobLine);
+			JobManager jobManager = (JobManager) env.getSharedData(JobManager.SHARED_DATA_KEY);
+			if (jobManager == null)
+				throw new IllegalArgumentException("Background jobs are not supported in this shell.");
+			Job job = jobManager.start(env, jobLine, jobEnv -> execute(jobEnv, jobLine));
+			env.writeln("[" + job.getId() + "] " + jobLine);
+			return ShellStatus.CONTINUE;
+		}
+		
+		int redirection = indexOfUnquoted(commandLine, REDIRECTION_SYMBOL, 0);
+		if (redirection < 0) {
+			List<String> parts = splitPipeline(commandLine);
+			if (parts.size() > 1)
+				return executePipeline(env, parts);
+			parsed = parseCommand(env, commandLine);
+			if (!parsed.isAlias()) {
+				cache.put(commandLine, parsed);
+			}
+			return parsed.execute(env);
+		}
+		
+		boolean append = redirection + 1 < commandLine.length() 
+				&& commandLine.charAt(redirection + 1) == REDIRECTION_SYMBOL;
+		String target = commandLine.substring(append ? redirection + 2 : redirection + 1);
+		String[] targetParts = CommandTools.getArguments(env, target, true);
+		if (targetParts.length != 1)
+			throw new IllegalArgumentException("Invalid redirection. Expected single file at the end of command.");
+		
+		Path file = CommandTools.getResolvedPathFrom(env.getCurrentDirectory(), targetParts[0]);
+		AttributeCache attributes = AttributeCache.of(env);
+		try (FileEnvironment fileEnv = new FileEnvironment(env, file, append)) {
+			attributes.invalidate(file);
+			return executePipeline(fileEnv, splitPipeline(commandLine.substring(0, redirection)));
+		} catch (IOException ex) {
+			throw new IllegalArgumentException("Failed to write to the file " + file);
+		} finally {
+			attributes.invalidate(file);
+		}
+	}
+	
+	/**
+	 * Method executes command line assembled by given {@link InputAssembler}. </br>
+	 * Simple command is dispatched using command name that assembler has already found, </br>
+	 * command line with operators is executed as {@link #execute(Environment, String)} does.
+	 * 
+	 * @param env   environment used by commands
+	 * @param input assembled command line
+	 * @return      {@link ShellStatus} of executed command
+	 * @throws IllegalArgumentException if command line is invalid
+	 */
+	public ShellStatus execute(Environment env, InputAssembler input) {
+		String commandName = input.getCommandName();
+		if (input.hasOperators() || commandName == null || ScriptCompiler.isScript(commandName))
+			return execute(env, input.getCommandLine());
+		
+		ShellCommand command = table.get(commandName);
+		if (command == null)
+			return execute(env, input.getCommandLine());
+		return command.executeCommand(env, input.getArguments());
+	}
+	
+	/**
+	 * Method parses given command line if it is simple command. </br>
+	 * Simple command is resolved once and kept in cache, so it is used by </br>
+	 * {@link ScriptCompiler} to resolve commands when script is compiled.
+	 * 
+	 * @param commandLine command line that is parsed
+	 * @return            parsed command, or {@code null} if command line contains 
+	 *                    pipeline, redirection or background symbol
+	 * @throws IllegalArgumentException if command line contains invalid command
+	 */
+	public ParsedCommand parse(String commandLine) {
+		return parse(null, commandLine);
+	}
+	
+	/**
+	 * Method parses given command line if it is simple command, </br>
+	 * resolving aliases of session to which given environment belongs. </br>
+	 * Command that is resolved through alias is not cached.
+	 * 
+	 * @param env         environment of session whose aliases are used, or {@code null} 
+	 *                    if aliases are not used
+	 * @param commandLine command line that is parsed
+	 * @return            parsed command, or {@code null} if command line contains 
+	 *                    pipeline, redirection or background symbol, or alias which contains them
+	 * @throws IllegalArgumentException if command line contains invalid command
+	 */
+	public ParsedCommand parse(Environment env, String commandLine) {
+		ParsedCommand parsed = cache.get(commandLine);
+		if (parsed != null)
+			return parsed;
+		
+		if (indexOfUnquoted(commandLine, PIPE_SYMBOL, 0) >= 0 
+				|| indexOfUnquoted(commandLine, REDIRECTION_SYMBOL, 0) >= 0
+				|| indexOfUnquoted(commandLine, BACKGROUND_SYMBOL, 0) >= 0
+				|| expandAlias(env, commandLine) != null)
+			return null;
+		parsed = parseCommand(env, commandLine);
+		if (!parsed.isAlias()) {
+			cache.put(commandLine, parsed);
+		}
+		return parsed;
+	}
+	
+	/**
+	 * Method checks whether given character is symbol of pipeline, redirection or background job.
+	 * 
+	 * @param c character that is checked
+	 * @return  {@code true} if character is operator symbol, {@code false} otherwise
+	 */
+	static boolean isOperatorSymbol(char c) {
+		return c == PIPE_SYMBOL || c == REDIRECTION_SYMBOL || c == BACKGROUND_SYMBOL;
+	}
+	
+	/**
+	 * Method checks whether given character separates command name from arguments.
+	 * 
+	 * @param c character that is checked
+	 * @return  {@code true} if character is whitespace, {@code false} otherwise
+	 */
+	static boolean isSeparator(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\u000B';
+	}
+	
+	/**
+	 * Method executes commands connected with {@link #PIPE_SYMBOL} as {@link Pipeline}.
+	 * 
+	 * @param env   environment used by commands
+	 * @param parts commands with their arguments
+	 * @return      {@link ShellStatus} of executed pipeline
+	 * @throws IllegalArgumentException if pipeline contains invalid command
+	 */
+	private ShellStatus executePipeline(Environment env, List<String> parts) {
+		if (parts.size() == 1)
+			return parseCommand(env, parts.get(0)).execute(env);
+		
+		Pipeline pipeline = new Pipeline();
+		for (String part : parts) {
+			if (part.trim().isEmpty())
+				throw new IllegalArgumentException("Invalid pipeline. Command is missing around '" + PIPE_SYMBOL + "'.");
+			ParsedCommand parsed = parseCommand(env, part);
+			pipeline.addCommand(parsed.getCommand(), parsed.getArguments());
+		}
+		return pipeline.execute(env);
+	}
+	
+	/**
+	 * Method splits given command line on every {@link #PIPE_SYMBOL} that is not inside double quotes.
+	 * 
+	 * @param commandLine command line that is split
+	 * @return            list of commands with their arguments
+	 */
+	private List<String> splitPipeline(String commandLine) {
+		List<String> parts = new ArrayList<>();
+		int start = 0;
+		int index;
+		while ((index = indexOfUnquoted(commandLine, PIPE_SYMBOL, start)) >= 0) {
+			parts.add(commandLine.substring(start, index));
+			start = index + 1;
+		}
+		parts.add(commandLine.substring(start));
+		return parts;
+	}
+	
+	/**
+	 * Method returns index of first occurrence of given symbol that is not inside double quotes </br>
+	 * or inside of command substitution.
+	 * 
+	 * @param commandLine command line that is searched
+	 * @param symbol      symbol that is searched for
+	 * @param fromIndex   index from which search starts
+	 * @return            index of symbol, or -1 if there is no such symbol
+	 */
+	private int indexOfUnquoted(String commandLine, char symbol, int fromIndex) {
+		boolean inQuotes = false;
+		for (int i = fromIndex, n = commandLine.length(); i < n; i++) {
+			char c = commandLine.charAt(i);
+			if (inQuotes && c == '\\') {
+				i++;
+			} else if (c == '"') {
+				inQuotes = !inQuotes;
+			} else if (c == '$' && i + 1 < n && commandLine.charAt(i + 1) == '(') {
+				int end = ShellLexer.findSubstitutionEnd(commandLine, i + 1);
+				if (end < 0)
+					return -1;
+				i = end;
+			} else if (c == symbol && !inQuotes) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Method replaces alias at the start of given command line with its expansion </br>
+	 * if expansion of alias is not simple command.
+	 * 
+	 * @param env         environment of session whose aliases are used, or {@code null}
+	 * @param commandLine command line that is expanded
+	 * @return            expanded command line, or {@code null} if it does not start with such alias
+	 */
+	private String expandAlias(Environment env, String commandLine) {
+		if (env == null)
+			return null;
+		
+		int start = 0;
+		int end = commandLine.length();
+		while (start < end && isSeparator(commandLine.charAt(start))) {
+			start++;
+		}
+		int nameEnd = start;
+		while (nameEnd < end && !isSeparator(commandLine.charAt(nameEnd))) {
+			nameEnd++;
+		}
+		if (nameEnd == start || table.get(commandLine, start, nameEnd) != null)
+			return null;
+		
+		Alias alias = AliasTable.of(env).get(commandLine.substring(start, nameEnd));
+		if (alias == null || alias.isSimple())
+			return null;
+		return alias.expand(commandLine.substring(nameEnd).trim());
+	}
+	
+	/**
+	 * Method splits given simple command into command and its arguments. </br>
+	 * Command name is found in single scan and resolved through {@link #table}, </br>
+	 * or through aliases of session if there is no command with that name. </br>
+	 * Arguments are everything that follows the name.
+	 * 
+	 * @param env       environment of session whose aliases are used, or {@code null}
+	 * @param userInput user input that is parsed
+	 * @return          parsed command
+	 * @throws IllegalArgumentException if given command name is invalid
+	 */
+	private ParsedCommand parseCommand(Environment env, String userInput) {
+		int start = 0;
+		int end = userInput.length();
+		while (start < end && isSeparator(userInput.charAt(start))) {
+			start++;
+		}
+		int nameEnd = start;
+		while (nameEnd < end && !isSeparator(userInput.charAt(nameEnd))) {
+			nameEnd++;
+		}
+		
+		ShellCommand command = table.get(userInput, start, nameEnd);
+		if (command != null)
+			return new ParsedCommand(command, userInput.substring(nameEnd).trim());
+		
+		String name = userInput.substring(start, nameEnd);
+		Alias alias = env == null || name.isEmpty() ? null : AliasTable.of(env).get(name);
+		if (alias == null)
+			throw new IllegalArgumentException("Invalid command. Was: " + name);
+		if (!alias.isSimple())
+			throw new IllegalArgumentException("Alias " + name + " can not be used inside of pipeline.");
+		return alias.resolve(userInput.substring(nameEnd).trim());
+	}
+
+}
@@ -2,6 +2,7 @@ package hr.fer.zemris.java.hw07.shell;
 
 import java.nio.file.Path;
 import java.util.SortedMap;
+import java.util.function.Function;
 
 /**
  * Interface that is used for communication between {@link MyShell} and different {@link ShellCommand} objects.
@@ -13,13 +14,21 @@ import java.util.SortedMap;
 public interface Environment {
 
 	/**
-	 * Method reads line from user
+	 * Method reads line from user or from previous command in pipeline.
 	 * 
-	 * @return user input 
+	 * @return user input, or {@code null} if piped input has ended
 	 * @throws ShellIOException if error occurred during reading user input
 	 */
 	String readLine() throws ShellIOException;
 	
+	/**
+	 * Method checks whether input of this environment is produced by previous command in pipeline.
+	 * 
+	 * @return {@code true} if {@link #readLine()} reads output of previous command,
+	 * 		   {@code false} if it reads from user
+	 */
+	boolean hasPipedInput();
+	
 	/**
 	 * Method writes given text to user
 	 * 
@@ -36,6 +45,26 @@ public interface Environment {
 	 */
 	void writeln(String text) throws ShellIOException;
 	
+	/**
+	 * Method writes given error message to user with new line at the end. </br>
+	 * Error message is never written to the next command in pipeline or to the file </br>
+	 * to which output is redirected, and environment can record that command failed. </br>
+	 * By default error message is written same as {@link #writeln(String)}.
+	 * 
+	 * @param message error message that is written to user
+	 * @throws ShellIOException if error occurred during writing
+	 */
+	default void writeError(String message) throws ShellIOException {
+		writeln(message);
+	}
+	
+	/**
+	 * Method writes out all text that is written but still buffered
+	 * 
+	 * @throws ShellIOException if error occurred during writing
+	 */
+	void flush() throws ShellIOException;
+	
 	/**
 	 * Method returns map of commands.
 	 * 
@@ -115,4 +144,41 @@ public interface Environment {
 	 */
 	void setSharedData(String key, Object value);
 	
+	/**
+	 * Method returns shared data associated to the given {@code key}. </br>
+	 * If there is no such data, it is created using given function and stored atomically, </br>
+	 * so concurrent callers always get the same object.
+	 * 
+	 * @param key             key to which shared data is associated
+	 * @param mappingFunction function that creates shared data from given key
+	 * @return                shared data associated to the given {@code key}
+	 * @throws NullPointerException if given key or function is {@code null}
+	 */
+	Object computeSharedDataIfAbsent(String key, Function<String, Object> mappingFunction);
+	
+	/**
+	 * Method returns value of shell variable with given name.
+	 * 
+	 * @param name name of variable
+	 * @return     value of variable, or {@code null} if variable is not set
+	 */
+	String getVariable(String name);
+	
+	/**
+	 * Method sets shell variable with given name to the given value. </br>
+	 * If given value is {@code null}, variable is removed.
+	 * 
+	 * @param name  name of variable
+	 * @param value new value of variable
+	 * @throws IllegalArgumentException if given name is not valid variable name
+	 */
+	void setVariable(String name, String value);
+	
+	/**
+	 * Method returns all shell variables sorted by their names.
+	 * 
+	 * @return unmodifiable map of variables
+	 */
+	SortedMap<String, String> getVariables();
+	
 }
@@ -0,0 +1,164 @@
+package hr.fer.zemris.java.hw07.shell;
+
+/**
+ * Class that assembles command line from lines given by user. </br>
+ * Line that ends with more lines symbol continues in next line, </br>
+ * in which case the symbol is removed and lines are joined. </p>
+ * 
+ * Lines are appended to growable buffer and every character is scanned only once: </br>
+ * while lines arrive assembler finds command name and remembers whether command line </br>
+ * contains any pipeline, redirection or background symbol outside of double quotes, </br>
+ * or command substitution which can contain them. </br>
+ * {@link CommandLineExecutor} uses that to dispatch simple commands without scanning them again.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class InputAssembler {
+
+	/** buffer with assembled command line */
+	private final StringBuilder buffer = new StringBuilder();
+	/** number of characters of buffer that are already scanned */
+	private int scanned;
+	/** index at which command name starts, or -1 if it is not found yet */
+	private int nameStart = -1;
+	/** index at which command name ends, or -1 if it is not found yet */
+	private int nameEnd = -1;
+	/** flag that tells whether scanned part ends inside double quotes */
+	private boolean inQuotes;
+	/** flag that tells whether next character inside double quotes is escaped */
+	private boolean escaped;
+	/** flag that tells whether command line contains operator symbol outside of double quotes or substitution */
+	private boolean hasOperators;
+	/** flag that tells whether last line continues in next line */
+	private boolean multiline;
+	
+	/**
+	 * Method appends line to the command line. </br>
+	 * Line is trimmed and if it ends with given more lines symbol, symbol is removed </br>
+	 * and command line continues in next line.
+	 * 
+	 * @param line            line given by user
+	 * @param morelinesSymbol symbol that marks that command line continues
+	 * @return                {@code true} if command line is complete, {@code false} if it continues
+	 */
+	public boolean append(String line, char morelinesSymbol) {
+		int start = 0;
+		int end = line.length();
+		while (start < end && line.charAt(start) <= ' ') {
+			start++;
+		}
+		while (end > start && line.charAt(end - 1) <= ' ') {
+			end--;
+		}
+		
+		multiline = end > start && line.charAt(end - 1) == morelinesSymbol;
+		buffer.append(line, start, multiline ? end - 1 : end);
+		scan();
+		if (!multiline && nameStart >= 0 && nameEnd < 0) {
+			nameEnd = buffer.length();
+		}
+		return !multiline;
+	}
+	
+	/**
+	 * Method checks whether last appended line continues in next line.
+	 * 
+	 * @return {@code true} if command line is not complete, {@code false} otherwise
+	 */
+	public boolean isMultiline() {
+		return multiline;
+	}
+	
+	/**
+	 * Method checks whether command line contains pipeline, redirection 
+	 * or background symbol outside of double quotes, or command substitution.
+	 * 
+	 * @return {@code true} if command line contains operator symbol, {@code false} otherwise
+	 */
+	public boolean hasOperators() {
+		return hasOperators;
+	}
+	
+	/**
+	 * Method returns name of command.
+	 * 
+	 * @return command name, or {@code null} if command line is blank
+	 */
+	public String getCommandName() {
+		if (nameStart < 0)
+			return null;
+		return buffer.substring(nameStart, nameEnd < 0 ? buffer.length() : nameEnd);
+	}
+	
+	/**
+	 * Method returns arguments of command, which is everything after command name.
+	 * 
+	 * @return trimmed arguments
+	 */
+	public String getArguments() {
+		if (nameStart < 0)
+			return "";
+		int start = nameEnd < 0 ? buffer.length() : nameEnd;
+		int end = buffer.length();
+		while (start < end && buffer.charAt(start) <= ' ') {
+			start++;
+		}
+		return buffer.substring(start, end);
+	}
+	
+	/**
+	 * Method returns whole assembled command line.
+	 * 
+	 * @return command line
+	 */
+	public String getCommandLine() {
+		return buffer.toString();
+	}
+	
+	/**
+	 * Method clears assembled command line so assembler can be used for next one.
+	 */
+	public void reset() {
+		buffer.setLength(0);
+		scanned = 0;
+		nameStart = -1;
+		nameEnd = -1;
+		inQuotes = false;
+		escaped = false;
+		hasOperators = false;
+		multiline = false;
+	}
+	
+	/**
+	 * Method scans characters appended since last scan.
+	 */
+	private void scan() {
+		for (int n = buffer.length(); scanned < n; scanned++) {
+			char c = buffer.charAt(scanned);
+			
+			if (nameEnd < 0) {
+				boolean whitespace = CommandLineExecutor.isSeparator(c);
+				if (nameStart < 0 && !whitespace) {
+					nameStart = scanned;
+				} else if (nameStart >= 0 && whitespace) {
+					nameEnd = scanned;
+				}
+			}
+			
+			if (escaped) {
+				escaped = false;
+			} else if (inQuotes && c == '\\') {
+				escaped = true;
+			} else if (c == '"') {
+				inQuotes = !inQuotes;
+			} else if (!inQuotes && CommandLineExecutor.isOperatorSymbol(c)) {
+				hasOperators = true;
+			} else if (c == '(' && scanned > 0 && buffer.charAt(scanned - 1) == '$') {
+				hasOperators = true;
+			}
+		}
+	}
+	
+}
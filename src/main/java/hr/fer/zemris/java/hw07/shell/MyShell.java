@@ -1,16 +1,27 @@
 package hr.fer.zemris.java.hw07.shell;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.Scanner;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
+import hr.fer.zemris.java.hw07.shell.commands.AliasCommand;
 import hr.fer.zemris.java.hw07.shell.commands.CatCommand;
 import hr.fer.zemris.java.hw07.shell.commands.CdCommand;
 import hr.fer.zemris.java.hw07.shell.commands.CharsetsCommand;
@@ -18,8 +29,11 @@ import hr.fer.zemris.java.hw07.shell.commands.CopyCommand;
 import hr.fer.zemris.java.hw07.shell.commands.CptreeCommand;
 import hr.fer.zemris.java.hw07.shell.commands.DropdCommand;
 import hr.fer.zemris.java.hw07.shell.commands.ExitShellCommand;
+import hr.fer.zemris.java.hw07.shell.commands.FgCommand;
+import hr.fer.zemris.java.hw07.shell.commands.GentreeCommand;
 import hr.fer.zemris.java.hw07.shell.commands.HelpCommand;
 import hr.fer.zemris.java.hw07.shell.commands.HexdumbCommand;
+import hr.fer.zemris.java.hw07.shell.commands.JobsCommand;
 import hr.fer.zemris.java.hw07.shell.commands.ListdCommand;
 import hr.fer.zemris.java.hw07.shell.commands.LsCommand;
 import hr.fer.zemris.java.hw07.shell.commands.MassrenameCommand;
@@ -28,13 +42,44 @@ import hr.fer.zemris.java.hw07.shell.commands.PopdCommand;
 import hr.fer.zemris.java.hw07.shell.commands.PushdCommand;
 import hr.fer.zemris.java.hw07.shell.commands.PwdCommand;
 import hr.fer.zemris.java.hw07.shell.commands.RmtreeCommand;
+import hr.fer.zemris.java.hw07.shell.commands.SeqCommand;
+import hr.fer.zemris.java.hw07.shell.commands.SetCommand;
+import hr.fer.zemris.java.hw07.shell.commands.SourceCommand;
+import hr.fer.zemris.java.hw07.shell.commands.StatsCommand;
 import hr.fer.zemris.java.hw07.shell.commands.SymbolCommand;
+import hr.fer.zemris.java.hw07.shell.commands.TimeCommand;
 import hr.fer.zemris.java.hw07.shell.commands.TreeCommand;
+import hr.fer.zemris.java.hw07.shell.commands.WaitCommand;
+import hr.fer.zemris.java.hw07.shell.environment.AbstractEnvironment;
+import hr.fer.zemris.java.hw07.shell.jobs.Job;
+import hr.fer.zemris.java.hw07.shell.jobs.JobManager;
+import hr.fer.zemris.java.hw07.shell.script.ScriptCompiler;
+import hr.fer.zemris.java.hw07.shell.server.ShellServer;
+import hr.fer.zemris.java.hw07.shell.stats.InstrumentedCommand;
 
 /**
  * MyShell is command-line program. </br>
  * It offers you to perform following commands: </br>
- * charsets, cat, ls, tree, copy, mkdir, hexdump, symbol, help, exit.
+ * charsets, cat, ls, tree, copy, mkdir, hexdump, symbol, help, exit. </p>
+ * 
+ * Every {@code MyShell} object is independent shell session with its own {@link Environment}, </br>
+ * symbols, current directory and jobs, so many sessions can run inside single program. </br>
+ * Sessions share only the map of commands, which can not be changed. </p>
+ * 
+ * Shell runs in batch mode if it is started with arguments {@code --script file} </br>
+ * or if standard input is not a terminal. In batch mode commands are read </br>
+ * through buffered reader, prompts are not printed and throughput of the script </br>
+ * is reported to the standard error when script ends. </br>
+ * If shell is started with arguments {@code --server port [tokenFile]} it runs {@link ShellServer} </br>
+ * which gives every client connected to the given loopback port its own session, </br>
+ * if client sends token from the token file which only owner of server can read. </p>
+ * 
+ * Commands can be connected with {@code |} operator. Such commands run concurrently </br>
+ * and each command reads lines that previous command writes. </br>
+ * Output of command can be redirected to the file with {@code >} operator </br>
+ * or appended to the end of file with {@code >>} operator. </br>
+ * Command that ends with {@code &} runs in background as job, </br>
+ * which can be managed with commands jobs, fg and wait.
  * 
  * @author Ante Gazibarić
  * @version 1.0
@@ -45,270 +90,406 @@ public class MyShell {
 	/** greeting message */
 	private static final String greetingMessage = "Welcome to MyShell v 1.0";
 	
-	/** prompt symbol */
-	private static String promptSymbol = "> ";
+	/** map of all supported commands shared by all sessions */
+	private static final SortedMap<String, ShellCommand> commands;
+	
+	/** executor of command lines shared by all sessions */
+	private static final CommandLineExecutor executor;
 	
-	/** multiline symbol */
-	private static String multilineSymbol = "| ";
+	/** argument used for running script file in batch mode */
+	private static final String SCRIPT_ARGUMENT = "--script";
 	
-	/** more lines symbol */
-	private static String morelinesSymbol = "\\";
+	/** argument used for running shell server */
+	private static final String SERVER_ARGUMENT = "--server";
 	
-	/** map of all supported commands */
-	private static final SortedMap<String, ShellCommand> commands = new TreeMap<>();
+	/** size of buffer used for reading commands */
+	private static final int READER_BUFFER_SIZE = 1 << 16;
 	
-	/** flag to distinguish in which mode is Shell */
-	private static boolean isMultiline = false;
+	/** format of message that reports batch mode throughput */
+	private static final String throughputMessageFormat = 
+			"Script %s: %d lines, %d commands in %.3f ms (%.1f commands/s)%n";
 	
 	static {
-		commands.put("exit", new ExitShellCommand());
-		commands.put("cat", new CatCommand());
-		commands.put("charset", new CharsetsCommand());
-		commands.put("copy", new CopyCommand());
-		commands.put("help", new HelpCommand());
-		commands.put("hexdumb", new HexdumbCommand());
-		commands.put("ls", new LsCommand());
-		commands.put("mkdir", new MkdirCommand());
-		commands.put("tree", new TreeCommand());
-		commands.put("symbol", new SymbolCommand());
-		commands.put("pwd", new PwdCommand());
-		commands.put("cd", new CdCommand());
-		commands.put("pushd", new PushdCommand());
-		commands.put("popd", new PopdCommand());
-		commands.put("listd", new ListdCommand());
-		commands.put("dropd", new DropdCommand());
-		commands.put("rmtree", new RmtreeCommand());
-		commands.put("cptree", new CptreeCommand());
-		commands.put("massrename", new MassrenameCommand());
+		SortedMap<String, ShellCommand> map = new TreeMap<>();
+		map.put("exit", new ExitShellCommand());
+		map.put("cat", new CatCommand());
+		map.put("charset", new CharsetsCommand());
+		map.put("copy", new CopyCommand());
+		map.put("help", new HelpCommand());
+		map.put("hexdumb", new HexdumbCommand());
+		map.put("ls", new LsCommand());
+		map.put("mkdir", new MkdirCommand());
+		map.put("tree", new TreeCommand());
+		map.put("symbol", new SymbolCommand());
+		map.put("pwd", new PwdCommand());
+		map.put("cd", new CdCommand());
+		map.put("pushd", new PushdCommand());
+		map.put("popd", new PopdCommand());
+		map.put("listd", new ListdCommand());
+		map.put("dropd", new DropdCommand());
+		map.put("rmtree", new RmtreeCommand());
+		map.put("cptree", new CptreeCommand());
+		map.put("massrename", new MassrenameCommand());
+		map.put("jobs", new JobsCommand());
+		map.put("fg", new FgCommand());
+		map.put("wait", new WaitCommand());
+		map.put("stats", new StatsCommand());
+		map.put("time", new TimeCommand());
+		map.put("gentree", new GentreeCommand());
+		map.put("set", new SetCommand());
+		map.put("source", new SourceCommand());
+		map.put("seq", new SeqCommand());
+		map.put("alias", new AliasCommand());
+		map.replaceAll(InstrumentedCommand::new);
+		commands = Collections.unmodifiableSortedMap(map);
+		executor = new CommandLineExecutor(commands);
 	}
 	
+	/** reader from which commands are read */
+	private BufferedReader reader;
+	
+	/** environment of this session */
+	private EnvironmentImpl env;
+	
+	/** jobs of this session */
+	private JobManager jobManager = new JobManager();
+	
+	/** flag that decides whether greeting and prompt symbols are printed */
+	private boolean interactive;
+	
+	/** assembler of command lines that span more lines */
+	private InputAssembler input = new InputAssembler();
+	/** command lines of control statement that is not closed yet */
+	private StringBuilder block = new StringBuilder();
+	/** number of control statements that are not closed yet */
+	private int blockDepth;
+	
+	/** number of lines read by this session */
+	private long lineCount;
+	
+	/** number of commands executed by this session */
+	private long commandCount;
+	
 	/**
-	 * Main method. Accepts no arguments.
+	 * Constructor that creates new {@code MyShell} session.
 	 * 
-	 * @param args command-line arguments
+	 * @param reader      {@link #reader}
+	 * @param writer      writer to which output of session is written
+	 * @param interactive {@link #interactive}
+	 * @throws NullPointerException if given reader or writer is {@code null}
 	 */
-	public static void main(String[] args) {
-		
-		try (Scanner sc = new Scanner(System.in)){
-			startShellProgram(sc);
-		}
-		
+	public MyShell(BufferedReader reader, Writer writer, boolean interactive) {
+		this.reader = Objects.requireNonNull(reader, "Reader must not be null");
+		this.env = new EnvironmentImpl(reader, Objects.requireNonNull(writer, "Writer must not be null"));
+		this.interactive = interactive;
+		env.setSharedData(JobManager.SHARED_DATA_KEY, jobManager);
+		env.setSharedData(CommandLineExecutor.SHARED_DATA_KEY, executor);
 	}
 	
 	/**
-	 * Method that is used to run the program.
+	 * Main method. Accepts no arguments, arguments {@code --script file}
+	 * which run given script file in batch mode or arguments {@code --server port [tokenFile]}
+	 * which run shell server on given loopback port.
 	 * 
-	 * @param sc {@link Scanner} for user input
+	 * @param args command-line arguments
 	 */
-	private static void startShellProgram(Scanner sc) {
-		printGreetingMessage();
-		Environment env = new EnvironmentImpl(sc);
-		ShellStatus status = ShellStatus.CONTINUE;
-		String processedInput = "";
-		do {
+	public static void main(String[] args) {
+		if ((args.length == 2 || args.length == 3) && args[0].equals(SERVER_ARGUMENT)) {
+			Path tokenFile = args.length == 3 ? Paths.get(args[2]) : ShellServer.getDefaultTokenFile();
+			ShellServer server;
 			try {
-				if (isMultiline) {
-					printMultilineSymbol();
-				} else {
-					printPromptSymbol();
+				server = new ShellServer(Integer.parseInt(args[1]), tokenFile);
+			} catch (NumberFormatException ex) {
+				System.err.println("Port must be number. Was: " + args[1]);
+				return;
+			} catch (IOException ex) {
+				System.err.println("Shell server failed: " + ex.getMessage());
+				return;
+			}
+			Thread closer = new Thread(() -> {
+				try {
+					server.close();
+				} catch (IOException ex) {
+					System.err.println("Failed to close shell server: " + ex.getMessage());
 				}
-					
-				String userInput = sc.nextLine();
-				if (userInput == null)
-					break;
-				if (userInput.isEmpty() && !isMultiline)
-					continue;
-				
-				processedInput = processedInput.concat(getProcessedInput(userInput));
-				if (isMultiline)
-					continue;
-				
-				String commandName = extractCommandName(processedInput);
-				String arguments = extractArguments(processedInput);
-				ShellCommand command = commands.get(commandName);
-				status = command.executeCommand(env, arguments);
-				processedInput = "";
-				
-			} catch (IllegalArgumentException ex) {
-				System.out.println(ex.getMessage());
-				processedInput = "";
-			} catch (ShellIOException ex) {
-				System.err.println(ex.getMessage());
-				status = ShellStatus.TERMINATE;
+			});
+			Runtime.getRuntime().addShutdownHook(closer);
+			try {
+				System.err.println("MyShell server listening on port " + server.getPort() 
+						+ ", token is in " + server.getTokenFile());
+				server.serve();
+			} catch (IOException ex) {
+				System.err.println("Shell server failed: " + ex.getMessage());
+			} finally {
+				closer.run();
 			}
-		} while (status != ShellStatus.TERMINATE);
+			return;
+		}
+		if (args.length == 2 && args[0].equals(SCRIPT_ARGUMENT)) {
+			Path script = Paths.get(args[1]);
+			try (BufferedReader reader = Files.newBufferedReader(script, Charset.defaultCharset())) {
+				runBatch(reader, script.toString());
+			} catch (IOException ex) {
+				System.err.println("Failed to read script file: " + ex.getMessage());
+			}
+			return;
+		}
+		if (args.length != 0) {
+			System.err.println("Invalid arguments. Expected none, " + SCRIPT_ARGUMENT + " file or " 
+					+ SERVER_ARGUMENT + " port");
+			return;
+		}
+		
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(System.in), READER_BUFFER_SIZE)) {
+			if (System.console() == null) {
+				runBatch(reader, "<stdin>");
+			} else {
+				new MyShell(reader, createConsoleWriter(), true).run();
+			}
+		} catch (IOException ex) {
+			System.err.println(ex.getMessage());
+		}
+		
 	}
 	
 	/**
-	 * Method extracts command name from given user input.
+	 * Method runs commands from given reader in batch mode 
+	 * and reports throughput of the script to the standard error.
 	 * 
-	 * @param userInput user input from which command name is extracted
-	 * @return command name
-	 * @throws IllegalArgumentException if given command name is invalid
+	 * @param reader     reader from which commands are read
+	 * @param scriptName name of script used in report
 	 */
-	private static String extractCommandName(String userInput) {
-		String[] parts = userInput.trim().split("\\s+");
-		if (commands.keySet().contains(parts[0]))
-			return parts[0];
-		throw new IllegalArgumentException("Invalid command. Was: " + parts[0]);
+	private static void runBatch(BufferedReader reader, String scriptName) {
+		long start = System.nanoTime();
+		MyShell shell = new MyShell(reader, createConsoleWriter(), false);
+		shell.run();
+		double elapsedMillis = (System.nanoTime() - start) / 1e6;
+		double commandsPerSecond = elapsedMillis == 0 ? 0 : shell.getCommandCount() / (elapsedMillis / 1000);
+		System.err.format(throughputMessageFormat, scriptName, shell.getLineCount(), shell.getCommandCount(),
+				elapsedMillis, commandsPerSecond);
 	}
 	
 	/**
-	 * Method extracts arguments from given user input.
+	 * Method creates writer of standard output.
 	 * 
-	 * @param userInput user input from which arguments are extracted
-	 * @return arguments for command
+	 * @return writer of standard output
 	 */
-	private static String extractArguments(String userInput) {
-		String[] parts = userInput.trim().split("\\s+");
-		return userInput.replace(parts[0], "").trim();
+	private static Writer createConsoleWriter() {
+		return new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), Charset.defaultCharset());
 	}
 	
 	/**
-	 * Method used for processing value that follows the rules for multiline input.
+	 * Method returns executor of command lines that is shared by all sessions.
 	 * 
-	 * @param userInput user input that is processed
-	 * @return processed user input
+	 * @return executor with all supported commands
 	 */
-	private static String getProcessedInput(String userInput) {
-		userInput = userInput.trim();
-		if (userInput.endsWith(morelinesSymbol)) {
-			isMultiline = true;
-			return userInput.substring(0, userInput.length() - 1);
-		}
-		isMultiline = false;
-		return userInput;
+	public static CommandLineExecutor getExecutor() {
+		return executor;
 	}
 	
 	/**
-	 * Method prints prompt symbol to standard output
+	 * Method returns number of lines that session has read.
+	 * 
+	 * @return number of read lines
 	 */
-	private static void printPromptSymbol() {
-		System.out.print(promptSymbol);
+	public long getLineCount() {
+		return lineCount;
 	}
 	
 	/**
-	 * Method prints multiline symbol to standard output.
+	 * Method returns number of commands that session has executed.
+	 * 
+	 * @return number of executed commands
 	 */
-	private static void printMultilineSymbol() {
-		System.out.print(multilineSymbol);
+	public long getCommandCount() {
+		return commandCount;
 	}
 	
 	/**
-	 * Method prints out greeting message to user
+	 * Method that is used to run the session. </br>
+	 * It reads and executes commands until it reads exit command or until input ends.
 	 */
-	private static void printGreetingMessage() {
-		System.out.println(greetingMessage);
+	public void run() {
+		if (interactive)
+			env.writeln(greetingMessage);
+		try {
+			ShellStatus status = ShellStatus.CONTINUE;
+			do {
+				try {
+					jobManager.reportFinished(env);
+					if (interactive) {
+						env.write(input.isMultiline() || blockDepth > 0 ? env.getMultilinePrompt() : env.getPrompt());
+					}
+					env.flush();
+					
+					String userInput = reader.readLine();
+					if (userInput == null)
+						break;
+					lineCount++;
+					if (userInput.isEmpty() && !input.isMultiline())
+						continue;
+				
+					if (!input.append(userInput, env.getMorelinesSymbol()))
+						continue;
+				
+					if (blockDepth > 0 || ScriptCompiler.isScript(input.getCommandName())) {
+						String commandLine = input.getCommandLine();
+						input.reset();
+						block.append(commandLine).append('\n');
+						blockDepth += ScriptCompiler.getDepthChange(commandLine);
+						if (blockDepth > 0)
+							continue;
+						commandLine = block.toString();
+						block.setLength(0);
+						blockDepth = 0;
+						commandCount++;
+						status = executor.execute(env, commandLine);
+						continue;
+					}
+				
+					commandCount++;
+					try {
+						status = executor.execute(env, input);
+					} finally {
+						input.reset();
+					}
+				
+				} catch (IllegalArgumentException ex) {
+					env.writeError(ex.getMessage());
+					block.setLength(0);
+					blockDepth = 0;
+				} catch (ShellIOException ex) {
+					env.flush();
+					System.err.println(ex.getMessage());
+					status = ShellStatus.TERMINATE;
+				} catch (IOException ex) {
+					env.flush();
+					System.err.println(ex.getMessage());
+					status = ShellStatus.TERMINATE;
+				}
+			} while (status != ShellStatus.TERMINATE);
+			for (Job job : jobManager.getJobs()) {
+				jobManager.waitFor(job, env);
+			}
+		} finally {
+			env.close();
+		}
 	}
 	
 	/**
-	 * Implementation of {@link Environment} interface used for communication with commands.
+	 * Implementation of {@link Environment} interface used for communication with commands. </br>
+	 * Output is collected in single large buffer which is written to the standard output </br>
+	 * when it is full, when prompt is printed, on every {@link #FLUSH_PERIOD} milliseconds </br>
+	 * or when {@link #flush()} is called. </br>
+	 * Writes, lines and flushes are synchronized on the buffered writer, so line </br>
+	 * and its separator are never split by output of other thread.
 	 * 
 	 * @author Ante Gazibarić
 	 * @version 1.0
 	 *
 	 */
-	private static class EnvironmentImpl implements Environment {
+	private static class EnvironmentImpl extends AbstractEnvironment {
 
-		/** directory of project */
-		private static final String CURRENT_DIR = ".";
-		/** Scanner with whom object talks through methods */
-		private Scanner sc;
-		/** path of current directory */
-		private Path currentDirectoryPath;
-		/** shared data map */
-		private Map<String, Object> sharedDataMap = new HashMap<>();
+		/** size of output buffer in characters */
+		private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+		/** period in milliseconds on which output buffer is flushed */
+		private static final long FLUSH_PERIOD = 100;
+		/** executor that periodically flushes output buffers */
+		private static final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "output-flusher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		/** reader with whom object talks through methods */
+		private BufferedReader reader;
+		/** buffered writer of standard output */
+		private Writer writer;
+		/** task that periodically flushes {@link #writer} */
+		private ScheduledFuture<?> flushTask;
 		
 		/**
 		 * Constructor that creates new {@code EnvironmentImpl} object.
 		 * 
-		 * @param sc {@link #sc}
+		 * @param reader {@link #reader}
+		 * @param writer writer to which buffered output is written
 		 */
-		public EnvironmentImpl(Scanner sc) {
-			this.sc = sc;
-			currentDirectoryPath = Paths.get(CURRENT_DIR).toAbsolutePath().normalize();
+		public EnvironmentImpl(BufferedReader reader, Writer writer) {
+			super(commands);
+			this.reader = reader;
+			this.writer = new BufferedWriter(writer, OUTPUT_BUFFER_SIZE);
+			flushTask = flusher.scheduleWithFixedDelay(this::flushPeriodically, FLUSH_PERIOD, FLUSH_PERIOD, TimeUnit.MILLISECONDS);
 		}
 		
-		@Override
-		public String readLine() throws ShellIOException {
+		/**
+		 * Method flushes output on every {@link #FLUSH_PERIOD} milliseconds. </br>
+		 * Error is only reported, because exception would cancel periodic flushing.
+		 */
+		private void flushPeriodically() {
 			try {
-				return sc.nextLine();
-			} catch (NoSuchElementException | IllegalStateException ex) {
-				throw new ShellIOException(ex.getMessage());
+				flush();
+			} catch (ShellIOException ex) {
+				System.err.println("Failed to flush output: " + ex.getMessage());
 			}
 		}
-
-		@Override
-		public void write(String text) throws ShellIOException {
-			System.out.print(text);
-			
-		}
-
-		@Override
-		public void writeln(String text) throws ShellIOException {
-			System.out.println(text);
-		}
-
-		@Override
-		public SortedMap<String, ShellCommand> commands() {
-			return Collections.unmodifiableSortedMap(commands);
-		}
-
-		@Override
-		public Character getMultilineSymbol() {
-			return multilineSymbol.charAt(0);
-		}
-
-		@Override
-		public void setMultilineSymbol(Character symbol) {
-			multilineSymbol = String.valueOf(symbol) + " ";
-			
-		}
-
-		@Override
-		public Character getPromptSymbol() {
-			return promptSymbol.charAt(0);
-		}
-
-		@Override
-		public void setPromptSymbol(Character symbol) {
-			promptSymbol = String.valueOf(symbol) + " ";
-			
-		}
-
-		@Override
-		public Character getMorelinesSymbol() {
-			return morelinesSymbol.charAt(0);
+		
+		/**
+		 * Method flushes output and stops periodic flushing.
+		 */
+		public void close() {
+			flushTask.cancel(false);
+			flush();
 		}
-
+		
 		@Override
-		public void setMorelinesSymbol(Character symbol) {
-			morelinesSymbol = String.valueOf(symbol);	
+		public String readLine() throws ShellIOException {
+			flush();
+			try {
+				String line = reader.readLine();
+				if (line == null)
+					throw new ShellIOException("There is no more input.");
+				return line;
+			} catch (IOException ex) {
+				throw new ShellIOException(ex.getMessage());
+			}
 		}
-
+		
 		@Override
-		public Path getCurrentDirectory() {
-			return currentDirectoryPath.toAbsolutePath().normalize();
+		public boolean hasPipedInput() {
+			return false;
 		}
 
 		@Override
-		public void setCurrentDirectory(Path path) {
-			currentDirectoryPath= Objects.requireNonNull(path, "Path must not be null")
-										 .toAbsolutePath().normalize();
+		public void write(String text) throws ShellIOException {
+			try {
+				synchronized (writer) {
+					writer.write(text);
+				}
+			} catch (IOException ex) {
+				throw new ShellIOException(ex.getMessage());
+			}
 		}
 
 		@Override
-		public Object getSharedData(String key) {
-			if (key == null)
-				return null;
-			return sharedDataMap.get(key);
+		public void writeln(String text) throws ShellIOException {
+			try {
+				synchronized (writer) {
+					writer.write(text);
+					writer.write(System.lineSeparator());
+				}
+			} catch (IOException ex) {
+				throw new ShellIOException(ex.getMessage());
+			}
 		}
-
+		
 		@Override
-		public void setSharedData(String key, Object value) {
-			if (key == null)
-				return;
-			sharedDataMap.put(key, value);
+		public void flush() throws ShellIOException {
+			try {
+				synchronized (writer) {
+					writer.flush();
+				}
+			} catch (IOException ex) {
+				throw new ShellIOException(ex.getMessage());
+			}
 		}
 		
 	}
@@ -0,0 +1,107 @@
+package hr.fer.zemris.java.hw07.shell.api;
+
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+
+/**
+ * Class that represents result of command line executed by {@link ShellSession}. </br>
+ * Result contains status returned by command, everything that command has written, </br>
+ * error messages if command line failed and time that execution took. </br>
+ * Error messages are not part of output, just like standard error is separate from standard output.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class CommandResult {
+
+	/** executed command line */
+	private String commandLine;
+	/** status returned by command */
+	private ShellStatus status;
+	/** output written by command */
+	private String output;
+	/** error messages, or {@code null} if command line was executed successfully */
+	private String error;
+	/** duration of execution in nanoseconds */
+	private long elapsedNanos;
+	
+	/**
+	 * Constructor that creates new {@code CommandResult} object.
+	 * 
+	 * @param commandLine  {@link #commandLine}
+	 * @param status       {@link #status}
+	 * @param output       {@link #output}
+	 * @param error        {@link #error}
+	 * @param elapsedNanos {@link #elapsedNanos}
+	 */
+	public CommandResult(String commandLine, ShellStatus status, String output, String error, long elapsedNanos) {
+		this.commandLine = commandLine;
+		this.status = status;
+		this.output = output;
+		this.error = error;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * Method returns executed command line.
+	 * 
+	 * @return command line
+	 */
+	public String getCommandLine() {
+		return commandLine;
+	}
+
+	/**
+	 * Method returns status returned by command.
+	 * 
+	 * @return status of command
+	 */
+	public ShellStatus getStatus() {
+		return status;
+	}
+
+	/**
+	 * Method returns everything that command has written. </br>
+	 * Lines are separated with {@link System#lineSeparator()}.
+	 * 
+	 * @return output of command
+	 */
+	public String getOutput() {
+		return output;
+	}
+
+	/**
+	 * Method returns error messages of failed command line, </br>
+	 * separated with {@link System#lineSeparator()}.
+	 * 
+	 * @return error messages, or {@code null} if command line was executed successfully
+	 */
+	public String getError() {
+		return error;
+	}
+	
+	/**
+	 * Method checks whether command line was executed without error.
+	 * 
+	 * @return {@code true} if there was no error, {@code false} otherwise
+	 */
+	public boolean isSuccessful() {
+		return error == null;
+	}
+
+	/**
+	 * Method returns duration of execution in nanoseconds.
+	 * 
+	 * @return duration of execution
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("%s [%s, %.3f ms]%s", 
+				commandLine, status, elapsedNanos / 1e6, isSuccessful() ? "" : ": " + error);
+	}
+	
+}
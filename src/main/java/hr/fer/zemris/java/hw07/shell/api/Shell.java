@@ -0,0 +1,61 @@
+package hr.fer.zemris.java.hw07.shell.api;
+
+import java.nio.file.Path;
+
+import hr.fer.zemris.java.hw07.shell.CommandLineExecutor;
+import hr.fer.zemris.java.hw07.shell.MyShell;
+
+/**
+ * Entry point of API that allows shell commands to be executed from java code. </br>
+ * Every {@link ShellSession} has its own state and it does not use console, </br>
+ * so any number of sessions can be used at the same time. </p>
+ * 
+ * Example: </br>
+ * {@code Shell.newSession().execute("cptree a b")}
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public final class Shell {
+	
+	/**
+	 * Private constructor, class only has static methods.
+	 */
+	private Shell() {
+	}
+	
+	/**
+	 * Method creates new session whose current directory is directory
+	 * from which program was started.
+	 * 
+	 * @return new session
+	 */
+	public static ShellSession newSession() {
+		return new ShellSession(getExecutor());
+	}
+	
+	/**
+	 * Method creates new session with given current directory.
+	 * 
+	 * @param currentDirectory current directory of session
+	 * @return new session
+	 * @throws NullPointerException if given path is {@code null}
+	 * @throws IllegalArgumentException if given path is not directory
+	 */
+	public static ShellSession newSession(Path currentDirectory) {
+		ShellSession session = new ShellSession(getExecutor());
+		session.setCurrentDirectory(currentDirectory);
+		return session;
+	}
+	
+	/**
+	 * Method returns executor with all commands supported by {@link MyShell}.
+	 * 
+	 * @return executor of command lines
+	 */
+	private static CommandLineExecutor getExecutor() {
+		return MyShell.getExecutor();
+	}
+
+}
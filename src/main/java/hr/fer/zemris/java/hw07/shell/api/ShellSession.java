@@ -0,0 +1,175 @@
+package hr.fer.zemris.java.hw07.shell.api;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+import hr.fer.zemris.java.hw07.shell.CommandLineExecutor;
+import hr.fer.zemris.java.hw07.shell.ShellIOException;
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+import hr.fer.zemris.java.hw07.shell.dispatch.AliasTable;
+import hr.fer.zemris.java.hw07.shell.environment.AbstractEnvironment;
+
+/**
+ * Class that represents single shell session used from java code. </br>
+ * Session keeps current directory, directory stack and symbols between executions, </br>
+ * just like interactive shell does. Output of each command line is captured </br>
+ * and returned as {@link CommandResult}, nothing is read from or written to console. </p>
+ * 
+ * Executions of single session are serialized, different sessions are independent </br>
+ * and can be used from different threads at the same time. </br>
+ * Session has no user input, so commands that ask user get no answer, </br>
+ * for example {@code copy} does not override existing file. </br>
+ * Background jobs are not supported. </br>
+ * Aliases of session are kept only in memory, they are not read from or stored to file.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class ShellSession {
+
+	/** executor of command lines */
+	private CommandLineExecutor executor;
+	/** environment of this session */
+	private SessionEnvironment env;
+	/** flag that indicates whether session was terminated */
+	private boolean terminated;
+	
+	/**
+	 * Constructor that creates new {@code ShellSession} object.
+	 * 
+	 * @param executor {@link #executor}
+	 * @throws NullPointerException if given executor is {@code null}
+	 */
+	public ShellSession(CommandLineExecutor executor) {
+		this.executor = Objects.requireNonNull(executor, "Executor must not be null");
+		this.env = new SessionEnvironment(executor);
+		env.setSharedData(CommandLineExecutor.SHARED_DATA_KEY, executor);
+		env.setSharedData(AliasTable.SHARED_DATA_KEY, new AliasTable(executor, null));
+	}
+	
+	/**
+	 * Method executes given command line. </br>
+	 * Invalid command lines and errors of commands do not throw exceptions, </br>
+	 * they are returned as error of {@link CommandResult}. </br>
+	 * Session is terminated only by command that returns {@link ShellStatus#TERMINATE}.
+	 * 
+	 * @param commandLine command line that is executed
+	 * @return            result of execution
+	 * @throws NullPointerException if given command line is {@code null}
+	 * @throws IllegalStateException if session was terminated with {@code exit} command
+	 */
+	public synchronized CommandResult execute(String commandLine) {
+		Objects.requireNonNull(commandLine, "Command line must not be null");
+		if (terminated)
+			throw new IllegalStateException("Session is terminated.");
+		
+		env.output.setLength(0);
+		env.errors.setLength(0);
+		ShellStatus status = ShellStatus.CONTINUE;
+		long start = System.nanoTime();
+		try {
+			status = executor.execute(env, commandLine);
+		} catch (IllegalArgumentException | NullPointerException | ShellIOException ex) {
+			env.writeError(String.valueOf(ex.getMessage()));
+		}
+		long elapsed = System.nanoTime() - start;
+		
+		if (status == ShellStatus.TERMINATE)
+			terminated = true;
+		String error = env.errors.length() == 0 ? null : env.errors.toString().trim();
+		return new CommandResult(commandLine, status, env.output.toString(), error, elapsed);
+	}
+	
+	/**
+	 * Method returns current directory of session.
+	 * 
+	 * @return current directory
+	 */
+	public Path getCurrentDirectory() {
+		return env.getCurrentDirectory();
+	}
+	
+	/**
+	 * Method sets current directory of session.
+	 * 
+	 * @param directory new current directory
+	 * @throws NullPointerException if given path is {@code null}
+	 * @throws IllegalArgumentException if given path is not directory
+	 */
+	public void setCurrentDirectory(Path directory) {
+		Objects.requireNonNull(directory, "Directory must not be null");
+		if (!Files.isDirectory(directory))
+			throw new IllegalArgumentException("Given path is not directory. Was: " + directory);
+		env.setCurrentDirectory(directory);
+	}
+	
+	/**
+	 * Method checks whether session was terminated with {@code exit} command.
+	 * 
+	 * @return {@code true} if session is terminated, {@code false} otherwise
+	 */
+	public synchronized boolean isTerminated() {
+		return terminated;
+	}
+	
+	/**
+	 * Environment of session which captures output into the buffer.
+	 * 
+	 * @author Ante Gazibarić
+	 * @version 1.0
+	 *
+	 */
+	private static class SessionEnvironment extends AbstractEnvironment {
+		
+		/** output of currently executed command line */
+		private StringBuffer output = new StringBuffer();
+		/** error messages of currently executed command line */
+		private StringBuffer errors = new StringBuffer();
+		
+		/**
+		 * Constructor that creates new {@code SessionEnvironment} object.
+		 * 
+		 * @param executor executor whose commands are used
+		 */
+		public SessionEnvironment(CommandLineExecutor executor) {
+			super(executor.getCommands());
+		}
+
+		@Override
+		public String readLine() throws ShellIOException {
+			return null;
+		}
+
+		@Override
+		public boolean hasPipedInput() {
+			return false;
+		}
+
+		@Override
+		public void write(String text) throws ShellIOException {
+			output.append(text);
+		}
+
+		@Override
+		public void writeln(String text) throws ShellIOException {
+			synchronized (output) {
+				output.append(text).append(System.lineSeparator());
+			}
+		}
+
+		@Override
+		public void writeError(String message) throws ShellIOException {
+			synchronized (errors) {
+				errors.append(message).append(System.lineSeparator());
+			}
+		}
+
+		@Override
+		public void flush() throws ShellIOException {
+		}
+		
+	}
+	
+}
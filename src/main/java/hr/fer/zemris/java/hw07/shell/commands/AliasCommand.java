@@ -0,0 +1,89 @@
+package hr.fer.zemris.java.hw07.shell.commands;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellCommand;
+import hr.fer.zemris.java.hw07.shell.ShellIOException;
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+import hr.fer.zemris.java.hw07.shell.commands.tools.CommandTools;
+import hr.fer.zemris.java.hw07.shell.dispatch.Alias;
+import hr.fer.zemris.java.hw07.shell.dispatch.AliasTable;
+
+/**
+ * Command that prints out, defines and removes aliases of command lines.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class AliasCommand implements ShellCommand {
+
+	/** name of command */
+	private static final String COMMAND_NAME = "alias";
+	/** option that removes alias */
+	private static final String REMOVE_OPTION = "-d";
+	/** format used for printing out alias */
+	private static final String ALIAS_FORMAT = "%s=%s";
+	/** command description */
+	private static final String COMMAND_DESCRIPTION = 
+			"ALIAS command prints out, defines and removes aliases of command lines.\n" +
+			"If it is given no arguments it prints out all aliases.\n" +
+			"If it is given only name it prints out alias with given name.\n" +
+			"If it is given name and command line it defines alias, for example:\n" +
+			"  alias backup \"cptree src /mnt/backup\"\n" +
+			"Arguments given to alias are appended to its command line.\n" +
+			"Variables in command line of alias are expanded when alias is used.\n" +
+			"alias -d NAME removes alias with given name.\n" +
+			"Aliases are stored in file " + AliasTable.DEFAULT_FILE + " in home directory of user.";
+	
+	@Override
+	public ShellStatus executeCommand(Environment env, String arguments) {
+		Objects.requireNonNull(env, "Environment must not be null");
+		try {
+			String[] argumentsParts = CommandTools.getArguments(arguments, true);
+			AliasTable aliases = AliasTable.of(env);
+			if (argumentsParts.length == 0) {
+				for (Alias alias : aliases.getAll()) {
+					env.writeln(String.format(ALIAS_FORMAT, alias.getName(), alias.getExpansion()));
+				}
+			} else if (argumentsParts.length == 1) {
+				Alias alias = aliases.get(argumentsParts[0]);
+				if (alias == null)
+					throw new IllegalArgumentException("Alias does not exist. Was: " + argumentsParts[0]);
+				env.writeln(String.format(ALIAS_FORMAT, alias.getName(), alias.getExpansion()));
+			} else if (argumentsParts.length == 2 && argumentsParts[0].equals(REMOVE_OPTION)) {
+				if (!aliases.remove(argumentsParts[1]))
+					throw new IllegalArgumentException("Alias does not exist. Was: " + argumentsParts[1]);
+			} else if (argumentsParts.length == 2) {
+				aliases.define(argumentsParts[0], argumentsParts[1]);
+			} else {
+				throw new IllegalArgumentException("Invalid number of arguments. Expected: 0, 1 or 2. Was: " + argumentsParts.length);
+			}
+			
+		} catch (IllegalArgumentException | NullPointerException ex) {
+			env.writeError(ex.getMessage());
+		} catch (Exception ex) {
+			throw new ShellIOException(ex.getMessage());
+		}
+		return ShellStatus.CONTINUE;
+	}
+
+	@Override
+	public String getCommandName() {
+		return COMMAND_NAME;
+	}
+
+	@Override
+	public List<String> getCommandDescription() {
+		List<String> description = new ArrayList<>();
+		for (String s : COMMAND_DESCRIPTION.split("\\n")) {
+			description.add(s);
+		}
+		return Collections.unmodifiableList(description);
+	}
+
+}
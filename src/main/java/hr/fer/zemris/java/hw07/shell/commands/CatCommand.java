@@ -1,9 +1,9 @@
 package hr.fer.zemris.java.hw07.shell.commands;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.charset.IllegalCharsetNameException;
-import java.nio.charset.UnsupportedCharsetException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -16,10 +16,13 @@ import hr.fer.zemris.java.hw07.shell.Environment;
 import hr.fer.zemris.java.hw07.shell.ShellCommand;
 import hr.fer.zemris.java.hw07.shell.ShellIOException;
 import hr.fer.zemris.java.hw07.shell.ShellStatus;
+import hr.fer.zemris.java.hw07.shell.commands.tools.AttributeCache;
 import hr.fer.zemris.java.hw07.shell.commands.tools.CommandTools;
+import hr.fer.zemris.java.hw07.shell.glob.Operands;
+import hr.fer.zemris.java.hw07.shell.stats.MeasuringEnvironment;
 
 /**
- * Command that prints out content of given file.
+ * Command that prints out content of given files.
  * 
  * @author Ante Gazibaric
  * @version 1.0
@@ -33,40 +36,48 @@ public class CatCommand implements ShellCommand {
 	private static final String COMMAND_NAME = "cat";
 	/** command description */
 	private static final String COMMAND_DESCRIPTION = 
-			"CAT command prints out content of given file.\n" + 
-			"It takes one argument that represents path to the file" +
-			" whose content is printed out";
+			"CAT command prints out content of given files.\n" + 
+			"It takes one or more arguments that represent paths to the files" +
+			" whose content is printed out\n" +
+			"Paths can be patterns with *, ?, ** and {a,b}, which are replaced with matched files.\n" +
+			"Optional last argument that is name of supported charset and not existing file is charset of the files.\n" +
+			"If it is given no arguments in pipeline it prints out lines of previous command.";
 	
 	@Override
 	public ShellStatus executeCommand(Environment env, String arguments) {
 		Objects.requireNonNull(env, "Environment must not be null");
 		
 		try {
-			String[] argumentsParts = CommandTools.getArguments(arguments, true);
-			int argLength = argumentsParts.length;
-			List<String> fileLines;
-			
-			if (argLength == 2) {
-				Path path = env.getCurrentDirectory().resolve(Paths.get(argumentsParts[0]));
-				CommandTools.checkPathForFile(path);
-				Charset charset = Charset.forName(argumentsParts[1]);
-				fileLines = executeCutCommand(path, charset);
-			} else if (argLength == 1){
-				Path path = env.getCurrentDirectory().resolve(Paths.get(argumentsParts[0]));
-				CommandTools.checkPathForFile(path);
-				fileLines = executeCutCommand(path, DEFAULT_CHARSET);
-			} else {
-				env.writeln("Invalid number of arguments for cat command. Must be 1 or 2. Was: " + argLength);
+			Operands operands = CommandTools.getOperands(env, arguments);
+			int count = operands.size();
+			if (count == 0) {
+				if (!env.hasPipedInput()) {
+					env.writeError("Invalid number of arguments for cat command. Must be at least 1. Was: 0");
+					return ShellStatus.CONTINUE;
+				}
+				String line;
+				while ((line = env.readLine()) != null) {
+					env.writeln(line);
+				}
 				return ShellStatus.CONTINUE;
 			}
-			fileLines.forEach(env::writeln);
+			
+			Path currentDir = env.getCurrentDirectory();
+			int files = count;
+			if (count > 1 && !operands.isPattern(count - 1) && isCharset(operands.get(count - 1))
+					&& AttributeCache.of(env).get(currentDir.resolve(Paths.get(operands.get(count - 1)))) == null) {
+				files--;
+			}
+			Charset charset = files < count ? Charset.forName(operands.get(files)) : DEFAULT_CHARSET;
+			operands.forEachPath(0, files, currentDir, path -> {
+				CommandTools.checkPathForFile(env, path);
+				executeCutCommand(path, charset, env);
+			});
 			
 		} catch (IOException ex) {
-			env.writeln("Failed to open given file");
-		} catch (IllegalCharsetNameException | UnsupportedCharsetException ex) {
-			env.writeln("Given charset is invalid");
+			env.writeError("Failed to open given file");
 		} catch (IllegalArgumentException | NullPointerException ex) {
-			env.writeln(ex.getMessage());
+			env.writeError(ex.getMessage());
 		} catch (Exception ex) {
 			throw new ShellIOException(ex.getMessage());
 		}
@@ -89,15 +100,37 @@ public class CatCommand implements ShellCommand {
 	}
 	
 	/**
-	 * Method that executes cut command.
+	 * Method checks whether given argument is name of supported charset.
+	 * 
+	 * @param argument argument that is checked
+	 * @return         {@code true} if argument is name of supported charset, {@code false} otherwise
+	 */
+	private static boolean isCharset(String argument) {
+		try {
+			return Charset.isSupported(argument);
+		} catch (IllegalCharsetNameException ex) {
+			return false;
+		}
+	}
+	
+	/**
+	 * Method that executes cut command. </br>
+	 * Lines are written as they are read, so file is never loaded whole into memory.
 	 * 
 	 * @param path         {@link Path} of file whose content is printed out
 	 * @param charset      {@link Charset} 
-	 * @return             list of strings that represents lines of given file
+	 * @param env          {@link Environment} to which lines are written
 	 * @throws IOException if error occurred during file reading
 	 */
-	private List<String> executeCutCommand(Path path, Charset charset) throws IOException {
-		return Files.readAllLines(path, charset);
+	private void executeCutCommand(Path path, Charset charset, Environment env) throws IOException {
+		try (BufferedReader reader = Files.newBufferedReader(path, charset)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				env.writeln(line);
+			}
+		}
+		MeasuringEnvironment.recordFile(env);
+		MeasuringEnvironment.recordRead(env, AttributeCache.of(env).get(path).size());
 	}
 
 }
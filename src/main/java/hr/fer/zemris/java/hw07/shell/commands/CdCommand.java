@@ -33,18 +33,18 @@ public class CdCommand implements ShellCommand {
 	public ShellStatus executeCommand(Environment env, String arguments) {
 		Objects.requireNonNull(env, "Environment must not be null");
 		try {
-			String[] argumentsParts = CommandTools.getArguments(arguments, true);
+			String[] argumentsParts = CommandTools.getArguments(env, arguments, true);
 			int argLength = argumentsParts.length;
 			if (argLength != 1) {
-				env.writeln("Invalid number of arguments for cd command. Expected: 1. Was: " + argLength);
+				env.writeError("Invalid number of arguments for cd command. Expected: 1. Was: " + argLength);
 				return ShellStatus.CONTINUE;
 			}
 			Path path = env.getCurrentDirectory().resolve(Paths.get(argumentsParts[0]));
-			CommandTools.checkPathForDirectory(path);
+			CommandTools.checkPathForDirectory(env, path);
 			env.setCurrentDirectory(path);
 			
 		} catch (IllegalArgumentException | NullPointerException ex) {
-			env.writeln(ex.getMessage());
+			env.writeError(ex.getMessage());
 		} catch (Exception ex) {
 			throw new ShellIOException(ex.getMessage());
 		}
@@ -31,7 +31,7 @@ public class CharsetsCommand implements ShellCommand {
 		Objects.requireNonNull(env, "Environment must not be null");
 		
 		if (!arguments.isEmpty()) {
-			env.writeln("charset command accepts no arguments");
+			env.writeError("charset command accepts no arguments");
 		} else {
 			for (String charset : Charset.availableCharsets().keySet()) {
 				env.writeln(charset);
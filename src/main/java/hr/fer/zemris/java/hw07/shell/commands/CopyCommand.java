@@ -1,31 +1,35 @@
 package hr.fer.zemris.java.hw07.shell.commands;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.io.UnsupportedEncodingException;
-import java.io.Writer;
-import java.nio.file.Files;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
+import hr.fer.zemris.java.hw07.jfr.FileCopyEvent;
 import hr.fer.zemris.java.hw07.shell.Environment;
 import hr.fer.zemris.java.hw07.shell.ShellCommand;
 import hr.fer.zemris.java.hw07.shell.ShellIOException;
 import hr.fer.zemris.java.hw07.shell.ShellStatus;
+import hr.fer.zemris.java.hw07.shell.commands.tools.AttributeCache;
 import hr.fer.zemris.java.hw07.shell.commands.tools.CommandTools;
+import hr.fer.zemris.java.hw07.shell.copy.CopyCheckpoint;
+import hr.fer.zemris.java.hw07.shell.copy.CopyEngine;
+import hr.fer.zemris.java.hw07.shell.copy.CopyManifest;
+import hr.fer.zemris.java.hw07.shell.copy.CopyOptions;
+import hr.fer.zemris.java.hw07.shell.copy.CopyResult;
+import hr.fer.zemris.java.hw07.shell.copy.CopyVerificationException;
+import hr.fer.zemris.java.hw07.shell.glob.Operands;
+import hr.fer.zemris.java.hw07.shell.stats.MeasuringEnvironment;
 
 /**
- * Command that copies file to the given destination.
+ * Command that copies files to the given destination.
  * 
  * @author Ante Gazibaric
  * @version 1.0
@@ -35,37 +39,73 @@ public class CopyCommand implements ShellCommand {
 
 	/** name of command */
 	private static final String COMMAND_NAME = "copy";
-	/** default charset */
-	private static final String DEFAULT_CHARSET = "UTF-8";
 	/** command description */
 	private static final String COMMAND_DESCRIPTION = 
-			"COPY command copies given file to the given destination.\n" +
-			"It takes two arguments: first is file that is copied, and second is destination.\n" +
+			"COPY command copies given files to the given destination.\n" +
+			"It takes two or more arguments: all but last are files that are copied, and last is destination.\n" +
+			"Files can be patterns with *, ?, ** and {a,b}, which are replaced with matched files.\n" +
+			"If more than one file is copied, destination must be existing directory.\n" +
 			"If destination is directory then new file will be stored in that directory\n" +
 			" with the same name as copied file.\n" +
 			"If destination is file then file that is copied will be named as given file.\n" +
-			"If destination file already exists you will be asked do you want to override it.";
+			"If destination file already exists you will be asked do you want to override it,\n" +
+			" unless input is piped, in which case existing file is not overridden.\n" +
+			"Files are copied byte by byte, unless option --text is given before files.\n" +
+			"In text mode lines are written with \\n line endings and charset can be converted\n" +
+			" with options --from CHARSET and --to CHARSET (default is system charset to UTF-8).\n" +
+			"Option --parallel N copies chunks of large files with N concurrent workers.\n" +
+			"Option --resume writes checkpoints beside destination, so interrupted copy\n" +
+			" continues after the part of destination that is verified to be already copied.\n" +
+			"Option --verify [sha256|crc32c] computes digest of file while it is copied and\n" +
+			" compares it with digest of destination, which is not read again if --trust-write is given.\n" +
+			"Digests of verified files are written out, or to the file given with --manifest FILE.\n" +
+			"Option --sparse does not write blocks of zeros, which stay holes in destination,\n" +
+			" and writes out logical and physical number of bytes of every copied file.";
 	
 	@Override
 	public ShellStatus executeCommand(Environment env, String arguments) {
 		Objects.requireNonNull(env, "Environment must not be null");
 		
 		try {
-			String[] argumentsParts = CommandTools.getArguments(arguments, true);
-			if(argumentsParts.length != 2) {
-				env.writeln("Invalid number of arguments. Expected: 2. Was: " + argumentsParts.length);
+			Operands operands = CommandTools.getOperands(env, arguments);
+			CopyOptions options = new CopyOptions();
+			int first = options.parse(operands);
+			int count = operands.size() - first;
+			if (count < 2) {
+				env.writeError("Invalid number of arguments. Expected at least: 2. Was: " + count);
 				return ShellStatus.CONTINUE;
 			}
 			Path currentDir = env.getCurrentDirectory();
-			Path sourcePath = currentDir.resolve(Paths.get(argumentsParts[0]));
-			CommandTools.checkPathForFile(sourcePath);
-			Path destinationPath = currentDir.resolve(Paths.get(argumentsParts[1]));
-			executeCopyCommand(env, sourcePath, destinationPath);
+			Path destinationPath = currentDir.resolve(Paths.get(operands.get(operands.size() - 1)));
+			if (count > 2 || operands.hasPatterns()) {
+				CommandTools.checkPathForDirectory(env, destinationPath);
+			}
+			CopyEngine engine = new CopyEngine(options);
+			CopyManifest manifest = options.getVerify() == null ? null : new CopyManifest(currentDir);
+			try {
+				operands.forEachPath(first, operands.size() - 1, currentDir, sourcePath -> {
+					CommandTools.checkPathForFile(env, sourcePath);
+					CopyResult result = executeCopyCommand(env, engine, sourcePath, destinationPath);
+					if (manifest != null && result != null) {
+						manifest.add(result);
+					}
+				});
+			} finally {
+				if (manifest != null) {
+					writeManifest(env, manifest, options);
+				}
+			}
 			
+		} catch (CopyVerificationException ex) {
+			env.writeError(ex.getMessage());
+		} catch (CharacterCodingException ex) {
+			env.writeError("Given file is not text in source charset");
 		} catch (IOException ex) {
-			env.writeln("Failed to open given file");
+			env.writeError("Failed to open given file");
+		} catch (IllegalCharsetNameException | UnsupportedCharsetException ex) {
+			env.writeError("Given charset is invalid");
 		} catch (IllegalArgumentException | NullPointerException ex) {
-			env.writeln(ex.getMessage());
+			env.writeError(ex.getMessage());
 		} catch (Exception ex) {
 			throw new ShellIOException(ex.getMessage());
 		}
@@ -90,45 +130,81 @@ public class CopyCommand implements ShellCommand {
 	/**
 	 * Method executes copy command.
 	 * 
-	 * @param env                           {@link Environment} object
-	 * @param sourcePath                    {@link Path} of source file
-	 * @param destinationPath               {@link Path} of destination
-	 * @throws UnsupportedEncodingException if encoding is unsupported
-	 * @throws IOException                  if error occurred during copying files
+	 * @param env             {@link Environment} object
+	 * @param engine          {@link CopyEngine} which copies file
+	 * @param sourcePath      {@link Path} of source file
+	 * @param destinationPath {@link Path} of destination
+	 * @return                {@link CopyResult} of copy, or {@code null} if file was not copied
+	 * @throws IOException    if error occurred during copying files
 	 */
-	private void executeCopyCommand(Environment env, Path sourcePath, Path destinationPath) throws UnsupportedEncodingException, IOException {
-		if (Files.isDirectory(destinationPath)) {
-			destinationPath = Paths.get(destinationPath.toString().concat("\\" + sourcePath.getFileName()));
+	private CopyResult executeCopyCommand(Environment env, CopyEngine engine, Path sourcePath, Path destinationPath) throws IOException {
+		AttributeCache cache = AttributeCache.of(env);
+		BasicFileAttributes destination = cache.get(destinationPath);
+		if (destination != null && destination.isDirectory()) {
+			destinationPath = destinationPath.resolve(sourcePath.getFileName());
+			destination = cache.get(destinationPath);
 		}
 		
-		if (Files.exists(destinationPath)) {
+		boolean resumable = engine.getOptions().isResume() 
+				&& cache.get(CopyCheckpoint.getPath(destinationPath)) != null;
+		if (destination != null && !resumable) {
+			if (env.hasPipedInput()) {
+				env.writeError("Destination file already exists. It is not overridden because input is piped.");
+				return null;
+			}
 			env.writeln("Destination file already exists. Do you want to override it? [y/n]");
-			String userInput = env.readLine().trim().toLowerCase();
-			if (!userInput.equals("y"))
-				return;
+			String userInput = env.readLine();
+			if (userInput == null || !userInput.trim().toLowerCase().equals("y"))
+				return null;
 		}
 		
-		try (
-				BufferedReader br = new BufferedReader(
-						new InputStreamReader(
-						new BufferedInputStream(
-								Files.newInputStream(sourcePath, 
-								StandardOpenOption.READ))));
-				
-				Writer bw = new BufferedWriter(
-						 new OutputStreamWriter(
-						 new BufferedOutputStream(
-								 Files.newOutputStream(destinationPath, 
-								 StandardOpenOption.WRITE, 
-								 StandardOpenOption.TRUNCATE_EXISTING,
-								 StandardOpenOption.CREATE)), DEFAULT_CHARSET))) {
-			
-			while(true) {
-				String line = br.readLine();
-				if(line == null) 
-					break;
-				bw.write(line.concat("\n"));
-			}
+		FileCopyEvent event = new FileCopyEvent();
+		event.begin();
+		CopyResult result;
+		try {
+			result = engine.copy(sourcePath, destinationPath);
+		} finally {
+			cache.invalidate(destinationPath);
+			cache.invalidate(CopyCheckpoint.getPath(destinationPath));
+		}
+		if (engine.getOptions().isSparse()) {
+			env.writeln(String.format("Copied %s: %d logical bytes, %d physical bytes written.", 
+					sourcePath.getFileName(), result.getLogicalBytes(), result.getBytesWritten()));
+		}
+		if (result.getResumed() > 0) {
+			env.writeln(String.format("Resumed copy of %s after %d verified bytes.", sourcePath.getFileName(), result.getResumed()));
+		}
+		if (event.shouldCommit()) {
+			event.source = sourcePath.toString();
+			event.destination = destinationPath.toString();
+			event.bytes = result.getBytesWritten();
+			event.commit();
+		}
+		MeasuringEnvironment.recordFile(env);
+		MeasuringEnvironment.recordRead(env, result.getBytesRead());
+		MeasuringEnvironment.recordWritten(env, result.getBytesWritten());
+		return result;
+	}
+	
+	/**
+	 * Method writes manifest of verified copies to the file given with options, </br>
+	 * or writes out its lines if file is not given.
+	 * 
+	 * @param env          {@link Environment} object
+	 * @param manifest     manifest of verified copies
+	 * @param options      options of copy
+	 * @throws IOException if manifest file can not be written
+	 */
+	static void writeManifest(Environment env, CopyManifest manifest, CopyOptions options) throws IOException {
+		if (options.getManifest() == null) {
+			manifest.getLines().forEach(env::writeln);
+			return;
+		}
+		Path manifestPath = env.getCurrentDirectory().resolve(options.getManifest());
+		try {
+			manifest.write(manifestPath);
+		} finally {
+			AttributeCache.of(env).invalidate(manifestPath);
 		}
 	}
 
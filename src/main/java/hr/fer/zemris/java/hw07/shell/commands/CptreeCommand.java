@@ -1,9 +1,13 @@
 package hr.fer.zemris.java.hw07.shell.commands;
 
 import java.io.IOException;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.FileVisitResult;
 import java.nio.file.FileVisitor;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
@@ -11,11 +15,20 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
+import hr.fer.zemris.java.hw07.jfr.FileCopyEvent;
+import hr.fer.zemris.java.hw07.jfr.TreeWalkEvent;
 import hr.fer.zemris.java.hw07.shell.Environment;
 import hr.fer.zemris.java.hw07.shell.ShellCommand;
 import hr.fer.zemris.java.hw07.shell.ShellIOException;
 import hr.fer.zemris.java.hw07.shell.ShellStatus;
+import hr.fer.zemris.java.hw07.shell.commands.tools.AttributeCache;
 import hr.fer.zemris.java.hw07.shell.commands.tools.CommandTools;
+import hr.fer.zemris.java.hw07.shell.copy.CopyEngine;
+import hr.fer.zemris.java.hw07.shell.copy.CopyManifest;
+import hr.fer.zemris.java.hw07.shell.copy.CopyOptions;
+import hr.fer.zemris.java.hw07.shell.copy.CopyResult;
+import hr.fer.zemris.java.hw07.shell.glob.Operands;
+import hr.fer.zemris.java.hw07.shell.stats.MeasuringEnvironment;
 
 /**
  * Command copies given directory content to the given destination directory.
@@ -27,42 +40,76 @@ import hr.fer.zemris.java.hw07.shell.commands.tools.CommandTools;
 public class CptreeCommand implements ShellCommand {
 	
 	/** name of command */
-	private static final String COMMAND_NAME = "pushd";
+	private static final String COMMAND_NAME = "cptree";
 	/** command description */
 	private static final String COMMAND_DESCRIPTION = 
 			"CPTREE command copies given directory content to the given destination directory.\n" +
 			"It accepts two arguments: \n" + 
 			"First argument is source directory which is copied together with all its content.\n" +
-			"Second argument is destination to which source directory is copied. \n";
+			"Second argument is destination to which source directory is copied. \n" +
+			"Options --text, --from, --to, --parallel, --verify and --sparse given before arguments\n" +
+			" are used for every copied file, same as in COPY command.\n" +
+			"Digests of verified files are written out, or to the file given with --manifest FILE.\n" +
+			"With --sparse logical and physical number of bytes of all copied files is written out.";
 
 	@Override
 	public ShellStatus executeCommand(Environment env, String arguments) {
 		Objects.requireNonNull(env, "Environment must not be null");
 		try {
-			String[] argumentsParts = CommandTools.getArguments(arguments, true);
-			if (argumentsParts.length != 2) 
-				throw new IllegalArgumentException("Invalid number of arguments. Expected: 2. Was: " + argumentsParts.length);
+			Operands operands = CommandTools.getOperands(env, arguments);
+			CopyOptions options = new CopyOptions();
+			int first = options.parse(operands);
+			if (operands.size() - first != 2) 
+				throw new IllegalArgumentException("Invalid number of arguments. Expected: 2. Was: " + (operands.size() - first));
+			if (options.isResume())
+				throw new IllegalArgumentException("Option " + CopyOptions.RESUME_OPTION + " is not supported by " + COMMAND_NAME + " command.");
 			
-			Path sourcePath = CommandTools.getResolvedPathFrom(env.getCurrentDirectory(), argumentsParts[0]);
-			CommandTools.checkPathForDirectory(sourcePath);
-			Path destinationArgument = CommandTools.getResolvedPathFrom(env.getCurrentDirectory(), argumentsParts[1]);
+			Path sourcePath = CommandTools.getResolvedPathFrom(env.getCurrentDirectory(), operands.get(first));
+			CommandTools.checkPathForDirectory(env, sourcePath);
+			Path destinationArgument = CommandTools.getResolvedPathFrom(env.getCurrentDirectory(), operands.get(first + 1));
 			Path destinationPath = null;
-			if (Files.exists(destinationArgument)) {
+			AttributeCache cache = AttributeCache.of(env);
+			if (cache.get(destinationArgument) != null) {
 				destinationPath = CommandTools.getResolvedPathFrom(destinationArgument, sourcePath.getFileName().toString());
 			} else {
 				destinationPath = CommandTools.getResolvedPathFrom(destinationArgument, "..");
-				if (!Files.exists(destinationPath)) {
-					env.writeln("Invalid destination path for cptree command");
+				if (cache.get(destinationPath) == null) {
+					env.writeError("Invalid destination path for cptree command");
 					return ShellStatus.CONTINUE;
 				}
 				destinationPath = CommandTools.getResolvedPathFrom(destinationPath, destinationArgument.getFileName().toString());
 			}
-			Files.walkFileTree(sourcePath, new CptreeFileVisitor(destinationPath));
+			TreeWalkEvent event = new TreeWalkEvent();
+			event.begin();
+			CopyManifest manifest = options.getVerify() == null ? null : new CopyManifest(env.getCurrentDirectory());
+			CptreeFileVisitor visitor = new CptreeFileVisitor(env, new CopyEngine(options), manifest, destinationPath);
+			try {
+				Files.walkFileTree(sourcePath, visitor);
+			} finally {
+				cache.invalidate(destinationPath);
+				if (manifest != null) {
+					CopyCommand.writeManifest(env, manifest, options);
+				}
+			}
+			if (event.shouldCommit()) {
+				event.operation = COMMAND_NAME;
+				event.root = sourcePath.toString();
+				event.files = visitor.files;
+				event.directories = visitor.directories;
+				event.bytes = visitor.bytes;
+				event.commit();
+			}
+			if (options.isSparse()) {
+				env.writeln(String.format("Copied %d files: %d logical bytes, %d physical bytes written.", 
+						visitor.files, visitor.bytes + visitor.holes, visitor.bytes));
+			}
 			
+		} catch (IllegalCharsetNameException | UnsupportedCharsetException ex) {
+			env.writeError("Given charset is invalid");
 		} catch (IllegalArgumentException | NullPointerException ex) {
-			env.writeln(ex.getMessage());
+			env.writeError(ex.getMessage());
 		} catch (IOException ex) {
-			env.writeln(ex.getMessage());
+			env.writeError(ex.getMessage());
 		} catch (Exception ex) {
 			throw new ShellIOException(ex.getMessage());
 		}
@@ -92,18 +139,38 @@ public class CptreeCommand implements ShellCommand {
 	 */
 	private static class CptreeFileVisitor implements FileVisitor<Path> {
 		
+		/** environment to which copied files are reported */
+		private Environment env;
+		/** engine which copies files */
+		private CopyEngine engine;
+		/** manifest of verified copies, or {@code null} if files are not verified */
+		private CopyManifest manifest;
 		/** destination path */
 		private Path destinationPath;
 		/** source from which directory tree is copied */
 		private Path sourcePath;
+		/** number of copied files */
+		private long files;
+		/** number of copied directories */
+		private long directories;
+		/** number of copied bytes */
+		private long bytes;
+		/** number of bytes left as holes */
+		private long holes;
 		
 		/**
 		 * Constructor that creates new {@link CptreeFileVisitor} object.
 		 * 
+		 * @param env             {@link #env}
+		 * @param engine          {@link #engine}
+		 * @param manifest        {@link #manifest}
 		 * @param destinationPath {@link #destinationPath}
 		 * @throws IOException 
 		 */
-		public CptreeFileVisitor(Path destinationPath) throws IOException {
+		public CptreeFileVisitor(Environment env, CopyEngine engine, CopyManifest manifest, Path destinationPath) throws IOException {
+			this.env = env;
+			this.engine = engine;
+			this.manifest = manifest;
 			this.destinationPath = destinationPath;
 			if (!Files.exists(destinationPath)) {
         		Files.createDirectories(destinationPath);
@@ -117,6 +184,7 @@ public class CptreeCommand implements ShellCommand {
 
 		@Override
 		public FileVisitResult preVisitDirectory(Path path, BasicFileAttributes arg1) throws IOException {
+			directories++;
 			if (sourcePath == null) {
 	            sourcePath = path;
 	        } else {
@@ -127,7 +195,27 @@ public class CptreeCommand implements ShellCommand {
 
 		@Override
 		public FileVisitResult visitFile(Path path, BasicFileAttributes arg1) throws IOException {
-			Files.copy(path, destinationPath.resolve(sourcePath.relativize(path)));
+			FileCopyEvent event = new FileCopyEvent();
+			event.begin();
+			Path destination = destinationPath.resolve(sourcePath.relativize(path));
+			if (Files.exists(destination, LinkOption.NOFOLLOW_LINKS))
+				throw new FileAlreadyExistsException(destination.toString());
+			CopyResult result = engine.copy(path, destination);
+			if (manifest != null) {
+				manifest.add(result);
+			}
+			if (event.shouldCommit()) {
+				event.source = path.toString();
+				event.destination = destination.toString();
+				event.bytes = result.getBytesWritten();
+				event.commit();
+			}
+			files++;
+			bytes += result.getBytesWritten();
+			holes += result.getHoles();
+			MeasuringEnvironment.recordFile(env);
+			MeasuringEnvironment.recordRead(env, result.getBytesRead());
+			MeasuringEnvironment.recordWritten(env, result.getBytesWritten());
 			return FileVisitResult.CONTINUE;
 		}
 
@@ -3,10 +3,10 @@ package hr.fer.zemris.java.hw07.shell.commands;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.EmptyStackException;
+import java.util.Deque;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.Stack;
 
 import hr.fer.zemris.java.hw07.shell.Environment;
 import hr.fer.zemris.java.hw07.shell.ShellCommand;
@@ -39,17 +39,17 @@ public class DropdCommand implements ShellCommand {
 			CommandTools.checkForNoArguments(arguments, COMMAND_NAME);
 			Object popdStackObject = env.getSharedData(DROPD_KEY);
 			if (popdStackObject == null) {
-				env.writeln("Invalid dropd command call. Stack is empty");
+				env.writeError("Invalid dropd command call. Stack is empty");
 				return ShellStatus.CONTINUE;
 			}
 			@SuppressWarnings({ "unchecked" })
-			Stack<Path> popdStack = (Stack<Path>) popdStackObject;
+			Deque<Path> popdStack = (Deque<Path>) popdStackObject;
 			env.getCurrentDirectory().resolve(popdStack.pop());
 			
 		} catch (IllegalArgumentException | NullPointerException ex) {
-			env.writeln(ex.getMessage());
-		} catch (EmptyStackException ex) {
-			env.writeln("Invalid dropd command call. Stack is empty");
+			env.writeError(ex.getMessage());
+		} catch (NoSuchElementException ex) {
+			env.writeError("Invalid dropd command call. Stack is empty");
 		} catch (Exception ex) {
 			throw new ShellIOException(ex.getMessage());
 		}
@@ -0,0 +1,81 @@
+package hr.fer.zemris.java.hw07.shell.commands;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellCommand;
+import hr.fer.zemris.java.hw07.shell.ShellIOException;
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+import hr.fer.zemris.java.hw07.shell.commands.tools.CommandTools;
+import hr.fer.zemris.java.hw07.shell.jobs.Job;
+import hr.fer.zemris.java.hw07.shell.jobs.JobManager;
+
+/**
+ * Command brings background job to the foreground and waits for it to finish.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class FgCommand implements ShellCommand {
+
+	/** name of command */
+	private static final String COMMAND_NAME = "fg";
+	/** command description */
+	private static final String COMMAND_DESCRIPTION = 
+			"FG command brings background job to the foreground and waits for it to finish.\n" +
+			"It accepts single optional argument which is identifier of job.\n" +
+			"If it is given no arguments it waits for the most recently started job.";
+	
+	@Override
+	public ShellStatus executeCommand(Environment env, String arguments) {
+		Objects.requireNonNull(env, "Environment must not be null");
+		try {
+			String[] argumentsParts = CommandTools.getArguments(env, arguments, true);
+			int argLength = argumentsParts.length;
+			if (argLength > 1) {
+				env.writeError("Invalid number of arguments for fg command. Expected: 0 or 1. Was: " + argLength);
+				return ShellStatus.CONTINUE;
+			}
+			JobManager jobManager = (JobManager) env.getSharedData(JobManager.SHARED_DATA_KEY);
+			if (jobManager == null) {
+				env.writeError("There are no jobs");
+				return ShellStatus.CONTINUE;
+			}
+			Job job = argLength == 0 ? jobManager.getLast() : jobManager.get(Integer.parseInt(argumentsParts[0]));
+			if (job == null) {
+				env.writeError("There is no such job");
+				return ShellStatus.CONTINUE;
+			}
+			env.writeln(job.getCommandLine());
+			env.flush();
+			jobManager.waitFor(job, env);
+			
+		} catch (NumberFormatException ex) {
+			env.writeError("Job identifier must be number. Was: " + arguments.trim());
+		} catch (IllegalArgumentException | NullPointerException ex) {
+			env.writeError(ex.getMessage());
+		} catch (Exception ex) {
+			throw new ShellIOException(ex.getMessage());
+		}
+		return ShellStatus.CONTINUE;
+	}
+
+	@Override
+	public String getCommandName() {
+		return COMMAND_NAME;
+	}
+
+	@Override
+	public List<String> getCommandDescription() {
+		List<String> description = new ArrayList<>();
+		for (String s : COMMAND_DESCRIPTION.split("\\n")) {
+			description.add(s);
+		}
+		return Collections.unmodifiableList(description);
+	}
+
+}
@@ -0,0 +1,101 @@
+package hr.fer.zemris.java.hw07.shell.commands;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellCommand;
+import hr.fer.zemris.java.hw07.shell.ShellIOException;
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+import hr.fer.zemris.java.hw07.shell.commands.tools.AttributeCache;
+import hr.fer.zemris.java.hw07.shell.commands.tools.CommandTools;
+import hr.fer.zemris.java.hw07.shell.stats.MeasuringEnvironment;
+import hr.fer.zemris.java.hw07.shell.workload.WorkloadGenerator;
+import hr.fer.zemris.java.hw07.shell.workload.WorkloadProfile;
+import hr.fer.zemris.java.hw07.shell.workload.WorkloadSummary;
+
+/**
+ * Command generates synthetic directory tree used for benchmarks.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class GentreeCommand implements ShellCommand {
+
+	/** name of command */
+	private static final String COMMAND_NAME = "gentree";
+	/** command description */
+	private static final String COMMAND_DESCRIPTION = 
+			"GENTREE command generates synthetic directory tree used for benchmarks.\n" +
+			"It expects from one to four arguments: directory, profile, seed and number of threads.\n" +
+			"Directory must not exist or it must be empty.\n" +
+			"Profile is one of SMALL, MANY, DEEP, HUGE, SPARSE and MIXED, default is SMALL.\n" +
+			"Same profile and seed (default 42) always generate the same tree.\n" +
+			"Default number of threads is number of processors.";
+	
+	/** default seed */
+	private static final long DEFAULT_SEED = 42;
+	/** format of message printed after tree is generated */
+	private static final String messageFormat = "Generated %s tree with seed %d: %s";
+	
+	@Override
+	public ShellStatus executeCommand(Environment env, String arguments) {
+		Objects.requireNonNull(env, "Environment must not be null");
+		try {
+			String[] argumentsParts = CommandTools.getArguments(env, arguments, true);
+			int argsLength = argumentsParts.length;
+			if (argsLength < 1 || argsLength > 4)
+				throw new IllegalArgumentException("Invalid number of arguments. Expected from 1 to 4. Was: " + argsLength);
+			
+			Path root = CommandTools.getResolvedPathFrom(env.getCurrentDirectory(), argumentsParts[0]);
+			WorkloadProfile profile = argsLength > 1 
+					? WorkloadProfile.valueOf(argumentsParts[1].toUpperCase(Locale.ROOT)) 
+					: WorkloadProfile.SMALL;
+			long seed = argsLength > 2 ? Long.parseLong(argumentsParts[2]) : DEFAULT_SEED;
+			WorkloadGenerator generator = argsLength > 3 
+					? new WorkloadGenerator(seed, profile, Integer.parseInt(argumentsParts[3]))
+					: new WorkloadGenerator(seed, profile);
+			
+			WorkloadSummary summary;
+			try {
+				summary = generator.generate(root);
+			} finally {
+				AttributeCache.of(env).invalidate(root);
+			}
+			MeasuringEnvironment.recordWritten(env, summary.getBytes());
+			MeasuringEnvironment.recordFiles(env, summary.getFiles());
+			env.writeln(String.format(messageFormat, profile, seed, summary));
+			
+		} catch (NumberFormatException ex) {
+			env.writeError("Seed and number of threads must be numbers. Was: " + arguments.trim());
+		} catch (IllegalArgumentException | NullPointerException ex) {
+			env.writeError(ex.getMessage());
+		} catch (IOException ex) {
+			env.writeln("Failed to generate tree. " + ex.getMessage());
+		} catch (Exception ex) {
+			throw new ShellIOException(ex.getMessage());
+		}
+		return ShellStatus.CONTINUE;
+	}
+
+	@Override
+	public String getCommandName() {
+		return COMMAND_NAME;
+	}
+
+	@Override
+	public List<String> getCommandDescription() {
+		List<String> description = new ArrayList<>();
+		for (String s : COMMAND_DESCRIPTION.split("\\n")) {
+			description.add(s);
+		}
+		return Collections.unmodifiableList(description);
+	}
+
+}
@@ -34,7 +34,7 @@ public class HelpCommand implements ShellCommand {
 		Objects.requireNonNull(env, "Environment must not be null");
 		
 		try {
-			String argumentsParts[] = CommandTools.getArguments(arguments, true);
+			String argumentsParts[] = CommandTools.getArguments(env, arguments, true);
 			int argLength = argumentsParts.length;
 			if (argLength == 0) {
 				listAllCommands(env);
@@ -42,10 +42,10 @@ public class HelpCommand implements ShellCommand {
 				String commandName = argumentsParts[0];
 				printCommandDescription(commandName, env);
 			} else {
-				env.writeln("Invalid number of arguments for help command. Expected: 1 or 2. Was: " + argLength);
+				env.writeError("Invalid number of arguments for help command. Expected: 1 or 2. Was: " + argLength);
 			}
 		} catch (IllegalArgumentException | NullPointerException ex) {
-			env.writeln(ex.getMessage());
+			env.writeError(ex.getMessage());
 		} catch (Exception ex) {
 			throw new ShellIOException(ex.getMessage());
 		}
@@ -72,7 +72,7 @@ public class HelpCommand implements ShellCommand {
 	 * @param env {@link Environment} object used for communication with shell
 	 */
 	private void listAllCommands(Environment env) {
-		env.commands().forEach((k, v) -> System.out.println(k));
+		env.commands().forEach((k, v) -> env.writeln(k));
 	}
 	
 	/**
@@ -83,9 +83,9 @@ public class HelpCommand implements ShellCommand {
 	private void printCommandDescription(String commandName,Environment env) {
 		ShellCommand command = env.commands().get(commandName);
 		if (command != null) {
-			command.getCommandDescription().forEach(System.out::println);
+			command.getCommandDescription().forEach(env::writeln);
 		} else {
-			env.writeln("Command '" + commandName + "' is invalid.");
+			env.writeError("Command '" + commandName + "' is invalid.");
 		}	
 	}
 
@@ -1,9 +1,11 @@
 package hr.fer.zemris.java.hw07.shell.commands;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -15,9 +17,11 @@ import hr.fer.zemris.java.hw07.shell.ShellCommand;
 import hr.fer.zemris.java.hw07.shell.ShellIOException;
 import hr.fer.zemris.java.hw07.shell.ShellStatus;
 import hr.fer.zemris.java.hw07.shell.commands.tools.CommandTools;
+import hr.fer.zemris.java.hw07.shell.glob.Operands;
+import hr.fer.zemris.java.hw07.shell.stats.MeasuringEnvironment;
 
 /**
- * Command that prints out hex content of given file.
+ * Command that prints out hex content of given files.
  * 
  * @author Ante Gazibaric
  * @version 1.0
@@ -32,28 +36,47 @@ public class HexdumbCommand implements ShellCommand {
 	 * with upper case hex char to distinguish between all lower cased chars used in hexdumb
 	 */
 	private static final String REPLACEMENT_HEXCHAR = "A";
+	/** number of bytes printed in single row */
+	private static final int ROW_SIZE = 16;
+	/** size of buffer used for reading file */
+	private static final int BUFFER_SIZE = 8192;
+	/** charset used for encoding lines of previous command in pipeline */
+	private static final Charset PIPE_CHARSET = Charset.defaultCharset();
 	/** command description */
 	private static final String COMMAND_DESCRIPTION = 
-			"HEXDUMB command prints out hex content of given file.\n" +
-			"Command accepts single argument that is path to the file whose hex content is printed.";
+			"HEXDUMB command prints out hex content of given files.\n" +
+			"Command accepts one or more arguments that are paths to the files whose hex content is printed.\n" +
+			"Paths can be patterns with *, ?, ** and {a,b}, which are replaced with matched files.\n" +
+			"If more than one file is printed, content of every file is preceded by its path.\n" +
+			"If it is given no arguments in pipeline it prints out hex content of lines of previous command,\n" +
+			" which are encoded in system charset with \\n after every line, so binary content is not preserved.";
 	
 	@Override
 	public ShellStatus executeCommand(Environment env, String arguments) {
 		Objects.requireNonNull(env, "Environment must not be null");
 		
 		try {
-			String[] argumentsParts = CommandTools.getArguments(arguments, true);
-			if (argumentsParts.length != 1) 
-				throw new IllegalArgumentException("Invalid number of arguments. Expected: 1. Was: " + argumentsParts.length);
+			Operands operands = CommandTools.getOperands(env, arguments);
+			if (operands.size() == 0 && env.hasPipedInput()) {
+				executeHexdumbCommand(env);
+				return ShellStatus.CONTINUE;
+			}
+			if (operands.size() == 0) 
+				throw new IllegalArgumentException("Invalid number of arguments. Expected at least: 1. Was: 0");
 			
-			Path path = env.getCurrentDirectory().resolve(Paths.get(argumentsParts[0]));
-			CommandTools.checkPathForFile(path);
-			executeHexdumbCommand(path);
+			boolean withHeaders = operands.size() > 1 || operands.hasPatterns();
+			operands.forEachPath(0, operands.size(), env.getCurrentDirectory(), path -> {
+				CommandTools.checkPathForFile(env, path);
+				if (withHeaders) {
+					env.writeln(path + ":");
+				}
+				executeHexdumbCommand(path, env);
+			});
 			
 		} catch (IllegalArgumentException | NullPointerException ex) {
-			env.writeln(ex.getMessage());
+			env.writeError(ex.getMessage());
 		} catch (IOException ex) {
-			env.writeln("Failed to open given file");
+			env.writeError("Failed to open given file");
 		} catch (Exception ex) {
 			throw new ShellIOException(ex.getMessage());
 		}
@@ -75,22 +98,58 @@ public class HexdumbCommand implements ShellCommand {
 	}
 	
 	/**
-	 * Method executes hexdumb command.
+	 * Method executes hexdumb command. </br>
+	 * File is read in chunks and rows are printed as soon as they are filled.
 	 * 
 	 * @param path         path of file whose hex content is printed
+	 * @param env          {@link Environment} to which rows are written
 	 * @throws IOException if failed to open file
 	 */
-	private void executeHexdumbCommand(Path path) throws IOException {
-		byte[] bytes = Files.readAllBytes(path);
-		for (int row = 0, n = bytes.length; row < n; row += 16) {
-			String hexValue1 = getHexValue(bytes, row, row + 16);
-			String hexValue = fillHexStringToValidLength(hexValue1);
-			String firstPart = getValidFilledHexValue(separateHexValues(hexValue.substring(0, hexValue.length() / 2))).toUpperCase();
-			String secondPart = getValidFilledHexValue(separateHexValues(hexValue.substring(hexValue.length() / 2))).toUpperCase();
-			String actualString = getActualContentFromHex(hexValue);
-			String rowString = getRowAsString(row);
-			System.out.format("%8s: %24s|%24s | %16s%n", rowString, firstPart, secondPart, actualString);
-		}				
+	private void executeHexdumbCommand(Path path, Environment env) throws IOException {
+		RowPrinter printer = new RowPrinter(env);
+		try (InputStream is = new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE)) {
+			byte[] buff = new byte[BUFFER_SIZE];
+			int r;
+			while ((r = is.read(buff)) > 0) {
+				printer.append(buff, r);
+				MeasuringEnvironment.recordRead(env, r);
+			}
+		}
+		MeasuringEnvironment.recordFile(env);
+		printer.finish();
+	}
+	
+	/**
+	 * Method executes hexdumb command on lines of previous command in pipeline.
+	 * 
+	 * @param env {@link Environment} from which lines are read and to which rows are written
+	 */
+	private void executeHexdumbCommand(Environment env) {
+		RowPrinter printer = new RowPrinter(env);
+		String line;
+		while ((line = env.readLine()) != null) {
+			byte[] bytes = (line + "\n").getBytes(PIPE_CHARSET);
+			printer.append(bytes, bytes.length);
+		}
+		printer.finish();
+	}
+	
+	/**
+	 * Method prints out single row of hexdumb output.
+	 * 
+	 * @param bytes  array that contains bytes of row
+	 * @param length number of bytes in row
+	 * @param offset offset of first byte of row
+	 * @param env    {@link Environment} to which row is written
+	 */
+	private void printRow(byte[] bytes, int length, long offset, Environment env) {
+		String hexValue1 = getHexValue(bytes, 0, length);
+		String hexValue = fillHexStringToValidLength(hexValue1);
+		String firstPart = getValidFilledHexValue(separateHexValues(hexValue.substring(0, hexValue.length() / 2))).toUpperCase();
+		String secondPart = getValidFilledHexValue(separateHexValues(hexValue.substring(hexValue.length() / 2))).toUpperCase();
+		String actualString = getActualContentFromHex(hexValue);
+		String rowString = getRowAsString(offset);
+		env.writeln(String.format("%8s: %24s|%24s | %16s", rowString, firstPart, secondPart, actualString));
 	}
 	
 	/**
@@ -120,8 +179,8 @@ public class HexdumbCommand implements ShellCommand {
 	 * @param row number of row
 	 * @return    hexadecimal string representation of given row
 	 */
-	private String getRowAsString(int row) {
-		String hexRow = Integer.toHexString(row);
+	private String getRowAsString(long row) {
+		String hexRow = Long.toHexString(row);
 		int numOfZerosToAdd = 8 - hexRow.length();
 		return getStringWithZeros(numOfZerosToAdd).concat(hexRow).toUpperCase();
 	}
@@ -194,4 +253,62 @@ public class HexdumbCommand implements ShellCommand {
 		return Util.bytesToHex(newArray);	
 	}
 
+	/**
+	 * Class that collects bytes into rows of {@link HexdumbCommand#ROW_SIZE} bytes
+	 * and prints out every row as soon as it is filled.
+	 * 
+	 * @author Ante Gazibaric
+	 * @version 1.0
+	 *
+	 */
+	private class RowPrinter {
+		
+		/** environment to which rows are written */
+		private Environment env;
+		/** bytes of current row */
+		private byte[] row = new byte[ROW_SIZE];
+		/** number of bytes in current row */
+		private int filled;
+		/** offset of current row */
+		private long offset;
+		
+		/**
+		 * Constructor that creates new {@link RowPrinter} object.
+		 * 
+		 * @param env {@link #env}
+		 */
+		public RowPrinter(Environment env) {
+			this.env = env;
+		}
+		
+		/**
+		 * Method appends given bytes and prints out every row that is filled.
+		 * 
+		 * @param bytes  bytes that are appended
+		 * @param length number of bytes from the start of array that are appended
+		 */
+		public void append(byte[] bytes, int length) {
+			for (int i = 0; i < length; i++) {
+				row[filled++] = bytes[i];
+				if (filled == ROW_SIZE) {
+					printRow(row, filled, offset, env);
+					offset += filled;
+					filled = 0;
+				}
+			}
+		}
+		
+		/**
+		 * Method prints out last row if it is not empty.
+		 */
+		public void finish() {
+			if (filled > 0) {
+				printRow(row, filled, offset, env);
+				offset += filled;
+				filled = 0;
+			}
+		}
+		
+	}
+
 }
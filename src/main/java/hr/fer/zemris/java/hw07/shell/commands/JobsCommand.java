@@ -0,0 +1,71 @@
+package hr.fer.zemris.java.hw07.shell.commands;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellCommand;
+import hr.fer.zemris.java.hw07.shell.ShellIOException;
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+import hr.fer.zemris.java.hw07.shell.commands.tools.CommandTools;
+import hr.fer.zemris.java.hw07.shell.jobs.Job;
+import hr.fer.zemris.java.hw07.shell.jobs.JobManager;
+
+/**
+ * Command lists all background jobs with their elapsed time and number of written bytes.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class JobsCommand implements ShellCommand {
+
+	/** name of command */
+	private static final String COMMAND_NAME = "jobs";
+	/** command description */
+	private static final String COMMAND_DESCRIPTION = 
+			"JOBS command lists all background jobs.\n" +
+			"For every job it prints out its state, elapsed time, number of bytes of files\n" +
+			" that job has read and written, and command.\n" +
+			"Job is started by writing '&' at the end of command.\n" +
+			"It accepts no arguments.";
+	
+	@Override
+	public ShellStatus executeCommand(Environment env, String arguments) {
+		Objects.requireNonNull(env, "Environment must not be null");
+		try {
+			CommandTools.checkForNoArguments(arguments, COMMAND_NAME);
+			JobManager jobManager = (JobManager) env.getSharedData(JobManager.SHARED_DATA_KEY);
+			if (jobManager == null || jobManager.getJobs().isEmpty()) {
+				env.writeln("There are no jobs");
+				return ShellStatus.CONTINUE;
+			}
+			for (Job job : jobManager.getJobs()) {
+				env.writeln(job.toString());
+			}
+			
+		} catch (IllegalArgumentException | NullPointerException ex) {
+			env.writeError(ex.getMessage());
+		} catch (Exception ex) {
+			throw new ShellIOException(ex.getMessage());
+		}
+		return ShellStatus.CONTINUE;
+	}
+
+	@Override
+	public String getCommandName() {
+		return COMMAND_NAME;
+	}
+
+	@Override
+	public List<String> getCommandDescription() {
+		List<String> description = new ArrayList<>();
+		for (String s : COMMAND_DESCRIPTION.split("\\n")) {
+			description.add(s);
+		}
+		return Collections.unmodifiableList(description);
+	}
+
+}
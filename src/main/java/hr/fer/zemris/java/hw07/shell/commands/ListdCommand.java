@@ -3,10 +3,10 @@ package hr.fer.zemris.java.hw07.shell.commands;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.EmptyStackException;
+import java.util.Deque;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.Stack;
 
 import hr.fer.zemris.java.hw07.shell.Environment;
 import hr.fer.zemris.java.hw07.shell.ShellCommand;
@@ -44,17 +44,17 @@ public class ListdCommand implements ShellCommand {
 				return ShellStatus.CONTINUE;
 			}
 			@SuppressWarnings({ "unchecked" })
-			Stack<Path> popdStack = (Stack<Path>) popdStackObject;
-			if(popdStack.empty()) {
+			Deque<Path> popdStack = (Deque<Path>) popdStackObject;
+			if(popdStack.isEmpty()) {
 				env.writeln("There is no stored directories");
 				return ShellStatus.CONTINUE;
 			}
 			printDirectories(popdStack, env);
 			
 		} catch (IllegalArgumentException | NullPointerException ex) {
-			env.writeln(ex.getMessage());
-		} catch (EmptyStackException ex) {
-			env.writeln("Stack is empty");
+			env.writeError(ex.getMessage());
+		} catch (NoSuchElementException ex) {
+			env.writeError("Stack is empty");
 		} catch (Exception ex) {
 			throw new ShellIOException(ex.getMessage());
 		}
@@ -81,10 +81,8 @@ public class ListdCommand implements ShellCommand {
 	 * @param stack stack that contains directories
 	 * @param env   {@link Environment} object used for communication with shell
 	 */
-	private void printDirectories(Stack<Path> stack, Environment env) {
-		Object[] pathObjectarray = stack.toArray();
-		for (int i = pathObjectarray.length - 1; i >= 0; i--) {
-			Path path = (Path) pathObjectarray[i];
+	private void printDirectories(Deque<Path> stack, Environment env) {
+		for (Path path : stack) {
 			env.writeln(path.toString());
 		}
 	}
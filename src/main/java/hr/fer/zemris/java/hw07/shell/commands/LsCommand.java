@@ -8,17 +8,21 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 import hr.fer.zemris.java.hw07.shell.Environment;
 import hr.fer.zemris.java.hw07.shell.ShellCommand;
 import hr.fer.zemris.java.hw07.shell.ShellIOException;
 import hr.fer.zemris.java.hw07.shell.ShellStatus;
+import hr.fer.zemris.java.hw07.shell.commands.tools.AttributeCache;
 import hr.fer.zemris.java.hw07.shell.commands.tools.CommandTools;
 
 /**
@@ -35,25 +39,26 @@ public class LsCommand implements ShellCommand {
 	/** command description */
 	private static final String COMMAND_DESCRIPTION =
 			"LS command prints out all files and directory with its attributes that given directory contains.\n" +
-			"It takes single argument and that is path of directory whose content is printed.";
+			"It takes single argument and that is path of directory whose content is printed.\n" +
+			"Permissions are read, write and execute bits of owner of file, not access of current user.";
 	
 	@Override
 	public ShellStatus executeCommand(Environment env, String arguments) {
 		Objects.requireNonNull(env, "Environment must not be null");
 		
 		try {
-			String[] argumentsParts = CommandTools.getArguments(arguments, true);
+			String[] argumentsParts = CommandTools.getArguments(env, arguments, true);
 			if (argumentsParts.length != 1) 
 				throw new IllegalArgumentException("Invalid number of arguments. Expected: 1. Was: " + argumentsParts.length);
 			
 			Path path = env.getCurrentDirectory().resolve(Paths.get(argumentsParts[0]));
-			CommandTools.checkPathForDirectory(path);
-			executeLsCommand(path);
+			CommandTools.checkPathForDirectory(env, path);
+			executeLsCommand(path, env);
 			
 		} catch (IllegalArgumentException | NullPointerException ex) {
-			env.writeln(ex.getMessage());
+			env.writeError(ex.getMessage());
 		} catch (IOException ex) {
-			env.writeln("Failed to open given directory");
+			env.writeError("Failed to open given directory");
 		} catch (Exception ex) {
 			throw new ShellIOException(ex.getMessage());
 		}
@@ -78,10 +83,11 @@ public class LsCommand implements ShellCommand {
 	 * Method that executes list command.
 	 * 
 	 * @param path         path of directory
+	 * @param env          {@link Environment} to which files are written
 	 * @throws IOException if error occurred during process of reading files
 	 */
-	private void executeLsCommand(Path path) throws IOException {
-		Files.walkFileTree(path, new LsFileVisitor());
+	private void executeLsCommand(Path path, Environment env) throws IOException {
+		Files.walkFileTree(path, new LsFileVisitor(env));
 	}
 	
 	/**
@@ -96,7 +102,21 @@ public class LsCommand implements ShellCommand {
 		/** value used for detecting how deep in directory structure we got */
 		private int depth = 0;
 		/** date format */
-		private static SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+		private SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+		/** environment to which files are written */
+		private Environment env;
+		/** cache of attributes of session */
+		private AttributeCache cache;
+		
+		/**
+		 * Constructor that creates new {@link LsFileVisitor} object.
+		 * 
+		 * @param env {@link #env}
+		 */
+		public LsFileVisitor(Environment env) {
+			this.env = env;
+			this.cache = AttributeCache.of(env);
+		}
 		
 		@Override
 		public FileVisitResult postVisitDirectory(Path path, IOException arg1) throws IOException {
@@ -129,34 +149,51 @@ public class LsCommand implements ShellCommand {
 		}
 		
 		/**
-		 * Method prints out given file or directory with its attributes.
+		 * Method prints out given file or directory with attributes given by visitor.
 		 * 
 		 * @param path         path that is printed
 		 * @param attrs		   path's attributes
-		 * @throws IOException if error occurred during process of getting file attributes
 		 */
-		private void printFileAttributes(Path path, BasicFileAttributes attrs) throws IOException {
+		private void printFileAttributes(Path path, BasicFileAttributes attrs) {
 			FileTime fileTime = attrs.creationTime();
 			String formattedDateTime = dateFormat.format(new Date(fileTime.toMillis()));
-			System.out.format("%s  %10d %s %s%n",
-					getFileDescription(path), 
-					Files.size(path), 
+			env.writeln(String.format("%s  %10d %s %s",
+					getFileDescription(path, attrs), 
+					attrs.size(), 
 					formattedDateTime, 
-					path.getFileName());
+					path.getFileName()));
 		}
 		
 		/**
-		 * Method used for getting file description
+		 * Method used for getting file description. </br>
+		 * Permissions are owner's permissions from POSIX attributes, which are read </br>
+		 * through attribute cache if visitor did not give them. If file system does not </br>
+		 * support POSIX attributes, access of current user is checked instead.
 		 * 
-		 * @param file whose description is returned
+		 * @param file  whose description is returned
+		 * @param attrs attributes of file given by visitor
 		 * @return description of given file
 		 */
-		private String getFileDescription(Path file) {
+		private String getFileDescription(Path file, BasicFileAttributes attrs) {
 			StringBuilder sb = new StringBuilder();
-			sb.append(Files.isDirectory(file) ? "d" : "-");
-			sb.append(Files.isReadable(file) ? "r" : "-");
-			sb.append(Files.isWritable(file) ? "w" : "-");
-			sb.append(Files.isExecutable(file) ? "x" : "-");
+			sb.append(attrs.isDirectory() ? "d" : "-");
+			
+			BasicFileAttributes posix = attrs;
+			if (attrs instanceof PosixFileAttributes) {
+				cache.put(file, attrs);
+			} else {
+				posix = cache.get(file);
+			}
+			if (posix instanceof PosixFileAttributes) {
+				Set<PosixFilePermission> permissions = ((PosixFileAttributes) posix).permissions();
+				sb.append(permissions.contains(PosixFilePermission.OWNER_READ) ? "r" : "-");
+				sb.append(permissions.contains(PosixFilePermission.OWNER_WRITE) ? "w" : "-");
+				sb.append(permissions.contains(PosixFilePermission.OWNER_EXECUTE) ? "x" : "-");
+			} else {
+				sb.append(Files.isReadable(file) ? "r" : "-");
+				sb.append(Files.isWritable(file) ? "w" : "-");
+				sb.append(Files.isExecutable(file) ? "x" : "-");
+			}
 			
 			return sb.toString();
 		}
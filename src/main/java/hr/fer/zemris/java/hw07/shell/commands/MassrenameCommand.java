@@ -16,6 +16,7 @@ import hr.fer.zemris.java.hw07.shell.Environment;
 import hr.fer.zemris.java.hw07.shell.ShellCommand;
 import hr.fer.zemris.java.hw07.shell.ShellIOException;
 import hr.fer.zemris.java.hw07.shell.ShellStatus;
+import hr.fer.zemris.java.hw07.shell.commands.tools.AttributeCache;
 import hr.fer.zemris.java.hw07.shell.commands.tools.CommandTools;
 import hr.fer.zemris.java.hw07.shell.namebuilder.NameBuilder;
 import hr.fer.zemris.java.hw07.shell.namebuilder.NameBuilderInfo;
@@ -74,19 +75,19 @@ public class MassrenameCommand implements ShellCommand {
 	public ShellStatus executeCommand(Environment env, String arguments) {
 		Objects.requireNonNull(env, "Environment must not be null");
 		try {
-		String[] argumentsParts = CommandTools.getArguments(arguments, false);
+		String[] argumentsParts = CommandTools.getArguments(env, arguments, false);
 		int argLength = argumentsParts.length;
 		
 		if (argLength < 4 || argLength > 5) {
-			env.writeln("Invalid number of arguments for 'massrename' command.\n"
+			env.writeError("Invalid number of arguments for 'massrename' command.\n"
 					+ "Expected: 4 or 5. Was: " + argLength);
 			return ShellStatus.CONTINUE;
 		}
 		
 		Path sourcePath = env.getCurrentDirectory().resolve(Paths.get(argumentsParts[0])).toAbsolutePath().normalize();
 		Path destinationPath = env.getCurrentDirectory().resolve(Paths.get(argumentsParts[1])).toAbsolutePath().normalize();
-		CommandTools.checkPathForDirectory(sourcePath);
-		CommandTools.checkPathForDirectory(destinationPath);
+		CommandTools.checkPathForDirectory(env, sourcePath);
+		CommandTools.checkPathForDirectory(env, destinationPath);
 		String actionName = argumentsParts[2];
 		
 		if (argLength == 4) {
@@ -98,7 +99,7 @@ public class MassrenameCommand implements ShellCommand {
 				runGroupsCommand(sourcePath, argumentsParts[3], env);
 				break;
 			default:
-				env.writeln("Invalid argument for type of action for 'massrename' command.\n"
+				env.writeError("Invalid argument for type of action for 'massrename' command.\n"
 						+ "Was: " + actionName);
 			}
 		} else {
@@ -107,17 +108,22 @@ public class MassrenameCommand implements ShellCommand {
 				runShowCommand(sourcePath, argumentsParts[3], argumentsParts[4], env);
 				break;
 			case executeString:
-				runExecuteCommand(sourcePath, destinationPath, argumentsParts[3], argumentsParts[4], env);
+				try {
+					runExecuteCommand(sourcePath, destinationPath, argumentsParts[3], argumentsParts[4], env);
+				} finally {
+					AttributeCache.of(env).invalidate(sourcePath);
+					AttributeCache.of(env).invalidate(destinationPath);
+				}
 				break;
 			default:
-				env.writeln("Invalid argument for type of action for 'massrename' command.\n"
+				env.writeError("Invalid argument for type of action for 'massrename' command.\n"
 						+ "Was: " + actionName);
 			}
 		} 
 		} catch (IllegalArgumentException | NullPointerException ex) {
-			env.writeln(ex.getMessage());
+			env.writeError(ex.getMessage());
 		} catch (IOException ex) {
-			env.writeln("Failed to open given directories.");
+			env.writeError("Failed to open given directories.");
 		} catch (Exception ex) {
 			throw new ShellIOException(ex.getMessage());
 		}
@@ -215,7 +221,7 @@ public class MassrenameCommand implements ShellCommand {
 				}
 			}
 		} catch (NameBuilderParserException | IndexOutOfBoundsException ex) {
-			env.writeln(ex.getMessage());
+			env.writeError(ex.getMessage());
 		}
 	}
 	
@@ -263,7 +269,7 @@ public class MassrenameCommand implements ShellCommand {
 				}
 			}
 		} catch (NameBuilderParserException | IndexOutOfBoundsException ex) {
-			env.writeln(ex.getMessage());
+			env.writeError(ex.getMessage());
 		}
 	}
 	
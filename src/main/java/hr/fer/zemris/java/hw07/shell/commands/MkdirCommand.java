@@ -12,6 +12,7 @@ import hr.fer.zemris.java.hw07.shell.Environment;
 import hr.fer.zemris.java.hw07.shell.ShellCommand;
 import hr.fer.zemris.java.hw07.shell.ShellIOException;
 import hr.fer.zemris.java.hw07.shell.ShellStatus;
+import hr.fer.zemris.java.hw07.shell.commands.tools.AttributeCache;
 import hr.fer.zemris.java.hw07.shell.commands.tools.CommandTools;
 
 /**
@@ -35,15 +36,16 @@ public class MkdirCommand implements ShellCommand {
 		Objects.requireNonNull(env, "Environment must not be null");
 		
 		try {
-			String[] argumentsParts = CommandTools.getArguments(arguments, true);
+			String[] argumentsParts = CommandTools.getArguments(env, arguments, true);
 			if (argumentsParts.length != 1) 
 				throw new IllegalArgumentException("Invalid number of arguments. Expected: 1. Was: " + argumentsParts.length);
 			
 			Path path = env.getCurrentDirectory().resolve(Paths.get(argumentsParts[0]));
 			executeMkdirCommand(path);
+			AttributeCache.of(env).invalidate(path);
 			
 		} catch (IllegalArgumentException | NullPointerException ex) {
-			env.writeln(ex.getMessage());
+			env.writeError(ex.getMessage());
 		} catch (Exception ex) {
 			throw new ShellIOException(ex.getMessage());
 		}
@@ -3,10 +3,10 @@ package hr.fer.zemris.java.hw07.shell.commands;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.EmptyStackException;
+import java.util.Deque;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.Stack;
 
 import hr.fer.zemris.java.hw07.shell.Environment;
 import hr.fer.zemris.java.hw07.shell.ShellCommand;
@@ -42,19 +42,19 @@ public class PopdCommand implements ShellCommand {
 			CommandTools.checkForNoArguments(arguments, COMMAND_NAME);
 			Object popdStackObject = env.getSharedData(POPD_KEY);
 			if (popdStackObject == null) {
-				env.writeln("Stack is empty");
+				env.writeError("Stack is empty");
 				return ShellStatus.CONTINUE;
 			}
 			@SuppressWarnings({ "unchecked" })
-			Stack<Path> popdStack = (Stack<Path>) popdStackObject;
+			Deque<Path> popdStack = (Deque<Path>) popdStackObject;
 			Path path = env.getCurrentDirectory().resolve(popdStack.pop());
-			CommandTools.checkPathForDirectory(path);
+			CommandTools.checkPathForDirectory(env, path);
 			env.setCurrentDirectory(path);
 			
 		} catch (IllegalArgumentException | NullPointerException ex) {
-			env.writeln(ex.getMessage());
-		} catch (EmptyStackException ex) {
-			env.writeln("Stack is empty");
+			env.writeError(ex.getMessage());
+		} catch (NoSuchElementException ex) {
+			env.writeError("Stack is empty");
 		} catch (Exception ex) {
 			throw new ShellIOException(ex.getMessage());
 		}
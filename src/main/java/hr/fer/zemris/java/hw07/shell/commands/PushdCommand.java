@@ -4,9 +4,10 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.Objects;
-import java.util.Stack;
+import java.util.concurrent.ConcurrentLinkedDeque;
 
 import hr.fer.zemris.java.hw07.shell.Environment;
 import hr.fer.zemris.java.hw07.shell.ShellCommand;
@@ -38,29 +39,23 @@ public class PushdCommand implements ShellCommand {
 	public ShellStatus executeCommand(Environment env, String arguments) {
 		Objects.requireNonNull(env, "Environment must not be null");
 		try {
-			String[] argumentsParts = CommandTools.getArguments(arguments, true);
+			String[] argumentsParts = CommandTools.getArguments(env, arguments, true);
 			int argLength = argumentsParts.length;
 			if (argLength != 1) {
-				env.writeln("Invalid number of arguments for pushd command. Expected: 1. Was: " + argLength);
+				env.writeError("Invalid number of arguments for pushd command. Expected: 1. Was: " + argLength);
 				return ShellStatus.CONTINUE;
 			}
 			Path path = env.getCurrentDirectory().resolve(Paths.get(argumentsParts[0]));
-			CommandTools.checkPathForDirectory(path);
+			CommandTools.checkPathForDirectory(env, path);
 			
-			Object pushdStackObject = env.getSharedData(PUSHD_KEY);
-			if (pushdStackObject == null) {
-				Stack<Path> pushdStack = new Stack<>();
-				pushdStack.add(env.getCurrentDirectory());
-				env.setSharedData(PUSHD_KEY, pushdStack);
-			} else {
-				@SuppressWarnings({ "unchecked" })
-				Stack<Path> pushdStack = (Stack<Path>) pushdStackObject;
-				pushdStack.add(env.getCurrentDirectory());
-			}
+			@SuppressWarnings({ "unchecked" })
+			Deque<Path> pushdStack = (Deque<Path>) env.computeSharedDataIfAbsent(PUSHD_KEY, 
+					key -> new ConcurrentLinkedDeque<Path>());
+			pushdStack.push(env.getCurrentDirectory());
 			env.setCurrentDirectory(path);
 			
 		} catch (IllegalArgumentException | NullPointerException ex) {
-			env.writeln(ex.getMessage());
+			env.writeError(ex.getMessage());
 		} catch (Exception ex) {
 			throw new ShellIOException(ex.getMessage());
 		}
@@ -34,7 +34,7 @@ public class PwdCommand implements ShellCommand {
 			CommandTools.checkForNoArguments(arguments, COMMAND_NAME);
 			env.writeln(env.getCurrentDirectory().toString());
 		} catch (IllegalArgumentException | NullPointerException ex) {
-			env.writeln(ex.getMessage());
+			env.writeError(ex.getMessage());
 		} catch (Exception ex) {
 			throw new ShellIOException(ex.getMessage());
 		}
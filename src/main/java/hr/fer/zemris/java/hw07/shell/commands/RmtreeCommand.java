@@ -12,14 +12,18 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
+import hr.fer.zemris.java.hw07.jfr.TreeWalkEvent;
 import hr.fer.zemris.java.hw07.shell.Environment;
 import hr.fer.zemris.java.hw07.shell.ShellCommand;
 import hr.fer.zemris.java.hw07.shell.ShellIOException;
 import hr.fer.zemris.java.hw07.shell.ShellStatus;
+import hr.fer.zemris.java.hw07.shell.commands.tools.AttributeCache;
 import hr.fer.zemris.java.hw07.shell.commands.tools.CommandTools;
+import hr.fer.zemris.java.hw07.shell.glob.Operands;
+import hr.fer.zemris.java.hw07.shell.stats.MeasuringEnvironment;
 
 /**
- * Command deletes given directory and all its content.
+ * Command deletes given directories and all their content.
  * 
  * @author Ante Gazibarić
  * @version 1.0
@@ -31,32 +35,33 @@ public class RmtreeCommand implements ShellCommand {
 	private static final String COMMAND_NAME = "rmtree";
 	/** command description */
 	private static final String COMMAND_DESCRIPTION = 
-			"Command deletes given directory and all its content.\n" +
-			"It accepts single argument which is directory that is removed.";
+			"Command deletes given directories and all their content.\n" +
+			"It accepts one or more arguments which are directories that are removed.\n" +
+			"Directories can be patterns with *, ?, ** and {a,b}, which are replaced with matched directories.";
 	
 	@Override
 	public ShellStatus executeCommand(Environment env, String arguments) {
 		Objects.requireNonNull(env, "Environment must not be null");
 		try {
-			String[] argumentsParts = CommandTools.getArguments(arguments, true);
-			int argLength = argumentsParts.length;
-			if (argLength != 1) {
-				env.writeln("Invalid number of arguments for pushd command. Expected: 1. Was: " + argLength);
+			Operands operands = CommandTools.getOperands(env, arguments);
+			if (operands.size() == 0) {
+				env.writeError("Invalid number of arguments for rmtree command. Expected at least: 1. Was: 0");
 				return ShellStatus.CONTINUE;
 			}
 			Path currentDir = env.getCurrentDirectory();
-			Path path = currentDir.resolve(Paths.get(argumentsParts[0]));
-			CommandTools.checkPathForDirectory(path);
-			Files.walkFileTree(path, new RmtreeFileVisitor());
-			if (!Files.exists(currentDir)) {
+			operands.forEachPath(0, operands.size(), currentDir, path -> {
+				CommandTools.checkPathForDirectory(env, path);
+				executeRmtreeCommand(env, path);
+			});
+			if (AttributeCache.of(env).get(currentDir) == null) {
 				Path previousPath = currentDir.resolve(Paths.get(".."));
 				env.setCurrentDirectory(previousPath);
 			}
 			
 		} catch (IllegalArgumentException | NullPointerException ex) {
-			env.writeln(ex.getMessage());
+			env.writeError(ex.getMessage());
 		} catch (IOException ex) {
-			env.writeln("Tree command failed to delete file or directory.");
+			env.writeError("Tree command failed to delete file or directory.");
 		} catch (Exception ex) {
 			throw new ShellIOException(ex.getMessage());
 		}
@@ -77,6 +82,32 @@ public class RmtreeCommand implements ShellCommand {
 		return Collections.unmodifiableList(description);
 	}
 	
+	/**
+	 * Method deletes given directory and all its content.
+	 * 
+	 * @param env          {@link Environment} to which deleted files are reported
+	 * @param path         {@link Path} of directory that is deleted
+	 * @throws IOException if failed to delete file or directory
+	 */
+	private void executeRmtreeCommand(Environment env, Path path) throws IOException {
+		TreeWalkEvent event = new TreeWalkEvent();
+		event.begin();
+		RmtreeFileVisitor visitor = new RmtreeFileVisitor(env);
+		try {
+			Files.walkFileTree(path, visitor);
+		} finally {
+			AttributeCache.of(env).invalidate(path);
+		}
+		if (event.shouldCommit()) {
+			event.operation = COMMAND_NAME;
+			event.root = path.toString();
+			event.files = visitor.files;
+			event.directories = visitor.directories;
+			event.bytes = visitor.bytes;
+			event.commit();
+		}
+	}
+	
 	/**
 	 * Implementation of {@link FileVisitor} used to delete directory tree structure.
 	 * 
@@ -85,10 +116,30 @@ public class RmtreeCommand implements ShellCommand {
 	 *
 	 */
 	private static class RmtreeFileVisitor implements FileVisitor<Path> {
+		
+		/** environment to which deleted files are reported */
+		private Environment env;
+		/** number of deleted files */
+		private long files;
+		/** number of deleted directories */
+		private long directories;
+		/** number of deleted bytes */
+		private long bytes;
+		
+		/**
+		 * Constructor that creates new {@link RmtreeFileVisitor} object.
+		 * 
+		 * @param env {@link #env}
+		 */
+		public RmtreeFileVisitor(Environment env) {
+			this.env = env;
+		}
 
 		@Override
 		public FileVisitResult postVisitDirectory(Path path, IOException arg1) throws IOException {
 			Files.deleteIfExists(path);
+			MeasuringEnvironment.recordFile(env);
+			directories++;
 			return FileVisitResult.CONTINUE;
 		}
 
@@ -100,6 +151,9 @@ public class RmtreeCommand implements ShellCommand {
 		@Override
 		public FileVisitResult visitFile(Path path, BasicFileAttributes arg1) throws IOException {
 			Files.deleteIfExists(path);
+			MeasuringEnvironment.recordFile(env);
+			files++;
+			bytes += arg1.size();
 			return FileVisitResult.CONTINUE;
 		}
 
@@ -0,0 +1,102 @@
+package hr.fer.zemris.java.hw07.shell.commands;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellCommand;
+import hr.fer.zemris.java.hw07.shell.ShellIOException;
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+import hr.fer.zemris.java.hw07.shell.commands.tools.CommandTools;
+
+/**
+ * Command that prints out sequence of integers, one per line. </br>
+ * Together with command substitution it is used for counting loops, </br>
+ * for example {@code for i in $(seq 100); do ...; done}.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class SeqCommand implements ShellCommand {
+
+	/** name of command */
+	private static final String COMMAND_NAME = "seq";
+	/** command description */
+	private static final String COMMAND_DESCRIPTION = 
+			"SEQ command prints out sequence of integers, one per line.\n" +
+			"seq LAST prints out integers from 1 to LAST.\n" +
+			"seq FIRST LAST prints out integers from FIRST to LAST.\n" +
+			"seq FIRST INCREMENT LAST prints out every INCREMENT-th integer from FIRST to LAST.";
+	
+	@Override
+	public ShellStatus executeCommand(Environment env, String arguments) {
+		Objects.requireNonNull(env, "Environment must not be null");
+		try {
+			String[] argumentsParts = CommandTools.getArguments(env, arguments, true);
+			long first = 1;
+			long increment = 1;
+			long last;
+			switch (argumentsParts.length) {
+			case 1:
+				last = toLong(argumentsParts[0]);
+				break;
+			case 2:
+				first = toLong(argumentsParts[0]);
+				last = toLong(argumentsParts[1]);
+				break;
+			case 3:
+				first = toLong(argumentsParts[0]);
+				increment = toLong(argumentsParts[1]);
+				last = toLong(argumentsParts[2]);
+				break;
+			default:
+				throw new IllegalArgumentException("Invalid number of arguments. Expected: 1, 2 or 3. Was: " + argumentsParts.length);
+			}
+			if (increment == 0)
+				throw new IllegalArgumentException("Increment must not be 0.");
+			
+			for (long i = first; increment > 0 ? i <= last : i >= last; i += increment) {
+				env.writeln(Long.toString(i));
+			}
+			
+		} catch (IllegalArgumentException | NullPointerException ex) {
+			env.writeError(ex.getMessage());
+		} catch (Exception ex) {
+			throw new ShellIOException(ex.getMessage());
+		}
+		return ShellStatus.CONTINUE;
+	}
+
+	@Override
+	public String getCommandName() {
+		return COMMAND_NAME;
+	}
+
+	@Override
+	public List<String> getCommandDescription() {
+		List<String> description = new ArrayList<>();
+		for (String s : COMMAND_DESCRIPTION.split("\\n")) {
+			description.add(s);
+		}
+		return Collections.unmodifiableList(description);
+	}
+	
+	/**
+	 * Method parses given integer.
+	 * 
+	 * @param value value that is parsed
+	 * @return      parsed integer
+	 * @throws IllegalArgumentException if value is not integer
+	 */
+	private static long toLong(String value) {
+		try {
+			return Long.parseLong(value);
+		} catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("Expected integer. Was: " + value);
+		}
+	}
+
+}
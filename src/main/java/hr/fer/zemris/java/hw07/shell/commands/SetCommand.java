@@ -0,0 +1,81 @@
+package hr.fer.zemris.java.hw07.shell.commands;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellCommand;
+import hr.fer.zemris.java.hw07.shell.ShellIOException;
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+import hr.fer.zemris.java.hw07.shell.commands.tools.CommandTools;
+
+/**
+ * Command that prints out, sets and removes shell variables.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class SetCommand implements ShellCommand {
+
+	/** name of command */
+	private static final String COMMAND_NAME = "set";
+	/** command description */
+	private static final String COMMAND_DESCRIPTION = 
+			"SET command prints out, sets and removes shell variables.\n" +
+			"If it is given no arguments it prints out all variables.\n" +
+			"If it is given name and value it sets variable with given name to the given value.\n" +
+			"If it is given only name it removes variable with given name.\n" +
+			"Name starts with letter or '_' which is followed by letters, digits or '_'.\n" +
+			"Variables are used in arguments of commands as $NAME or ${NAME}, \n" +
+			"and $(command) is replaced with output of given command.";
+	/** format used for printing out variable */
+	private static final String VARIABLE_FORMAT = "%s=%s";
+	
+	@Override
+	public ShellStatus executeCommand(Environment env, String arguments) {
+		Objects.requireNonNull(env, "Environment must not be null");
+		try {
+			String[] argumentsParts = CommandTools.getArguments(env, arguments, true);
+			switch (argumentsParts.length) {
+			case 0:
+				for (Map.Entry<String, String> variable : env.getVariables().entrySet()) {
+					env.writeln(String.format(VARIABLE_FORMAT, variable.getKey(), variable.getValue()));
+				}
+				break;
+			case 1:
+				env.setVariable(argumentsParts[0], null);
+				break;
+			case 2:
+				env.setVariable(argumentsParts[0], argumentsParts[1]);
+				break;
+			default:
+				throw new IllegalArgumentException("Invalid number of arguments. Expected: 0, 1 or 2. Was: " + argumentsParts.length);
+			}
+			
+		} catch (IllegalArgumentException | NullPointerException ex) {
+			env.writeError(ex.getMessage());
+		} catch (Exception ex) {
+			throw new ShellIOException(ex.getMessage());
+		}
+		return ShellStatus.CONTINUE;
+	}
+
+	@Override
+	public String getCommandName() {
+		return COMMAND_NAME;
+	}
+
+	@Override
+	public List<String> getCommandDescription() {
+		List<String> description = new ArrayList<>();
+		for (String s : COMMAND_DESCRIPTION.split("\\n")) {
+			description.add(s);
+		}
+		return Collections.unmodifiableList(description);
+	}
+
+}
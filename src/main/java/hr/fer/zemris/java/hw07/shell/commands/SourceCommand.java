@@ -0,0 +1,88 @@
+package hr.fer.zemris.java.hw07.shell.commands;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import hr.fer.zemris.java.hw07.shell.CommandLineExecutor;
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellCommand;
+import hr.fer.zemris.java.hw07.shell.ShellIOException;
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+import hr.fer.zemris.java.hw07.shell.commands.tools.CommandTools;
+import hr.fer.zemris.java.hw07.shell.script.ScriptCompiler;
+import hr.fer.zemris.java.hw07.shell.stats.MeasuringEnvironment;
+
+/**
+ * Command that compiles given script file and executes it in current session.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class SourceCommand implements ShellCommand {
+
+	/** name of command */
+	private static final String COMMAND_NAME = "source";
+	/** charset of script files */
+	private static final Charset CHARSET = Charset.defaultCharset();
+	/** command description */
+	private static final String COMMAND_DESCRIPTION = 
+			"SOURCE command executes commands from given script file in current session.\n" +
+			"It accepts single argument that is path to the script.\n" +
+			"Script is compiled before it is executed, so it is not executed at all if it is invalid.\n" +
+			"Besides commands, script can contain statements:\n" +
+			"  for NAME in WORDS; do ...; done\n" +
+			"  while [ EXPRESSION ]; do ...; done\n" +
+			"  if [ EXPRESSION ]; then ...; elif [ EXPRESSION ]; then ...; else ...; fi\n" +
+			"Expression is STRING, -z STRING, -n STRING, -e PATH, -f PATH, -d PATH,\n" +
+			"A = B, A != B, or comparison of integers A -eq B, -ne, -lt, -le, -gt and -ge.\n" +
+			"Expression that starts with ! is negated. Line that starts with # is comment.";
+	
+	@Override
+	public ShellStatus executeCommand(Environment env, String arguments) {
+		Objects.requireNonNull(env, "Environment must not be null");
+		try {
+			String[] argumentsParts = CommandTools.getArguments(env, arguments, true);
+			if (argumentsParts.length != 1) 
+				throw new IllegalArgumentException("Invalid number of arguments. Expected: 1. Was: " + argumentsParts.length);
+			
+			Path path = CommandTools.getResolvedPathFrom(env.getCurrentDirectory(), argumentsParts[0]);
+			CommandTools.checkPathForFile(env, path);
+			String text = new String(Files.readAllBytes(path), CHARSET);
+			MeasuringEnvironment.recordFile(env);
+			MeasuringEnvironment.recordRead(env, text.length());
+			return ScriptCompiler.compile(text, CommandLineExecutor.of(env), env).execute(env);
+			
+		} catch (IllegalArgumentException | NullPointerException ex) {
+			env.writeError(ex.getMessage());
+		} catch (IOException ex) {
+			env.writeError("Failed to open given file");
+		} catch (ShellIOException ex) {
+			throw ex;
+		} catch (Exception ex) {
+			throw new ShellIOException(ex.getMessage());
+		}
+		return ShellStatus.CONTINUE;
+	}
+
+	@Override
+	public String getCommandName() {
+		return COMMAND_NAME;
+	}
+
+	@Override
+	public List<String> getCommandDescription() {
+		List<String> description = new ArrayList<>();
+		for (String s : COMMAND_DESCRIPTION.split("\\n")) {
+			description.add(s);
+		}
+		return Collections.unmodifiableList(description);
+	}
+
+}
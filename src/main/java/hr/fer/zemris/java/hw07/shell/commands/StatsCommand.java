@@ -0,0 +1,101 @@
+package hr.fer.zemris.java.hw07.shell.commands;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellCommand;
+import hr.fer.zemris.java.hw07.shell.ShellIOException;
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+import hr.fer.zemris.java.hw07.shell.commands.tools.AttributeCache;
+import hr.fer.zemris.java.hw07.shell.commands.tools.CommandTools;
+import hr.fer.zemris.java.hw07.shell.stats.CommandStatistics;
+import hr.fer.zemris.java.hw07.shell.stats.LatencyHistogram;
+import hr.fer.zemris.java.hw07.shell.stats.SessionStatistics;
+
+/**
+ * Command prints out statistics of commands executed in current session.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class StatsCommand implements ShellCommand {
+
+	/** name of command */
+	private static final String COMMAND_NAME = "stats";
+	/** command description */
+	private static final String COMMAND_DESCRIPTION = 
+			"STATS command prints out statistics of commands executed in current session.\n" +
+			"For every command it prints number of invocations and failures, median (p50),\n" +
+			"99th percentile (p99) and maximal duration, reciprocal of mean duration (1/mean)\n" +
+			"in invocations per second, bytes read and written and number of files touched.\n" +
+			"1/mean is not throughput, because time between invocations is not counted.\n" +
+			"At the end it prints number of hits and misses of cache of file attributes.\n" +
+			"If it is given argument 'reset' it resets all statistics.";
+	
+	/** argument that resets statistics */
+	private static final String RESET_ARGUMENT = "reset";
+	/** format of header */
+	private static final String headerFormat = "%-10s %8s %6s %10s %10s %10s %12s %12s %12s %8s";
+	/** format of single row */
+	private static final String rowFormat = "%-10s %8d %6d %10s %10s %10s %12.1f %12d %12d %8d";
+	/** format of statistics of attribute cache */
+	private static final String cacheFormat = "attribute cache: %d hits, %d misses";
+	
+	@Override
+	public ShellStatus executeCommand(Environment env, String arguments) {
+		Objects.requireNonNull(env, "Environment must not be null");
+		try {
+			String[] argumentsParts = CommandTools.getArguments(env, arguments, true);
+			SessionStatistics statistics = SessionStatistics.of(env);
+			if (argumentsParts.length == 1 && argumentsParts[0].equals(RESET_ARGUMENT)) {
+				statistics.reset();
+				AttributeCache.of(env).clear();
+				return ShellStatus.CONTINUE;
+			}
+			CommandTools.checkForNoArguments(arguments, COMMAND_NAME);
+			
+			env.writeln(String.format(headerFormat, 
+					"command", "count", "failed", "p50", "p99", "max", "1/mean", "read B", "written B", "files"));
+			for (CommandStatistics command : statistics.getAll()) {
+				LatencyHistogram latencies = command.getLatencies();
+				long count = latencies.getCount();
+				if (count == 0)
+					continue;
+				long total = latencies.getTotal();
+				env.writeln(String.format(rowFormat,
+						command.getCommandName(), count, command.getFailures(),
+						LatencyHistogram.format(latencies.getPercentile(50)),
+						LatencyHistogram.format(latencies.getPercentile(99)),
+						LatencyHistogram.format(latencies.getMax()),
+						total == 0 ? 0.0 : count * 1e9 / total,
+						command.getBytesRead(), command.getBytesWritten(), command.getFilesTouched()));
+			}
+			AttributeCache cache = AttributeCache.of(env);
+			env.writeln(String.format(cacheFormat, cache.getHits(), cache.getMisses()));
+		} catch (IllegalArgumentException | NullPointerException ex) {
+			env.writeError(ex.getMessage());
+		} catch (Exception ex) {
+			throw new ShellIOException(ex.getMessage());
+		}
+		return ShellStatus.CONTINUE;
+	}
+
+	@Override
+	public String getCommandName() {
+		return COMMAND_NAME;
+	}
+
+	@Override
+	public List<String> getCommandDescription() {
+		List<String> description = new ArrayList<>();
+		for (String s : COMMAND_DESCRIPTION.split("\\n")) {
+			description.add(s);
+		}
+		return Collections.unmodifiableList(description);
+	}
+
+}
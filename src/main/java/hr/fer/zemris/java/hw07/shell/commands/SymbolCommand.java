@@ -47,23 +47,23 @@ public class SymbolCommand implements ShellCommand {
 		Objects.requireNonNull(env, "Environment must not be null");
 		
 		try {
-			String[] argumentsParts = CommandTools.getArguments(arguments, true);
+			String[] argumentsParts = CommandTools.getArguments(env, arguments, true);
 			int argsLength = argumentsParts.length;
 			if (argsLength == 1) {
 				executeSymbolCommand(env, argumentsParts[0]);
 			} else if (argsLength == 2) {
 				String symbol = argumentsParts[1];
 				if (symbol.length() > 1) {
-					env.writeln("Given symbol is invalid. Must be single character. Was: " + symbol);
+					env.writeError("Given symbol is invalid. Must be single character. Was: " + symbol);
 					return ShellStatus.CONTINUE;
 				}
 				executeSymbolCommand(env, argumentsParts[0], symbol);
 			} else {
-				env.writeln("Invalid number of arguments. Expected 1 or 2. Was: " + argsLength);
+				env.writeError("Invalid number of arguments. Expected 1 or 2. Was: " + argsLength);
 			}
 			
 		} catch (IllegalArgumentException | NullPointerException ex) {
-			env.writeln(ex.getMessage());
+			env.writeError(ex.getMessage());
 		} catch (Exception ex) {
 			throw new ShellIOException(ex.getMessage());
 		}
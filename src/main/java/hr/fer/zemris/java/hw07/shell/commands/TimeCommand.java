@@ -0,0 +1,92 @@
+package hr.fer.zemris.java.hw07.shell.commands;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import hr.fer.zemris.java.hw07.shell.CommandLineExecutor;
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellCommand;
+import hr.fer.zemris.java.hw07.shell.ShellIOException;
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+import hr.fer.zemris.java.hw07.shell.commands.tools.CommandTools;
+import hr.fer.zemris.java.hw07.shell.stats.LatencyHistogram;
+import hr.fer.zemris.java.hw07.shell.stats.MeasuringEnvironment;
+
+/**
+ * Command executes given command line and prints out how long it took </br>
+ * and how much data it has read and written. </br>
+ * Command line is executed by {@link CommandLineExecutor} of session, so it is </br>
+ * dispatched, expanded and redirected like any other command line.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class TimeCommand implements ShellCommand {
+
+	/** name of command */
+	private static final String COMMAND_NAME = "time";
+	/** command description */
+	private static final String COMMAND_DESCRIPTION = 
+			"TIME command expects command line.\n" +
+			"It executes given command line and prints out its duration,\n" +
+			"bytes read and written and number of files touched.\n" +
+			"Command line can use aliases, variables and control statements.\n" +
+			"In pipeline it measures only command that follows it, so pipeline\n" +
+			"or redirection is measured whole if it is given in quotes, for example:\n" +
+			"  time \"cat a.txt | hexdumb > dump.txt\"";
+	
+	/** format of printed measurement */
+	private static final String messageFormat = "time: %s, read %d B, written %d B, files %d";
+	
+	@Override
+	public ShellStatus executeCommand(Environment env, String arguments) {
+		Objects.requireNonNull(env, "Environment must not be null");
+		try {
+			String commandLine = arguments.trim();
+			if (commandLine.isEmpty()) {
+				env.writeError("Invalid number of arguments. Expected command. Was: 0");
+				return ShellStatus.CONTINUE;
+			}
+			if (commandLine.charAt(0) == '"') {
+				String[] parts = CommandTools.getArguments(commandLine, false);
+				if (parts.length == 1) {
+					commandLine = parts[0];
+				}
+			}
+			
+			MeasuringEnvironment measurement = new MeasuringEnvironment(env);
+			long start = System.nanoTime();
+			ShellStatus status = CommandLineExecutor.of(env).execute(measurement, commandLine);
+			long elapsed = System.nanoTime() - start;
+			env.writeln(String.format(messageFormat, LatencyHistogram.format(elapsed), 
+					measurement.getBytesRead(), measurement.getBytesWritten(), measurement.getFilesTouched()));
+			return status;
+			
+		} catch (IllegalArgumentException | NullPointerException ex) {
+			env.writeError(ex.getMessage());
+		} catch (ShellIOException ex) {
+			throw ex;
+		} catch (Exception ex) {
+			throw new ShellIOException(ex.getMessage());
+		}
+		return ShellStatus.CONTINUE;
+	}
+
+	@Override
+	public String getCommandName() {
+		return COMMAND_NAME;
+	}
+
+	@Override
+	public List<String> getCommandDescription() {
+		List<String> description = new ArrayList<>();
+		for (String s : COMMAND_DESCRIPTION.split("\\n")) {
+			description.add(s);
+		}
+		return Collections.unmodifiableList(description);
+	}
+
+}
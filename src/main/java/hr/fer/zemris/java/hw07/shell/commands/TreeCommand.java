@@ -39,18 +39,18 @@ public class TreeCommand implements ShellCommand {
 		Objects.requireNonNull(env, "Environment must not be null");
 		
 		try {
-			String[] argumentsParts = CommandTools.getArguments(arguments, true);
+			String[] argumentsParts = CommandTools.getArguments(env, arguments, true);
 			if (argumentsParts.length != 1) 
 				throw new IllegalArgumentException("Invalid number of arguments. Expected: 1. Was: " + argumentsParts.length);
 			
 			Path path = env.getCurrentDirectory().resolve(Paths.get(argumentsParts[0]));
-			CommandTools.checkPathForDirectory(path);
-			executeTreeCommand(path);
+			CommandTools.checkPathForDirectory(env, path);
+			executeTreeCommand(path, env);
 			
 		} catch (IllegalArgumentException | NullPointerException ex) {
-			env.writeln(ex.getMessage());
+			env.writeError(ex.getMessage());
 		} catch (IOException ex) {
-			env.writeln("Failed to open given directory");
+			env.writeError("Failed to open given directory");
 		} catch (Exception ex) {
 			throw new ShellIOException(ex.getMessage());
 		}
@@ -75,10 +75,11 @@ public class TreeCommand implements ShellCommand {
 	 * Method executes tree command.
 	 * 
 	 * @param path         directory path
+	 * @param env          {@link Environment} to which tree structure is written
 	 * @throws IOException if error occurred during process of opening files
 	 */
-	private void executeTreeCommand(Path path) throws IOException {
-		Files.walkFileTree(path, new TreeFileVisitor());
+	private void executeTreeCommand(Path path, Environment env) throws IOException {
+		Files.walkFileTree(path, new TreeFileVisitor(env));
 	}
 	
 	/**
@@ -92,6 +93,17 @@ public class TreeCommand implements ShellCommand {
 
 		/** value used for detecting how deep in directory structure we got */
 		private int depth = 1;
+		/** environment to which tree structure is written */
+		private Environment env;
+		
+		/**
+		 * Constructor that creates new {@link TreeFileVisitor} object.
+		 * 
+		 * @param env {@link #env}
+		 */
+		public TreeFileVisitor(Environment env) {
+			this.env = env;
+		}
 		
 		@Override
 		public FileVisitResult postVisitDirectory(Path path, IOException arg1) throws IOException {
@@ -101,14 +113,14 @@ public class TreeCommand implements ShellCommand {
 
 		@Override
 		public FileVisitResult preVisitDirectory(Path path, BasicFileAttributes arg1) throws IOException {
-			System.out.format("%" + (2 * depth) + "s[DIR] %s%n", "", path.getFileName());
+			env.writeln(String.format("%" + (2 * depth) + "s[DIR] %s", "", path.getFileName()));
 			depth++;
 			return FileVisitResult.CONTINUE;
 		}
 
 		@Override
 		public FileVisitResult visitFile(Path path, BasicFileAttributes arg1) throws IOException {
-			System.out.format("%" + (2 * depth) + "s[FILE] %s%n", "", path.getFileName());
+			env.writeln(String.format("%" + (2 * depth) + "s[FILE] %s", "", path.getFileName()));
 			
 			return FileVisitResult.CONTINUE;
 		}
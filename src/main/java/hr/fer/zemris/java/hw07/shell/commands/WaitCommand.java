@@ -0,0 +1,83 @@
+package hr.fer.zemris.java.hw07.shell.commands;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellCommand;
+import hr.fer.zemris.java.hw07.shell.ShellIOException;
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+import hr.fer.zemris.java.hw07.shell.commands.tools.CommandTools;
+import hr.fer.zemris.java.hw07.shell.jobs.Job;
+import hr.fer.zemris.java.hw07.shell.jobs.JobManager;
+
+/**
+ * Command waits for background jobs to finish.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class WaitCommand implements ShellCommand {
+
+	/** name of command */
+	private static final String COMMAND_NAME = "wait";
+	/** command description */
+	private static final String COMMAND_DESCRIPTION = 
+			"WAIT command waits for background jobs to finish.\n" +
+			"It accepts any number of job identifiers.\n" +
+			"If it is given no arguments it waits for all jobs.";
+	
+	@Override
+	public ShellStatus executeCommand(Environment env, String arguments) {
+		Objects.requireNonNull(env, "Environment must not be null");
+		try {
+			String[] argumentsParts = CommandTools.getArguments(env, arguments, true);
+			JobManager jobManager = (JobManager) env.getSharedData(JobManager.SHARED_DATA_KEY);
+			if (jobManager == null) 
+				return ShellStatus.CONTINUE;
+			
+			List<Job> jobs = new ArrayList<>();
+			if (argumentsParts.length == 0) {
+				jobs.addAll(jobManager.getJobs());
+			}
+			for (String id : argumentsParts) {
+				Job job = jobManager.get(Integer.parseInt(id));
+				if (job == null) {
+					env.writeError("There is no job with identifier " + id);
+					return ShellStatus.CONTINUE;
+				}
+				jobs.add(job);
+			}
+			env.flush();
+			for (Job job : jobs) {
+				jobManager.waitFor(job, env);
+			}
+			
+		} catch (NumberFormatException ex) {
+			env.writeError("Job identifiers must be numbers. Was: " + arguments.trim());
+		} catch (IllegalArgumentException | NullPointerException ex) {
+			env.writeError(ex.getMessage());
+		} catch (Exception ex) {
+			throw new ShellIOException(ex.getMessage());
+		}
+		return ShellStatus.CONTINUE;
+	}
+
+	@Override
+	public String getCommandName() {
+		return COMMAND_NAME;
+	}
+
+	@Override
+	public List<String> getCommandDescription() {
+		List<String> description = new ArrayList<>();
+		for (String s : COMMAND_DESCRIPTION.split("\\n")) {
+			description.add(s);
+		}
+		return Collections.unmodifiableList(description);
+	}
+
+}
@@ -0,0 +1,231 @@
+package hr.fer.zemris.java.hw07.shell.commands.tools;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+
+/**
+ * Cache of file attributes of single session, mapped by absolute path. </br>
+ * Object is kept in shared data of session under {@link #SHARED_DATA_KEY}. </p>
+ *
+ * Attributes are read with single {@link Files#readAttributes} call, which also tells </br>
+ * whether file exists, and are served from cache until they are older than time to live, </br>
+ * given in milliseconds by system property {@value #TTL_PROPERTY}, or {@value #DEFAULT_TTL} </br>
+ * milliseconds by default. Time to live of 0 turns caching off. On file systems that </br>
+ * support POSIX attributes, {@link PosixFileAttributes} are read, so permissions are cached too. </p>
+ *
+ * Commands that change file system invalidate paths they changed, so changes made </br>
+ * by session are seen immediately and only changes made outside of session can be </br>
+ * seen late, for at most time to live. When cache is full, least recently used entry is removed.
+ *
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class AttributeCache {
+
+	/** key under which cache is kept in shared data */
+	public static final String SHARED_DATA_KEY = "attributes";
+	/** system property with time to live of attributes in milliseconds */
+	public static final String TTL_PROPERTY = "myshell.attributes.ttl";
+	/** default time to live of attributes in milliseconds */
+	public static final long DEFAULT_TTL = 1000;
+	/** maximal number of cached paths */
+	private static final int CAPACITY = 4096;
+
+	/** time to live of attributes in nanoseconds */
+	private final long ttl;
+	/** cached entries in access order */
+	private final Map<Path, Entry> entries;
+	/** number of lookups served from cache */
+	private long hits;
+	/** number of lookups that read attributes */
+	private long misses;
+
+	/**
+	 * Constructor that creates new {@link AttributeCache} object.
+	 *
+	 * @param ttl time to live of attributes in milliseconds
+	 * @throws IllegalArgumentException if time to live is negative
+	 */
+	public AttributeCache(long ttl) {
+		if (ttl < 0)
+			throw new IllegalArgumentException("Time to live must not be negative. Was: " + ttl);
+
+		this.ttl = TimeUnit.MILLISECONDS.toNanos(ttl);
+		entries = new LinkedHashMap<Path, Entry>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Path, AttributeCache.Entry> eldest) {
+				return size() > CAPACITY;
+			}
+		};
+	}
+
+	/**
+	 * Method returns attribute cache of session to which given environment belongs.
+	 *
+	 * @param env environment of session
+	 * @return    attribute cache of session
+	 */
+	public static AttributeCache of(Environment env) {
+		return (AttributeCache) env.computeSharedDataIfAbsent(SHARED_DATA_KEY,
+				k -> new AttributeCache(Long.getLong(TTL_PROPERTY, DEFAULT_TTL)));
+	}
+
+	/**
+	 * Method returns attributes of given path, following symbolic links.
+	 *
+	 * @param path path whose attributes are returned
+	 * @return     attributes of path, or {@code null} if path does not exist or can not be read
+	 * @throws NullPointerException if path is {@code null}
+	 */
+	public BasicFileAttributes get(Path path) {
+		Path key = key(Objects.requireNonNull(path, "Path must not be null"));
+		long now = System.nanoTime();
+		synchronized (this) {
+			Entry entry = entries.get(key);
+			if (entry != null && now - entry.time < ttl) {
+				hits++;
+				return entry.attributes;
+			}
+			misses++;
+		}
+
+		BasicFileAttributes attributes;
+		try {
+			attributes = read(path);
+		} catch (NoSuchFileException ex) {
+			attributes = null;
+		} catch (IOException ex) {
+			return null;
+		}
+		store(key, attributes, now);
+		return attributes;
+	}
+
+	/**
+	 * Method stores attributes of given path that were already read, for example by file visitor. </br>
+	 * Attributes of symbolic links are not stored, because cache holds attributes of link targets.
+	 *
+	 * @param path       path whose attributes are stored
+	 * @param attributes attributes of path
+	 */
+	public void put(Path path, BasicFileAttributes attributes) {
+		if (attributes.isSymbolicLink())
+			return;
+		store(key(path), attributes, System.nanoTime());
+	}
+
+	/**
+	 * Method removes attributes of given path and of all paths inside of it.
+	 *
+	 * @param path path that was changed
+	 */
+	public synchronized void invalidate(Path path) {
+		Path key = key(path);
+		entries.keySet().removeIf(p -> p.startsWith(key));
+	}
+
+	/**
+	 * Method returns key under which attributes of given path are stored. </br>
+	 * Key is absolute and normalized, so every spelling of the same path has the same entry.
+	 *
+	 * @param path path whose key is returned
+	 * @return     key of path
+	 */
+	private static Path key(Path path) {
+		return path.toAbsolutePath().normalize();
+	}
+
+	/**
+	 * Method removes all attributes and resets counters.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		hits = 0;
+		misses = 0;
+	}
+
+	/**
+	 * Method returns number of lookups served from cache.
+	 *
+	 * @return number of hits
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Method returns number of lookups that read attributes.
+	 *
+	 * @return number of misses
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Method stores given attributes if caching is turned on.
+	 *
+	 * @param key        absolute path
+	 * @param attributes attributes of path, or {@code null} if path does not exist
+	 * @param time       time at which attributes were read
+	 */
+	private synchronized void store(Path key, BasicFileAttributes attributes, long time) {
+		if (ttl > 0) {
+			entries.put(key, new Entry(attributes, time));
+		}
+	}
+
+	/**
+	 * Method reads attributes of given path with single call, as POSIX attributes if they are supported.
+	 *
+	 * @param path         path whose attributes are read
+	 * @return             attributes of path
+	 * @throws IOException if attributes can not be read
+	 */
+	static BasicFileAttributes read(Path path) throws IOException {
+		if (path.getFileSystem().supportedFileAttributeViews().contains("posix"))
+			return Files.readAttributes(path, PosixFileAttributes.class);
+		return Files.readAttributes(path, BasicFileAttributes.class);
+	}
+
+	/**
+	 * Cached attributes together with time at which they were read.
+	 *
+	 * @author Ante Gazibarić
+	 * @version 1.0
+	 *
+	 */
+	private static class Entry {
+
+		/** attributes, or {@code null} if path does not exist */
+		private final BasicFileAttributes attributes;
+		/** time at which attributes were read */
+		private final long time;
+
+		/**
+		 * Constructor that creates new {@link Entry} object.
+		 *
+		 * @param attributes {@link #attributes}
+		 * @param time       {@link #time}
+		 */
+		public Entry(BasicFileAttributes attributes, long time) {
+			this.attributes = attributes;
+			this.time = time;
+		}
+	}
+
+}
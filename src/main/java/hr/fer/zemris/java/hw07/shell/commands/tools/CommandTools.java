@@ -1,12 +1,16 @@
 package hr.fer.zemris.java.hw07.shell.commands.tools;
 
-import java.nio.file.Files;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.List;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Objects;
 
-import hr.fer.zemris.java.hw07.shell.parser.ShellParser;
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.dispatch.ParsedCommand;
+import hr.fer.zemris.java.hw07.shell.environment.EnvironmentExpander;
+import hr.fer.zemris.java.hw07.shell.glob.Operands;
+import hr.fer.zemris.java.hw07.shell.parser.LexedArguments;
 import hr.fer.zemris.java.hw07.shell.parser.ShellParserException;
 
 /**
@@ -19,26 +23,86 @@ import hr.fer.zemris.java.hw07.shell.parser.ShellParserException;
 public class CommandTools {
 	
 	/** 
-	 * Method processes and returns arguments in array
+	 * Method processes and returns arguments in array. </br>
+	 * If input is arguments of command that current thread executes, </br>
+	 * arguments that {@link ParsedCommand} has already lexed are returned.
 	 * 
 	 * @param input input that is processed
 	 * @return arguments array
 	 * @throws IllegalArgumentException if given input is not valid
 	 * @throws NullPointerException if given input is {@code null}
 	 */
-	public static String[] getArguments(String input, boolean toEscape) {
+	public static String[] getArguments(CharSequence input, boolean toEscape) {
+		return lex(null, input, toEscape).getArguments();
+	}
+	
+	/** 
+	 * Method processes and returns arguments in array, expanding variables and </br>
+	 * command substitutions using given environment. </br>
+	 * If input is arguments of command that current thread executes, </br>
+	 * arguments that {@link ParsedCommand} has already lexed are returned.
+	 * 
+	 * @param env      environment whose variables and commands are used for expansion
+	 * @param input    input that is processed
+	 * @param toEscape flag that tells whether escape sequences in quoted inputs are interpreted
+	 * @return arguments array
+	 * @throws IllegalArgumentException if given input is not valid
+	 * @throws NullPointerException if given environment or input is {@code null}
+	 */
+	public static String[] getArguments(Environment env, CharSequence input, boolean toEscape) {
+		return lex(env, input, toEscape).getArguments();
+	}
+	
+	/** 
+	 * Method processes arguments with escaping into operands whose unquoted </br>
+	 * arguments with wildcards are compiled glob patterns. </br>
+	 * Variables and command substitutions are expanded before patterns are compiled. </br>
+	 * If input is arguments of command that current thread executes, </br>
+	 * operands that {@link ParsedCommand} has already created are returned.
+	 * 
+	 * @param env   environment whose variables and commands are used for expansion
+	 * @param input input that is processed
+	 * @return {@link Operands} of input
+	 * @throws IllegalArgumentException if given input or any pattern is not valid
+	 * @throws NullPointerException if given environment or input is {@code null}
+	 */
+	public static Operands getOperands(Environment env, CharSequence input) {
+		if (input == null)
+			throw new NullPointerException("Input must not be null");
+		
+		try {
+			ParsedCommand executing = ParsedCommand.executing(input);
+			if (executing != null)
+				return executing.getOperands(env);
+			LexedArguments lexed = lex(env, input, true);
+			return new Operands(lexed.getArguments(), lexed.getQuoted());
+		} catch (ShellParserException ex) {
+			throw new IllegalArgumentException(ex.getMessage());
+		}
+	}
+	
+	/**
+	 * Method lexes given input into arguments.
+	 * 
+	 * @param env      environment whose variables and commands are used for expansion, </br>
+	 *                 or {@code null} if nothing is expanded
+	 * @param input    input that is lexed
+	 * @param toEscape flag that tells whether escape sequences in quoted inputs are interpreted
+	 * @return         lexed arguments
+	 * @throws IllegalArgumentException if given input is not valid
+	 * @throws NullPointerException if given input is {@code null}
+	 */
+	private static LexedArguments lex(Environment env, CharSequence input, boolean toEscape) {
 		if (input == null)
 			throw new NullPointerException("Input must not be null");
 		
 		try {
-			ShellParser parser = new ShellParser(input, toEscape);
-			List<String> listOfInputs = parser.getInputs();
-			int size = listOfInputs.size();
-			String[] arguments = new String[size];
-			for (int i = 0; i < size; i++) {
-				arguments[i] = listOfInputs.get(i);
-			}
-			return arguments;
+			ParsedCommand executing = ParsedCommand.executing(input);
+			if (executing != null)
+				return executing.lex(env, toEscape);
+			String text = input.toString();
+			boolean expands = env != null && text.indexOf('$') >= 0;
+			return LexedArguments.lex(text, toEscape, expands ? new EnvironmentExpander(env) : null);
 		} catch (ShellParserException ex) {
 			throw new IllegalArgumentException(ex.getMessage());
 		}
@@ -56,7 +120,8 @@ public class CommandTools {
 			throw new IllegalArgumentException("Command '" + commandName + "' accepts no arguments.");
 	}
 	/**
-	 * Method checks if given path is directory.
+	 * Method checks if given path is directory. </br>
+	 * Attributes of path are read with single call.
 	 * 
 	 * @param path path that is checked
 	 * @throws IllegalArgumentException if given directory does not exists or if it's not directory
@@ -64,17 +129,25 @@ public class CommandTools {
 	 */
 	public static void checkPathForDirectory(Path path) {
 		Objects.requireNonNull(path, "Given path must not be null");
-		
-		if (!Files.exists(path)) 
-			throw new IllegalArgumentException("Given directory does not exist. Was: " + path);
-		
-		if(!Files.isDirectory(path)) 
-			throw new IllegalArgumentException("Given path is not directory. Was: " + path);
+		checkDirectory(path, readAttributes(path));
+	}
 	
+	/**
+	 * Method checks if given path is directory using attribute cache of given environment.
+	 * 
+	 * @param env  environment whose {@link AttributeCache} is used
+	 * @param path path that is checked
+	 * @throws IllegalArgumentException if given directory does not exists or if it's not directory
+	 * @throws NullPointerException if given path is {@code null}
+	 */
+	public static void checkPathForDirectory(Environment env, Path path) {
+		Objects.requireNonNull(path, "Given path must not be null");
+		checkDirectory(path, AttributeCache.of(env).get(path));
 	}
 	
 	/**
-	 * Method checks if given path is file.
+	 * Method checks if given path is file. </br>
+	 * Attributes of path are read with single call.
 	 * 
 	 * @param path path that is checked
 	 * @throws IllegalArgumentException if given file does not exists or if it's directory
@@ -82,13 +155,64 @@ public class CommandTools {
 	 */
 	public static void checkPathForFile(Path path) {
 		Objects.requireNonNull(path, "Given path must not be null.");
+		checkFile(path, readAttributes(path));
+	}
+	
+	/**
+	 * Method checks if given path is file using attribute cache of given environment.
+	 * 
+	 * @param env  environment whose {@link AttributeCache} is used
+	 * @param path path that is checked
+	 * @throws IllegalArgumentException if given file does not exists or if it's directory
+	 * @throws NullPointerException if given path is {@code null}
+	 */
+	public static void checkPathForFile(Environment env, Path path) {
+		Objects.requireNonNull(path, "Given path must not be null.");
+		checkFile(path, AttributeCache.of(env).get(path));
+	}
+	
+	/**
+	 * Method checks if path with given attributes is directory.
+	 * 
+	 * @param path       path that is checked
+	 * @param attributes attributes of path, or {@code null} if it does not exist
+	 * @throws IllegalArgumentException if given directory does not exists or if it's not directory
+	 */
+	private static void checkDirectory(Path path, BasicFileAttributes attributes) {
+		if (attributes == null) 
+			throw new IllegalArgumentException("Given directory does not exist. Was: " + path);
 		
-		if (!Files.exists(path)) 
+		if (!attributes.isDirectory()) 
+			throw new IllegalArgumentException("Given path is not directory. Was: " + path);
+	}
+	
+	/**
+	 * Method checks if path with given attributes is file.
+	 * 
+	 * @param path       path that is checked
+	 * @param attributes attributes of path, or {@code null} if it does not exist
+	 * @throws IllegalArgumentException if given file does not exists or if it's directory
+	 */
+	private static void checkFile(Path path, BasicFileAttributes attributes) {
+		if (attributes == null) 
 			throw new IllegalArgumentException("Given file does not exist. Was: " + path);
 		
-		if(Files.isDirectory(path)) 
+		if (attributes.isDirectory()) 
 			throw new IllegalArgumentException("Given path must not be directory. Was: " + path);
+	}
 	
+	/**
+	 * Method reads attributes of given path.
+	 * 
+	 * @param path path whose attributes are read
+	 * @return     attributes of path, or {@code null} if it does not exist or can not be read
+	 */
+	private static BasicFileAttributes readAttributes(Path path) {
+		try {
+			return AttributeCache.read(path);
+		} catch (IOException ex) {
+			return null;
+		}
 	}
 	
 	/**
@@ -0,0 +1,274 @@
+package hr.fer.zemris.java.hw07.shell.copy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Checkpoint of resumable copy, which is stored in file beside destination. </p>
+ *
+ * File starts with path, size and modification time of source, so checkpoint of </br>
+ * source that changed is never used. Every copied range of destination appends </br>
+ * line with end offset of range and CRC32C digest of its bytes, after bytes of range </br>
+ * are forced to the disk, so every range in checkpoint is really written. </br>
+ * Line that was not completely written when copy was interrupted is ignored.
+ *
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class CopyCheckpoint {
+
+	/** suffix of name of checkpoint file */
+	public static final String SUFFIX = ".checkpoint";
+	/** first line of checkpoint file */
+	private static final String HEADER = "myshell copy checkpoint 1";
+	/** key of source path */
+	private static final String SOURCE_KEY = "source";
+	/** key of source size */
+	private static final String SIZE_KEY = "size";
+	/** key of source modification time */
+	private static final String MODIFIED_KEY = "modified";
+	/** key of copied range */
+	private static final String RANGE_KEY = "range";
+	/** symbol that separates key from value */
+	private static final char SEPARATOR = '=';
+
+	/** checkpoint file */
+	private final Path file;
+	/** absolute path of source */
+	private final String source;
+	/** size of source in bytes */
+	private final long size;
+	/** modification time of source in milliseconds */
+	private final long modified;
+	/** end offsets of copied ranges */
+	private long[] ends = new long[16];
+	/** digests of copied ranges */
+	private long[] digests = new long[16];
+	/** number of copied ranges */
+	private int ranges;
+
+	/**
+	 * Constructor that creates new {@code CopyCheckpoint} object without ranges.
+	 *
+	 * @param file     {@link #file}
+	 * @param source   {@link #source}
+	 * @param size     {@link #size}
+	 * @param modified {@link #modified}
+	 */
+	private CopyCheckpoint(Path file, String source, long size, long modified) {
+		this.file = file;
+		this.source = source;
+		this.size = size;
+		this.modified = modified;
+	}
+
+	/**
+	 * Method returns path of checkpoint file of given destination.
+	 *
+	 * @param destination destination of copy
+	 * @return            path of checkpoint file
+	 */
+	public static Path getPath(Path destination) {
+		return destination.resolveSibling(destination.getFileName() + SUFFIX);
+	}
+
+	/**
+	 * Method creates new checkpoint without ranges, replacing existing checkpoint file.
+	 *
+	 * @param file         checkpoint file
+	 * @param source       absolute path of source
+	 * @param size         size of source in bytes
+	 * @param modified     modification time of source in milliseconds
+	 * @return             created checkpoint
+	 * @throws IOException if checkpoint file can not be written
+	 */
+	static CopyCheckpoint create(Path file, String source, long size, long modified) throws IOException {
+		CopyCheckpoint checkpoint = new CopyCheckpoint(file, source, size, modified);
+		checkpoint.write();
+		return checkpoint;
+	}
+
+	/**
+	 * Method loads checkpoint from given file.
+	 *
+	 * @param file         checkpoint file
+	 * @return             loaded checkpoint, or {@code null} if file does not exist or is not valid
+	 * @throws IOException if checkpoint file can not be read
+	 */
+	static CopyCheckpoint load(Path file) throws IOException {
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			if (!HEADER.equals(reader.readLine()))
+				return null;
+			String source = getValue(reader.readLine(), SOURCE_KEY);
+			String size = getValue(reader.readLine(), SIZE_KEY);
+			String modified = getValue(reader.readLine(), MODIFIED_KEY);
+			if (source == null || size == null || modified == null)
+				return null;
+
+			CopyCheckpoint checkpoint = new CopyCheckpoint(file, source, Long.parseLong(size), Long.parseLong(modified));
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String range = getValue(line, RANGE_KEY);
+				int space = range == null ? -1 : range.indexOf(' ');
+				if (space < 0)
+					break;
+				try {
+					checkpoint.add(Long.parseLong(range.substring(0, space)), Long.parseUnsignedLong(range.substring(space + 1), 16));
+				} catch (NumberFormatException ex) {
+					break;
+				}
+			}
+			return checkpoint;
+		} catch (NoSuchFileException | NumberFormatException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Method checks whether checkpoint belongs to the given source.
+	 *
+	 * @param source   absolute path of source
+	 * @param size     size of source in bytes
+	 * @param modified modification time of source in milliseconds
+	 * @return         {@code true} if checkpoint can be used for source, {@code false} otherwise
+	 */
+	boolean matches(String source, long size, long modified) {
+		return this.source.equals(source) && this.size == size && this.modified == modified;
+	}
+
+	/**
+	 * Method returns number of copied ranges.
+	 *
+	 * @return number of ranges
+	 */
+	int getRanges() {
+		return ranges;
+	}
+
+	/**
+	 * Method returns end offset of range at given index.
+	 *
+	 * @param index index of range
+	 * @return      end offset of range
+	 */
+	long getEnd(int index) {
+		return ends[index];
+	}
+
+	/**
+	 * Method returns digest of range at given index.
+	 *
+	 * @param index index of range
+	 * @return      CRC32C digest of range
+	 */
+	long getDigest(int index) {
+		return digests[index];
+	}
+
+	/**
+	 * Method keeps only given number of first ranges and rewrites checkpoint file. </br>
+	 * File is rewritten even if all ranges are kept, so line that was not completely </br>
+	 * written is removed before next range is appended.
+	 *
+	 * @param count        number of ranges that are kept
+	 * @throws IOException if checkpoint file can not be written
+	 */
+	void keep(int count) throws IOException {
+		ranges = count;
+		write();
+	}
+
+	/**
+	 * Method appends copied range to the checkpoint and forces it to the disk.
+	 *
+	 * @param end          end offset of range
+	 * @param digest       CRC32C digest of range
+	 * @throws IOException if checkpoint file can not be written
+	 */
+	void append(long end, long digest) throws IOException {
+		add(end, digest);
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+			channel.write(ByteBuffer.wrap(toLine(RANGE_KEY, end + " " + Long.toHexString(digest)).getBytes(StandardCharsets.UTF_8)));
+			channel.force(false);
+		}
+	}
+
+	/**
+	 * Method deletes checkpoint file.
+	 *
+	 * @throws IOException if checkpoint file can not be deleted
+	 */
+	void delete() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	/**
+	 * Method adds range to the checkpoint.
+	 *
+	 * @param end    end offset of range
+	 * @param digest CRC32C digest of range
+	 */
+	private void add(long end, long digest) {
+		if (ranges == ends.length) {
+			ends = Arrays.copyOf(ends, ranges * 2);
+			digests = Arrays.copyOf(digests, ranges * 2);
+		}
+		ends[ranges] = end;
+		digests[ranges++] = digest;
+	}
+
+	/**
+	 * Method writes whole checkpoint into file, replacing its content.
+	 *
+	 * @throws IOException if checkpoint file can not be written
+	 */
+	private void write() throws IOException {
+		StringBuilder sb = new StringBuilder();
+		sb.append(HEADER).append('\n');
+		sb.append(toLine(SOURCE_KEY, source));
+		sb.append(toLine(SIZE_KEY, Long.toString(size)));
+		sb.append(toLine(MODIFIED_KEY, Long.toString(modified)));
+		for (int i = 0; i < ranges; i++) {
+			sb.append(toLine(RANGE_KEY, ends[i] + " " + Long.toHexString(digests[i])));
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			channel.write(ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8)));
+			channel.force(false);
+		}
+	}
+
+	/**
+	 * Method returns line with given key and value.
+	 *
+	 * @param key   key
+	 * @param value value
+	 * @return      line ending with line break
+	 */
+	private static String toLine(String key, String value) {
+		return key + SEPARATOR + value + '\n';
+	}
+
+	/**
+	 * Method returns value of given line if it has given key.
+	 *
+	 * @param line line that is parsed
+	 * @param key  expected key
+	 * @return     value, or {@code null} if line does not have given key
+	 */
+	private static String getValue(String line, String key) {
+		if (line == null || !line.startsWith(key) || line.length() <= key.length() || line.charAt(key.length()) != SEPARATOR)
+			return null;
+		return line.substring(key.length() + 1);
+	}
+
+}
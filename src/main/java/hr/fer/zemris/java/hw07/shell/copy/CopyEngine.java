@@ -0,0 +1,470 @@
+package hr.fer.zemris.java.hw07.shell.copy;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+/**
+ * Engine that copies single file. </p>
+ *
+ * By default file is copied byte by byte with {@link FileChannel#transferTo}, which </br>
+ * lets operating system move data between files without copying it into Java heap </br>
+ * ({@code sendfile} or {@code copy_file_range} on Linux), so content of file is never </br>
+ * decoded and binary files are copied unchanged. </br>
+ * In text mode of {@link CopyOptions} file is decoded line by line and encoded again, </br>
+ * so line endings and charset can be converted. </p>
+ *
+ * If more than one worker is given, file larger than single chunk is copied in parallel. </br>
+ * Destination is first extended to the size of source, so workers only overwrite </br>
+ * its ranges and never race to extend it. Then every worker takes next chunk that </br>
+ * is not copied yet and transfers it with positional read from shared source channel </br>
+ * into its own destination channel, until all chunks are copied. </p>
+ *
+ * Resumable copy reads source through buffer, so digest of every range can be </br>
+ * computed, and records every range in {@link CopyCheckpoint} after it is forced to </br>
+ * the disk. When copy is started again, ranges of destination are verified against </br>
+ * digests in checkpoint and copy continues after last range that matches. </br>
+ * Checkpoint is deleted when copy is finished. </p>
+ *
+ * Verified copy also reads source through buffer and computes its digest in the same </br>
+ * pass in which it is copied, so source is read only once. Its buffer is allocated once </br>
+ * for every thread and reused for all files that thread copies with this engine. Destination is then read </br>
+ * again and its digest must be equal, unless written bytes are trusted. </p>
+ *
+ * Sparse copy reads source through buffer as well and does not write blocks of </br>
+ * {@value #SPARSE_BLOCK_SIZE} bytes that contain only zeros, so file system leaves them </br>
+ * as holes that take no space. Destination is finally extended to the size of source, </br>
+ * in case source ends with zeros.
+ *
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class CopyEngine {
+
+	/** size of buffer used by resumable, verified and sparse copy */
+	private static final int BUFFER_SIZE = 1 << 20;
+	/** size of block that is left as hole by sparse copy if it contains only zeros */
+	private static final int SPARSE_BLOCK_SIZE = 4096;
+	/** block of zeros with which blocks of source are compared */
+	private static final byte[] ZERO_BLOCK = new byte[SPARSE_BLOCK_SIZE];
+	
+	/** options of copy */
+	private final CopyOptions options;
+	/** buffers of verified and sparse copy, allocated once for every thread that uses this engine */
+	private final ThreadLocal<ByteBuffer> buffers = ThreadLocal.withInitial(() -> ByteBuffer.allocate(BUFFER_SIZE));
+
+	/**
+	 * Constructor that creates new {@code CopyEngine} object.
+	 *
+	 * @param options {@link #options}
+	 * @throws NullPointerException if options are {@code null}
+	 * @throws IllegalArgumentException if options can not be used together
+	 */
+	public CopyEngine(CopyOptions options) {
+		this.options = Objects.requireNonNull(options, "Options must not be null");
+		options.validate();
+	}
+
+	/**
+	 * Method returns options of copy.
+	 *
+	 * @return options of copy
+	 */
+	public CopyOptions getOptions() {
+		return options;
+	}
+
+	/**
+	 * Method copies given file to the given destination file, which is created or overwritten.
+	 *
+	 * @param source       file that is copied
+	 * @param destination  file to which source is copied
+	 * @return             {@link CopyResult} of copy
+	 * @throws IOException if error occurred during copying
+	 * @throws IllegalArgumentException if source and destination are the same file
+	 */
+	public CopyResult copy(Path source, Path destination) throws IOException {
+		if (Files.exists(destination) && Files.isSameFile(source, destination))
+			throw new IllegalArgumentException("File can not be copied to itself. Was: " + source);
+
+		if (options.isText())
+			return copyText(source, destination);
+		if (options.getVerify() != null || options.isSparse())
+			return copyBuffered(source, destination);
+		return options.isResume() ? copyResumable(source, destination) : copyBytes(source, destination);
+	}
+
+	/**
+	 * Method copies bytes of given file. </br>
+	 * Size of source is read once, so bytes appended to source during copy are not copied.
+	 *
+	 * @param source       file that is copied
+	 * @param destination  file to which source is copied
+	 * @return             {@link CopyResult} of copy
+	 * @throws IOException if error occurred during copying
+	 */
+	private CopyResult copyBytes(Path source, Path destination) throws IOException {
+		try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+				FileChannel out = FileChannel.open(destination,
+						StandardOpenOption.WRITE,
+						StandardOpenOption.CREATE,
+						StandardOpenOption.TRUNCATE_EXISTING)) {
+			long size = in.size();
+			if (options.getWorkers() > 1 && size > options.getChunkSize()) {
+				out.write(ByteBuffer.allocate(1), size - 1);
+				long copied = copyChunks(in, destination, size);
+				return new CopyResult(source, destination, copied, copied);
+			}
+			long position = transfer(in, out, 0, size);
+			return new CopyResult(source, destination, position, position);
+		}
+	}
+	
+	/**
+	 * Method copies chunks of source channel to the destination file, which is </br>
+	 * already extended to the given size, using workers of {@link CopyOptions}.
+	 *
+	 * @param in           source channel
+	 * @param destination  destination file
+	 * @param size         size of source in bytes
+	 * @return             number of copied bytes
+	 * @throws IOException if any chunk could not be copied
+	 */
+	private long copyChunks(FileChannel in, Path destination, long size) throws IOException {
+		long chunkSize = options.getChunkSize();
+		long chunks = (size + chunkSize - 1) / chunkSize;
+		int workers = (int) Math.min(options.getWorkers(), chunks);
+		AtomicLong next = new AtomicLong();
+		
+		List<Callable<Long>> tasks = new ArrayList<>(workers);
+		for (int i = 0; i < workers; i++) {
+			tasks.add(() -> {
+				long copied = 0;
+				try (FileChannel out = FileChannel.open(destination, StandardOpenOption.WRITE)) {
+					long start;
+					while ((start = next.getAndAdd(chunkSize)) < size) {
+						long end = Math.min(size, start + chunkSize);
+						out.position(start);
+						long reached = transfer(in, out, start, end);
+						copied += reached - start;
+						if (reached < end)
+							throw new IOException("Source file was truncated during copy.");
+					}
+				}
+				return copied;
+			});
+		}
+		
+		ExecutorService pool = Executors.newFixedThreadPool(workers);
+		try {
+			long copied = 0;
+			for (Future<Long> future : pool.invokeAll(tasks)) {
+				copied += future.get();
+			}
+			return copied;
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Copy was interrupted.");
+		} catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof IOException)
+				throw (IOException) cause;
+			throw new IOException(cause.getMessage(), cause);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Method transfers bytes of given range of source channel to the destination channel </br>
+	 * at its current position. Transfer stops early if source is shorter than expected.
+	 *
+	 * @param in           source channel
+	 * @param out          destination channel
+	 * @param position     position of first byte in source
+	 * @param end          position after last byte in source
+	 * @return             position after last transferred byte
+	 * @throws IOException if error occurred during transfer
+	 */
+	private static long transfer(FileChannel in, FileChannel out, long position, long end) throws IOException {
+		while (position < end) {
+			long transferred = in.transferTo(position, end - position, out);
+			if (transferred <= 0)
+				break;
+			position += transferred;
+		}
+		return position;
+	}
+
+	/**
+	 * Method copies bytes of given file in ranges which are recorded in checkpoint. </br>
+	 * Bytes that are verified count as read, so every byte of source size is read once.
+	 *
+	 * @param source       file that is copied
+	 * @param destination  file to which source is copied
+	 * @return             {@link CopyResult} of copy
+	 * @throws IOException if error occurred during copying
+	 */
+	private CopyResult copyResumable(Path source, Path destination) throws IOException {
+		Path file = CopyCheckpoint.getPath(destination);
+		String sourceName = source.toAbsolutePath().normalize().toString();
+		ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		CRC32C digest = new CRC32C();
+		CopyCheckpoint checkpoint;
+		long start = 0;
+		long size;
+		
+		try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+				FileChannel out = FileChannel.open(destination,
+						StandardOpenOption.READ,
+						StandardOpenOption.WRITE,
+						StandardOpenOption.CREATE)) {
+			size = in.size();
+			long modified = Files.getLastModifiedTime(source).toMillis();
+			checkpoint = CopyCheckpoint.load(file);
+			if (checkpoint != null && checkpoint.matches(sourceName, size, modified)) {
+				int verified = 0;
+				long destinationSize = out.size();
+				while (verified < checkpoint.getRanges()) {
+					long end = checkpoint.getEnd(verified);
+					if (end <= start || end > destinationSize 
+							|| digest(out, start, end, buffer, digest) != checkpoint.getDigest(verified))
+						break;
+					start = end;
+					verified++;
+				}
+				checkpoint.keep(verified);
+			} else {
+				checkpoint = CopyCheckpoint.create(file, sourceName, size, modified);
+			}
+			
+			long position = start;
+			while (position < size) {
+				if (Thread.currentThread().isInterrupted())
+					throw new InterruptedIOException("Copy was interrupted.");
+				long end = Math.min(size, position + options.getCheckpointInterval());
+				digest.reset();
+				while (position < end) {
+					buffer.clear();
+					buffer.limit((int) Math.min(buffer.capacity(), end - position));
+					if (in.read(buffer, position) < 0)
+						throw new IOException("Source file was truncated during copy.");
+					buffer.flip();
+					digest.update(buffer);
+					buffer.rewind();
+					while (buffer.hasRemaining()) {
+						position += out.write(buffer, position);
+					}
+				}
+				out.force(false);
+				checkpoint.append(end, digest.getValue());
+			}
+			out.truncate(size);
+		}
+		checkpoint.delete();
+		return new CopyResult(source, destination, size, size - start, start, null, 0);
+	}
+	
+	/**
+	 * Method copies bytes of given file through buffer, computing their digest and verifying </br>
+	 * destination if copy is verified, and leaving blocks of zeros as holes if copy is sparse.
+	 *
+	 * @param source       file that is copied
+	 * @param destination  file to which source is copied
+	 * @return             {@link CopyResult} of copy
+	 * @throws IOException if error occurred during copying
+	 * @throws CopyVerificationException if digest of destination differs from digest of source
+	 */
+	private CopyResult copyBuffered(Path source, Path destination) throws IOException {
+		ByteBuffer buffer = buffers.get();
+		StreamDigest digest = options.getVerify() == null ? null : StreamDigest.of(options.getVerify());
+		long size = 0;
+		long written = 0;
+		try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+				FileChannel out = FileChannel.open(destination,
+						StandardOpenOption.WRITE,
+						StandardOpenOption.CREATE,
+						StandardOpenOption.TRUNCATE_EXISTING,
+						StandardOpenOption.SPARSE)) {
+			while (fill(in, buffer) > 0) {
+				if (digest != null) {
+					digest.update(buffer);
+					buffer.rewind();
+				}
+				written += options.isSparse() ? writeSparse(out, buffer, size) : write(out, buffer, size);
+				size += buffer.limit();
+			}
+		}
+		if (written < size) {
+			try (RandomAccessFile file = new RandomAccessFile(destination.toFile(), "rw")) {
+				file.setLength(size);
+			}
+		}
+		if (digest == null)
+			return new CopyResult(source, destination, size, written, 0, null, size - written);
+		
+		String sourceDigest = digest.finish();
+		if (options.isTrustWrite())
+			return new CopyResult(source, destination, size, written, 0, sourceDigest, size - written);
+		
+		try (FileChannel check = FileChannel.open(destination, StandardOpenOption.READ)) {
+			while (fill(check, buffer) > 0) {
+				digest.update(buffer);
+			}
+		}
+		String destinationDigest = digest.finish();
+		if (!sourceDigest.equals(destinationDigest))
+			throw new CopyVerificationException(String.format("Verification of %s failed. Expected %s digest: %s. Was: %s",
+					destination, digest.getAlgorithm(), sourceDigest, destinationDigest));
+		return new CopyResult(source, destination, 2 * size, written, 0, sourceDigest, size - written);
+	}
+	
+	/**
+	 * Method clears buffer and fills it from channel until it is full or end of channel </br>
+	 * is reached, so blocks of buffer stay aligned to the blocks of file. </br>
+	 * Buffer is flipped, so its content can be read.
+	 *
+	 * @param in           channel that is read
+	 * @param buffer       buffer that is filled
+	 * @return             number of bytes in buffer, 0 at the end of channel
+	 * @throws IOException if channel can not be read
+	 */
+	private static int fill(FileChannel in, ByteBuffer buffer) throws IOException {
+		buffer.clear();
+		while (buffer.hasRemaining()) {
+			if (in.read(buffer) < 0)
+				break;
+		}
+		buffer.flip();
+		return buffer.limit();
+	}
+	
+	/**
+	 * Method writes remaining bytes of buffer to the given position of channel.
+	 *
+	 * @param out          destination channel
+	 * @param buffer       bytes that are written
+	 * @param position     position in destination
+	 * @return             number of written bytes
+	 * @throws IOException if channel can not be written
+	 */
+	private static long write(FileChannel out, ByteBuffer buffer, long position) throws IOException {
+		long written = 0;
+		while (buffer.hasRemaining()) {
+			written += out.write(buffer, position + written);
+		}
+		return written;
+	}
+	
+	/**
+	 * Method writes bytes of buffer to the given position of channel, skipping blocks </br>
+	 * that contain only zeros, so they become holes. Consecutive blocks with data are </br>
+	 * written at once.
+	 *
+	 * @param out          destination channel
+	 * @param buffer       heap buffer whose content from 0 to limit is written
+	 * @param position     position in destination of first byte of buffer
+	 * @return             number of written bytes
+	 * @throws IOException if channel can not be written
+	 */
+	private static long writeSparse(FileChannel out, ByteBuffer buffer, long position) throws IOException {
+		byte[] array = buffer.array();
+		int limit = buffer.limit();
+		long written = 0;
+		int start = 0;
+		while (start < limit) {
+			int end = Math.min(start + SPARSE_BLOCK_SIZE, limit);
+			if (isZero(array, start, end)) {
+				start = end;
+				continue;
+			}
+			while (end < limit) {
+				int next = Math.min(end + SPARSE_BLOCK_SIZE, limit);
+				if (isZero(array, end, next))
+					break;
+				end = next;
+			}
+			written += write(out, ByteBuffer.wrap(array, start, end - start), position + start);
+			start = end;
+		}
+		return written;
+	}
+	
+	/**
+	 * Method checks whether given range of array contains only zeros.
+	 *
+	 * @param array array that is checked
+	 * @param from  index of first byte of range
+	 * @param to    index after last byte of range, at most {@value #SPARSE_BLOCK_SIZE} after first
+	 * @return      {@code true} if all bytes of range are zeros, {@code false} otherwise
+	 */
+	private static boolean isZero(byte[] array, int from, int to) {
+		return Arrays.mismatch(array, from, to, ZERO_BLOCK, 0, to - from) < 0;
+	}
+	
+	/**
+	 * Method computes CRC32C digest of given range of channel.
+	 *
+	 * @param channel      channel that is read
+	 * @param start        position of first byte of range
+	 * @param end          position after last byte of range
+	 * @param buffer       buffer used for reading
+	 * @param digest       digest that is reset and used for computation
+	 * @return             digest of range
+	 * @throws IOException if channel could not be read
+	 */
+	private static long digest(FileChannel channel, long start, long end, ByteBuffer buffer, CRC32C digest) throws IOException {
+		digest.reset();
+		while (start < end) {
+			buffer.clear();
+			buffer.limit((int) Math.min(buffer.capacity(), end - start));
+			int read = channel.read(buffer, start);
+			if (read < 0)
+				break;
+			start += read;
+			buffer.flip();
+			digest.update(buffer);
+		}
+		return digest.getValue();
+	}
+	
+	/**
+	 * Method copies given file as text, converting charset and line endings.
+	 *
+	 * @param source       file that is copied
+	 * @param destination  file to which source is copied
+	 * @return             {@link CopyResult} of copy
+	 * @throws IOException if error occurred during copying
+	 */
+	private CopyResult copyText(Path source, Path destination) throws IOException {
+		try (BufferedReader reader = Files.newBufferedReader(source, options.getSourceCharset());
+				BufferedWriter writer = Files.newBufferedWriter(destination, options.getDestinationCharset())) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				writer.write(line);
+				writer.write('\n');
+			}
+		}
+		return new CopyResult(source, destination, Files.size(source), Files.size(destination));
+	}
+
+}
@@ -0,0 +1,75 @@
+package hr.fer.zemris.java.hw07.shell.copy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Manifest of verified copies. </p>
+ *
+ * Every verified copy adds one line with digest of file and path of destination </br>
+ * separated by two spaces, which is format that {@code sha256sum --check} accepts </br>
+ * when digest is {@value StreamDigest#SHA256}.
+ *
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class CopyManifest {
+
+	/** separator of digest and path */
+	private static final String SEPARATOR = "  ";
+
+	/** directory against which paths of destinations are relativized */
+	private final Path base;
+	/** lines of manifest */
+	private final List<String> lines = new ArrayList<>();
+
+	/**
+	 * Constructor that creates new empty {@code CopyManifest} object.
+	 *
+	 * @param base {@link #base}
+	 */
+	public CopyManifest(Path base) {
+		this.base = Objects.requireNonNull(base, "Base directory must not be null");
+	}
+
+	/**
+	 * Method adds line of given verified copy.
+	 *
+	 * @param result result of copy
+	 * @throws IllegalArgumentException if copy was not verified
+	 */
+	public void add(CopyResult result) {
+		if (result.getDigest() == null)
+			throw new IllegalArgumentException("Copy of " + result.getSource() + " was not verified.");
+		Path destination = result.getDestination().toAbsolutePath();
+		Path path = destination.startsWith(base) ? base.relativize(destination) : destination;
+		lines.add(result.getDigest() + SEPARATOR + path);
+	}
+
+	/**
+	 * Method returns lines of manifest.
+	 *
+	 * @return unmodifiable list of lines
+	 */
+	public List<String> getLines() {
+		return Collections.unmodifiableList(lines);
+	}
+
+	/**
+	 * Method writes manifest into given file, replacing its content.
+	 *
+	 * @param file         manifest file
+	 * @throws IOException if file can not be written
+	 */
+	public void write(Path file) throws IOException {
+		Files.write(file, lines, StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,405 @@
+package hr.fer.zemris.java.hw07.shell.copy;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import hr.fer.zemris.java.hw07.shell.glob.Operands;
+
+/**
+ * Options of {@link CopyEngine}. </p>
+ *
+ * By default files are copied byte by byte. Option {@value #TEXT_OPTION} turns on </br>
+ * text mode in which file is read as lines in source charset, given with {@value #FROM_OPTION}, </br>
+ * and written with {@code \n} after every line in destination charset, given with </br>
+ * {@value #TO_OPTION}. Giving any of charsets turns text mode on. </p>
+ *
+ * Option {@value #PARALLEL_OPTION} followed by number of workers splits large file </br>
+ * into chunks which are copied concurrently. It can not be used in text mode. </p>
+ *
+ * Option {@value #RESUME_OPTION} copies file in ranges and records every copied range </br>
+ * in {@link CopyCheckpoint}, so copy that was interrupted continues where it stopped. </br>
+ * It can not be used in text mode or together with {@value #PARALLEL_OPTION}. </p>
+ *
+ * Option {@value #VERIFY_OPTION}, optionally followed by {@value StreamDigest#SHA256} (default) </br>
+ * or {@value StreamDigest#CRC32C}, computes digest of source while it is copied and then </br>
+ * reads destination again to check that it has the same digest. Option {@value #TRUST_WRITE_OPTION} </br>
+ * skips reading of destination. Digests are written to the manifest file given with </br>
+ * {@value #MANIFEST_OPTION}. Verification can be used only with plain byte copy. </p>
+ *
+ * Option {@value #SPARSE_OPTION} does not write blocks of source that contain only zeros, </br>
+ * so they stay holes in destination. It can be combined only with {@value #VERIFY_OPTION}.
+ *
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class CopyOptions {
+
+	/** option that turns text mode on */
+	public static final String TEXT_OPTION = "--text";
+	/** option followed by charset of source files */
+	public static final String FROM_OPTION = "--from";
+	/** option followed by charset of destination files */
+	public static final String TO_OPTION = "--to";
+	/** option followed by number of workers that copy chunks of single file */
+	public static final String PARALLEL_OPTION = "--parallel";
+	/** option that makes copy resumable */
+	public static final String RESUME_OPTION = "--resume";
+	/** default size of range after which checkpoint of resumable copy is written */
+	public static final long DEFAULT_CHECKPOINT_INTERVAL = 64L << 20;
+	/** option optionally followed by digest algorithm that turns verification on */
+	public static final String VERIFY_OPTION = "--verify";
+	/** option that skips reading of destination during verification */
+	public static final String TRUST_WRITE_OPTION = "--trust-write";
+	/** option followed by path of manifest file */
+	public static final String MANIFEST_OPTION = "--manifest";
+	/** option that leaves blocks of zeros as holes in destination */
+	public static final String SPARSE_OPTION = "--sparse";
+	/** default size of chunk copied by single worker in bytes */
+	public static final long DEFAULT_CHUNK_SIZE = 64L << 20;
+	/** prefix of every option */
+	private static final String OPTION_PREFIX = "--";
+
+	/** flag that tells whether files are copied as text */
+	private boolean text;
+	/** charset of source files in text mode */
+	private Charset sourceCharset = Charset.defaultCharset();
+	/** charset of destination files in text mode */
+	private Charset destinationCharset = StandardCharsets.UTF_8;
+	/** number of workers that copy chunks of single file */
+	private int workers = 1;
+	/** size of chunk copied by single worker in bytes */
+	private long chunkSize = DEFAULT_CHUNK_SIZE;
+	/** flag that tells whether copy is resumable */
+	private boolean resume;
+	/** size of range after which checkpoint of resumable copy is written */
+	private long checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+	/** digest algorithm used for verification, or {@code null} if files are not verified */
+	private String verify;
+	/** flag that tells whether destination is not read again during verification */
+	private boolean trustWrite;
+	/** path of manifest file, or {@code null} if manifest is not written to file */
+	private String manifest;
+	/** flag that tells whether blocks of zeros are left as holes in destination */
+	private boolean sparse;
+
+	/**
+	 * Method parses options at the beginning of given operands.
+	 *
+	 * @param operands operands of command
+	 * @return         index of first operand that is not option
+	 * @throws IllegalArgumentException if option is unknown, its value is missing or invalid, </br>
+	 *                                  or if options can not be used together
+	 */
+	public int parse(Operands operands) {
+		int index = 0;
+		while (index < operands.size() && operands.get(index).startsWith(OPTION_PREFIX)) {
+			String option = operands.get(index++);
+			switch (option) {
+			case TEXT_OPTION:
+				text = true;
+				break;
+			case FROM_OPTION:
+				setSourceCharset(Charset.forName(getValue(operands, index++, option)));
+				break;
+			case TO_OPTION:
+				setDestinationCharset(Charset.forName(getValue(operands, index++, option)));
+				break;
+			case PARALLEL_OPTION:
+				setWorkers(parsePositive(getValue(operands, index++, option), option));
+				break;
+			case RESUME_OPTION:
+				resume = true;
+				break;
+			case VERIFY_OPTION:
+				boolean hasAlgorithm = index < operands.size() && StreamDigest.isSupported(operands.get(index));
+				setVerify(hasAlgorithm ? operands.get(index++) : StreamDigest.SHA256);
+				break;
+			case TRUST_WRITE_OPTION:
+				trustWrite = true;
+				break;
+			case MANIFEST_OPTION:
+				manifest = getValue(operands, index++, option);
+				break;
+			case SPARSE_OPTION:
+				sparse = true;
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown option. Was: " + option);
+			}
+		}
+		validate();
+		return index;
+	}
+
+	/**
+	 * Method checks whether options can be used together.
+	 *
+	 * @throws IllegalArgumentException if options can not be used together
+	 */
+	public void validate() {
+		if (text && workers > 1)
+			throw new IllegalArgumentException("Option " + PARALLEL_OPTION + " can not be used in text mode.");
+		if (resume && (text || workers > 1))
+			throw new IllegalArgumentException("Option " + RESUME_OPTION + " can not be used in text mode or with " + PARALLEL_OPTION + ".");
+		if (verify != null && (text || resume || workers > 1))
+			throw new IllegalArgumentException("Option " + VERIFY_OPTION + " can not be used in text mode or with "
+					+ PARALLEL_OPTION + " or " + RESUME_OPTION + ".");
+		if (verify == null && (trustWrite || manifest != null))
+			throw new IllegalArgumentException("Options " + TRUST_WRITE_OPTION + " and " + MANIFEST_OPTION 
+					+ " can be used only with " + VERIFY_OPTION + ".");
+		if (sparse && (text || resume || workers > 1))
+			throw new IllegalArgumentException("Option " + SPARSE_OPTION + " can not be used in text mode or with "
+					+ PARALLEL_OPTION + " or " + RESUME_OPTION + ".");
+	}
+
+	/**
+	 * Method returns value of option.
+	 *
+	 * @param operands operands of command
+	 * @param index    index of value
+	 * @param option   option whose value is returned
+	 * @return         value of option
+	 * @throws IllegalArgumentException if value is missing
+	 */
+	private static String getValue(Operands operands, int index, String option) {
+		if (index >= operands.size())
+			throw new IllegalArgumentException("Option " + option + " must be followed by value.");
+		return operands.get(index);
+	}
+
+	/**
+	 * Method parses value of option which must be positive integer.
+	 *
+	 * @param value  value of option
+	 * @param option option whose value is parsed
+	 * @return       parsed value
+	 * @throws IllegalArgumentException if value is not positive integer
+	 */
+	private static int parsePositive(String value, String option) {
+		int number;
+		try {
+			number = Integer.parseInt(value);
+		} catch (NumberFormatException ex) {
+			number = 0;
+		}
+		if (number < 1)
+			throw new IllegalArgumentException("Option " + option + " must be followed by positive integer. Was: " + value);
+		return number;
+	}
+
+	/**
+	 * Method checks whether files are copied as text.
+	 *
+	 * @return {@code true} if text mode is on, {@code false} otherwise
+	 */
+	public boolean isText() {
+		return text;
+	}
+
+	/**
+	 * Method turns text mode on or off.
+	 *
+	 * @param text {@code true} if files are copied as text
+	 */
+	public void setText(boolean text) {
+		this.text = text;
+	}
+
+	/**
+	 * Method returns charset of source files in text mode.
+	 *
+	 * @return charset of source files
+	 */
+	public Charset getSourceCharset() {
+		return sourceCharset;
+	}
+
+	/**
+	 * Method sets charset of source files and turns text mode on.
+	 *
+	 * @param sourceCharset charset of source files
+	 */
+	public void setSourceCharset(Charset sourceCharset) {
+		this.sourceCharset = Objects.requireNonNull(sourceCharset, "Charset must not be null");
+		text = true;
+	}
+
+	/**
+	 * Method returns charset of destination files in text mode.
+	 *
+	 * @return charset of destination files
+	 */
+	public Charset getDestinationCharset() {
+		return destinationCharset;
+	}
+
+	/**
+	 * Method sets charset of destination files and turns text mode on.
+	 *
+	 * @param destinationCharset charset of destination files
+	 */
+	public void setDestinationCharset(Charset destinationCharset) {
+		this.destinationCharset = Objects.requireNonNull(destinationCharset, "Charset must not be null");
+		text = true;
+	}
+
+	/**
+	 * Method returns number of workers that copy chunks of single file.
+	 *
+	 * @return number of workers
+	 */
+	public int getWorkers() {
+		return workers;
+	}
+
+	/**
+	 * Method sets number of workers that copy chunks of single file.
+	 *
+	 * @param workers number of workers
+	 * @throws IllegalArgumentException if number of workers is not positive
+	 */
+	public void setWorkers(int workers) {
+		if (workers < 1)
+			throw new IllegalArgumentException("Number of workers must be positive. Was: " + workers);
+		this.workers = workers;
+	}
+
+	/**
+	 * Method returns size of chunk copied by single worker.
+	 *
+	 * @return size of chunk in bytes
+	 */
+	public long getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * Method sets size of chunk copied by single worker.
+	 *
+	 * @param chunkSize size of chunk in bytes
+	 * @throws IllegalArgumentException if size is not positive
+	 */
+	public void setChunkSize(long chunkSize) {
+		if (chunkSize < 1)
+			throw new IllegalArgumentException("Size of chunk must be positive. Was: " + chunkSize);
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Method checks whether copy is resumable.
+	 *
+	 * @return {@code true} if copy is resumable, {@code false} otherwise
+	 */
+	public boolean isResume() {
+		return resume;
+	}
+
+	/**
+	 * Method turns resumable copy on or off.
+	 *
+	 * @param resume {@code true} if copy is resumable
+	 */
+	public void setResume(boolean resume) {
+		this.resume = resume;
+	}
+
+	/**
+	 * Method returns size of range after which checkpoint of resumable copy is written.
+	 *
+	 * @return size of range in bytes
+	 */
+	public long getCheckpointInterval() {
+		return checkpointInterval;
+	}
+
+	/**
+	 * Method sets size of range after which checkpoint of resumable copy is written.
+	 *
+	 * @param checkpointInterval size of range in bytes
+	 * @throws IllegalArgumentException if size is not positive
+	 */
+	public void setCheckpointInterval(long checkpointInterval) {
+		if (checkpointInterval < 1)
+			throw new IllegalArgumentException("Checkpoint interval must be positive. Was: " + checkpointInterval);
+		this.checkpointInterval = checkpointInterval;
+	}
+
+	/**
+	 * Method returns digest algorithm used for verification.
+	 *
+	 * @return name of algorithm, or {@code null} if files are not verified
+	 */
+	public String getVerify() {
+		return verify;
+	}
+
+	/**
+	 * Method sets digest algorithm used for verification.
+	 *
+	 * @param verify name of algorithm, or {@code null} if files are not verified
+	 * @throws IllegalArgumentException if algorithm is not supported
+	 */
+	public void setVerify(String verify) {
+		if (verify != null && !StreamDigest.isSupported(verify))
+			throw new IllegalArgumentException("Unsupported digest algorithm. Expected: "
+					+ StreamDigest.SHA256 + " or " + StreamDigest.CRC32C + ". Was: " + verify);
+		this.verify = verify;
+	}
+
+	/**
+	 * Method checks whether destination is not read again during verification.
+	 *
+	 * @return {@code true} if written bytes are trusted, {@code false} otherwise
+	 */
+	public boolean isTrustWrite() {
+		return trustWrite;
+	}
+
+	/**
+	 * Method sets whether destination is not read again during verification.
+	 *
+	 * @param trustWrite {@code true} if written bytes are trusted
+	 */
+	public void setTrustWrite(boolean trustWrite) {
+		this.trustWrite = trustWrite;
+	}
+
+	/**
+	 * Method returns path of manifest file as it was given.
+	 *
+	 * @return path of manifest file, or {@code null} if it was not given
+	 */
+	public String getManifest() {
+		return manifest;
+	}
+
+	/**
+	 * Method sets path of manifest file.
+	 *
+	 * @param manifest path of manifest file, or {@code null} if manifest is not written to file
+	 */
+	public void setManifest(String manifest) {
+		this.manifest = manifest;
+	}
+
+	/**
+	 * Method checks whether blocks of zeros are left as holes in destination.
+	 *
+	 * @return {@code true} if destination is sparse, {@code false} otherwise
+	 */
+	public boolean isSparse() {
+		return sparse;
+	}
+
+	/**
+	 * Method turns sparse copy on or off.
+	 *
+	 * @param sparse {@code true} if blocks of zeros are left as holes in destination
+	 */
+	public void setSparse(boolean sparse) {
+		this.sparse = sparse;
+	}
+
+}
@@ -0,0 +1,137 @@
+package hr.fer.zemris.java.hw07.shell.copy;
+
+import java.nio.file.Path;
+
+/**
+ * Result of copy of single file made by {@link CopyEngine}.
+ *
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class CopyResult {
+
+	/** path of source file */
+	private final Path source;
+	/** path of destination file */
+	private final Path destination;
+	/** number of bytes read from source */
+	private final long bytesRead;
+	/** number of bytes written to destination */
+	private final long bytesWritten;
+	/** number of bytes that were copied before copy was resumed */
+	private final long resumed;
+	/** digest of copied bytes, or {@code null} if copy was not verified */
+	private final String digest;
+	/** number of bytes of destination that were left as holes instead of being written */
+	private final long holes;
+
+	/**
+	 * Constructor that creates new {@code CopyResult} object of copy that was not resumed.
+	 *
+	 * @param source       {@link #source}
+	 * @param destination  {@link #destination}
+	 * @param bytesRead    {@link #bytesRead}
+	 * @param bytesWritten {@link #bytesWritten}
+	 */
+	public CopyResult(Path source, Path destination, long bytesRead, long bytesWritten) {
+		this(source, destination, bytesRead, bytesWritten, 0, null, 0);
+	}
+
+	/**
+	 * Constructor that creates new {@code CopyResult} object.
+	 *
+	 * @param source       {@link #source}
+	 * @param destination  {@link #destination}
+	 * @param bytesRead    {@link #bytesRead}
+	 * @param bytesWritten {@link #bytesWritten}
+	 * @param resumed      {@link #resumed}
+	 * @param digest       {@link #digest}
+	 * @param holes        {@link #holes}
+	 */
+	public CopyResult(Path source, Path destination, long bytesRead, long bytesWritten, long resumed, String digest, long holes) {
+		this.source = source;
+		this.destination = destination;
+		this.bytesRead = bytesRead;
+		this.bytesWritten = bytesWritten;
+		this.resumed = resumed;
+		this.digest = digest;
+		this.holes = holes;
+	}
+
+	/**
+	 * Method returns path of source file.
+	 *
+	 * @return path of source file
+	 */
+	public Path getSource() {
+		return source;
+	}
+
+	/**
+	 * Method returns path of destination file.
+	 *
+	 * @return path of destination file
+	 */
+	public Path getDestination() {
+		return destination;
+	}
+
+	/**
+	 * Method returns number of bytes read from source.
+	 *
+	 * @return number of bytes read
+	 */
+	public long getBytesRead() {
+		return bytesRead;
+	}
+
+	/**
+	 * Method returns number of bytes written to destination, </br>
+	 * which does not include bytes left as holes.
+	 *
+	 * @return number of bytes written
+	 */
+	public long getBytesWritten() {
+		return bytesWritten;
+	}
+
+	/**
+	 * Method returns number of bytes that were copied before copy was resumed </br>
+	 * and were only verified, not copied again.
+	 *
+	 * @return number of resumed bytes, 0 if copy was not resumed
+	 */
+	public long getResumed() {
+		return resumed;
+	}
+
+	/**
+	 * Method returns digest of copied bytes in hexadecimal form.
+	 *
+	 * @return digest, or {@code null} if copy was not verified
+	 */
+	public String getDigest() {
+		return digest;
+	}
+
+	/**
+	 * Method returns number of bytes of destination that were left as holes.
+	 *
+	 * @return number of bytes in holes, 0 if copy was not sparse
+	 */
+	public long getHoles() {
+		return holes;
+	}
+
+	/**
+	 * Method returns logical number of bytes of destination that were copied, </br>
+	 * which is sum of written bytes and bytes left as holes.
+	 *
+	 * @return logical number of copied bytes
+	 */
+	public long getLogicalBytes() {
+		return bytesWritten + holes;
+	}
+
+}
@@ -0,0 +1,28 @@
+package hr.fer.zemris.java.hw07.shell.copy;
+
+import java.io.IOException;
+
+/**
+ * Exception thrown when digest of copied file does not match digest of its source.
+ *
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class CopyVerificationException extends IOException {
+
+	/**
+	 * Default serial number
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructor that accepts message about file whose verification failed.
+	 *
+	 * @param message message that describes which digests do not match
+	 */
+	public CopyVerificationException(String message) {
+		super(message);
+	}
+
+}
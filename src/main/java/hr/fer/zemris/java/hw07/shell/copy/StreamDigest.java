@@ -0,0 +1,117 @@
+package hr.fer.zemris.java.hw07.shell.copy;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
+
+import hr.fer.zemris.java.hw07.crypto.Util;
+
+/**
+ * Digest of stream of bytes computed with one of supported algorithms: </br>
+ * {@value #SHA256}, which is same digest that {@code checksha} of {@code Crypto} computes, </br>
+ * or {@value #CRC32C}, which is much faster, but only detects accidental corruption.
+ *
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public final class StreamDigest {
+
+	/** name of SHA-256 algorithm */
+	public static final String SHA256 = "sha256";
+	/** name of CRC32C algorithm */
+	public static final String CRC32C = "crc32c";
+
+	/** name of algorithm */
+	private final String algorithm;
+	/** message digest, or {@code null} if checksum is used */
+	private final MessageDigest messageDigest;
+	/** checksum, or {@code null} if message digest is used */
+	private final Checksum checksum;
+
+	/**
+	 * Constructor that creates new {@code StreamDigest} object.
+	 *
+	 * @param algorithm     {@link #algorithm}
+	 * @param messageDigest {@link #messageDigest}
+	 * @param checksum      {@link #checksum}
+	 */
+	private StreamDigest(String algorithm, MessageDigest messageDigest, Checksum checksum) {
+		this.algorithm = algorithm;
+		this.messageDigest = messageDigest;
+		this.checksum = checksum;
+	}
+
+	/**
+	 * Method creates digest with given algorithm.
+	 *
+	 * @param algorithm name of algorithm
+	 * @return          new digest
+	 * @throws IllegalArgumentException if algorithm is not supported
+	 */
+	public static StreamDigest of(String algorithm) {
+		switch (String.valueOf(algorithm)) {
+		case SHA256:
+			try {
+				return new StreamDigest(SHA256, MessageDigest.getInstance("SHA-256"), null);
+			} catch (NoSuchAlgorithmException ex) {
+				throw new IllegalStateException(ex);
+			}
+		case CRC32C:
+			return new StreamDigest(CRC32C, null, new CRC32C());
+		default:
+			throw new IllegalArgumentException("Unsupported digest algorithm. Expected: "
+					+ SHA256 + " or " + CRC32C + ". Was: " + algorithm);
+		}
+	}
+
+	/**
+	 * Method checks whether algorithm with given name is supported.
+	 *
+	 * @param algorithm name of algorithm
+	 * @return          {@code true} if algorithm is supported, {@code false} otherwise
+	 */
+	public static boolean isSupported(String algorithm) {
+		return SHA256.equals(algorithm) || CRC32C.equals(algorithm);
+	}
+
+	/**
+	 * Method returns name of algorithm.
+	 *
+	 * @return name of algorithm
+	 */
+	public String getAlgorithm() {
+		return algorithm;
+	}
+
+	/**
+	 * Method updates digest with remaining bytes of given buffer. </br>
+	 * Position of buffer is moved to its limit.
+	 *
+	 * @param buffer bytes that are digested
+	 */
+	public void update(ByteBuffer buffer) {
+		if (messageDigest != null) {
+			messageDigest.update(buffer);
+		} else {
+			checksum.update(buffer);
+		}
+	}
+
+	/**
+	 * Method finishes digest and resets it, so it can be used for another stream.
+	 *
+	 * @return digest in hexadecimal form
+	 */
+	public String finish() {
+		if (messageDigest != null)
+			return Util.bytesToHex(messageDigest.digest());
+
+		String value = String.format("%08x", checksum.getValue());
+		checksum.reset();
+		return value;
+	}
+
+}
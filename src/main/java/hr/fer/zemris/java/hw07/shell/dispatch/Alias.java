@@ -0,0 +1,103 @@
+package hr.fer.zemris.java.hw07.shell.dispatch;
+
+/**
+ * Alias of command line. </br>
+ * Alias whose expansion is simple command is resolved when it is defined, so using it </br>
+ * only joins arguments given to the alias with arguments of its expansion. Arguments of </br>
+ * expansion are lexed only once, so only arguments given to the alias are lexed on every use. </br>
+ * Alias whose expansion contains pipeline, redirection or background symbol is </br>
+ * replaced with its expansion in command line before command line is parsed.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class Alias {
+
+	/** name of alias */
+	private final String name;
+	/** command line to which alias expands */
+	private final String expansion;
+	/** resolved expansion, or {@code null} if expansion is not simple command */
+	private final ParsedCommand parsed;
+	
+	/**
+	 * Constructor that creates new {@code Alias} object.
+	 * 
+	 * @param name      {@link #name}
+	 * @param expansion {@link #expansion}
+	 * @param parsed    {@link #parsed}
+	 */
+	Alias(String name, String expansion, ParsedCommand parsed) {
+		this.name = name;
+		this.expansion = expansion;
+		this.parsed = parsed;
+	}
+	
+	/**
+	 * Method returns name of alias.
+	 * 
+	 * @return name of alias
+	 */
+	public String getName() {
+		return name;
+	}
+	
+	/**
+	 * Method returns command line to which alias expands.
+	 * 
+	 * @return expansion of alias
+	 */
+	public String getExpansion() {
+		return expansion;
+	}
+	
+	/**
+	 * Method checks whether expansion of alias is simple command.
+	 * 
+	 * @return {@code true} if expansion is simple command, {@code false} otherwise
+	 */
+	public boolean isSimple() {
+		return parsed != null;
+	}
+	
+	/**
+	 * Method returns resolved command of simple alias with given arguments </br>
+	 * appended to the arguments of expansion.
+	 * 
+	 * @param arguments arguments given to the alias
+	 * @return          resolved command
+	 * @throws IllegalStateException if alias is not simple
+	 */
+	public ParsedCommand resolve(String arguments) {
+		if (parsed == null)
+			throw new IllegalStateException("Alias " + name + " is not simple command.");
+		return new ParsedCommand(parsed, arguments, name);
+	}
+	
+	/**
+	 * Method returns command line in which alias is replaced with its expansion.
+	 * 
+	 * @param arguments arguments given to the alias
+	 * @return          expanded command line
+	 */
+	public String expand(String arguments) {
+		return join(expansion, arguments);
+	}
+	
+	/**
+	 * Method joins given texts with single space between them.
+	 * 
+	 * @param first  first text
+	 * @param second second text
+	 * @return       joined text
+	 */
+	private static String join(String first, String second) {
+		if (second.isEmpty())
+			return first;
+		if (first.isEmpty())
+			return second;
+		return first + " " + second;
+	}
+	
+}
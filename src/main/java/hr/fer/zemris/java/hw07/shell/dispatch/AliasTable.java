@@ -0,0 +1,316 @@
+package hr.fer.zemris.java.hw07.shell.dispatch;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import hr.fer.zemris.java.hw07.shell.CommandLineExecutor;
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.script.ScriptCompiler;
+
+/**
+ * Aliases of single shell session. </br>
+ * Object is kept in shared data of session under {@link #SHARED_DATA_KEY}. </p>
+ * 
+ * Aliases are stored in file given by system property {@value #FILE_PROPERTY}, </br>
+ * or in {@value #DEFAULT_FILE} in home directory of user. File is read only when </br>
+ * aliases are used for the first time, so it does not slow down start of the shell. </br>
+ * Whenever alias is defined or removed, file is read again while it is locked, </br>
+ * single change is applied to its content and aliases of this table are replaced </br>
+ * with merged ones, so sessions that share file do not lose aliases of each other. </br>
+ * If property is empty string, aliases are not stored at all. </p>
+ * 
+ * Alias must not have name of command, so commands are resolved without looking at aliases.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class AliasTable {
+
+	/** key under which aliases are stored in shared data */
+	public static final String SHARED_DATA_KEY = "aliases";
+	/** system property with path of file in which aliases are stored */
+	public static final String FILE_PROPERTY = "myshell.aliases";
+	/** name of file in home directory of user in which aliases are stored by default */
+	public static final String DEFAULT_FILE = ".myshell_aliases";
+	/** symbol that separates name of alias from its expansion in file */
+	private static final char SEPARATOR = '=';
+	/** suffix of file that is locked while file with aliases is updated */
+	private static final String LOCK_SUFFIX = ".lock";
+	/** monitor that serializes updates of files inside of single virtual machine */
+	private static final Object FILE_MONITOR = new Object();
+	
+	/** executor used for resolving expansions */
+	private final CommandLineExecutor executor;
+	/** file in which aliases are stored, or {@code null} if they are not stored */
+	private final Path file;
+	/** aliases mapped by their names */
+	private final Map<String, Alias> aliases = new ConcurrentSkipListMap<>();
+	/** flag that tells whether file was already read */
+	private volatile boolean loaded;
+	
+	/**
+	 * Constructor that creates new {@code AliasTable} object.
+	 * 
+	 * @param executor {@link #executor}
+	 * @param file     {@link #file}
+	 * @throws NullPointerException if given executor is {@code null}
+	 */
+	public AliasTable(CommandLineExecutor executor, Path file) {
+		this.executor = Objects.requireNonNull(executor, "Executor must not be null");
+		this.file = file;
+	}
+	
+	/**
+	 * Method returns aliases of session to which given environment belongs. </br>
+	 * If session has no aliases yet they are created, but file is not read until they are used.
+	 * 
+	 * @param env environment of session
+	 * @return    aliases of session
+	 */
+	public static AliasTable of(Environment env) {
+		return (AliasTable) env.computeSharedDataIfAbsent(SHARED_DATA_KEY, 
+				k -> new AliasTable(CommandLineExecutor.of(env), getDefaultFile()));
+	}
+	
+	/**
+	 * Method returns alias with given name.
+	 * 
+	 * @param name name of alias
+	 * @return     alias, or {@code null} if there is no such alias
+	 */
+	public Alias get(String name) {
+		ensureLoaded();
+		return aliases.get(name);
+	}
+	
+	/**
+	 * Method returns all aliases sorted by their names.
+	 * 
+	 * @return unmodifiable collection of aliases
+	 */
+	public Collection<Alias> getAll() {
+		ensureLoaded();
+		return Collections.unmodifiableCollection(aliases.values());
+	}
+	
+	/**
+	 * Method defines alias and stores it to the file. </br>
+	 * If expansion starts with other alias, that alias is replaced with its expansion.
+	 * 
+	 * @param name      name of alias
+	 * @param expansion command line to which alias expands
+	 * @return          defined alias
+	 * @throws IllegalArgumentException if name or expansion is not valid, or if aliases can not be stored
+	 */
+	public synchronized Alias define(String name, String expansion) {
+		ensureLoaded();
+		Alias alias = create(name, expansion);
+		aliases.put(name, alias);
+		store(name, alias.getExpansion());
+		return alias;
+	}
+	
+	/**
+	 * Method removes alias with given name and removes it from the file.
+	 * 
+	 * @param name name of alias
+	 * @return     {@code true} if alias was removed, {@code false} if there was no such alias
+	 * @throws IllegalArgumentException if aliases can not be stored
+	 */
+	public synchronized boolean remove(String name) {
+		ensureLoaded();
+		if (aliases.remove(name) == null)
+			return false;
+		store(name, null);
+		return true;
+	}
+	
+	/**
+	 * Method creates alias with given name and expansion.
+	 * 
+	 * @param name      name of alias
+	 * @param expansion command line to which alias expands
+	 * @return          created alias
+	 * @throws IllegalArgumentException if name or expansion is not valid
+	 */
+	private Alias create(String name, String expansion) {
+		if (!isAliasName(name))
+			throw new IllegalArgumentException("Invalid alias name. Was: " + name);
+		if (executor.getCommands().containsKey(name))
+			throw new IllegalArgumentException("Alias must not have name of command. Was: " + name);
+		
+		expansion = expansion.trim();
+		if (expansion.isEmpty())
+			throw new IllegalArgumentException("Expansion of alias must not be empty.");
+		if (ScriptCompiler.isScript(expansion))
+			throw new IllegalArgumentException("Expansion of alias must not be control statement.");
+		
+		int nameEnd = 0;
+		while (nameEnd < expansion.length() && !Character.isWhitespace(expansion.charAt(nameEnd))) {
+			nameEnd++;
+		}
+		Alias inner = aliases.get(expansion.substring(0, nameEnd));
+		if (inner != null) {
+			expansion = inner.expand(expansion.substring(nameEnd).trim());
+		}
+		return new Alias(name, expansion, executor.parse(expansion));
+	}
+	
+	/**
+	 * Method reads aliases from the file if they are not read yet. </br>
+	 * Lines that are not valid aliases are skipped.
+	 */
+	private void ensureLoaded() {
+		if (loaded)
+			return;
+		synchronized (this) {
+			if (loaded)
+				return;
+			if (file != null) {
+				try {
+					merge(read());
+				} catch (IOException ignorable) {
+				}
+			}
+			loaded = true;
+		}
+	}
+	
+	/**
+	 * Method applies single change to the file. </br>
+	 * File is read again while it is locked, so aliases that other sessions stored </br>
+	 * in the meantime are kept, and aliases of this table are replaced with merged ones.
+	 * 
+	 * @param name      name of alias that is changed
+	 * @param expansion new expansion of alias, or {@code null} if alias is removed
+	 * @throws IllegalArgumentException if aliases can not be stored
+	 */
+	private void store(String name, String expansion) {
+		if (file == null)
+			return;
+		
+		Path lockFile = file.resolveSibling(file.getFileName() + LOCK_SUFFIX);
+		synchronized (FILE_MONITOR) {
+			try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+					FileLock lock = channel.lock()) {
+				if (!lock.isValid())
+					throw new IOException("Lock of " + lockFile + " is not valid.");
+				SortedMap<String, String> stored = read();
+				if (expansion == null) {
+					stored.remove(name);
+				} else {
+					stored.put(name, expansion);
+				}
+				write(stored);
+				merge(stored);
+			} catch (IOException ex) {
+				throw new IllegalArgumentException("Failed to store aliases to the file " + file);
+			}
+		}
+	}
+	
+	/**
+	 * Method replaces aliases of this table with given ones. </br>
+	 * Expansions that are not valid are skipped.
+	 * 
+	 * @param stored expansions mapped by names of aliases
+	 */
+	private void merge(Map<String, String> stored) {
+		aliases.keySet().retainAll(stored.keySet());
+		for (Map.Entry<String, String> entry : stored.entrySet()) {
+			Alias alias = aliases.get(entry.getKey());
+			if (alias != null && alias.getExpansion().equals(entry.getValue()))
+				continue;
+			try {
+				aliases.put(entry.getKey(), create(entry.getKey(), entry.getValue()));
+			} catch (IllegalArgumentException ignorable) {
+				aliases.remove(entry.getKey());
+			}
+		}
+	}
+	
+	/**
+	 * Method reads expansions of aliases from the file. </br>
+	 * Lines without name are skipped.
+	 * 
+	 * @return expansions mapped by names of aliases
+	 * @throws IOException if file exists but can not be read
+	 */
+	private SortedMap<String, String> read() throws IOException {
+		SortedMap<String, String> stored = new TreeMap<>();
+		if (!Files.isRegularFile(file))
+			return stored;
+		for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+			int separator = line.indexOf(SEPARATOR);
+			if (separator <= 0)
+				continue;
+			stored.put(line.substring(0, separator).trim(), line.substring(separator + 1));
+		}
+		return stored;
+	}
+	
+	/**
+	 * Method writes given expansions of aliases to the file.
+	 * 
+	 * @param stored expansions mapped by names of aliases
+	 * @throws IOException if file can not be written
+	 */
+	private void write(Map<String, String> stored) throws IOException {
+		List<String> lines = new ArrayList<>();
+		for (Map.Entry<String, String> entry : stored.entrySet()) {
+			lines.add(entry.getKey() + SEPARATOR + entry.getValue());
+		}
+		Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+		Files.write(temporary, lines, StandardCharsets.UTF_8);
+		Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+	}
+	
+	/**
+	 * Method checks whether given name is valid alias name. </br>
+	 * Name must not be empty and must not contain whitespaces, double quotes, </br>
+	 * {@code $}, {@code #}, {@code =}, {@code ;} and operator symbols.
+	 * 
+	 * @param name name that is checked
+	 * @return     {@code true} if name is valid, {@code false} otherwise
+	 */
+	private static boolean isAliasName(String name) {
+		if (name == null || name.isEmpty() || ScriptCompiler.isScript(name))
+			return false;
+		for (int i = 0, n = name.length(); i < n; i++) {
+			char c = name.charAt(i);
+			if (Character.isWhitespace(c) || "\"$#=;|>&".indexOf(c) >= 0)
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Method returns file in which aliases are stored by default.
+	 * 
+	 * @return file, or {@code null} if aliases are not stored
+	 */
+	private static Path getDefaultFile() {
+		String property = System.getProperty(FILE_PROPERTY);
+		if (property == null)
+			return Paths.get(System.getProperty("user.home"), DEFAULT_FILE);
+		return property.isEmpty() ? null : Paths.get(property);
+	}
+	
+}
@@ -0,0 +1,159 @@
+package hr.fer.zemris.java.hw07.shell.dispatch;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+import hr.fer.zemris.java.hw07.shell.ShellCommand;
+
+/**
+ * Immutable table of commands built once when shell starts. </br>
+ * Table is perfect hash: seed of hash function is chosen so that every command name </br>
+ * gets its own slot, so lookup computes single hash, reads single slot and compares </br>
+ * single name. Name can be looked up directly inside of command line, without creating </br>
+ * new {@code String}.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public final class CommandTable {
+
+	/** number of seeds that are tried for single table size before size is doubled */
+	private static final int SEED_ATTEMPTS = 1 << 12;
+	/** number of times table size is doubled before construction fails */
+	private static final int MAX_DOUBLINGS = 8;
+	
+	/** command names by slot */
+	private final String[] names;
+	/** commands by slot */
+	private final ShellCommand[] commands;
+	/** mask that maps hash to slot */
+	private final int mask;
+	/** seed of hash function */
+	private final int seed;
+	/** number of commands in table */
+	private final int size;
+	
+	/**
+	 * Constructor that creates new {@code CommandTable} object from given commands.
+	 * 
+	 * @param commands commands mapped by their names
+	 * @throws NullPointerException     if given map is {@code null}
+	 * @throws IllegalArgumentException if no seed gives every name its own slot
+	 */
+	public CommandTable(Map<String, ShellCommand> commands) {
+		Objects.requireNonNull(commands, "Commands must not be null");
+		
+		int length = Integer.highestOneBit(Math.max(1, commands.size()) * 2 - 1) << 1;
+		String[] keys = commands.keySet().toArray(new String[0]);
+		int found = findSeed(keys, length - 1);
+		for (int i = 0; found == 0 && i < MAX_DOUBLINGS; i++) {
+			length <<= 1;
+			found = findSeed(keys, length - 1);
+		}
+		if (found == 0)
+			throw new IllegalArgumentException("Perfect hash of command names could not be found.");
+		this.mask = length - 1;
+		this.seed = found;
+		
+		this.names = new String[length];
+		this.commands = new ShellCommand[length];
+		for (Map.Entry<String, ShellCommand> entry : commands.entrySet()) {
+			String name = entry.getKey();
+			int slot = hash(name, 0, name.length(), seed) & mask;
+			names[slot] = name;
+			this.commands[slot] = entry.getValue();
+		}
+		this.size = commands.size();
+	}
+	
+	/**
+	 * Method returns command with given name.
+	 * 
+	 * @param name name of command
+	 * @return command, or {@code null} if there is no command with given name
+	 */
+	public ShellCommand get(CharSequence name) {
+		return get(name, 0, name.length());
+	}
+	
+	/**
+	 * Method returns command whose name is given part of text.
+	 * 
+	 * @param text  text that contains command name
+	 * @param start index at which name starts
+	 * @param end   index at which name ends, exclusive
+	 * @return command, or {@code null} if there is no command with given name
+	 */
+	public ShellCommand get(CharSequence text, int start, int end) {
+		int slot = hash(text, start, end, seed) & mask;
+		String name = names[slot];
+		if (name == null || name.length() != end - start)
+			return null;
+		for (int i = 0, n = name.length(); i < n; i++) {
+			if (name.charAt(i) != text.charAt(start + i))
+				return null;
+		}
+		return commands[slot];
+	}
+	
+	/**
+	 * Method returns number of commands in table.
+	 * 
+	 * @return number of commands
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Method finds seed for which every key gets its own slot.
+	 * 
+	 * @param keys keys of table
+	 * @param mask mask that maps hash to slot
+	 * @return     seed, or 0 if there is no such seed among tried ones
+	 */
+	private static int findSeed(String[] keys, int mask) {
+		boolean[] used = new boolean[mask + 1];
+		for (int seed = 1; seed <= SEED_ATTEMPTS; seed++) {
+			Arrays.fill(used, false);
+			boolean perfect = true;
+			for (String key : keys) {
+				int slot = hash(key, 0, key.length(), seed) & mask;
+				if (used[slot]) {
+					perfect = false;
+					break;
+				}
+				used[slot] = true;
+			}
+			if (perfect)
+				return seed;
+		}
+		return 0;
+	}
+	
+	/**
+	 * Method computes hash of given part of text. </br>
+	 * Seed selects odd multiplier that is applied after every character, so names </br>
+	 * that collide for one seed, like {@code "Aa"} and {@code "BB"}, are separated by other seeds.
+	 * 
+	 * @param text  text that is hashed
+	 * @param start index at which hashed part starts
+	 * @param end   index at which hashed part ends, exclusive
+	 * @param seed  seed of hash function
+	 * @return      hash
+	 */
+	private static int hash(CharSequence text, int start, int end, int seed) {
+		int multiplier = (seed * 0x9E3779B9) | 1;
+		int h = seed;
+		for (int i = start; i < end; i++) {
+			h = (h ^ text.charAt(i)) * multiplier;
+		}
+		h ^= h >>> 16;
+		h *= 0x85EBCA6B;
+		h ^= h >>> 13;
+		return h;
+	}
+	
+}
@@ -0,0 +1,105 @@
+package hr.fer.zemris.java.hw07.shell.dispatch;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of parsing results mapped by text that was parsed. </br>
+ * When cache is full, least recently used entry is removed. </br>
+ * Scripts that repeat same lines, for example in loops, are parsed only once. </p>
+ * 
+ * Cache is thread safe, so it can be shared between sessions and background jobs.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ * @param <V> type of parsing result
+ */
+public class ParseCache<V> {
+
+	/** longest text that is cached */
+	private static final int MAX_KEY_LENGTH = 4096;
+	
+	/** cached entries in access order */
+	private final Map<String, V> entries;
+	/** number of lookups that found entry */
+	private long hits;
+	/** number of lookups that did not find entry */
+	private long misses;
+	
+	/**
+	 * Constructor that creates new {@code ParseCache} object.
+	 * 
+	 * @param capacity maximal number of entries
+	 * @throws IllegalArgumentException if capacity is not positive
+	 */
+	public ParseCache(int capacity) {
+		if (capacity < 1)
+			throw new IllegalArgumentException("Capacity must be positive. Was: " + capacity);
+		
+		this.entries = new LinkedHashMap<String, V>(capacity * 4 / 3 + 1, 0.75f, true) {
+			
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+	
+	/**
+	 * Method returns cached result for given text.
+	 * 
+	 * @param text text that was parsed
+	 * @return     cached result, or {@code null} if there is none
+	 */
+	public synchronized V get(String text) {
+		V value = entries.get(text);
+		if (value == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return value;
+	}
+	
+	/**
+	 * Method caches result for given text. </br>
+	 * Texts longer than {@value #MAX_KEY_LENGTH} characters are not cached.
+	 * 
+	 * @param text  text that was parsed
+	 * @param value result of parsing
+	 */
+	public synchronized void put(String text, V value) {
+		if (text.length() <= MAX_KEY_LENGTH) {
+			entries.put(text, value);
+		}
+	}
+	
+	/**
+	 * Method returns number of lookups that found cached result.
+	 * 
+	 * @return number of hits
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+	
+	/**
+	 * Method returns number of lookups that did not find cached result.
+	 * 
+	 * @return number of misses
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+	
+	/**
+	 * Method removes all cached results.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+	}
+	
+}
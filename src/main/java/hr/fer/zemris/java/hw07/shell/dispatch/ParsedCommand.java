@@ -0,0 +1,230 @@
+package hr.fer.zemris.java.hw07.shell.dispatch;
+
+import java.util.Objects;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellCommand;
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+import hr.fer.zemris.java.hw07.shell.environment.EnvironmentExpander;
+import hr.fer.zemris.java.hw07.shell.glob.Operands;
+import hr.fer.zemris.java.hw07.shell.parser.LexedArguments;
+
+/**
+ * Simple command line split into resolved command and its arguments. </p>
+ * 
+ * Commands receive arguments as text and lex them themselves, so while command is </br>
+ * executed, its {@code ParsedCommand} is known to the executing thread and lexing </br>
+ * of exactly that text is answered by {@link #lex(Environment, boolean)}. Arguments </br>
+ * without {@code $} are lexed only on first execution and kept for every escaping mode, </br>
+ * together with their {@link Operands}, so command line that repeats is not lexed again. </br>
+ * Arguments with {@code $} are lexed on every execution, because expansion depends on session.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class ParsedCommand {
+
+	/** commands that threads are executing */
+	private static final ThreadLocal<ParsedCommand> EXECUTING = new ThreadLocal<>();
+	
+	/** resolved command */
+	private final ShellCommand command;
+	/** arguments of command */
+	private final String arguments;
+	/** name of alias through which command was resolved, or {@code null} */
+	private final String alias;
+	/** expansion of alias whose arguments precede {@link #suffix}, or {@code null} */
+	private final ParsedCommand prefix;
+	/** arguments given to alias, which follow arguments of {@link #prefix} */
+	private final String suffix;
+	/** arguments lexed with escaping, or {@code null} if they are not lexed yet */
+	private volatile LexedArguments escaped;
+	/** arguments lexed without escaping, or {@code null} if they are not lexed yet */
+	private volatile LexedArguments raw;
+	/** operands of arguments, or {@code null} if they are not created yet */
+	private volatile Operands operands;
+	
+	/**
+	 * Constructor that creates new {@code ParsedCommand} object.
+	 * 
+	 * @param command   {@link #command}
+	 * @param arguments {@link #arguments}
+	 * @throws NullPointerException if any argument is {@code null}
+	 */
+	public ParsedCommand(ShellCommand command, String arguments) {
+		this(command, arguments, null);
+	}
+	
+	/**
+	 * Constructor that creates new {@code ParsedCommand} object which was resolved through alias.
+	 * 
+	 * @param command   {@link #command}
+	 * @param arguments {@link #arguments}
+	 * @param alias     {@link #alias}
+	 * @throws NullPointerException if command or arguments are {@code null}
+	 */
+	public ParsedCommand(ShellCommand command, String arguments, String alias) {
+		this.command = Objects.requireNonNull(command, "Command must not be null");
+		this.arguments = Objects.requireNonNull(arguments, "Arguments must not be null");
+		this.alias = alias;
+		this.prefix = null;
+		this.suffix = arguments;
+	}
+	
+	/**
+	 * Constructor that creates new {@code ParsedCommand} object which was resolved </br>
+	 * through alias whose expansion is given command. </br>
+	 * Arguments of expansion are lexed only once, for expansion itself, </br>
+	 * so only arguments given to the alias are lexed when command is executed.
+	 * 
+	 * @param expansion resolved expansion of alias
+	 * @param suffix    {@link #suffix}
+	 * @param alias     {@link #alias}
+	 * @throws NullPointerException if any argument is {@code null}
+	 */
+	ParsedCommand(ParsedCommand expansion, String suffix, String alias) {
+		this.command = expansion.command;
+		this.suffix = Objects.requireNonNull(suffix, "Arguments must not be null");
+		this.alias = Objects.requireNonNull(alias, "Alias must not be null");
+		this.prefix = expansion;
+		if (suffix.isEmpty()) {
+			this.arguments = expansion.arguments;
+		} else if (expansion.arguments.isEmpty()) {
+			this.arguments = suffix;
+		} else {
+			this.arguments = expansion.arguments + " " + suffix;
+		}
+	}
+	
+	/**
+	 * Method returns resolved command.
+	 * 
+	 * @return command
+	 */
+	public ShellCommand getCommand() {
+		return command;
+	}
+	
+	/**
+	 * Method returns arguments of command.
+	 * 
+	 * @return arguments
+	 */
+	public String getArguments() {
+		return arguments;
+	}
+	
+	/**
+	 * Method checks whether command was resolved through alias. </br>
+	 * Such command depends on aliases of session, so it must not be cached by executor.
+	 * 
+	 * @return {@code true} if command was resolved through alias, {@code false} otherwise
+	 */
+	public boolean isAlias() {
+		return alias != null;
+	}
+	
+	/**
+	 * Method executes command with its arguments.
+	 * 
+	 * @param env environment in which command is executed
+	 * @return    {@link ShellStatus} of command
+	 */
+	public ShellStatus execute(Environment env) {
+		ParsedCommand previous = EXECUTING.get();
+		EXECUTING.set(this);
+		try {
+			return command.executeCommand(env, arguments);
+		} finally {
+			EXECUTING.set(previous);
+		}
+	}
+	
+	/**
+	 * Method returns command that current thread executes if given text is its arguments.
+	 * 
+	 * @param text text that command lexes
+	 * @return     executed command, or {@code null} if text is not arguments of executed command
+	 */
+	public static ParsedCommand executing(CharSequence text) {
+		ParsedCommand executing = EXECUTING.get();
+		return executing != null && executing.arguments == text ? executing : null;
+	}
+	
+	/**
+	 * Method returns lexed arguments of command.
+	 * 
+	 * @param env      environment whose variables and commands are used for expansion, </br>
+	 *                 or {@code null} if nothing is expanded
+	 * @param toEscape flag that tells whether escape sequences in quoted arguments are interpreted
+	 * @return         lexed arguments
+	 * @throws hr.fer.zemris.java.hw07.shell.parser.ShellParserException if arguments are not valid
+	 */
+	public LexedArguments lex(Environment env, boolean toEscape) {
+		if (arguments.indexOf('$') >= 0)
+			return lexExpanded(env, toEscape);
+		
+		LexedArguments lexed = toEscape ? escaped : raw;
+		if (lexed == null) {
+			lexed = prefix == null 
+					? LexedArguments.lex(arguments, toEscape, null) 
+					: prefix.lex(null, toEscape).append(LexedArguments.lex(suffix, toEscape, null));
+			if (toEscape) {
+				escaped = lexed;
+			} else {
+				raw = lexed;
+			}
+		}
+		return lexed;
+	}
+	
+	/**
+	 * Method lexes arguments that contain {@code $}. </br>
+	 * If only arguments given to alias contain it, arguments of expansion are </br>
+	 * still taken from expansion and only arguments given to alias are lexed.
+	 * 
+	 * @param env      environment whose variables and commands are used for expansion, </br>
+	 *                 or {@code null} if nothing is expanded
+	 * @param toEscape flag that tells whether escape sequences in quoted arguments are interpreted
+	 * @return         lexed arguments
+	 */
+	private LexedArguments lexExpanded(Environment env, boolean toEscape) {
+		EnvironmentExpander expander = env == null ? null : new EnvironmentExpander(env);
+		if (prefix == null || prefix.arguments.indexOf('$') >= 0)
+			return LexedArguments.lex(arguments, toEscape, expander);
+		return prefix.lex(null, toEscape).append(LexedArguments.lex(suffix, toEscape, expander));
+	}
+	
+	/**
+	 * Method returns operands of arguments lexed with escaping.
+	 * 
+	 * @param env environment whose variables and commands are used for expansion
+	 * @return    operands of arguments
+	 * @throws IllegalArgumentException if any pattern is not valid
+	 * @throws hr.fer.zemris.java.hw07.shell.parser.ShellParserException if arguments are not valid
+	 */
+	public Operands getOperands(Environment env) {
+		if (arguments.indexOf('$') >= 0)
+			return toOperands(lex(env, true));
+		
+		Operands result = operands;
+		if (result == null) {
+			result = toOperands(lex(env, true));
+			operands = result;
+		}
+		return result;
+	}
+	
+	/**
+	 * Method creates operands of given lexed arguments.
+	 * 
+	 * @param lexed lexed arguments
+	 * @return      operands
+	 * @throws IllegalArgumentException if any pattern is not valid
+	 */
+	private static Operands toOperands(LexedArguments lexed) {
+		return new Operands(lexed.getArguments(), lexed.getQuoted());
+	}
+	
+}
@@ -0,0 +1,170 @@
+package hr.fer.zemris.java.hw07.shell.environment;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellCommand;
+import hr.fer.zemris.java.hw07.shell.lexer.ShellLexer;
+
+/**
+ * Implementation of {@link Environment} that keeps state of single shell session: </br>
+ * symbols, current directory, shell variables and shared data. </br>
+ * Subclasses decide where input is read from and where output is written. </br>
+ * State can be safely used from more threads at once.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public abstract class AbstractEnvironment implements Environment {
+
+	/** directory of project */
+	private static final String CURRENT_DIR = ".";
+	
+	/** map of supported commands */
+	private SortedMap<String, ShellCommand> commands;
+	/** prompt symbol */
+	private volatile String promptSymbol = "> ";
+	/** multiline symbol */
+	private volatile String multilineSymbol = "| ";
+	/** more lines symbol */
+	private volatile String morelinesSymbol = "\\";
+	/** path of current directory */
+	private volatile Path currentDirectoryPath;
+	/** shared data map */
+	private Map<String, Object> sharedDataMap = new ConcurrentHashMap<>();
+	/** shell variables */
+	private SortedMap<String, String> variables = new ConcurrentSkipListMap<>();
+	
+	/**
+	 * Constructor that creates new {@code AbstractEnvironment} object.
+	 * 
+	 * @param commands {@link #commands}
+	 * @throws NullPointerException if given map is {@code null}
+	 */
+	public AbstractEnvironment(SortedMap<String, ShellCommand> commands) {
+		this.commands = Objects.requireNonNull(commands, "Commands must not be null");
+		currentDirectoryPath = Paths.get(CURRENT_DIR).toAbsolutePath().normalize();
+	}
+	
+	@Override
+	public SortedMap<String, ShellCommand> commands() {
+		return commands;
+	}
+
+	@Override
+	public Character getMultilineSymbol() {
+		return multilineSymbol.charAt(0);
+	}
+
+	@Override
+	public void setMultilineSymbol(Character symbol) {
+		multilineSymbol = String.valueOf(symbol) + " ";
+	}
+
+	@Override
+	public Character getPromptSymbol() {
+		return promptSymbol.charAt(0);
+	}
+
+	@Override
+	public void setPromptSymbol(Character symbol) {
+		promptSymbol = String.valueOf(symbol) + " ";
+	}
+
+	@Override
+	public Character getMorelinesSymbol() {
+		return morelinesSymbol.charAt(0);
+	}
+
+	@Override
+	public void setMorelinesSymbol(Character symbol) {
+		morelinesSymbol = String.valueOf(symbol);	
+	}
+	
+	/**
+	 * Method returns text that is printed as prompt.
+	 * 
+	 * @return prompt
+	 */
+	public String getPrompt() {
+		return promptSymbol;
+	}
+	
+	/**
+	 * Method returns text that is printed as prompt while multiline command is written.
+	 * 
+	 * @return multiline prompt
+	 */
+	public String getMultilinePrompt() {
+		return multilineSymbol;
+	}
+
+	@Override
+	public Path getCurrentDirectory() {
+		return currentDirectoryPath;
+	}
+
+	@Override
+	public void setCurrentDirectory(Path path) {
+		currentDirectoryPath = Objects.requireNonNull(path, "Path must not be null")
+									  .toAbsolutePath().normalize();
+	}
+
+	@Override
+	public Object getSharedData(String key) {
+		if (key == null)
+			return null;
+		return sharedDataMap.get(key);
+	}
+
+	@Override
+	public void setSharedData(String key, Object value) {
+		if (key == null)
+			return;
+		if (value == null) {
+			sharedDataMap.remove(key);
+		} else {
+			sharedDataMap.put(key, value);
+		}
+	}
+
+	@Override
+	public Object computeSharedDataIfAbsent(String key, Function<String, Object> mappingFunction) {
+		Objects.requireNonNull(key, "Key must not be null");
+		return sharedDataMap.computeIfAbsent(key, mappingFunction);
+	}
+	
+	@Override
+	public String getVariable(String name) {
+		if (name == null)
+			return null;
+		return variables.get(name);
+	}
+	
+	@Override
+	public void setVariable(String name, String value) {
+		if (!ShellLexer.isVariableName(name))
+			throw new IllegalArgumentException("Invalid variable name. Was: " + name);
+		if (value == null) {
+			variables.remove(name);
+		} else {
+			variables.put(name, value);
+		}
+	}
+	
+	@Override
+	public SortedMap<String, String> getVariables() {
+		return Collections.unmodifiableSortedMap(new TreeMap<>(variables));
+	}
+	
+}
@@ -0,0 +1,67 @@
+package hr.fer.zemris.java.hw07.shell.environment;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellIOException;
+
+/**
+ * Implementation of {@link Environment} that collects output of command in memory. </br>
+ * It is used for command substitution, so command does not read input that is </br>
+ * piped to the command in which substitution is.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class CaptureEnvironment extends DelegatingEnvironment {
+
+	/** collected output */
+	private StringBuilder output = new StringBuilder();
+	
+	/**
+	 * Constructor that creates new {@code CaptureEnvironment} object.
+	 * 
+	 * @param delegate environment whose state is used
+	 * @throws NullPointerException if given environment is {@code null}
+	 */
+	public CaptureEnvironment(Environment delegate) {
+		super(delegate);
+	}
+	
+	@Override
+	public String readLine() throws ShellIOException {
+		return getDelegate().hasPipedInput() ? null : getDelegate().readLine();
+	}
+	
+	@Override
+	public boolean hasPipedInput() {
+		return false;
+	}
+	
+	@Override
+	public synchronized void write(String text) throws ShellIOException {
+		output.append(text);
+	}
+	
+	@Override
+	public synchronized void writeln(String text) throws ShellIOException {
+		output.append(text).append('\n');
+	}
+	
+	@Override
+	public void flush() throws ShellIOException {
+	}
+	
+	/**
+	 * Method returns collected output without line breaks at its end.
+	 * 
+	 * @return collected output
+	 */
+	public synchronized String getOutput() {
+		int end = output.length();
+		while (end > 0 && (output.charAt(end - 1) == '\n' || output.charAt(end - 1) == '\r')) {
+			end--;
+		}
+		return output.substring(0, end);
+	}
+	
+}
@@ -0,0 +1,150 @@
+package hr.fer.zemris.java.hw07.shell.environment;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.function.Function;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellCommand;
+import hr.fer.zemris.java.hw07.shell.ShellIOException;
+
+/**
+ * Implementation of {@link Environment} that forwards every call to the wrapped environment. </br>
+ * It is used as base class for environments that change only part of the behaviour, </br>
+ * for example where the output of command is written.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class DelegatingEnvironment implements Environment {
+
+	/** environment to which calls are forwarded */
+	private Environment delegate;
+	
+	/**
+	 * Constructor that creates new {@code DelegatingEnvironment} object.
+	 * 
+	 * @param delegate {@link #delegate}
+	 * @throws NullPointerException if given environment is {@code null}
+	 */
+	public DelegatingEnvironment(Environment delegate) {
+		this.delegate = Objects.requireNonNull(delegate, "Environment must not be null");
+	}
+	
+	/**
+	 * Method returns environment to which calls are forwarded.
+	 * 
+	 * @return wrapped environment
+	 */
+	public Environment getDelegate() {
+		return delegate;
+	}
+	
+	@Override
+	public String readLine() throws ShellIOException {
+		return delegate.readLine();
+	}
+
+	@Override
+	public boolean hasPipedInput() {
+		return delegate.hasPipedInput();
+	}
+
+	@Override
+	public void write(String text) throws ShellIOException {
+		delegate.write(text);
+	}
+
+	@Override
+	public void writeln(String text) throws ShellIOException {
+		delegate.writeln(text);
+	}
+
+	@Override
+	public void writeError(String message) throws ShellIOException {
+		delegate.writeError(message);
+	}
+
+	@Override
+	public void flush() throws ShellIOException {
+		delegate.flush();
+	}
+
+	@Override
+	public SortedMap<String, ShellCommand> commands() {
+		return delegate.commands();
+	}
+
+	@Override
+	public Character getMultilineSymbol() {
+		return delegate.getMultilineSymbol();
+	}
+
+	@Override
+	public void setMultilineSymbol(Character symbol) {
+		delegate.setMultilineSymbol(symbol);
+	}
+
+	@Override
+	public Character getPromptSymbol() {
+		return delegate.getPromptSymbol();
+	}
+
+	@Override
+	public void setPromptSymbol(Character symbol) {
+		delegate.setPromptSymbol(symbol);
+	}
+
+	@Override
+	public Character getMorelinesSymbol() {
+		return delegate.getMorelinesSymbol();
+	}
+
+	@Override
+	public void setMorelinesSymbol(Character symbol) {
+		delegate.setMorelinesSymbol(symbol);
+	}
+
+	@Override
+	public Path getCurrentDirectory() {
+		return delegate.getCurrentDirectory();
+	}
+
+	@Override
+	public void setCurrentDirectory(Path path) {
+		delegate.setCurrentDirectory(path);
+	}
+
+	@Override
+	public Object getSharedData(String key) {
+		return delegate.getSharedData(key);
+	}
+
+	@Override
+	public void setSharedData(String key, Object value) {
+		delegate.setSharedData(key, value);
+	}
+
+	@Override
+	public Object computeSharedDataIfAbsent(String key, Function<String, Object> mappingFunction) {
+		return delegate.computeSharedDataIfAbsent(key, mappingFunction);
+	}
+
+	@Override
+	public String getVariable(String name) {
+		return delegate.getVariable(name);
+	}
+
+	@Override
+	public void setVariable(String name, String value) {
+		delegate.setVariable(name, value);
+	}
+
+	@Override
+	public SortedMap<String, String> getVariables() {
+		return delegate.getVariables();
+	}
+
+}
@@ -0,0 +1,47 @@
+package hr.fer.zemris.java.hw07.shell.environment;
+
+import java.util.Objects;
+
+import hr.fer.zemris.java.hw07.shell.CommandLineExecutor;
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.lexer.Expander;
+
+/**
+ * Implementation of {@link Expander} backed by {@link Environment}. </br>
+ * Variables are read from shell variables of environment and, if there is no such </br>
+ * shell variable, from environment variables of process. Command substitution </br>
+ * executes command line in {@link CaptureEnvironment}, so output stays in memory.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class EnvironmentExpander implements Expander {
+
+	/** environment whose variables and commands are used */
+	private Environment env;
+	
+	/**
+	 * Constructor that creates new {@code EnvironmentExpander} object.
+	 * 
+	 * @param env {@link #env}
+	 * @throws NullPointerException if given environment is {@code null}
+	 */
+	public EnvironmentExpander(Environment env) {
+		this.env = Objects.requireNonNull(env, "Environment must not be null");
+	}
+	
+	@Override
+	public String getVariable(String name) {
+		String value = env.getVariable(name);
+		return value != null ? value : System.getenv(name);
+	}
+
+	@Override
+	public String substitute(String commandLine) {
+		CaptureEnvironment capture = new CaptureEnvironment(env);
+		CommandLineExecutor.of(env).execute(capture, commandLine);
+		return capture.getOutput();
+	}
+
+}
@@ -0,0 +1,87 @@
+package hr.fer.zemris.java.hw07.shell.environment;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellIOException;
+
+/**
+ * Implementation of {@link Environment} that writes output of command to the file. </br>
+ * Output is collected in large buffer and written directly to the {@link FileChannel} </br>
+ * of the file, so writing single line does not cause any system call. </br>
+ * Every other call is forwarded to the wrapped environment.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class FileEnvironment extends DelegatingEnvironment implements Closeable {
+
+	/** size of output buffer in characters */
+	private static final int BUFFER_SIZE = 1 << 16;
+	/** charset used for writing to the file */
+	private static final Charset CHARSET = Charset.defaultCharset();
+	
+	/** writer of file */
+	private Writer writer;
+	
+	/**
+	 * Constructor that creates new {@code FileEnvironment} object.
+	 * 
+	 * @param delegate     environment to which remaining calls are forwarded
+	 * @param file         file to which output is written
+	 * @param append       {@code true} if output is appended to the end of file,
+	 * 					   {@code false} if file is truncated
+	 * @throws IOException if file can not be opened
+	 */
+	public FileEnvironment(Environment delegate, Path file, boolean append) throws IOException {
+		super(delegate);
+		FileChannel channel = FileChannel.open(file, 
+				StandardOpenOption.CREATE, 
+				StandardOpenOption.WRITE,
+				append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+		writer = new BufferedWriter(Channels.newWriter(channel, CHARSET.newEncoder(), BUFFER_SIZE), BUFFER_SIZE);
+	}
+	
+	@Override
+	public void write(String text) throws ShellIOException {
+		try {
+			writer.write(text);
+		} catch (IOException ex) {
+			throw new ShellIOException(ex.getMessage());
+		}
+	}
+	
+	@Override
+	public void writeln(String text) throws ShellIOException {
+		try {
+			writer.write(text);
+			writer.write(System.lineSeparator());
+		} catch (IOException ex) {
+			throw new ShellIOException(ex.getMessage());
+		}
+	}
+
+	@Override
+	public void flush() throws ShellIOException {
+		try {
+			writer.flush();
+		} catch (IOException ex) {
+			throw new ShellIOException(ex.getMessage());
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		writer.close();
+	}
+	
+}
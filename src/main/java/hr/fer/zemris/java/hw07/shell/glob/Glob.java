@@ -0,0 +1,260 @@
+package hr.fer.zemris.java.hw07.shell.glob;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.PatternSyntaxException;
+
+
+/**
+ * Compiled glob pattern which is expanded to paths it matches. </p>
+ *
+ * Pattern is split on path separators into segments. Leading segments without </br>
+ * wildcards are taken as base directory, and every other segment is compiled into </br>
+ * {@link PathMatcher} once, when pattern is compiled. Segment can use {@code *} </br>
+ * and {@code ?} which match any number of characters and single character of name, </br>
+ * {@code {a,b}} which matches any of given alternatives and {@code [abc]} which </br>
+ * matches any of given characters. Segment {@code **} matches any number of directories. </br>
+ * Names that start with {@code .} are matched only by segments that start with {@code .}. </p>
+ *
+ * Expansion walks only directories that pattern can reach: literal segments are </br>
+ * resolved without listing directory and only directories whose names match </br>
+ * segment are entered. Matches are handed to {@link PathConsumer} as they are found, </br>
+ * so list of all matches is never built. Order of matches is order of directory listing. </br>
+ * Alternatives of {@code {a,b}} must not contain path separators.
+ *
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class Glob {
+
+	/** characters that make argument a pattern */
+	private static final String WILDCARDS = "*?[{";
+	/** segment that matches any number of directories */
+	private static final String RECURSIVE_SEGMENT = "**";
+
+	/** pattern as it was given */
+	private final String pattern;
+	/** leading part of pattern without wildcards, resolved against current directory */
+	private final String base;
+	/** compiled segments of pattern that follow base */
+	private final Segment[] segments;
+
+	/**
+	 * Constructor that compiles given pattern.
+	 *
+	 * @param pattern {@link #pattern}
+	 * @throws IllegalArgumentException if pattern is not valid
+	 */
+	private Glob(String pattern) {
+		this.pattern = pattern;
+
+		List<String> parts = new ArrayList<>();
+		List<Integer> starts = new ArrayList<>();
+		int start = 0;
+		for (int i = 0, n = pattern.length(); i <= n; i++) {
+			if (i == n || isSeparator(pattern.charAt(i))) {
+				parts.add(pattern.substring(start, i));
+				starts.add(start);
+				start = i + 1;
+			}
+		}
+
+		int first = 0;
+		while (first < parts.size() && !isGlob(parts.get(first))) {
+			first++;
+		}
+		base = first == parts.size() ? pattern : pattern.substring(0, starts.get(first));
+
+		List<Segment> compiled = new ArrayList<>();
+		for (int i = first; i < parts.size(); i++) {
+			if (!parts.get(i).isEmpty()) {
+				compiled.add(new Segment(parts.get(i)));
+			}
+		}
+		segments = compiled.toArray(new Segment[compiled.size()]);
+	}
+
+	/**
+	 * Method returns compiled pattern.
+	 *
+	 * @param pattern pattern that is compiled
+	 * @return        compiled {@link Glob}
+	 * @throws IllegalArgumentException if pattern is not valid
+	 * @throws NullPointerException if pattern is {@code null}
+	 */
+	public static Glob compile(String pattern) {
+		Objects.requireNonNull(pattern, "Pattern must not be null");
+
+		return new Glob(pattern);
+	}
+
+	/**
+	 * Method checks whether given text contains any wildcard.
+	 *
+	 * @param text text that is checked
+	 * @return     {@code true} if text is pattern, {@code false} otherwise
+	 */
+	public static boolean isGlob(CharSequence text) {
+		for (int i = 0, n = text.length(); i < n; i++) {
+			if (WILDCARDS.indexOf(text.charAt(i)) >= 0)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Method returns pattern as it was given.
+	 *
+	 * @return pattern
+	 */
+	public String getPattern() {
+		return pattern;
+	}
+
+	/**
+	 * Method expands pattern relative to given directory and hands every match to given consumer.
+	 *
+	 * @param current      directory against which relative pattern is resolved
+	 * @param consumer     consumer of matched paths
+	 * @return             number of matched paths
+	 * @throws IOException if directory can not be listed or consumer failed
+	 */
+	public long forEachMatch(Path current, PathConsumer consumer) throws IOException {
+		Objects.requireNonNull(consumer, "Consumer must not be null");
+
+		Path start = base.isEmpty() ? current : current.resolve(base);
+		if (segments.length == 0) {
+			if (!Files.exists(start))
+				return 0;
+			consumer.accept(start);
+			return 1;
+		}
+		return Files.isDirectory(start) ? walk(start, 0, consumer) : 0;
+	}
+
+	/**
+	 * Method matches segments starting with given one against content of given directory.
+	 *
+	 * @param directory    directory that is matched
+	 * @param index        index of segment that is matched against entries of directory
+	 * @param consumer     consumer of matched paths
+	 * @return             number of matched paths
+	 * @throws IOException if directory can not be listed or consumer failed
+	 */
+	private long walk(Path directory, int index, PathConsumer consumer) throws IOException {
+		if (index == segments.length) {
+			consumer.accept(directory);
+			return 1;
+		}
+
+		Segment segment = segments[index];
+		boolean last = index == segments.length - 1;
+		if (segment.literal != null) {
+			Path next = directory.resolve(segment.literal);
+			boolean reachable = last ? Files.exists(next) : Files.isDirectory(next);
+			return reachable ? walk(next, index + 1, consumer) : 0;
+		}
+
+		long matches = 0;
+		if (segment.recursive && !last) {
+			matches += walk(directory, index + 1, consumer);
+		}
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, segment)) {
+			for (Path child : stream) {
+				if (segment.recursive) {
+					if (last) {
+						consumer.accept(child);
+						matches++;
+					}
+					if (Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+						matches += walk(child, index, consumer);
+					}
+				} else if (last) {
+					consumer.accept(child);
+					matches++;
+				} else if (Files.isDirectory(child)) {
+					matches += walk(child, index + 1, consumer);
+				}
+			}
+		} catch (AccessDeniedException ex) {
+			// directories that can not be read have no matches
+		}
+		return matches;
+	}
+
+	/**
+	 * Method checks whether given character separates segments of pattern.
+	 *
+	 * @param c character that is checked
+	 * @return  {@code true} if character is path separator, {@code false} otherwise
+	 */
+	private static boolean isSeparator(char c) {
+		return c == '/' || c == File.separatorChar;
+	}
+
+	@Override
+	public String toString() {
+		return pattern;
+	}
+
+	/**
+	 * Single segment of pattern, which matches names of directory entries.
+	 *
+	 * @author Ante Gazibarić
+	 * @version 1.0
+	 *
+	 */
+	private static class Segment implements DirectoryStream.Filter<Path> {
+
+		/** name that is resolved directly, or {@code null} if segment has wildcards */
+		private final String literal;
+		/** flag that tells whether segment matches any number of directories */
+		private final boolean recursive;
+		/** flag that tells whether names starting with {@code .} are matched */
+		private final boolean matchesHidden;
+		/** compiled matcher of names, or {@code null} if segment matches every name */
+		private final PathMatcher matcher;
+
+		/**
+		 * Constructor that compiles given segment.
+		 *
+		 * @param text text of segment
+		 * @throws IllegalArgumentException if segment is not valid pattern
+		 */
+		public Segment(String text) {
+			recursive = text.equals(RECURSIVE_SEGMENT);
+			literal = recursive || isGlob(text) ? null : text;
+			matchesHidden = text.startsWith(".");
+			if (recursive || literal != null) {
+				matcher = null;
+			} else {
+				try {
+					matcher = FileSystems.getDefault().getPathMatcher("glob:" + text);
+				} catch (PatternSyntaxException ex) {
+					throw new IllegalArgumentException("Invalid pattern. Was: " + text);
+				}
+			}
+		}
+
+		@Override
+		public boolean accept(Path entry) {
+			Path name = entry.getFileName();
+			if (!matchesHidden && name.toString().startsWith("."))
+				return false;
+			return matcher == null || matcher.matches(name);
+		}
+
+	}
+
+}
@@ -0,0 +1,116 @@
+package hr.fer.zemris.java.hw07.shell.glob;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * Parsed arguments of command whose unquoted arguments with wildcards are {@link Glob} patterns. </br>
+ * Patterns are compiled once, when operands are created, and expanded only when </br>
+ * paths of operands are requested, so command sees every match as soon as it is found. </br>
+ * Operands are immutable, so they can be cached and shared.
+ *
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class Operands {
+
+	/** arguments as they were parsed */
+	private final String[] arguments;
+	/** compiled patterns of arguments, or {@code null} for literal arguments */
+	private final Glob[] globs;
+	/** flag that tells whether any argument is pattern */
+	private final boolean patterns;
+
+	/**
+	 * Constructor that creates new {@link Operands} object.
+	 *
+	 * @param arguments {@link #arguments}
+	 * @param quoted    indexes of arguments that were given in double quotes and are never patterns
+	 * @throws IllegalArgumentException if any pattern is not valid
+	 * @throws NullPointerException if any argument is {@code null}
+	 */
+	public Operands(String[] arguments, BitSet quoted) {
+		this.arguments = Objects.requireNonNull(arguments, "Arguments must not be null").clone();
+		globs = new Glob[arguments.length];
+		boolean patterns = false;
+		for (int i = 0; i < arguments.length; i++) {
+			if (!quoted.get(i) && Glob.isGlob(arguments[i])) {
+				globs[i] = Glob.compile(arguments[i]);
+				patterns = true;
+			}
+		}
+		this.patterns = patterns;
+	}
+
+	/**
+	 * Method returns number of operands.
+	 *
+	 * @return number of operands
+	 */
+	public int size() {
+		return arguments.length;
+	}
+
+	/**
+	 * Method returns operand at given index as it was given.
+	 *
+	 * @param index index of operand
+	 * @return      operand
+	 */
+	public String get(int index) {
+		return arguments[index];
+	}
+
+	/**
+	 * Method checks whether operand at given index is pattern.
+	 *
+	 * @param index index of operand
+	 * @return      {@code true} if operand is pattern, {@code false} otherwise
+	 */
+	public boolean isPattern(int index) {
+		return globs[index] != null;
+	}
+
+	/**
+	 * Method checks whether any operand is pattern.
+	 *
+	 * @return {@code true} if any operand is pattern, {@code false} otherwise
+	 */
+	public boolean hasPatterns() {
+		return patterns;
+	}
+
+	/**
+	 * Method hands paths of operands in given range to given consumer. </br>
+	 * Literal operand is resolved against current directory and pattern </br>
+	 * is replaced with all paths it matches.
+	 *
+	 * @param from         index of first operand, inclusive
+	 * @param to           index of last operand, exclusive
+	 * @param current      directory against which operands are resolved
+	 * @param consumer     consumer of paths
+	 * @return             number of paths given to consumer
+	 * @throws IOException if directory can not be listed or consumer failed
+	 * @throws IllegalArgumentException if pattern matches nothing
+	 */
+	public long forEachPath(int from, int to, Path current, PathConsumer consumer) throws IOException {
+		long count = 0;
+		for (int i = from; i < to; i++) {
+			if (globs[i] == null) {
+				consumer.accept(current.resolve(Paths.get(arguments[i])));
+				count++;
+				continue;
+			}
+			long matches = globs[i].forEachMatch(current, consumer);
+			if (matches == 0)
+				throw new IllegalArgumentException("No files match given pattern. Was: " + arguments[i]);
+			count += matches;
+		}
+		return count;
+	}
+
+}
@@ -0,0 +1,25 @@
+package hr.fer.zemris.java.hw07.shell.glob;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Interface represents action that is performed on every path matched by {@link Glob}, </br>
+ * or given as operand of command.
+ *
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+@FunctionalInterface
+public interface PathConsumer {
+
+	/**
+	 * Method performs action on given path.
+	 *
+	 * @param path         path that is processed
+	 * @throws IOException if action failed
+	 */
+	void accept(Path path) throws IOException;
+
+}
@@ -0,0 +1,135 @@
+package hr.fer.zemris.java.hw07.shell.jobs;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import hr.fer.zemris.java.hw07.shell.ShellIOException;
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+
+/**
+ * Class represents command line that runs in background.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class Job {
+
+	/** identifier of job */
+	private int id;
+	/** command line that job runs */
+	private String commandLine;
+	/** environment of job */
+	private JobEnvironment env;
+	/** time in nanoseconds when job started */
+	private long startTime;
+	/** time in nanoseconds when job finished, or 0 if it is still running */
+	private volatile long endTime;
+	/** result of job, set by thread that started job and read by threads that wait for it */
+	private volatile Future<ShellStatus> future;
+	
+	/**
+	 * Constructor that creates new {@code Job} object.
+	 * 
+	 * @param id          {@link #id}
+	 * @param commandLine {@link #commandLine}
+	 * @param env         {@link #env}
+	 */
+	Job(int id, String commandLine, JobEnvironment env) {
+		this.id = id;
+		this.commandLine = commandLine;
+		this.env = env;
+		this.startTime = System.nanoTime();
+	}
+	
+	/**
+	 * Method sets result of job.
+	 * 
+	 * @param future {@link #future}
+	 */
+	void setFuture(Future<ShellStatus> future) {
+		this.future = future;
+	}
+	
+	/**
+	 * Method marks job as finished.
+	 */
+	void finished() {
+		endTime = System.nanoTime();
+	}
+	
+	/**
+	 * Method returns identifier of job.
+	 * 
+	 * @return job identifier
+	 */
+	public int getId() {
+		return id;
+	}
+	
+	/**
+	 * Method returns command line that job runs.
+	 * 
+	 * @return command line of job
+	 */
+	public String getCommandLine() {
+		return commandLine;
+	}
+	
+	/**
+	 * Method checks if job is finished.
+	 * 
+	 * @return {@code true} if job is finished, {@code false} otherwise
+	 */
+	public boolean isDone() {
+		return endTime != 0;
+	}
+	
+	/**
+	 * Method returns time in milliseconds that job has been running.
+	 * 
+	 * @return elapsed time in milliseconds
+	 */
+	public long getElapsedMillis() {
+		long end = isDone() ? endTime : System.nanoTime();
+		return (end - startTime) / 1_000_000;
+	}
+	
+	/**
+	 * Method returns number of bytes of files that job has read and written, </br>
+	 * as commands report them. Text written to user is not counted.
+	 * 
+	 * @return number of bytes processed
+	 */
+	public long getBytesProcessed() {
+		return env.getBytesRead() + env.getBytesWritten();
+	}
+	
+	/**
+	 * Method waits for job to finish.
+	 * 
+	 * @return message that describes how job finished
+	 * @throws ShellIOException if waiting is interrupted
+	 */
+	public String waitFor() {
+		try {
+			future.get();
+			return "Done";
+		} catch (ExecutionException ex) {
+			return "Failed: " + ex.getCause().getMessage();
+		} catch (CancellationException ex) {
+			return "Cancelled";
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new ShellIOException("Waiting for job was interrupted.");
+		}
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("[%d] %-8s %8.1fs %12d B  %s", id, isDone() ? "Done" : "Running",
+				getElapsedMillis() / 1000.0, getBytesProcessed(), commandLine);
+	}
+	
+}
@@ -0,0 +1,89 @@
+package hr.fer.zemris.java.hw07.shell.jobs;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellIOException;
+import hr.fer.zemris.java.hw07.shell.stats.MeasuringEnvironment;
+
+/**
+ * Implementation of {@link Environment} used by command that runs as background {@link Job}. </br>
+ * It has its own copy of current directory, so changing directory in job does not affect shell. </br>
+ * Output is written to the wrapped environment only as complete lines, </br>
+ * so lines of different jobs are never mixed together. </br>
+ * Bytes of files that commands of job read and write are measured, text written to user is not.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class JobEnvironment extends MeasuringEnvironment {
+
+	/** current directory of job */
+	private volatile Path currentDirectory;
+	/** text written by {@link #write(String)} that is not yet terminated by new line */
+	private StringBuilder partialLine = new StringBuilder();
+	
+	/**
+	 * Constructor that creates new {@code JobEnvironment} object. </br>
+	 * Current directory of job is set to the current directory of given environment.
+	 * 
+	 * @param delegate environment to which output is written
+	 */
+	public JobEnvironment(Environment delegate) {
+		super(delegate, false);
+		currentDirectory = delegate.getCurrentDirectory();
+	}
+	
+	@Override
+	public String readLine() throws ShellIOException {
+		throw new ShellIOException("Background job can not read user input.");
+	}
+	
+	@Override
+	public boolean hasPipedInput() {
+		return false;
+	}
+	
+	@Override
+	public synchronized void write(String text) throws ShellIOException {
+		int start = 0;
+		int newLine;
+		while ((newLine = text.indexOf('\n', start)) >= 0) {
+			partialLine.append(text, start, newLine);
+			super.writeln(partialLine.toString());
+			partialLine.setLength(0);
+			start = newLine + 1;
+		}
+		partialLine.append(text, start, text.length());
+	}
+	
+	@Override
+	public synchronized void writeln(String text) throws ShellIOException {
+		write(text);
+		super.writeln(partialLine.toString());
+		partialLine.setLength(0);
+	}
+	
+	/**
+	 * Method writes out text that is not terminated by new line as last line of job.
+	 */
+	public synchronized void close() {
+		if (partialLine.length() > 0) {
+			super.writeln(partialLine.toString());
+			partialLine.setLength(0);
+		}
+	}
+	
+	@Override
+	public Path getCurrentDirectory() {
+		return currentDirectory;
+	}
+	
+	@Override
+	public void setCurrentDirectory(Path path) {
+		currentDirectory = Objects.requireNonNull(path, "Path must not be null").toAbsolutePath().normalize();
+	}
+	
+}
@@ -0,0 +1,125 @@
+package hr.fer.zemris.java.hw07.shell.jobs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+
+/**
+ * Class that starts and keeps track of background {@link Job} objects of single shell. </br>
+ * It is stored in shared data of {@link Environment} under {@link #SHARED_DATA_KEY}.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class JobManager {
+
+	/** key under which job manager is stored in shared data */
+	public static final String SHARED_DATA_KEY = "jobs";
+	
+	/** counter used for naming job threads */
+	private static final AtomicInteger threadCounter = new AtomicInteger();
+	/** executor that runs jobs */
+	private static final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+		Thread thread = new Thread(r, "job-" + threadCounter.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	});
+	
+	/** jobs that are not yet reported as finished */
+	private Map<Integer, Job> jobs = new ConcurrentSkipListMap<>();
+	/** identifier of next job */
+	private AtomicInteger nextId = new AtomicInteger(1);
+	
+	/**
+	 * Method starts given command line as background job.
+	 * 
+	 * @param env         environment of shell
+	 * @param commandLine command line that job runs
+	 * @param task        function that executes command line in given environment
+	 * @return            started job
+	 * @throws NullPointerException if any argument is {@code null}
+	 */
+	public Job start(Environment env, String commandLine, Function<Environment, ShellStatus> task) {
+		Objects.requireNonNull(commandLine, "Command line must not be null");
+		Objects.requireNonNull(task, "Task must not be null");
+		JobEnvironment jobEnv = new JobEnvironment(env);
+		Job job = new Job(nextId.getAndIncrement(), commandLine, jobEnv);
+		jobs.put(job.getId(), job);
+		job.setFuture(executor.submit(() -> {
+			try {
+				return task.apply(jobEnv);
+			} finally {
+				jobEnv.close();
+				job.finished();
+			}
+		}));
+		return job;
+	}
+	
+	/**
+	 * Method returns job with given identifier.
+	 * 
+	 * @param id job identifier
+	 * @return   job, or {@code null} if there is no such job
+	 */
+	public Job get(int id) {
+		return jobs.get(id);
+	}
+	
+	/**
+	 * Method returns most recently started job.
+	 * 
+	 * @return last job, or {@code null} if there are no jobs
+	 */
+	public Job getLast() {
+		Job last = null;
+		for (Job job : jobs.values()) {
+			last = job;
+		}
+		return last;
+	}
+	
+	/**
+	 * Method returns all jobs that are not yet reported as finished.
+	 * 
+	 * @return list of jobs ordered by identifier
+	 */
+	public List<Job> getJobs() {
+		return new ArrayList<>(jobs.values());
+	}
+	
+	/**
+	 * Method waits for given job to finish, removes it and writes out how it finished.
+	 * 
+	 * @param job job that is waited for
+	 * @param env environment to which result is written
+	 */
+	public void waitFor(Job job, Environment env) {
+		String result = job.waitFor();
+		jobs.remove(job.getId());
+		env.writeln(String.format("[%d] %s  %s", job.getId(), result, job.getCommandLine()));
+	}
+	
+	/**
+	 * Method removes every finished job and writes out how it finished.
+	 * 
+	 * @param env environment to which results are written
+	 */
+	public void reportFinished(Environment env) {
+		for (Job job : jobs.values()) {
+			if (job.isDone())
+				waitFor(job, env);
+		}
+	}
+	
+}
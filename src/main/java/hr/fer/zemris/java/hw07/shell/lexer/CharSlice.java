@@ -0,0 +1,74 @@
+package hr.fer.zemris.java.hw07.shell.lexer;
+
+/**
+ * Read-only view of part of character array. </br>
+ * {@link ShellLexer} returns token values as slices of its input or of its </br>
+ * internal buffer, so no {@code String} is created unless {@link #toString()} is called. </br>
+ * Slice returned by lexer is valid only until next token is requested.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class CharSlice implements CharSequence {
+
+	/** array that contains characters of slice */
+	private char[] array;
+	/** index of first character of slice */
+	private int offset;
+	/** number of characters in slice */
+	private int length;
+	
+	/**
+	 * Constructor that creates new {@code CharSlice} object.
+	 * 
+	 * @param array  {@link #array}
+	 * @param offset {@link #offset}
+	 * @param length {@link #length}
+	 * @throws IndexOutOfBoundsException if slice is out of array bounds
+	 */
+	public CharSlice(char[] array, int offset, int length) {
+		set(array, offset, length);
+	}
+	
+	/**
+	 * Method changes part of array this slice shows.
+	 * 
+	 * @param array  {@link #array}
+	 * @param offset {@link #offset}
+	 * @param length {@link #length}
+	 * @throws IndexOutOfBoundsException if slice is out of array bounds
+	 */
+	void set(char[] array, int offset, int length) {
+		if (offset < 0 || length < 0 || offset + length > array.length)
+			throw new IndexOutOfBoundsException("Slice is out of bounds. Offset: " + offset + ", length: " + length);
+		this.array = array;
+		this.offset = offset;
+		this.length = length;
+	}
+	
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length)
+			throw new IndexOutOfBoundsException("Index: " + index + ", length: " + length);
+		return array[offset + index];
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end > length || start > end)
+			throw new IndexOutOfBoundsException("Start: " + start + ", end: " + end + ", length: " + length);
+		return new CharSlice(array, offset + start, end - start);
+	}
+	
+	@Override
+	public String toString() {
+		return new String(array, offset, length);
+	}
+	
+}
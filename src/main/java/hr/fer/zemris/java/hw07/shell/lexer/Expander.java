@@ -0,0 +1,31 @@
+package hr.fer.zemris.java.hw07.shell.lexer;
+
+/**
+ * Source of values that {@link ShellLexer} uses for expansion of </br>
+ * {@code $NAME}, {@code ${NAME}} and {@code $(command line)}. </br>
+ * Lexer asks for value only when it reaches the expansion, </br>
+ * so expansions in input that is never read are never evaluated.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public interface Expander {
+
+	/**
+	 * Method returns value of variable with given name.
+	 * 
+	 * @param name name of variable
+	 * @return     value of variable, or {@code null} if variable is not set
+	 */
+	String getVariable(String name);
+	
+	/**
+	 * Method executes given command line and returns its output.
+	 * 
+	 * @param commandLine command line that is executed
+	 * @return            output of command line
+	 */
+	String substitute(String commandLine);
+	
+}
@@ -1,10 +1,20 @@
 package hr.fer.zemris.java.hw07.shell.lexer;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
- * Class represents lexical analyzer for shell command-line program.
+ * Class represents lexical analyzer for shell command-line program. </p>
+ * 
+ * Input is scanned only once. Value of every {@link TokenType#TEXT} token is {@link CharSlice} </br>
+ * of input, or of internal buffer if escape sequences had to be removed from it. </br>
+ * Token, its value and buffer are reused, so lexer does not allocate anything </br>
+ * per token and token is valid only until next call of {@link #nextToken()}. </p>
+ * 
+ * If lexer is given {@link Expander}, {@code $NAME}, {@code ${NAME}} and {@code $(command line)} </br>
+ * inside of tokens are replaced with value of variable or output of command line. </br>
+ * Expansion is done while token is read, so expansions in tokens that are never read </br>
+ * are never evaluated. Variable that is not set expands to empty string. </br>
+ * {@code $} that is not followed by valid variable name, such as in {@code ${1}}, is left as it is.
  * 
  * @author Ante Gazibarić
  * @version 1.0
@@ -12,25 +22,113 @@ import java.util.List;
  */
 public class ShellLexer {
 
+	/** initial size of buffer for escaped tokens */
+	private static final int INITIAL_BUFFER_SIZE = 64;
+	
 	/** input string in chars */
 	private char[] data;
 	/** current token */
-	private Token token;
+	private Token token = new Token(TokenType.EOF, null);
+	/** flag that tells whether any token was produced */
+	private boolean started;
+	/** slice that is value of current token */
+	private CharSlice slice;
+	/** buffer in which escaped tokens are assembled */
+	private char[] buffer = new char[INITIAL_BUFFER_SIZE];
 	/** current data index to be processed */ 
 	private int currentIndex;
 	/** lexer state */
 	private LexerState lexerState = LexerState.WITH_ESCAPING;
+	/** source of expanded values, or {@code null} if nothing is expanded */
+	private Expander expander;
+	/** flag that tells whether anything was expanded */
+	private boolean expanded;
+	/** flag that tells whether current token was given in double quotes */
+	private boolean quoted;
 	
 	/**
-	 * Constructor that creates new {@code ShellLexer} object.
+	 * Constructor that creates new {@code ShellLexer} object which does not expand anything.
 	 * 
 	 * @param input that is analyzed
 	 */
-	public ShellLexer(String input) {
+	public ShellLexer(CharSequence input) {
+		this(input, null);
+	}
+	
+	/**
+	 * Constructor that creates new {@code ShellLexer} object.
+	 * 
+	 * @param input    that is analyzed
+	 * @param expander {@link #expander}
+	 */
+	public ShellLexer(CharSequence input, Expander expander) {
 		if (input == null) 
 			throw new NullPointerException("Query input must not be null");
 		
-		data = input.toCharArray();
+		data = toCharArray(input);
+		slice = new CharSlice(data, 0, 0);
+		this.expander = expander;
+	}
+	
+	/**
+	 * Method checks whether given name is valid variable name. </br>
+	 * Name starts with letter or {@code _} which is followed by letters, digits or {@code _}.
+	 * 
+	 * @param name name that is checked
+	 * @return     {@code true} if name is valid, {@code false} otherwise
+	 */
+	public static boolean isVariableName(CharSequence name) {
+		if (name == null || name.length() == 0 || !isNameStart(name.charAt(0)))
+			return false;
+		for (int i = 1, n = name.length(); i < n; i++) {
+			if (!isNamePart(name.charAt(i)))
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Method finds parenthesis that closes command substitution. </br>
+	 * Parentheses inside of double quotes are ignored.
+	 * 
+	 * @param text      text that is searched
+	 * @param openIndex index of parenthesis that opens substitution
+	 * @return          index of closing parenthesis, or -1 if substitution is not closed
+	 */
+	public static int findSubstitutionEnd(CharSequence text, int openIndex) {
+		int depth = 0;
+		boolean inQuotes = false;
+		for (int i = openIndex, n = text.length(); i < n; i++) {
+			char c = text.charAt(i);
+			if (inQuotes && c == '\\') {
+				i++;
+			} else if (c == '\"') {
+				inQuotes = !inQuotes;
+			} else if (!inQuotes && c == '(') {
+				depth++;
+			} else if (!inQuotes && c == ')' && --depth == 0) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Method checks whether anything was expanded in tokens read so far.
+	 * 
+	 * @return {@code true} if any expansion was done, {@code false} otherwise
+	 */
+	public boolean isExpanded() {
+		return expanded;
+	}
+	
+	/**
+	 * Method checks whether current token was given in double quotes.
+	 * 
+	 * @return {@code true} if current token was quoted, {@code false} otherwise
+	 */
+	public boolean isQuoted() {
+		return quoted;
 	}
 	
 	/**
@@ -39,7 +137,7 @@ public class ShellLexer {
 	 * @return current {@link Token}
 	 */
 	public Token getToken() {
-		return token;
+		return started ? token : null;
 	}
 	
 	/**
@@ -48,120 +146,216 @@ public class ShellLexer {
 	 * @return next {@link Token}
 	 */
 	public Token nextToken() {
-		switch (lexerState) {
-		case WITH_ESCAPING:
-			setNextTokenWithEscaping();
-			break;
-		case NO_ESCAPING:
-			setNextTokenWithNoEscaping();
-		}
-		return token;
-	}
-	
-	/**
-	 * Method that does lexical analysis and sets next token
-	 */
-	private void setNextTokenWithEscaping() {
-		
-		if (token != null && token.getType() == TokenType.EOF)
+		if (started && token.getType() == TokenType.EOF)
 			throw new ShellLexerException("There is no more tokens");
-
-		skipWhitespaces();
+		started = true;
 		
+		skipWhitespaces();
+		quoted = false;
 		if (currentIndex >= data.length) {
-			token = new Token(TokenType.EOF, null);
-			return;
+			token.set(TokenType.EOF, null);
+			return token;
 		}
 		
-		//if it's input given in double quotes
-		List<Integer> indexes = new LinkedList<>();
 		if (data[currentIndex] == '\"') {
-			indexes.add(currentIndex);
-			currentIndex++;
+			quoted = true;
+			if (lexerState == LexerState.WITH_ESCAPING) {
+				readQuotedWithEscaping();
+			} else {
+				readQuoted();
+			}
+		} else {
+			readUnquoted();
+		}
+		token.set(TokenType.TEXT, slice);
+		return token;
+	}
+	
+	/**
+	 * Method reads input given in double quotes. </br>
+	 * Backslash is removed and character after it is taken as it is, </br>
+	 * so {@code \"} does not end input. Characters are copied to {@link #buffer}.
+	 */
+	private void readQuotedWithEscaping() {
+		currentIndex++;
+		int length = 0;
+		while (true) {
+			if (currentIndex >= data.length)
+				throw new ShellLexerException("Wrong input. Missing one double quote.");
+			
+			char c = data[currentIndex];
+			if (c == '\"') 
+				break;
 			
-			while (true) {
+			if (isExpansion(currentIndex)) {
+				length = expand(length);
+				continue;
+			}
+			if (c == '\\') {
+				currentIndex++;
 				if (currentIndex >= data.length)
 					throw new ShellLexerException("Wrong input. Missing one double quote.");
-				
-				if (data[currentIndex] == '\"') 
-					break;
-				
-				if (data[currentIndex] == '\\') {
-					indexes.add(currentIndex);
-					currentIndex++;
-				}
-				currentIndex++;
+				c = data[currentIndex];
 			}
-			indexes.add(currentIndex);
+			length = append(length, c);
+			currentIndex++;
+		}
+		slice.set(buffer, 0, length);
+		currentIndex++;
+	}
+	
+	/**
+	 * Method reads input given in double quotes without interpreting escape sequences.
+	 */
+	private void readQuoted() {
+		currentIndex++;
+		int beginningIndex = currentIndex;
+		int length = -1;
+		while (true) {
+			if (currentIndex >= data.length)
+				throw new ShellLexerException("Wrong input. Missing one double quote.");
 			
-			String input = "";
-			for (int i = 0, n = indexes.size(); i < n - 1; i++) {
-				int firstIndex = indexes.get(i) + 1;
-				int secondIndex = indexes.get(i + 1);
-				String partOfInput = new String(data, firstIndex, secondIndex - firstIndex);
-				input = input.concat(partOfInput);
-			}
+			if (data[currentIndex] == '\"')
+				break;
 			
-			token = new Token(TokenType.TEXT, input);
-			currentIndex++;
-			return;
+			length = readCharacter(beginningIndex, length);
 		}
-		
-		// input without double quotes
+		setSlice(beginningIndex, length);
+		currentIndex++;
+	}
+	
+	/**
+	 * Method reads input without double quotes, which ends with whitespace.
+	 */
+	private void readUnquoted() {
 		int beginningIndex = currentIndex;
+		int length = -1;
 		while(currentIndex < data.length && !isWhitespace(data[currentIndex])) {
-			currentIndex++;	
+			length = readCharacter(beginningIndex, length);
 		}
-		
-		String input = new String(data, beginningIndex, currentIndex - beginningIndex);
-		token = new Token(TokenType.TEXT, input);
+		setSlice(beginningIndex, length);
 		currentIndex++;
 	}
 	
-	private void setNextTokenWithNoEscaping() {
-		
-		if (token != null && token.getType() == TokenType.EOF)
-			throw new ShellLexerException("There is no more tokens");
-
-		skipWhitespaces();
-		
-		if (currentIndex >= data.length) {
-			token = new Token(TokenType.EOF, null);
-			return;
+	/**
+	 * Method reads character at current index of token that is not escaped. </br>
+	 * Until first expansion token is slice of input and nothing is copied, </br>
+	 * after it token is assembled in {@link #buffer}.
+	 * 
+	 * @param beginningIndex index at which token starts
+	 * @param length         length of token in buffer, or -1 if token is not in buffer
+	 * @return               new length of token in buffer, or -1 if token is not in buffer
+	 */
+	private int readCharacter(int beginningIndex, int length) {
+		if (isExpansion(currentIndex)) {
+			if (length < 0) {
+				length = 0;
+				for (int i = beginningIndex; i < currentIndex; i++) {
+					length = append(length, data[i]);
+				}
+			}
+			return expand(length);
+		}
+		if (length >= 0) {
+			length = append(length, data[currentIndex]);
 		}
+		currentIndex++;
+		return length;
+	}
+	
+	/**
+	 * Method sets value of current token.
+	 * 
+	 * @param beginningIndex index at which token starts
+	 * @param length         length of token in buffer, or -1 if token is not in buffer
+	 */
+	private void setSlice(int beginningIndex, int length) {
+		if (length < 0) {
+			slice.set(data, beginningIndex, currentIndex - beginningIndex);
+		} else {
+			slice.set(buffer, 0, length);
+		}
+	}
+	
+	/**
+	 * Method checks whether expansion starts at given index.
+	 * 
+	 * @param index index that is checked
+	 * @return      {@code true} if expansion starts at given index, {@code false} otherwise
+	 */
+	private boolean isExpansion(int index) {
+		if (expander == null || data[index] != '$' || index + 1 >= data.length)
+			return false;
 		
-		//if it's input given in double quotes
-		if (data[currentIndex] == '\"') {
-			currentIndex++;
-			int beginningIndex = currentIndex;
-			
-			while (true) {
-				if (currentIndex >= data.length)
-					throw new ShellLexerException("Wrong input. Missing one double quote.");
-				
-				if (data[currentIndex] == '\"')
-					break;
-				
-				currentIndex++;
+		char next = data[index + 1];
+		if (next == '(' || isNameStart(next))
+			return true;
+		if (next != '{')
+			return false;
+		int end = index + 2;
+		while (end < data.length && isNamePart(data[end])) {
+			end++;
+		}
+		return end > index + 2 && end < data.length && data[end] == '}' && isNameStart(data[index + 2]);
+	}
+	
+	/**
+	 * Method appends value of expansion that starts at current index to the {@link #buffer} </br>
+	 * and moves current index after the expansion.
+	 * 
+	 * @param length length of token in buffer
+	 * @return       new length of token in buffer
+	 * @throws ShellLexerException if command substitution is not closed
+	 */
+	private int expand(int length) {
+		expanded = true;
+		char next = data[currentIndex + 1];
+		String value;
+		if (next == '(') {
+			int end = findSubstitutionEnd(new CharSlice(data, 0, data.length), currentIndex + 1);
+			if (end < 0)
+				throw new ShellLexerException("Wrong input. Command substitution is not closed with ')'.");
+			value = expander.substitute(new String(data, currentIndex + 2, end - currentIndex - 2));
+			currentIndex = end + 1;
+		} else {
+			boolean braced = next == '{';
+			int start = braced ? currentIndex + 2 : currentIndex + 1;
+			int end = start;
+			while (end < data.length && isNamePart(data[end])) {
+				end++;
 			}
-			
-			String input = new String(data, beginningIndex, currentIndex - beginningIndex);
-			token = new Token(TokenType.TEXT, input);
-			currentIndex++;
-			return;
+			value = expander.getVariable(new String(data, start, end - start));
+			currentIndex = braced ? end + 1 : end;
 		}
 		
-		// input without double quotes
-		int beginningIndex = currentIndex;
-		while(currentIndex < data.length && !isWhitespace(data[currentIndex])) {
-			currentIndex++;	
+		if (value != null) {
+			for (int i = 0, n = value.length(); i < n; i++) {
+				length = append(length, value.charAt(i));
+			}
 		}
-		
-		String input = new String(data, beginningIndex, currentIndex - beginningIndex);
-		token = new Token(TokenType.TEXT, input);
-		currentIndex++;
+		return length;
 	}
 	
+	/**
+	 * Method appends given character to the {@link #buffer}.
+	 * 
+	 * @param length length of token in buffer
+	 * @param c      character that is appended
+	 * @return       new length of token in buffer
+	 */
+	private int append(int length, char c) {
+		if (length == buffer.length) {
+			buffer = Arrays.copyOf(buffer, buffer.length * 2);
+		}
+		buffer[length] = c;
+		return length + 1;
+	}
+	
+	/**
+	 * Method sets state of lexer.
+	 * 
+	 * @param lexerState new state
+	 */
 	public void setLexerState(LexerState lexerState) {
 		this.lexerState = lexerState;
 	}
@@ -190,4 +384,40 @@ public class ShellLexer {
 		return c == ' ' || c == '\n' || c == '\r' || c == '\t';
 	}
 	
+	/**
+	 * Method checks whether given character can start variable name.
+	 * 
+	 * @param c character that is checked
+	 * @return  {@code true} if character is letter or {@code _}, {@code false} otherwise
+	 */
+	private static boolean isNameStart(char c) {
+		return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '_';
+	}
+	
+	/**
+	 * Method checks whether given character can be part of variable name.
+	 * 
+	 * @param c character that is checked
+	 * @return  {@code true} if character is letter, digit or {@code _}, {@code false} otherwise
+	 */
+	private static boolean isNamePart(char c) {
+		return isNameStart(c) || c >= '0' && c <= '9';
+	}
+	
+	/**
+	 * Method copies characters of given sequence into new array.
+	 * 
+	 * @param input sequence that is copied
+	 * @return      array with characters of sequence
+	 */
+	private static char[] toCharArray(CharSequence input) {
+		if (input instanceof String)
+			return ((String) input).toCharArray();
+		char[] array = new char[input.length()];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = input.charAt(i);
+		}
+		return array;
+	}
+	
 }
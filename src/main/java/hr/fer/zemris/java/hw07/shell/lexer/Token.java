@@ -1,30 +1,40 @@
 package hr.fer.zemris.java.hw07.shell.lexer;
 
 /**
- * Class represents token in lexical analysis. </br>
- * Token is lexical unit that groups one or more consecutive symbols from input text.
+ * Class represents token produced by {@link ShellLexer}. </br>
+ * Lexer reuses the same token object, so token and its value are valid </br>
+ * only until next token is requested.
  * 
  * @author Ante Gazibarić
  * @version 1.0
+ *
  */
 public class Token {
 
-	/**
-	 * type of token
-	 */
+	/** type of token */
 	private TokenType type;
-	/**
-	 * value that token represents
-	 */
+	/** value of token */
 	private Object value;
 	
 	/**
-	 * Constructor for creating new {@code Token}.
+	 * Constructor that creates new {@code Token} object.
 	 * 
-	 * @param type  {@link TokenType} type of token
-	 * @param value {@code Object} that token stores
+	 * @param type  {@link #type}
+	 * @param value {@link #value}
+	 * @throws IllegalArgumentException if type is {@code null}
 	 */
 	public Token(TokenType type, Object value) {
+		set(type, value);
+	}
+	
+	/**
+	 * Method changes type and value of token.
+	 * 
+	 * @param type  {@link #type}
+	 * @param value {@link #value}
+	 * @throws IllegalArgumentException if type is {@code null}
+	 */
+	void set(TokenType type, Object value) {
 		if (type == null)
 			throw new IllegalArgumentException("Token type must not be null");
 		
@@ -33,18 +43,19 @@ public class Token {
 	}
 	
 	/**
-	 * Method returns value that token contains.
+	 * Method returns value of token. </br>
+	 * Value of {@link TokenType#TEXT} token is {@link CharSequence}.
 	 * 
-	 * @return {@code Object} value of token
+	 * @return value of token
 	 */
 	public Object getValue() {
 		return value;
 	}
 	
 	/**
-	 * Method returns token type.
+	 * Method returns type of token.
 	 * 
-	 * @return {@link TokenType} type of this token.
+	 * @return type of token
 	 */
 	public TokenType getType() {
 		return type;
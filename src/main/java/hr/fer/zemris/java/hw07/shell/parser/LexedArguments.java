@@ -0,0 +1,110 @@
+package hr.fer.zemris.java.hw07.shell.parser;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import hr.fer.zemris.java.hw07.shell.lexer.Expander;
+
+/**
+ * Arguments of command after lexing, together with information which of them </br>
+ * were given in double quotes. </br>
+ * Object is immutable, so arguments of command line that repeats can be lexed </br>
+ * only once and shared between threads.
+ *
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class LexedArguments {
+
+	/** arguments without any argument */
+	public static final LexedArguments EMPTY = new LexedArguments(new String[0], new BitSet());
+
+	/** arguments in order in which they were given */
+	private final String[] arguments;
+	/** indexes of arguments that were given in double quotes */
+	private final BitSet quoted;
+
+	/**
+	 * Constructor that creates new {@code LexedArguments} object.
+	 *
+	 * @param arguments {@link #arguments}
+	 * @param quoted    {@link #quoted}
+	 */
+	private LexedArguments(String[] arguments, BitSet quoted) {
+		this.arguments = arguments;
+		this.quoted = quoted;
+	}
+
+	/**
+	 * Method lexes given input into arguments.
+	 *
+	 * @param input    input that is lexed
+	 * @param toEscape flag that tells whether escape sequences in quoted inputs are interpreted
+	 * @param expander source of expanded values, or {@code null} if nothing is expanded
+	 * @return         lexed arguments
+	 * @throws ShellParserException if input is not valid
+	 */
+	public static LexedArguments lex(CharSequence input, boolean toEscape, Expander expander) {
+		ShellParser parser = new ShellParser(input, toEscape, expander);
+		String[] arguments = parser.getArguments();
+		BitSet quoted = new BitSet(arguments.length);
+		for (int i = 0; i < arguments.length; i++) {
+			if (parser.isQuoted(i)) {
+				quoted.set(i);
+			}
+		}
+		return new LexedArguments(arguments, quoted);
+	}
+
+	/**
+	 * Method returns arguments that consist of these arguments followed by given ones.
+	 *
+	 * @param other arguments that follow these ones
+	 * @return      joined arguments
+	 */
+	public LexedArguments append(LexedArguments other) {
+		if (other.arguments.length == 0)
+			return this;
+		if (arguments.length == 0)
+			return other;
+
+		String[] joined = Arrays.copyOf(arguments, arguments.length + other.arguments.length);
+		System.arraycopy(other.arguments, 0, joined, arguments.length, other.arguments.length);
+		BitSet joinedQuoted = (BitSet) quoted.clone();
+		for (int i = other.quoted.nextSetBit(0); i >= 0; i = other.quoted.nextSetBit(i + 1)) {
+			joinedQuoted.set(arguments.length + i);
+		}
+		return new LexedArguments(joined, joinedQuoted);
+	}
+
+	/**
+	 * Method returns number of arguments.
+	 *
+	 * @return number of arguments
+	 */
+	public int size() {
+		return arguments.length;
+	}
+
+	/**
+	 * Method returns arguments. </br>
+	 * Every call returns new array, so caller may modify it.
+	 *
+	 * @return arguments
+	 */
+	public String[] getArguments() {
+		return arguments.clone();
+	}
+
+	/**
+	 * Method returns indexes of arguments that were given in double quotes. </br>
+	 * Every call returns new set, so caller may modify it.
+	 *
+	 * @return indexes of quoted arguments
+	 */
+	public BitSet getQuoted() {
+		return (BitSet) quoted.clone();
+	}
+
+}
@@ -1,8 +1,11 @@
 package hr.fer.zemris.java.hw07.shell.parser;
 
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 
+import hr.fer.zemris.java.hw07.shell.lexer.Expander;
 import hr.fer.zemris.java.hw07.shell.lexer.LexerState;
 import hr.fer.zemris.java.hw07.shell.lexer.ShellLexer;
 import hr.fer.zemris.java.hw07.shell.lexer.ShellLexerException;
@@ -10,6 +13,7 @@ import hr.fer.zemris.java.hw07.shell.lexer.TokenType;
 
 /**
  * Class represents a syntax analyzer for command-line program MyShell. </br>
+ * Inputs are collected directly into array, which is trimmed to its size only once.
  * 
  * @author Ante Gazibarić
  * @version 1.0
@@ -17,22 +21,61 @@ import hr.fer.zemris.java.hw07.shell.lexer.TokenType;
  */
 public class ShellParser {
 
+	/** initial capacity of array of inputs */
+	private static final int INITIAL_CAPACITY = 8;
+	
 	/** lexical analyzer */
 	private ShellLexer lexer;
-	/** list of inputs */
-	private List<String> inputs = new LinkedList<>();
+	/** array of inputs */
+	private String[] inputs = new String[INITIAL_CAPACITY];
+	/** number of inputs */
+	private int size;
+	/** indexes of inputs that were given in double quotes */
+	private BitSet quoted = new BitSet();
 	
 	/**
 	 * Constructor for creating new {@code ShellParser} object.
 	 * 
-	 * @param input {@code String} that is analyzed
+	 * @param input    {@code CharSequence} that is analyzed
+	 * @param toEscape flag that tells whether escape sequences in quoted inputs are interpreted
+	 */
+	public ShellParser(CharSequence input, boolean toEscape) {
+		this(input, toEscape, null);
+	}
+	
+	/**
+	 * Constructor for creating new {@code ShellParser} object which expands </br>
+	 * variables and command substitutions in inputs.
+	 * 
+	 * @param input    {@code CharSequence} that is analyzed
+	 * @param toEscape flag that tells whether escape sequences in quoted inputs are interpreted
+	 * @param expander source of expanded values, or {@code null} if nothing is expanded
 	 */
-	public ShellParser(String input, boolean toEscape) {
-		lexer = new ShellLexer(input);
+	public ShellParser(CharSequence input, boolean toEscape, Expander expander) {
+		lexer = new ShellLexer(input, expander);
 		setLexerState(toEscape);
 		parseInput();
 	}
 	
+	/**
+	 * Method checks whether anything was expanded in inputs.
+	 * 
+	 * @return {@code true} if any expansion was done, {@code false} otherwise
+	 */
+	public boolean isExpanded() {
+		return lexer.isExpanded();
+	}
+	
+	/**
+	 * Method checks whether input at given index was given in double quotes.
+	 * 
+	 * @param index index of input
+	 * @return      {@code true} if input was quoted, {@code false} otherwise
+	 */
+	public boolean isQuoted(int index) {
+		return quoted.get(index);
+	}
+	
 	/**
 	 * Method that analyzes input query
 	 */
@@ -40,8 +83,13 @@ public class ShellParser {
 		try {
 			lexer.nextToken();
 			while (!isTokenOfType(TokenType.EOF)) {
-				String input = (String) lexer.getToken().getValue();
-				inputs.add(input);
+				if (size == inputs.length) {
+					inputs = Arrays.copyOf(inputs, size * 2);
+				}
+				if (lexer.isQuoted()) {
+					quoted.set(size);
+				}
+				inputs[size++] = lexer.getToken().getValue().toString();
 				lexer.nextToken();
 			}
 		} catch (ShellLexerException ex) {
@@ -52,9 +100,22 @@ public class ShellParser {
 	/**
 	 * Method returns list of inputs
 	 * 
-	 * @return list of inputs
+	 * @return unmodifiable list of inputs
 	 */
 	public List<String> getInputs() {
+		return Collections.unmodifiableList(Arrays.asList(inputs).subList(0, size));
+	}
+	
+	/**
+	 * Method returns array of inputs. </br>
+	 * Every call returns the same array, which must not be modified.
+	 * 
+	 * @return array of inputs
+	 */
+	public String[] getArguments() {
+		if (inputs.length != size) {
+			inputs = Arrays.copyOf(inputs, size);
+		}
 		return inputs;
 	}
 	
@@ -0,0 +1,131 @@
+package hr.fer.zemris.java.hw07.shell.pipeline;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import hr.fer.zemris.java.hw07.shell.ShellIOException;
+
+/**
+ * Class represents bounded in-memory channel of lines between two commands in pipeline. </br>
+ * Writer blocks when channel is full and reader blocks when channel is empty, </br>
+ * so neither side can get too far ahead of the other. </br>
+ * When reader is closed, writer fails on its next line, so it stops instead of producing </br>
+ * output that nobody reads. </p>
+ * 
+ * Channel carries lines, not bytes. Commands that need bytes, such as {@code hexdumb}, </br>
+ * encode lines again, so binary content can not be passed through pipeline unchanged.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class Pipe {
+
+	/** default number of lines that channel can hold */
+	public static final int DEFAULT_CAPACITY = 1024;
+	/** marker that is written to the channel when writer is done */
+	private static final String END_OF_STREAM = new String();
+	/** time in milliseconds after which blocked writer checks if reader is closed */
+	private static final long OFFER_TIMEOUT = 50;
+	
+	/** lines that are written and not yet read */
+	private BlockingQueue<String> queue;
+	/** flag that is set when reader no longer reads lines */
+	private volatile boolean readerClosed;
+	/** flag that is set when reader reached end of stream */
+	private boolean ended;
+	
+	/**
+	 * Constructor that creates new {@code Pipe} object with {@link #DEFAULT_CAPACITY}.
+	 */
+	public Pipe() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Constructor that creates new {@code Pipe} object.
+	 * 
+	 * @param capacity number of lines that channel can hold
+	 * @throws IllegalArgumentException if given capacity is less than 1
+	 */
+	public Pipe(int capacity) {
+		queue = new ArrayBlockingQueue<>(capacity);
+	}
+	
+	/**
+	 * Method writes given line to the channel.
+	 * 
+	 * @param line line that is written
+	 * @throws ShellIOException if reader is closed or if writer is interrupted while waiting for free space
+	 */
+	public void write(String line) {
+		try {
+			while (!readerClosed) {
+				if (queue.offer(line, OFFER_TIMEOUT, TimeUnit.MILLISECONDS))
+					return;
+			}
+			throw new ShellIOException("Pipe is closed.");
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new ShellIOException("Pipeline was interrupted.");
+		}
+	}
+	
+	/**
+	 * Method reads next line from the channel.
+	 * 
+	 * @return next line, or {@code null} if writer is done and all lines are read
+	 * @throws ShellIOException if reader is interrupted while waiting for line
+	 */
+	public String read() {
+		if (ended)
+			return null;
+		
+		try {
+			String line = queue.take();
+			if (line == END_OF_STREAM) {
+				ended = true;
+				return null;
+			}
+			return line;
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new ShellIOException("Pipeline was interrupted.");
+		}
+	}
+	
+	/**
+	 * Method signals reader that no more lines will be written. </br>
+	 * If reader is already closed, nothing is written.
+	 */
+	public void closeWrite() {
+		if (!readerClosed) {
+			try {
+				write(END_OF_STREAM);
+			} catch (ShellIOException ex) {
+				if (!readerClosed)
+					throw ex;
+			}
+		}
+	}
+	
+	/**
+	 * Method checks whether reader no longer reads lines.
+	 * 
+	 * @return {@code true} if reader is closed, {@code false} otherwise
+	 */
+	public boolean isReaderClosed() {
+		return readerClosed;
+	}
+	
+	/**
+	 * Method signals writer that no more lines will be read. </br>
+	 * Every line that is written afterwards fails.
+	 */
+	public void closeRead() {
+		readerClosed = true;
+		queue.clear();
+	}
+	
+}
@@ -0,0 +1,113 @@
+package hr.fer.zemris.java.hw07.shell.pipeline;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellIOException;
+import hr.fer.zemris.java.hw07.shell.environment.DelegatingEnvironment;
+
+/**
+ * Implementation of {@link Environment} used by single command in pipeline. </br>
+ * Command reads lines from the {@link Pipe} of previous command </br>
+ * and writes lines to the {@link Pipe} of next command. </br>
+ * If there is no such pipe, calls are forwarded to the wrapped environment.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class PipeEnvironment extends DelegatingEnvironment {
+
+	/** pipe from which input is read, or {@code null} */
+	private Pipe input;
+	/** pipe to which output is written, or {@code null} */
+	private Pipe output;
+	/** text written by {@link #write(String)} that is not yet terminated by new line */
+	private StringBuilder partialLine = new StringBuilder();
+	
+	/**
+	 * Constructor that creates new {@code PipeEnvironment} object.
+	 * 
+	 * @param delegate environment to which remaining calls are forwarded
+	 * @param input    {@link #input}
+	 * @param output   {@link #output}
+	 */
+	public PipeEnvironment(Environment delegate, Pipe input, Pipe output) {
+		super(delegate);
+		this.input = input;
+		this.output = output;
+	}
+	
+	@Override
+	public String readLine() throws ShellIOException {
+		if (input == null)
+			return super.readLine();
+		return input.read();
+	}
+	
+	@Override
+	public boolean hasPipedInput() {
+		if (input == null)
+			return super.hasPipedInput();
+		return true;
+	}
+	
+	@Override
+	public void write(String text) throws ShellIOException {
+		if (output == null) {
+			super.write(text);
+			return;
+		}
+		int start = 0;
+		int newLine;
+		while ((newLine = text.indexOf('\n', start)) >= 0) {
+			partialLine.append(text, start, newLine);
+			output.write(partialLine.toString());
+			partialLine.setLength(0);
+			start = newLine + 1;
+		}
+		partialLine.append(text, start, text.length());
+	}
+	
+	@Override
+	public void writeln(String text) throws ShellIOException {
+		if (output == null) {
+			super.writeln(text);
+			return;
+		}
+		write(text);
+		output.write(partialLine.toString());
+		partialLine.setLength(0);
+	}
+	
+	@Override
+	public void flush() throws ShellIOException {
+		if (output == null)
+			super.flush();
+	}
+	
+	/**
+	 * Method checks whether next command in pipeline stopped reading output of this command.
+	 * 
+	 * @return {@code true} if output pipe is closed by its reader, {@code false} otherwise
+	 */
+	public boolean isOutputClosed() {
+		return output != null && output.isReaderClosed();
+	}
+	
+	/**
+	 * Method closes both pipes of this environment. </br>
+	 * Text that is not terminated by new line is written as last line, </br>
+	 * unless next command already stopped reading.
+	 */
+	public void close() {
+		if (input != null)
+			input.closeRead();
+		if (output != null) {
+			if (partialLine.length() > 0 && !output.isReaderClosed()) {
+				output.write(partialLine.toString());
+				partialLine.setLength(0);
+			}
+			output.closeWrite();
+		}
+	}
+	
+}
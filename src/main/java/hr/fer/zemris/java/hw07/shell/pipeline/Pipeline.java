@@ -0,0 +1,128 @@
+package hr.fer.zemris.java.hw07.shell.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellCommand;
+import hr.fer.zemris.java.hw07.shell.ShellIOException;
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+
+/**
+ * Class represents commands connected with {@code |} operator. </br>
+ * Every command runs concurrently in its own thread and output of each command </br>
+ * is streamed through bounded {@link Pipe} to the input of the next command. </br>
+ * Last command runs in the calling thread and writes to the given environment.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class Pipeline {
+
+	/** counter used for naming stage threads */
+	private static final AtomicInteger threadCounter = new AtomicInteger();
+	/** executor that runs every command except the last one */
+	private static final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+		Thread thread = new Thread(r, "pipeline-stage-" + threadCounter.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	});
+	
+	/** commands of pipeline */
+	private List<ShellCommand> commands = new ArrayList<>();
+	/** arguments of commands */
+	private List<String> arguments = new ArrayList<>();
+	
+	/**
+	 * Method adds command to the end of pipeline.
+	 * 
+	 * @param command   command that is added
+	 * @param arguments arguments of command
+	 * @throws NullPointerException if given command or arguments are {@code null}
+	 */
+	public void addCommand(ShellCommand command, String arguments) {
+		this.commands.add(Objects.requireNonNull(command, "Command must not be null"));
+		this.arguments.add(Objects.requireNonNull(arguments, "Arguments must not be null"));
+	}
+	
+	/**
+	 * Method executes all commands of pipeline and waits for them to finish.
+	 * 
+	 * @param env environment of shell
+	 * @return    {@link ShellStatus} of last command
+	 * @throws IllegalArgumentException if pipeline has no commands
+	 */
+	public ShellStatus execute(Environment env) {
+		int size = commands.size();
+		if (size == 0)
+			throw new IllegalArgumentException("Pipeline must contain at least one command.");
+		
+		PipeEnvironment[] environments = new PipeEnvironment[size];
+		Pipe input = null;
+		for (int i = 0; i < size; i++) {
+			Pipe output = i < size - 1 ? new Pipe() : null;
+			environments[i] = new PipeEnvironment(env, input, output);
+			input = output;
+		}
+		
+		List<Future<ShellStatus>> futures = new ArrayList<>();
+		for (int i = 0; i < size - 1; i++) {
+			int stage = i;
+			futures.add(executor.submit(() -> executeStage(stage, environments[stage])));
+		}
+		
+		ShellStatus status = ShellStatus.CONTINUE;
+		RuntimeException failure = null;
+		try {
+			status = executeStage(size - 1, environments[size - 1]);
+		} catch (RuntimeException ex) {
+			failure = ex;
+		}
+		
+		for (Future<ShellStatus> future : futures) {
+			try {
+				future.get();
+			} catch (ExecutionException ex) {
+				if (failure == null)
+					failure = ex.getCause() instanceof RuntimeException ?
+							(RuntimeException) ex.getCause() : new ShellIOException(ex.getCause().getMessage());
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new ShellIOException("Pipeline was interrupted.");
+			}
+		}
+		if (failure != null)
+			throw failure;
+		
+		return status;
+	}
+	
+	/**
+	 * Method executes single command of pipeline and closes its pipes afterwards. </br>
+	 * Command that fails because next command stopped reading its output is </br>
+	 * considered finished, same as command that is stopped by broken pipe in other shells.
+	 * 
+	 * @param stage index of command
+	 * @param env   environment of command
+	 * @return      {@link ShellStatus} of command
+	 */
+	private ShellStatus executeStage(int stage, PipeEnvironment env) {
+		try {
+			return commands.get(stage).executeCommand(env, arguments.get(stage));
+		} catch (ShellIOException ex) {
+			if (env.isOutputClosed())
+				return ShellStatus.CONTINUE;
+			throw ex;
+		} finally {
+			env.close();
+		}
+	}
+	
+}
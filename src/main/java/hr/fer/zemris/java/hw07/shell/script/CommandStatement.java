@@ -0,0 +1,33 @@
+package hr.fer.zemris.java.hw07.shell.script;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+import hr.fer.zemris.java.hw07.shell.dispatch.ParsedCommand;
+
+/**
+ * Statement that executes simple command which was resolved when script was compiled.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+class CommandStatement implements Statement {
+
+	/** resolved command with its arguments */
+	private final ParsedCommand command;
+	
+	/**
+	 * Constructor that creates new {@code CommandStatement} object.
+	 * 
+	 * @param command {@link #command}
+	 */
+	CommandStatement(ParsedCommand command) {
+		this.command = command;
+	}
+	
+	@Override
+	public ShellStatus execute(Environment env) {
+		return command.execute(env);
+	}
+	
+}
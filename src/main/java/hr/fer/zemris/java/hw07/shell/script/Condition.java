@@ -0,0 +1,22 @@
+package hr.fer.zemris.java.hw07.shell.script;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+
+/**
+ * Compiled condition of {@code if} and {@code while} statements.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public interface Condition {
+
+	/**
+	 * Method evaluates condition in given environment.
+	 * 
+	 * @param env environment in which condition is evaluated
+	 * @return    {@code true} if condition is satisfied, {@code false} otherwise
+	 */
+	boolean test(Environment env);
+	
+}
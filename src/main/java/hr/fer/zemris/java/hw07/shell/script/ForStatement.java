@@ -0,0 +1,57 @@
+package hr.fer.zemris.java.hw07.shell.script;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+import hr.fer.zemris.java.hw07.shell.commands.tools.CommandTools;
+
+/**
+ * Statement {@code for NAME in WORDS; do ...; done}. </br>
+ * Words are expanded once, when loop starts, and every line of every word </br>
+ * is assigned to the variable before body is executed, so {@code $(command)} </br>
+ * iterates over lines of output of command.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+class ForStatement implements Statement {
+
+	/** name of loop variable */
+	private final String name;
+	/** words over which loop iterates, before expansion */
+	private final String words;
+	/** body of loop */
+	private final Script body;
+	
+	/**
+	 * Constructor that creates new {@code ForStatement} object.
+	 * 
+	 * @param name  {@link #name}
+	 * @param words {@link #words}
+	 * @param body  {@link #body}
+	 */
+	ForStatement(String name, String words, Script body) {
+		this.name = name;
+		this.words = words;
+		this.body = body;
+	}
+	
+	@Override
+	public ShellStatus execute(Environment env) {
+		for (String word : CommandTools.getArguments(env, words, true)) {
+			int start = 0;
+			while (start <= word.length()) {
+				int end = word.indexOf('\n', start);
+				if (end < 0) {
+					end = word.length();
+				}
+				env.setVariable(name, word.substring(start, end));
+				if (body.execute(env) == ShellStatus.TERMINATE)
+					return ShellStatus.TERMINATE;
+				start = end + 1;
+			}
+		}
+		return ShellStatus.CONTINUE;
+	}
+	
+}
@@ -0,0 +1,47 @@
+package hr.fer.zemris.java.hw07.shell.script;
+
+import java.util.List;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+
+/**
+ * Statement {@code if CONDITION; then ...; elif CONDITION; then ...; else ...; fi}. </br>
+ * Body of first satisfied condition is executed, or body of {@code else} if there is no such condition.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+class IfStatement implements Statement {
+
+	/** conditions of {@code if} and every {@code elif} */
+	private final Condition[] conditions;
+	/** bodies of {@code if} and every {@code elif} */
+	private final Script[] bodies;
+	/** body of {@code else}, or {@code null} if there is none */
+	private final Script otherwise;
+	
+	/**
+	 * Constructor that creates new {@code IfStatement} object.
+	 * 
+	 * @param conditions {@link #conditions}
+	 * @param bodies     {@link #bodies}
+	 * @param otherwise  {@link #otherwise}
+	 */
+	IfStatement(List<Condition> conditions, List<Script> bodies, Script otherwise) {
+		this.conditions = conditions.toArray(new Condition[0]);
+		this.bodies = bodies.toArray(new Script[0]);
+		this.otherwise = otherwise;
+	}
+	
+	@Override
+	public ShellStatus execute(Environment env) {
+		for (int i = 0; i < conditions.length; i++) {
+			if (conditions[i].test(env))
+				return bodies[i].execute(env);
+		}
+		return otherwise == null ? ShellStatus.CONTINUE : otherwise.execute(env);
+	}
+	
+}
@@ -0,0 +1,38 @@
+package hr.fer.zemris.java.hw07.shell.script;
+
+import hr.fer.zemris.java.hw07.shell.CommandLineExecutor;
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+
+/**
+ * Statement that executes command line with pipeline, redirection or background job </br>
+ * through {@link CommandLineExecutor}, which keeps it parsed after first execution.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+class LineStatement implements Statement {
+
+	/** executor of command line */
+	private final CommandLineExecutor executor;
+	/** command line that is executed */
+	private final String commandLine;
+	
+	/**
+	 * Constructor that creates new {@code LineStatement} object.
+	 * 
+	 * @param executor    {@link #executor}
+	 * @param commandLine {@link #commandLine}
+	 */
+	LineStatement(CommandLineExecutor executor, String commandLine) {
+		this.executor = executor;
+		this.commandLine = commandLine;
+	}
+	
+	@Override
+	public ShellStatus execute(Environment env) {
+		return executor.execute(env, commandLine);
+	}
+	
+}
@@ -0,0 +1,56 @@
+package hr.fer.zemris.java.hw07.shell.script;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.commands.tools.CommandTools;
+
+/**
+ * Single word of condition. </br>
+ * Word without expansions is parsed when script is compiled, </br>
+ * word with expansions is expanded every time condition is evaluated.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+class Operand {
+
+	/** word as it is written in script */
+	private final String word;
+	/** value of word without expansions, or {@code null} if word has to be expanded */
+	private final String value;
+	
+	/**
+	 * Constructor that creates new {@code Operand} object.
+	 * 
+	 * @param word {@link #word}
+	 * @throws IllegalArgumentException if word is not single valid argument
+	 */
+	Operand(String word) {
+		this.word = word;
+		this.value = word.indexOf('$') < 0 ? single(CommandTools.getArguments(word, true)) : null;
+	}
+	
+	/**
+	 * Method returns value of operand.
+	 * 
+	 * @param env environment whose variables are used for expansion
+	 * @return    value of operand
+	 */
+	String evaluate(Environment env) {
+		return value != null ? value : single(CommandTools.getArguments(env, word, true));
+	}
+	
+	/**
+	 * Method returns only argument of given array.
+	 * 
+	 * @param arguments arguments of word
+	 * @return          only argument, or empty string if there are no arguments
+	 * @throws IllegalArgumentException if there are more arguments
+	 */
+	private String single(String[] arguments) {
+		if (arguments.length > 1)
+			throw new IllegalArgumentException("Invalid condition. Expected single word. Was: " + word);
+		return arguments.length == 0 ? "" : arguments[0];
+	}
+	
+}
@@ -0,0 +1,79 @@
+package hr.fer.zemris.java.hw07.shell.script;
+
+import java.util.List;
+import java.util.Objects;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellIOException;
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+
+/**
+ * Compiled script, which is sequence of statements. </br>
+ * Script is compiled once by {@link ScriptCompiler} and can be executed any number of times.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class Script implements Statement {
+
+	/** statements of script */
+	private final Statement[] statements;
+	/** flag that tells whether any command of script was resolved through alias */
+	private boolean aliased;
+	
+	/**
+	 * Constructor that creates new {@code Script} object.
+	 * 
+	 * @param statements statements of script
+	 * @throws NullPointerException if given list is {@code null}
+	 */
+	public Script(List<Statement> statements) {
+		Objects.requireNonNull(statements, "Statements must not be null");
+		this.statements = statements.toArray(new Statement[0]);
+	}
+	
+	/**
+	 * Method executes statements one after another. </br>
+	 * Execution stops when statement terminates shell or when thread is interrupted.
+	 * 
+	 * @throws ShellIOException if thread that executes script is interrupted
+	 */
+	@Override
+	public ShellStatus execute(Environment env) {
+		for (Statement statement : statements) {
+			if (Thread.currentThread().isInterrupted())
+				throw new ShellIOException("Script was interrupted.");
+			if (statement.execute(env) == ShellStatus.TERMINATE)
+				return ShellStatus.TERMINATE;
+		}
+		return ShellStatus.CONTINUE;
+	}
+	
+	/**
+	 * Method checks whether any command of script was resolved through alias. </br>
+	 * Such script depends on aliases of session in which it was compiled.
+	 * 
+	 * @return {@code true} if script uses aliases, {@code false} otherwise
+	 */
+	public boolean usesAliases() {
+		return aliased;
+	}
+	
+	/**
+	 * Method marks that script uses aliases.
+	 */
+	void markAliased() {
+		aliased = true;
+	}
+	
+	/**
+	 * Method returns number of statements at top level of script.
+	 * 
+	 * @return number of statements
+	 */
+	public int size() {
+		return statements.length;
+	}
+	
+}
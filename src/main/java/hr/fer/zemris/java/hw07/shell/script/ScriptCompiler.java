@@ -0,0 +1,504 @@
+package hr.fer.zemris.java.hw07.shell.script;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import hr.fer.zemris.java.hw07.shell.CommandLineExecutor;
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.dispatch.ParsedCommand;
+import hr.fer.zemris.java.hw07.shell.lexer.ShellLexer;
+
+/**
+ * Compiler of shell scripts into {@link Script}. </p>
+ * 
+ * Statements are separated by new lines or by {@code ;} outside of double quotes. </br>
+ * Statement that starts with {@code #} is comment. Supported control statements are: </br>
+ * {@code for NAME in WORDS; do ...; done} </br>
+ * {@code while [ EXPRESSION ]; do ...; done} </br>
+ * {@code if [ EXPRESSION ]; then ...; elif [ EXPRESSION ]; then ...; else ...; fi} </br>
+ * Expressions are described in {@link TestCondition}. </p>
+ * 
+ * Every other statement is command line. Simple command is resolved to {@link hr.fer.zemris.java.hw07.shell.ShellCommand} </br>
+ * while script is compiled, so loops execute commands without tokenizing command lines </br>
+ * and without looking commands up again. Command line with pipeline, redirection or </br>
+ * background job is executed by {@link CommandLineExecutor}.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class ScriptCompiler {
+	
+	/** keyword that starts {@code for} loop */
+	public static final String FOR = "for";
+	/** keyword that starts {@code while} loop */
+	public static final String WHILE = "while";
+	/** keyword that starts {@code if} statement */
+	public static final String IF = "if";
+	/** keyword that separates loop variable from words */
+	private static final String IN = "in";
+	/** keyword that starts body of loop */
+	private static final String DO = "do";
+	/** keyword that ends body of loop */
+	private static final String DONE = "done";
+	/** keyword that starts body of {@code if} statement */
+	private static final String THEN = "then";
+	/** keyword that starts next condition of {@code if} statement */
+	private static final String ELIF = "elif";
+	/** keyword that starts body which is executed if no condition is satisfied */
+	private static final String ELSE = "else";
+	/** keyword that ends {@code if} statement */
+	private static final String FI = "fi";
+	/** symbol that separates statements in single line */
+	private static final char SEPARATOR = ';';
+	/** symbol that starts comment */
+	private static final char COMMENT = '#';
+	
+	/** executor used for resolving commands */
+	private CommandLineExecutor executor;
+	/** environment whose aliases are used, or {@code null} if aliases are not used */
+	private Environment env;
+	/** flag that tells whether any command was resolved through alias */
+	private boolean usesAliases;
+	/** statements of script */
+	private List<Line> lines;
+	/** index of next statement that is compiled */
+	private int position;
+	
+	/**
+	 * Constructor that creates new {@code ScriptCompiler} object.
+	 * 
+	 * @param text     text of script
+	 * @param executor {@link #executor}
+	 * @param env      {@link #env}
+	 */
+	private ScriptCompiler(CharSequence text, CommandLineExecutor executor, Environment env) {
+		this.executor = executor;
+		this.env = env;
+		this.lines = split(text);
+	}
+	
+	/**
+	 * Method compiles given script.
+	 * 
+	 * @param text     text of script
+	 * @param executor executor used for resolving commands
+	 * @return         compiled script
+	 * @throws IllegalArgumentException if script is not valid or if it contains invalid command
+	 * @throws NullPointerException if any argument is {@code null}
+	 */
+	public static Script compile(CharSequence text, CommandLineExecutor executor) {
+		return compile(text, executor, null);
+	}
+	
+	/**
+	 * Method compiles given script, resolving aliases of session </br>
+	 * to which given environment belongs.
+	 * 
+	 * @param text     text of script
+	 * @param executor executor used for resolving commands
+	 * @param env      environment whose aliases are used, or {@code null} if aliases are not used
+	 * @return         compiled script
+	 * @throws IllegalArgumentException if script is not valid or if it contains invalid command
+	 * @throws NullPointerException if text or executor is {@code null}
+	 */
+	public static Script compile(CharSequence text, CommandLineExecutor executor, Environment env) {
+		Objects.requireNonNull(text, "Script must not be null");
+		Objects.requireNonNull(executor, "Executor must not be null");
+		
+		ScriptCompiler compiler = new ScriptCompiler(text, executor, env);
+		Script script = compiler.parseBlock();
+		if (compiler.position < compiler.lines.size()) {
+			Line line = compiler.lines.get(compiler.position);
+			throw new IllegalArgumentException("Invalid script. Unexpected '" + line.keyword + "' at line " + line.number + ".");
+		}
+		if (compiler.usesAliases) {
+			script.markAliased();
+		}
+		return script;
+	}
+	
+	/**
+	 * Method checks whether given command line starts control statement. </br>
+	 * Comments before first statement are skipped.
+	 * 
+	 * @param commandLine command line that is checked
+	 * @return            {@code true} if command line starts with {@code for}, 
+	 *                    {@code while} or {@code if}, {@code false} otherwise
+	 */
+	public static boolean isScript(CharSequence commandLine) {
+		if (commandLine == null)
+			return false;
+		
+		int start = 0;
+		int n = commandLine.length();
+		while (start < n) {
+			char c = commandLine.charAt(start);
+			if (c == COMMENT) {
+				while (start < n && commandLine.charAt(start) != '\n') {
+					start++;
+				}
+			} else if (!Character.isWhitespace(c)) {
+				break;
+			}
+			start++;
+		}
+		int end = start;
+		while (end < n && !Character.isWhitespace(commandLine.charAt(end)) && commandLine.charAt(end) != SEPARATOR) {
+			end++;
+		}
+		String keyword = commandLine.subSequence(Math.min(start, n), end).toString();
+		return keyword.equals(FOR) || keyword.equals(WHILE) || keyword.equals(IF);
+	}
+	
+	/**
+	 * Method returns number of control statements that given text opens </br>
+	 * minus number of control statements that it closes.
+	 * 
+	 * @param text text that is checked
+	 * @return     change of nesting depth
+	 */
+	public static int getDepthChange(CharSequence text) {
+		int change = 0;
+		for (Line line : split(text)) {
+			switch (line.keyword) {
+			case FOR: case WHILE: case IF:
+				change++;
+				break;
+			case DONE: case FI:
+				change--;
+				break;
+			default:
+				break;
+			}
+		}
+		return change;
+	}
+	
+	/**
+	 * Method compiles statements until statement which starts with one of given keywords.
+	 * 
+	 * @param terminators keywords that end block
+	 * @return            compiled block
+	 * @throws IllegalArgumentException if script ends before block is ended
+	 */
+	private Script parseBlock(String... terminators) {
+		List<Statement> statements = new ArrayList<>();
+		while (position < lines.size()) {
+			Line line = lines.get(position);
+			for (String terminator : terminators) {
+				if (line.keyword.equals(terminator))
+					return new Script(statements);
+			}
+			position++;
+			statements.add(parseStatement(line));
+		}
+		if (terminators.length > 0)
+			throw new IllegalArgumentException("Invalid script. Missing '" + terminators[terminators.length - 1] + "' at the end of script.");
+		return new Script(statements);
+	}
+	
+	/**
+	 * Method compiles single statement.
+	 * 
+	 * @param line first line of statement
+	 * @return     compiled statement
+	 * @throws IllegalArgumentException if statement is not valid
+	 */
+	private Statement parseStatement(Line line) {
+		switch (line.keyword) {
+		case FOR:
+			return parseFor(line);
+		case WHILE:
+			return parseWhile(line);
+		case IF:
+			return parseIf(line);
+		case DO: case DONE: case THEN: case ELIF: case ELSE: case FI:
+			throw new IllegalArgumentException("Invalid script. Unexpected '" + line.keyword + "' at line " + line.number + ".");
+		default:
+			try {
+				ParsedCommand parsed = executor.parse(env, line.text);
+				if (parsed != null && parsed.isAlias()) {
+					usesAliases = true;
+				}
+				return parsed != null ? new CommandStatement(parsed) : new LineStatement(executor, line.text);
+			} catch (IllegalArgumentException ex) {
+				throw new IllegalArgumentException(ex.getMessage() + " (line " + line.number + ")");
+			}
+		}
+	}
+	
+	/**
+	 * Method compiles {@code for} loop.
+	 * 
+	 * @param line line with loop variable and words
+	 * @return     compiled loop
+	 * @throws IllegalArgumentException if loop is not valid
+	 */
+	private Statement parseFor(Line line) {
+		List<int[]> words = splitWords(line.text);
+		if (words.size() < 3 || !word(line, words, 2).equals(IN) || !ShellLexer.isVariableName(word(line, words, 1)))
+			throw new IllegalArgumentException("Invalid for loop at line " + line.number + ". Expected: for NAME in WORDS");
+		
+		String name = word(line, words, 1);
+		String items = words.size() > 3 ? line.text.substring(words.get(3)[0]) : "";
+		expect(DO);
+		Script body = parseBlock(DONE);
+		expect(DONE);
+		return new ForStatement(name, items, body);
+	}
+	
+	/**
+	 * Method compiles {@code while} loop.
+	 * 
+	 * @param line line with condition of loop
+	 * @return     compiled loop
+	 * @throws IllegalArgumentException if loop is not valid
+	 */
+	private Statement parseWhile(Line line) {
+		Condition condition = parseCondition(line);
+		expect(DO);
+		Script body = parseBlock(DONE);
+		expect(DONE);
+		return new WhileStatement(condition, body);
+	}
+	
+	/**
+	 * Method compiles {@code if} statement with all its {@code elif} and {@code else} parts.
+	 * 
+	 * @param line line with first condition
+	 * @return     compiled statement
+	 * @throws IllegalArgumentException if statement is not valid
+	 */
+	private Statement parseIf(Line line) {
+		List<Condition> conditions = new ArrayList<>();
+		List<Script> bodies = new ArrayList<>();
+		conditions.add(parseCondition(line));
+		expect(THEN);
+		bodies.add(parseBlock(ELIF, ELSE, FI));
+		
+		Script otherwise = null;
+		while (true) {
+			Line next = lines.get(position++);
+			if (next.keyword.equals(ELIF)) {
+				conditions.add(parseCondition(next));
+				expect(THEN);
+				bodies.add(parseBlock(ELIF, ELSE, FI));
+			} else if (next.keyword.equals(ELSE)) {
+				otherwise = parseBlock(FI);
+				expect(FI);
+				break;
+			} else {
+				position--;
+				expect(FI);
+				break;
+			}
+		}
+		return new IfStatement(conditions, bodies, otherwise);
+	}
+	
+	/**
+	 * Method compiles condition written after keyword of given line.
+	 * 
+	 * @param line line with condition
+	 * @return     compiled condition
+	 * @throws IllegalArgumentException if condition is not valid
+	 */
+	private Condition parseCondition(Line line) {
+		List<int[]> words = splitWords(line.text);
+		int last = words.size() - 1;
+		if (last < 2 || !word(line, words, 1).equals("[") || !word(line, words, last).equals("]"))
+			throw new IllegalArgumentException("Invalid condition at line " + line.number + ". Expected: " + line.keyword + " [ EXPRESSION ]");
+		
+		List<String> expression = new ArrayList<>();
+		for (int i = 2; i < last; i++) {
+			expression.add(word(line, words, i));
+		}
+		try {
+			return new TestCondition(expression);
+		} catch (IllegalArgumentException ex) {
+			throw new IllegalArgumentException(ex.getMessage() + " (line " + line.number + ")");
+		}
+	}
+	
+	/**
+	 * Method skips statement with given keyword.
+	 * 
+	 * @param keyword keyword that is expected
+	 * @throws IllegalArgumentException if next statement does not start with given keyword
+	 */
+	private void expect(String keyword) {
+		if (position >= lines.size())
+			throw new IllegalArgumentException("Invalid script. Missing '" + keyword + "' at the end of script.");
+		Line line = lines.get(position);
+		if (!line.keyword.equals(keyword))
+			throw new IllegalArgumentException("Invalid script. Expected '" + keyword + "' at line " + line.number + ". Was: " + line.keyword);
+		if (!line.text.equals(keyword))
+			throw new IllegalArgumentException("Invalid script. Unexpected text after '" + keyword + "' at line " + line.number + ".");
+		position++;
+	}
+	
+	/**
+	 * Method splits given text into statements. </br>
+	 * Comments and empty statements are skipped and statement that starts with </br>
+	 * {@code do}, {@code then} or {@code else} is split after that keyword.
+	 * 
+	 * @param text text that is split
+	 * @return     list of statements
+	 */
+	private static List<Line> split(CharSequence text) {
+		List<Line> lines = new ArrayList<>();
+		boolean inQuotes = false;
+		int number = 1;
+		int startNumber = 1;
+		int start = 0;
+		int n = text.length();
+		for (int i = 0; i < n; i++) {
+			char c = text.charAt(i);
+			if (inQuotes && c == '\\') {
+				i++;
+			} else if (c == '"') {
+				inQuotes = !inQuotes;
+			} else if (c == '$' && i + 1 < n && text.charAt(i + 1) == '(') {
+				int end = ShellLexer.findSubstitutionEnd(text, i + 1);
+				if (end < 0)
+					break;
+				for (int j = i; j < end; j++) {
+					if (text.charAt(j) == '\n') {
+						number++;
+					}
+				}
+				i = end;
+			} else if (!inQuotes && (c == SEPARATOR || c == '\n')) {
+				addLine(lines, text.subSequence(start, i).toString(), startNumber);
+				start = i + 1;
+				startNumber = c == '\n' ? number + 1 : number;
+			}
+			if (i < n && text.charAt(i) == '\n') {
+				number++;
+			}
+		}
+		if (start < n) {
+			addLine(lines, text.subSequence(start, n).toString(), startNumber);
+		}
+		return lines;
+	}
+	
+	/**
+	 * Method adds given statement to the list of statements.
+	 * 
+	 * @param lines  list of statements
+	 * @param text   text of statement
+	 * @param number number of line in which statement starts
+	 */
+	private static void addLine(List<Line> lines, String text, int number) {
+		text = text.trim();
+		if (text.isEmpty() || text.charAt(0) == COMMENT)
+			return;
+		
+		String keyword = firstWord(text);
+		if ((keyword.equals(DO) || keyword.equals(THEN) || keyword.equals(ELSE)) && text.length() > keyword.length()) {
+			lines.add(new Line(keyword, number));
+			addLine(lines, text.substring(keyword.length()), number);
+		} else {
+			lines.add(new Line(text, number));
+		}
+	}
+	
+	/**
+	 * Method returns first word of given trimmed text.
+	 * 
+	 * @param text text whose first word is returned
+	 * @return     first word
+	 */
+	private static String firstWord(String text) {
+		int end = 0;
+		while (end < text.length() && !Character.isWhitespace(text.charAt(end))) {
+			end++;
+		}
+		return text.substring(0, end);
+	}
+	
+	/**
+	 * Method splits given statement into words separated by whitespaces </br>
+	 * outside of double quotes and command substitutions.
+	 * 
+	 * @param text statement that is split
+	 * @return     list of start and end indexes of words
+	 */
+	private static List<int[]> splitWords(String text) {
+		List<int[]> words = new ArrayList<>();
+		int start = -1;
+		boolean inQuotes = false;
+		int n = text.length();
+		for (int i = 0; i < n; i++) {
+			char c = text.charAt(i);
+			if (!inQuotes && Character.isWhitespace(c)) {
+				if (start >= 0) {
+					words.add(new int[] {start, i});
+					start = -1;
+				}
+				continue;
+			}
+			if (start < 0) {
+				start = i;
+			}
+			if (inQuotes && c == '\\') {
+				i++;
+			} else if (c == '"') {
+				inQuotes = !inQuotes;
+			} else if (c == '$' && i + 1 < n && text.charAt(i + 1) == '(') {
+				int end = ShellLexer.findSubstitutionEnd(text, i + 1);
+				i = end < 0 ? n : end;
+			}
+		}
+		if (start >= 0) {
+			words.add(new int[] {start, n});
+		}
+		return words;
+	}
+	
+	/**
+	 * Method returns word of statement with given index.
+	 * 
+	 * @param line  statement
+	 * @param words start and end indexes of words
+	 * @param index index of word
+	 * @return      word
+	 */
+	private static String word(Line line, List<int[]> words, int index) {
+		int[] word = words.get(index);
+		return line.text.substring(word[0], word[1]);
+	}
+	
+	/**
+	 * Single statement of script with number of line in which it starts.
+	 * 
+	 * @author Ante Gazibarić
+	 * @version 1.0
+	 *
+	 */
+	private static class Line {
+		
+		/** trimmed text of statement */
+		private final String text;
+		/** first word of statement */
+		private final String keyword;
+		/** number of line in which statement starts */
+		private final int number;
+		
+		/**
+		 * Constructor that creates new {@code Line} object.
+		 * 
+		 * @param text   {@link #text}
+		 * @param number {@link #number}
+		 */
+		public Line(String text, int number) {
+			this.text = text;
+			this.keyword = firstWord(text);
+			this.number = number;
+		}
+	}
+	
+}
@@ -0,0 +1,24 @@
+package hr.fer.zemris.java.hw07.shell.script;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+
+/**
+ * Single compiled statement of {@link Script}.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public interface Statement {
+
+	/**
+	 * Method executes statement in given environment.
+	 * 
+	 * @param env environment in which statement is executed
+	 * @return    {@link ShellStatus#TERMINATE} if shell should be terminated, 
+	 *            {@link ShellStatus#CONTINUE} otherwise
+	 */
+	ShellStatus execute(Environment env);
+	
+}
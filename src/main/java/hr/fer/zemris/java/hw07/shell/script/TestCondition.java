@@ -0,0 +1,170 @@
+package hr.fer.zemris.java.hw07.shell.script;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.commands.tools.AttributeCache;
+import hr.fer.zemris.java.hw07.shell.commands.tools.CommandTools;
+
+/**
+ * Condition written as {@code [ EXPRESSION ]}. </p>
+ * 
+ * Supported expressions are: </br>
+ * {@code STRING} - string is not empty </br>
+ * {@code -z STRING}, {@code -n STRING} - string is empty, string is not empty </br>
+ * {@code -e PATH}, {@code -f PATH}, {@code -d PATH} - path exists, is file, is directory </br>
+ * {@code A = B}, {@code A != B} - strings are equal, are not equal </br>
+ * {@code A -eq B}, {@code -ne}, {@code -lt}, {@code -le}, {@code -gt}, {@code -ge} - comparison of integers </br>
+ * Expression that starts with {@code !} is negated.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+class TestCondition implements Condition {
+
+	/** operator of expression, or {@code null} if expression is single string */
+	private final String operator;
+	/** first operand, or only operand of unary expression */
+	private final Operand first;
+	/** second operand of binary expression */
+	private final Operand second;
+	/** flag that tells whether expression is negated */
+	private final boolean negated;
+	
+	/**
+	 * Constructor that creates new {@code TestCondition} object from words between brackets.
+	 * 
+	 * @param words words of expression
+	 * @throws IllegalArgumentException if expression is not valid
+	 */
+	TestCondition(List<String> words) {
+		int start = 0;
+		negated = !words.isEmpty() && words.get(0).equals("!");
+		if (negated) {
+			start++;
+		}
+		
+		int size = words.size() - start;
+		if (size == 1) {
+			operator = null;
+			first = new Operand(words.get(start));
+			second = null;
+		} else if (size == 2 && isUnary(words.get(start))) {
+			operator = words.get(start);
+			first = new Operand(words.get(start + 1));
+			second = null;
+		} else if (size == 3 && isBinary(words.get(start + 1))) {
+			operator = words.get(start + 1);
+			first = new Operand(words.get(start));
+			second = new Operand(words.get(start + 2));
+		} else {
+			throw new IllegalArgumentException("Invalid condition. Was: [ " + String.join(" ", words) + " ]");
+		}
+	}
+	
+	@Override
+	public boolean test(Environment env) {
+		return evaluate(env) != negated;
+	}
+	
+	/**
+	 * Method evaluates expression without negation.
+	 * 
+	 * @param env environment in which expression is evaluated
+	 * @return    value of expression
+	 */
+	private boolean evaluate(Environment env) {
+		String a = first.evaluate(env);
+		if (operator == null)
+			return !a.isEmpty();
+		
+		switch (operator) {
+		case "-z": return a.isEmpty();
+		case "-n": return !a.isEmpty();
+		case "-e":
+		case "-f":
+		case "-d":
+			BasicFileAttributes attributes = AttributeCache.of(env).get(resolve(env, a));
+			if (attributes == null)
+				return false;
+			switch (operator) {
+			case "-f": return attributes.isRegularFile();
+			case "-d": return attributes.isDirectory();
+			default: return true;
+			}
+		default:
+			break;
+		}
+		
+		String b = second.evaluate(env);
+		switch (operator) {
+		case "=": return a.equals(b);
+		case "!=": return !a.equals(b);
+		default:
+			int comparison = Long.compare(toLong(a), toLong(b));
+			switch (operator) {
+			case "-eq": return comparison == 0;
+			case "-ne": return comparison != 0;
+			case "-lt": return comparison < 0;
+			case "-le": return comparison <= 0;
+			case "-gt": return comparison > 0;
+			default: return comparison >= 0;
+			}
+		}
+	}
+	
+	/**
+	 * Method resolves given path against current directory.
+	 * 
+	 * @param env  environment whose current directory is used
+	 * @param path path that is resolved
+	 * @return     resolved path
+	 */
+	private Path resolve(Environment env, String path) {
+		return CommandTools.getResolvedPathFrom(env.getCurrentDirectory(), path);
+	}
+	
+	/**
+	 * Method parses given integer.
+	 * 
+	 * @param value value that is parsed
+	 * @return      parsed integer
+	 * @throws IllegalArgumentException if value is not integer
+	 */
+	private static long toLong(String value) {
+		try {
+			return Long.parseLong(value.trim());
+		} catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("Invalid condition. Expected integer. Was: " + value);
+		}
+	}
+	
+	/**
+	 * Method checks whether given word is unary operator.
+	 * 
+	 * @param word word that is checked
+	 * @return     {@code true} if word is unary operator, {@code false} otherwise
+	 */
+	private static boolean isUnary(String word) {
+		return word.equals("-z") || word.equals("-n") || word.equals("-e") || word.equals("-f") || word.equals("-d");
+	}
+	
+	/**
+	 * Method checks whether given word is binary operator.
+	 * 
+	 * @param word word that is checked
+	 * @return     {@code true} if word is binary operator, {@code false} otherwise
+	 */
+	private static boolean isBinary(String word) {
+		switch (word) {
+		case "=": case "!=": case "-eq": case "-ne": case "-lt": case "-le": case "-gt": case "-ge":
+			return true;
+		default:
+			return false;
+		}
+	}
+	
+}
@@ -0,0 +1,40 @@
+package hr.fer.zemris.java.hw07.shell.script;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+
+/**
+ * Statement {@code while CONDITION; do ...; done}.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+class WhileStatement implements Statement {
+
+	/** condition of loop */
+	private final Condition condition;
+	/** body of loop */
+	private final Script body;
+	
+	/**
+	 * Constructor that creates new {@code WhileStatement} object.
+	 * 
+	 * @param condition {@link #condition}
+	 * @param body      {@link #body}
+	 */
+	WhileStatement(Condition condition, Script body) {
+		this.condition = condition;
+		this.body = body;
+	}
+	
+	@Override
+	public ShellStatus execute(Environment env) {
+		while (condition.test(env)) {
+			if (body.execute(env) == ShellStatus.TERMINATE)
+				return ShellStatus.TERMINATE;
+		}
+		return ShellStatus.CONTINUE;
+	}
+	
+}
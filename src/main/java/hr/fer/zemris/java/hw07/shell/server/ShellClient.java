@@ -0,0 +1,111 @@
+package hr.fer.zemris.java.hw07.shell.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Thin client of {@link ShellServer}. </br>
+ * It sends everything that is read from standard input to the server </br>
+ * and writes everything that server sends to the standard output. </p>
+ * 
+ * Program accepts port of the server and optional path of token file of the server, </br>
+ * which is {@link ShellServer#getDefaultTokenFile() default token file} if it is not given. </br>
+ * Token is sent to the server before anything else.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class ShellClient {
+	
+	/** size of buffer used for copying data */
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * Main method. Accepts port of the server and optional path of token file.
+	 * 
+	 * @param args command-line arguments
+	 */
+	public static void main(String[] args) {
+		if (args.length != 1 && args.length != 2) {
+			System.err.println("Invalid number of arguments. Expected: 1 or 2. Was: " + args.length);
+			return;
+		}
+		
+		Path tokenFile = args.length == 2 ? Paths.get(args[1]) : ShellServer.getDefaultTokenFile();
+		try (Socket socket = connect(Integer.parseInt(args[0]), tokenFile)) {
+			Thread output = new Thread(() -> {
+				try {
+					transfer(socket.getInputStream(), System.out);
+				} catch (IOException ex) {
+					System.err.println(ex.getMessage());
+				}
+			}, "shell-client-output");
+			output.start();
+			
+			try {
+				transfer(System.in, socket.getOutputStream());
+				socket.shutdownOutput();
+			} catch (IOException ex) {
+				// server closed connection
+			}
+			output.join();
+		} catch (NumberFormatException ex) {
+			System.err.println("Port must be number. Was: " + args[0]);
+		} catch (IOException ex) {
+			System.err.println("Failed to connect to the server: " + ex.getMessage());
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Method connects to the server on given loopback port and sends token read from given file.
+	 * 
+	 * @param port         port of the server
+	 * @param tokenFile    token file of the server
+	 * @return             connected socket
+	 * @throws IOException if token can not be read or connection fails
+	 */
+	public static Socket connect(int port, Path tokenFile) throws IOException {
+		List<String> lines = Files.readAllLines(tokenFile, ShellServer.CHARSET);
+		if (lines.isEmpty())
+			throw new IOException("Token file is empty: " + tokenFile);
+		
+		Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+		try {
+			socket.setTcpNoDelay(true);
+			OutputStream os = socket.getOutputStream();
+			os.write((lines.get(0).trim() + "\n").getBytes(ShellServer.CHARSET));
+			os.flush();
+			return socket;
+		} catch (IOException ex) {
+			socket.close();
+			throw ex;
+		}
+	}
+	
+	/**
+	 * Method copies all bytes from given input stream to the given output stream.
+	 * 
+	 * @param is           stream from which bytes are read
+	 * @param os           stream to which bytes are written
+	 * @throws IOException if error occurred during copying
+	 */
+	private static void transfer(InputStream is, OutputStream os) throws IOException {
+		byte[] buff = new byte[BUFFER_SIZE];
+		int r;
+		while ((r = is.read(buff)) > 0) {
+			os.write(buff, 0, r);
+			os.flush();
+		}
+	}
+	
+}
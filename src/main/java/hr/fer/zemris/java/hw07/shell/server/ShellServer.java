@@ -0,0 +1,260 @@
+package hr.fer.zemris.java.hw07.shell.server;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import hr.fer.zemris.java.hw07.crypto.Util;
+import hr.fer.zemris.java.hw07.shell.MyShell;
+
+/**
+ * Server that runs {@link MyShell} sessions for clients connected to the loopback port. </br>
+ * Every connection gets its own session with its own environment and runs in its own thread, </br>
+ * while all sessions share map of commands. </br>
+ * This way many shells run inside single program instead of starting new program for every shell. </p>
+ * 
+ * Loopback port can be reached by every local user, so server writes random token to the </br>
+ * token file which only its owner can read and write. First line that client sends must be </br>
+ * that token, otherwise connection is closed before session is started. </br>
+ * Token file is deleted when server is closed.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class ShellServer implements Closeable {
+
+	/** charset used for communication with clients */
+	public static final Charset CHARSET = StandardCharsets.UTF_8;
+	/** name of default token file in home directory of user */
+	public static final String DEFAULT_TOKEN_FILE = ".myshell_server_token";
+	/** size of buffer used for reading commands */
+	private static final int READER_BUFFER_SIZE = 1 << 16;
+	/** number of random bytes of token */
+	private static final int TOKEN_BYTES = 32;
+	/** time in milliseconds in which client must send token */
+	private static final int AUTHENTICATION_TIMEOUT = 10_000;
+	/** message sent to client whose token is not valid */
+	private static final String AUTHENTICATION_FAILED = "Authentication failed.";
+	
+	/** counter used for naming session threads */
+	private static final AtomicInteger threadCounter = new AtomicInteger();
+	
+	/** channel that accepts connections */
+	private ServerSocketChannel serverChannel;
+	/** file with token of server */
+	private Path tokenFile;
+	/** token that clients must send */
+	private byte[] token;
+	/** executor that runs sessions */
+	private ExecutorService executor = Executors.newCachedThreadPool(r -> {
+		Thread thread = new Thread(r, "shell-session-" + threadCounter.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	});
+	/** number of sessions that are currently running */
+	private AtomicInteger activeSessions = new AtomicInteger();
+	
+	/**
+	 * Constructor that creates new {@code ShellServer} bound to the given loopback port, </br>
+	 * whose token is written to the {@link #getDefaultTokenFile() default token file}.
+	 * 
+	 * @param port         port number, or 0 for any free port
+	 * @throws IOException if server can not be bound to the given port or token can not be written
+	 */
+	public ShellServer(int port) throws IOException {
+		this(port, getDefaultTokenFile());
+	}
+	
+	/**
+	 * Constructor that creates new {@code ShellServer} bound to the given loopback port.
+	 * 
+	 * @param port         port number, or 0 for any free port
+	 * @param tokenFile    {@link #tokenFile}, which is replaced if it exists
+	 * @throws IOException if server can not be bound to the given port or token can not be written
+	 */
+	public ShellServer(int port, Path tokenFile) throws IOException {
+		this.tokenFile = Objects.requireNonNull(tokenFile, "Token file must not be null");
+		byte[] random = new byte[TOKEN_BYTES];
+		new SecureRandom().nextBytes(random);
+		String tokenText = Util.bytesToHex(random);
+		token = tokenText.getBytes(CHARSET);
+		writeTokenFile(tokenFile, tokenText);
+		
+		serverChannel = ServerSocketChannel.open();
+		try {
+			serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+		} catch (IOException ex) {
+			serverChannel.close();
+			Files.deleteIfExists(tokenFile);
+			throw ex;
+		}
+	}
+	
+	/**
+	 * Method returns default token file, which is {@value #DEFAULT_TOKEN_FILE} </br>
+	 * in home directory of user.
+	 * 
+	 * @return path of default token file
+	 */
+	public static Path getDefaultTokenFile() {
+		return Paths.get(System.getProperty("user.home"), DEFAULT_TOKEN_FILE);
+	}
+	
+	/**
+	 * Method writes token to the new file that only its owner can read and write. </br>
+	 * On file systems without POSIX permissions file gets default permissions.
+	 * 
+	 * @param file         token file
+	 * @param tokenText    token
+	 * @throws IOException if file can not be written
+	 */
+	private static void writeTokenFile(Path file, String tokenText) throws IOException {
+		Files.deleteIfExists(file);
+		if (file.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+			Files.createFile(file, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+		} else {
+			Files.createFile(file);
+		}
+		Files.write(file, Collections.singletonList(tokenText), CHARSET);
+	}
+	
+	/**
+	 * Method returns file with token of server.
+	 * 
+	 * @return token file
+	 */
+	public Path getTokenFile() {
+		return tokenFile;
+	}
+	
+	/**
+	 * Method returns port to which server is bound.
+	 * 
+	 * @return port number
+	 */
+	public int getPort() {
+		return serverChannel.socket().getLocalPort();
+	}
+	
+	/**
+	 * Method returns number of sessions that are currently running.
+	 * 
+	 * @return number of active sessions
+	 */
+	public int getActiveSessions() {
+		return activeSessions.get();
+	}
+	
+	/**
+	 * Method accepts connections until server is closed. </br>
+	 * Every accepted connection is handled in its own thread.
+	 * 
+	 * @throws IOException if error occurred while accepting connection
+	 */
+	public void serve() throws IOException {
+		while (true) {
+			SocketChannel channel;
+			try {
+				channel = serverChannel.accept();
+			} catch (ClosedChannelException ex) {
+				return;
+			}
+			executor.execute(() -> runSession(channel));
+		}
+	}
+	
+	/**
+	 * Method starts accepting connections in background thread.
+	 */
+	public void start() {
+		Thread thread = new Thread(() -> {
+			try {
+				serve();
+			} catch (IOException ex) {
+				System.err.println("Shell server stopped: " + ex.getMessage());
+			}
+		}, "shell-server");
+		thread.setDaemon(true);
+		thread.start();
+	}
+	
+	/**
+	 * Method runs single shell session for given connection.
+	 * 
+	 * @param channel connection of client
+	 */
+	private void runSession(SocketChannel channel) {
+		activeSessions.incrementAndGet();
+		try (Socket socket = channel.socket()) {
+			socket.setTcpNoDelay(true);
+			BufferedReader reader = new BufferedReader(
+					new InputStreamReader(socket.getInputStream(), CHARSET), READER_BUFFER_SIZE);
+			Writer writer = new OutputStreamWriter(socket.getOutputStream(), CHARSET);
+			if (!authenticate(socket, reader)) {
+				writer.write(AUTHENTICATION_FAILED + "\n");
+				writer.flush();
+				return;
+			}
+			new MyShell(reader, writer, true).run();
+		} catch (IOException ex) {
+			System.err.println("Shell session failed: " + ex.getMessage());
+		} finally {
+			activeSessions.decrementAndGet();
+		}
+	}
+	
+	/**
+	 * Method reads first line of client and checks whether it is token of server.
+	 * 
+	 * @param socket       socket of client
+	 * @param reader       reader of client input
+	 * @return             {@code true} if client sent valid token, {@code false} otherwise
+	 * @throws IOException if error occurred while reading token
+	 */
+	private boolean authenticate(Socket socket, BufferedReader reader) throws IOException {
+		socket.setSoTimeout(AUTHENTICATION_TIMEOUT);
+		String line;
+		try {
+			line = reader.readLine();
+		} catch (SocketTimeoutException ex) {
+			return false;
+		}
+		socket.setSoTimeout(0);
+		return line != null && MessageDigest.isEqual(token, line.trim().getBytes(CHARSET));
+	}
+	
+	@Override
+	public void close() throws IOException {
+		try {
+			serverChannel.close();
+			executor.shutdown();
+		} finally {
+			Files.deleteIfExists(tokenFile);
+		}
+	}
+	
+}
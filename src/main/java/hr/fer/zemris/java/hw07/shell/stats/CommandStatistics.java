@@ -0,0 +1,128 @@
+package hr.fer.zemris.java.hw07.shell.stats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of single command: number of invocations and failures, latencies, </br>
+ * number of bytes read and written and number of files touched. </br>
+ * All counters are {@link LongAdder} objects so they are cheap to update from more threads.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class CommandStatistics {
+
+	/** name of command */
+	private final String commandName;
+	/** latencies of invocations */
+	private final LatencyHistogram latencies = new LatencyHistogram();
+	/** number of invocations that ended with exception or error message */
+	private final LongAdder failures = new LongAdder();
+	/** number of bytes read */
+	private final LongAdder bytesRead = new LongAdder();
+	/** number of bytes written */
+	private final LongAdder bytesWritten = new LongAdder();
+	/** number of files touched */
+	private final LongAdder filesTouched = new LongAdder();
+	
+	/**
+	 * Constructor that creates new {@code CommandStatistics} object.
+	 * 
+	 * @param commandName {@link #commandName}
+	 */
+	public CommandStatistics(String commandName) {
+		this.commandName = commandName;
+	}
+	
+	/**
+	 * Method records single invocation of command.
+	 * 
+	 * @param measurement measurement of invocation
+	 * @param nanos       duration of invocation in nanoseconds
+	 * @param failed      {@code true} if invocation ended with exception or error message
+	 */
+	public void record(MeasuringEnvironment measurement, long nanos, boolean failed) {
+		latencies.record(nanos);
+		if (failed)
+			failures.increment();
+		bytesRead.add(measurement.getBytesRead());
+		bytesWritten.add(measurement.getBytesWritten());
+		filesTouched.add(measurement.getFilesTouched());
+	}
+	
+	/**
+	 * Method returns name of command.
+	 * 
+	 * @return command name
+	 */
+	public String getCommandName() {
+		return commandName;
+	}
+
+	/**
+	 * Method returns histogram of latencies.
+	 * 
+	 * @return latencies of command
+	 */
+	public LatencyHistogram getLatencies() {
+		return latencies;
+	}
+	
+	/**
+	 * Method returns number of invocations.
+	 * 
+	 * @return number of invocations
+	 */
+	public long getInvocations() {
+		return latencies.getCount();
+	}
+
+	/**
+	 * Method returns number of invocations that ended with exception.
+	 * 
+	 * @return number of failures
+	 */
+	public long getFailures() {
+		return failures.sum();
+	}
+
+	/**
+	 * Method returns number of bytes read.
+	 * 
+	 * @return bytes read
+	 */
+	public long getBytesRead() {
+		return bytesRead.sum();
+	}
+
+	/**
+	 * Method returns number of bytes written.
+	 * 
+	 * @return bytes written
+	 */
+	public long getBytesWritten() {
+		return bytesWritten.sum();
+	}
+
+	/**
+	 * Method returns number of files touched.
+	 * 
+	 * @return files touched
+	 */
+	public long getFilesTouched() {
+		return filesTouched.sum();
+	}
+	
+	/**
+	 * Method resets all counters.
+	 */
+	public void reset() {
+		latencies.reset();
+		failures.reset();
+		bytesRead.reset();
+		bytesWritten.reset();
+		filesTouched.reset();
+	}
+	
+}
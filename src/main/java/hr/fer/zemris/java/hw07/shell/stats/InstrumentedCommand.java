@@ -0,0 +1,75 @@
+package hr.fer.zemris.java.hw07.shell.stats;
+
+import java.util.List;
+import java.util.Objects;
+
+import hr.fer.zemris.java.hw07.jfr.CommandEvent;
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellCommand;
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+
+/**
+ * Command that executes wrapped command and records its invocation </br>
+ * in {@link SessionStatistics} of session in which it is executed.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class InstrumentedCommand implements ShellCommand {
+
+	/** name under which command is registered in shell */
+	private final String name;
+	/** command that is measured */
+	private final ShellCommand command;
+	
+	/**
+	 * Constructor that creates new {@code InstrumentedCommand} object.
+	 * 
+	 * @param name    {@link #name}
+	 * @param command {@link #command}
+	 * @throws NullPointerException if given name or command is {@code null}
+	 */
+	public InstrumentedCommand(String name, ShellCommand command) {
+		this.name = Objects.requireNonNull(name, "Name must not be null");
+		this.command = Objects.requireNonNull(command, "Command must not be null");
+	}
+	
+	@Override
+	public ShellStatus executeCommand(Environment env, String arguments) {
+		Objects.requireNonNull(env, "Environment must not be null");
+		CommandStatistics statistics = SessionStatistics.of(env).forCommand(name);
+		MeasuringEnvironment measurement = new MeasuringEnvironment(env);
+		CommandEvent event = new CommandEvent();
+		event.begin();
+		boolean failed = true;
+		long start = System.nanoTime();
+		try {
+			ShellStatus status = command.executeCommand(measurement, arguments);
+			failed = measurement.hasFailed();
+			return status;
+		} finally {
+			statistics.record(measurement, System.nanoTime() - start, failed);
+			if (event.shouldCommit()) {
+				event.command = name;
+				event.arguments = arguments;
+				event.bytesRead = measurement.getBytesRead();
+				event.bytesWritten = measurement.getBytesWritten();
+				event.filesTouched = measurement.getFilesTouched();
+				event.failed = failed;
+				event.commit();
+			}
+		}
+	}
+
+	@Override
+	public String getCommandName() {
+		return command.getCommandName();
+	}
+
+	@Override
+	public List<String> getCommandDescription() {
+		return command.getCommandDescription();
+	}
+	
+}
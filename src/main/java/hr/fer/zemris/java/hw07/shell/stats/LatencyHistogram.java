@@ -0,0 +1,172 @@
+package hr.fer.zemris.java.hw07.shell.stats;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies in nanoseconds. </br>
+ * Every power of two is divided into {@value #SUB_BUCKETS} equal buckets, </br>
+ * so reported percentiles are at most 12.5% larger than real values. </p>
+ * 
+ * Buckets are {@link LongAdder} objects so recording from more threads </br>
+ * does not contend on single counter.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class LatencyHistogram {
+
+	/** number of buckets in every power of two */
+	private static final int SUB_BUCKETS = 8;
+	/** binary logarithm of {@link #SUB_BUCKETS} */
+	private static final int SUB_BUCKET_BITS = 3;
+	/** total number of buckets */
+	private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+	
+	/** buckets of histogram */
+	private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+	/** number of recorded values */
+	private final LongAdder count = new LongAdder();
+	/** sum of recorded values */
+	private final LongAdder total = new LongAdder();
+	/** largest recorded value */
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+	
+	/**
+	 * Constructor that creates new empty {@code LatencyHistogram} object.
+	 */
+	public LatencyHistogram() {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			buckets[i] = new LongAdder();
+		}
+	}
+	
+	/**
+	 * Method records given latency.
+	 * 
+	 * @param nanos latency in nanoseconds, negative values are recorded as zero
+	 */
+	public void record(long nanos) {
+		long value = Math.max(nanos, 0);
+		buckets[indexOf(value)].increment();
+		count.increment();
+		total.add(value);
+		max.accumulate(value);
+	}
+	
+	/**
+	 * Method returns number of recorded values.
+	 * 
+	 * @return number of values
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+	
+	/**
+	 * Method returns sum of recorded values.
+	 * 
+	 * @return sum of values in nanoseconds
+	 */
+	public long getTotal() {
+		return total.sum();
+	}
+	
+	/**
+	 * Method returns largest recorded value.
+	 * 
+	 * @return largest value in nanoseconds
+	 */
+	public long getMax() {
+		return max.get();
+	}
+	
+	/**
+	 * Method returns value below which lies given percentage of recorded values.
+	 * 
+	 * @param percentile percentage in range [0, 100]
+	 * @return upper bound of bucket that contains percentile, or 0 if nothing is recorded
+	 * @throws IllegalArgumentException if percentile is out of range
+	 */
+	public long getPercentile(double percentile) {
+		if (percentile < 0 || percentile > 100)
+			throw new IllegalArgumentException("Percentile must be in range [0, 100]. Was: " + percentile);
+		
+		long[] counts = new long[BUCKET_COUNT];
+		long recorded = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts[i] = buckets[i].sum();
+			recorded += counts[i];
+		}
+		if (recorded == 0)
+			return 0;
+		
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * recorded));
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += counts[i];
+			if (seen >= rank)
+				return Math.min(upperBoundOf(i), getMax());
+		}
+		return getMax();
+	}
+	
+	/**
+	 * Method resets histogram.
+	 */
+	public void reset() {
+		for (LongAdder bucket : buckets) {
+			bucket.reset();
+		}
+		count.reset();
+		total.reset();
+		max.reset();
+	}
+	
+	/**
+	 * Method formats given duration with unit that suits it best.
+	 * 
+	 * @param nanos duration in nanoseconds
+	 * @return formatted duration
+	 */
+	public static String format(long nanos) {
+		if (nanos < 1_000L)
+			return nanos + " ns";
+		if (nanos < 1_000_000L)
+			return String.format("%.1f us", nanos / 1e3);
+		if (nanos < 1_000_000_000L)
+			return String.format("%.1f ms", nanos / 1e6);
+		return String.format("%.2f s", nanos / 1e9);
+	}
+	
+	/**
+	 * Method returns index of bucket for given value.
+	 * 
+	 * @param value non negative value
+	 * @return index of bucket
+	 */
+	private static int indexOf(long value) {
+		if (value < SUB_BUCKETS)
+			return (int) value;
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int shift = exponent - SUB_BUCKET_BITS;
+		int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+		return (shift + 1) * SUB_BUCKETS + subBucket;
+	}
+	
+	/**
+	 * Method returns largest value that belongs to bucket with given index.
+	 * 
+	 * @param index index of bucket
+	 * @return upper bound of bucket
+	 */
+	private static long upperBoundOf(int index) {
+		if (index < SUB_BUCKETS)
+			return index;
+		int shift = index / SUB_BUCKETS - 1;
+		long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+		return lower + (1L << shift) - 1;
+	}
+	
+}
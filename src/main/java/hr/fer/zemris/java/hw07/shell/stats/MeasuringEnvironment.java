@@ -0,0 +1,213 @@
+package hr.fer.zemris.java.hw07.shell.stats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellIOException;
+import hr.fer.zemris.java.hw07.shell.environment.DelegatingEnvironment;
+
+/**
+ * Environment that measures input and output of single command invocation. </br>
+ * Text read from and written to environment is counted as one byte per character, </br>
+ * unless subclass measures only files. </br>
+ * Commands that work with files report them with static methods </br>
+ * {@link #recordRead(Environment, long)}, {@link #recordWritten(Environment, long)} </br>
+ * and {@link #recordFile(Environment)}, which record them in the nearest measuring environment </br>
+ * among given environment and environments it wraps, and do nothing if there is none. </br>
+ * Measured bytes and files are added to every enclosing measuring environment as well, </br>
+ * also across pipes and redirections.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class MeasuringEnvironment extends DelegatingEnvironment {
+
+	/** number of bytes read */
+	private final LongAdder bytesRead = new LongAdder();
+	/** number of bytes written */
+	private final LongAdder bytesWritten = new LongAdder();
+	/** number of files touched */
+	private final LongAdder filesTouched = new LongAdder();
+	/** flag that tells whether text read from and written to environment is measured */
+	private final boolean measuresText;
+	/** flag that is set when command writes error message */
+	private volatile boolean failed;
+	
+	/**
+	 * Constructor that creates new {@code MeasuringEnvironment} object.
+	 * 
+	 * @param delegate environment whose input and output are measured
+	 */
+	public MeasuringEnvironment(Environment delegate) {
+		this(delegate, true);
+	}
+	
+	/**
+	 * Constructor that creates new {@code MeasuringEnvironment} object </br>
+	 * which can measure only bytes of files that commands report.
+	 * 
+	 * @param delegate     environment whose input and output are measured
+	 * @param measuresText {@link #measuresText}
+	 */
+	protected MeasuringEnvironment(Environment delegate, boolean measuresText) {
+		super(delegate);
+		this.measuresText = measuresText;
+	}
+	
+	/**
+	 * Method records that command has read given number of bytes from file.
+	 * 
+	 * @param env   environment of command
+	 * @param bytes number of bytes read
+	 */
+	public static void recordRead(Environment env, long bytes) {
+		MeasuringEnvironment measured = find(env);
+		if (measured != null)
+			measured.addRead(bytes);
+	}
+	
+	/**
+	 * Method records that command has written given number of bytes to file.
+	 * 
+	 * @param env   environment of command
+	 * @param bytes number of bytes written
+	 */
+	public static void recordWritten(Environment env, long bytes) {
+		MeasuringEnvironment measured = find(env);
+		if (measured != null)
+			measured.addWritten(bytes);
+	}
+	
+	/**
+	 * Method records that command has touched one file or directory.
+	 * 
+	 * @param env environment of command
+	 */
+	public static void recordFile(Environment env) {
+		recordFiles(env, 1);
+	}
+	
+	/**
+	 * Method records that command has touched given number of files or directories.
+	 * 
+	 * @param env   environment of command
+	 * @param count number of files
+	 */
+	public static void recordFiles(Environment env, long count) {
+		MeasuringEnvironment measured = find(env);
+		if (measured != null)
+			measured.addFiles(count);
+	}
+	
+	@Override
+	public String readLine() throws ShellIOException {
+		String line = super.readLine();
+		if (line != null && measuresText)
+			bytesRead.add(line.length());
+		return line;
+	}
+	
+	@Override
+	public void write(String text) throws ShellIOException {
+		super.write(text);
+		if (measuresText)
+			bytesWritten.add(text.length());
+	}
+	
+	@Override
+	public void writeln(String text) throws ShellIOException {
+		super.writeln(text);
+		if (measuresText)
+			bytesWritten.add(text.length() + 1);
+	}
+	
+	@Override
+	public void writeError(String message) throws ShellIOException {
+		failed = true;
+		super.writeError(message);
+	}
+	
+	/**
+	 * Method checks whether command wrote error message.
+	 * 
+	 * @return {@code true} if command wrote error message, {@code false} otherwise
+	 */
+	public boolean hasFailed() {
+		return failed;
+	}
+	
+	/**
+	 * Method returns number of bytes read.
+	 * 
+	 * @return bytes read
+	 */
+	public long getBytesRead() {
+		return bytesRead.sum();
+	}
+	
+	/**
+	 * Method returns number of bytes written.
+	 * 
+	 * @return bytes written
+	 */
+	public long getBytesWritten() {
+		return bytesWritten.sum();
+	}
+	
+	/**
+	 * Method returns number of files touched.
+	 * 
+	 * @return files touched
+	 */
+	public long getFilesTouched() {
+		return filesTouched.sum();
+	}
+	
+	/**
+	 * Method finds nearest measuring environment among given environment </br>
+	 * and environments it wraps.
+	 * 
+	 * @param env environment where search starts
+	 * @return    measuring environment, or {@code null} if there is none
+	 */
+	private static MeasuringEnvironment find(Environment env) {
+		while (env instanceof DelegatingEnvironment) {
+			if (env instanceof MeasuringEnvironment)
+				return (MeasuringEnvironment) env;
+			env = ((DelegatingEnvironment) env).getDelegate();
+		}
+		return null;
+	}
+	
+	/**
+	 * Method adds read bytes, also to the measured environment this one wraps.
+	 * 
+	 * @param bytes number of bytes read
+	 */
+	private void addRead(long bytes) {
+		bytesRead.add(bytes);
+		recordRead(getDelegate(), bytes);
+	}
+	
+	/**
+	 * Method adds written bytes, also to the measured environment this one wraps.
+	 * 
+	 * @param bytes number of bytes written
+	 */
+	private void addWritten(long bytes) {
+		bytesWritten.add(bytes);
+		recordWritten(getDelegate(), bytes);
+	}
+	
+	/**
+	 * Method adds touched files, also to the measured environment this one wraps.
+	 * 
+	 * @param count number of files
+	 */
+	private void addFiles(long count) {
+		filesTouched.add(count);
+		recordFiles(getDelegate(), count);
+	}
+	
+}
@@ -0,0 +1,63 @@
+package hr.fer.zemris.java.hw07.shell.stats;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import hr.fer.zemris.java.hw07.shell.Environment;
+
+/**
+ * Statistics of all commands executed in single shell session. </br>
+ * Object is kept in shared data of session under {@link #SHARED_DATA_KEY}.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class SessionStatistics {
+
+	/** key under which statistics are stored in shared data */
+	public static final String SHARED_DATA_KEY = "stats";
+	
+	/** statistics of every command mapped by command name */
+	private final Map<String, CommandStatistics> statistics = new ConcurrentSkipListMap<>();
+	
+	/**
+	 * Method returns statistics of session to which given environment belongs. </br>
+	 * If session has no statistics yet they are created.
+	 * 
+	 * @param env environment of session
+	 * @return statistics of session
+	 */
+	public static SessionStatistics of(Environment env) {
+		return (SessionStatistics) env.computeSharedDataIfAbsent(SHARED_DATA_KEY, k -> new SessionStatistics());
+	}
+	
+	/**
+	 * Method returns statistics of command with given name. </br>
+	 * If command has no statistics yet they are created.
+	 * 
+	 * @param commandName name of command
+	 * @return statistics of command
+	 */
+	public CommandStatistics forCommand(String commandName) {
+		return statistics.computeIfAbsent(commandName, CommandStatistics::new);
+	}
+	
+	/**
+	 * Method returns statistics of all commands that were executed, sorted by command name.
+	 * 
+	 * @return statistics of commands
+	 */
+	public Collection<CommandStatistics> getAll() {
+		return statistics.values();
+	}
+	
+	/**
+	 * Method resets statistics of all commands.
+	 */
+	public void reset() {
+		statistics.values().forEach(CommandStatistics::reset);
+	}
+	
+}
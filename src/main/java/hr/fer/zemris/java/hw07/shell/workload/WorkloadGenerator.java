@@ -0,0 +1,409 @@
+package hr.fer.zemris.java.hw07.shell.workload;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Generator of synthetic directory trees used for benchmarks and tests. </p>
+ * 
+ * Tree is fully determined by seed and {@link WorkloadProfile}: every directory and file </br>
+ * gets its own seed derived from seed of its parent and its index, so names, sizes </br>
+ * and content do not depend on number of threads or order in which they run. </br>
+ * Directories are generated in parallel on {@link ForkJoinPool}. </p>
+ * 
+ * Small files alternate between text files ({@code fileN.txt}) and binary files </br>
+ * named like {@code slikaN-city.jpg}, which suits {@code massrename} patterns.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class WorkloadGenerator {
+
+	/** size of buffer used for writing huge files */
+	private static final int BUFFER_SIZE = 1 << 20;
+	/** size of data block written into sparse file */
+	private static final int SPARSE_BLOCK_SIZE = 4 << 10;
+	/** number of data blocks written into sparse file */
+	private static final int SPARSE_BLOCKS = 4;
+	/** constant used for deriving seeds of children */
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+	/** cities used in names of binary files */
+	private static final String[] CITIES = {"zagreb", "split", "rijeka", "osijek", "zadar", "pula"};
+	/** printable characters used in text files */
+	private static final byte[] TEXT_CHARACTERS = 
+			"abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789 .,;-".getBytes();
+	/** length of line in text files */
+	private static final int LINE_LENGTH = 80;
+	
+	/** seed of tree */
+	private final long seed;
+	/** profile of tree */
+	private final WorkloadProfile profile;
+	/** number of threads */
+	private final int threads;
+	
+	/** number of created files */
+	private final LongAdder files = new LongAdder();
+	/** number of created directories */
+	private final LongAdder directories = new LongAdder();
+	/** logical size of created files */
+	private final LongAdder bytes = new LongAdder();
+	
+	/**
+	 * Constructor that creates new {@code WorkloadGenerator} object.
+	 * 
+	 * @param seed    {@link #seed}
+	 * @param profile {@link #profile}
+	 * @param threads {@link #threads}
+	 * @throws NullPointerException if given profile is {@code null}
+	 * @throws IllegalArgumentException if number of threads is not positive
+	 */
+	public WorkloadGenerator(long seed, WorkloadProfile profile, int threads) {
+		this.seed = seed;
+		this.profile = Objects.requireNonNull(profile, "Profile must not be null");
+		if (threads < 1)
+			throw new IllegalArgumentException("Number of threads must be positive. Was: " + threads);
+		this.threads = threads;
+	}
+	
+	/**
+	 * Constructor that creates new {@code WorkloadGenerator} object 
+	 * which uses one thread for every processor.
+	 * 
+	 * @param seed    {@link #seed}
+	 * @param profile {@link #profile}
+	 */
+	public WorkloadGenerator(long seed, WorkloadProfile profile) {
+		this(seed, profile, Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Method generates tree in given root directory. </br>
+	 * Root must not exist or it must be empty directory.
+	 * 
+	 * @param root root directory of tree
+	 * @return     summary of generated tree
+	 * @throws IOException if root is not empty or if tree could not be written
+	 */
+	public WorkloadSummary generate(Path root) throws IOException {
+		Objects.requireNonNull(root, "Root must not be null");
+		if (Files.exists(root)) {
+			if (!Files.isDirectory(root))
+				throw new IOException("Root of workload is not directory: " + root);
+			try (DirectoryStream<Path> stream = Files.newDirectoryStream(root)) {
+				if (stream.iterator().hasNext())
+					throw new IOException("Root of workload must be empty: " + root);
+			}
+		}
+		
+		files.reset();
+		directories.reset();
+		bytes.reset();
+		long start = System.nanoTime();
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			pool.invoke(new RootTask(root));
+		} catch (UncheckedIOException ex) {
+			throw ex.getCause();
+		} finally {
+			pool.shutdown();
+		}
+		return new WorkloadSummary(files.sum(), directories.sum(), bytes.sum(), System.nanoTime() - start);
+	}
+	
+	/**
+	 * Method derives seed of child with given index from seed of its parent.
+	 * 
+	 * @param parent seed of parent
+	 * @param index  index of child
+	 * @return       seed of child
+	 */
+	private static long childSeed(long parent, long index) {
+		long z = parent + (index + 1) * GOLDEN_GAMMA;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+	
+	/**
+	 * Method creates directory and its small files and returns tasks of its subdirectories.
+	 * 
+	 * @param directory     path of directory
+	 * @param directorySeed seed of directory
+	 * @param level         level of directory, root is on level 0
+	 * @return              tasks that generate subdirectories
+	 * @throws IOException if directory could not be written
+	 */
+	private List<DirectoryTask> createDirectory(Path directory, long directorySeed, int level) throws IOException {
+		Files.createDirectories(directory);
+		directories.increment();
+		
+		for (int i = 0, n = profile.getFilesPerDirectory(); i < n; i++) {
+			Random random = new Random(childSeed(directorySeed, i));
+			int size = random.nextInt(profile.getMaxFileSize() + 1);
+			if (i % 2 == 0) {
+				writeFile(directory.resolve("file" + i + ".txt"), random, size, true);
+			} else {
+				String city = CITIES[random.nextInt(CITIES.length)];
+				writeFile(directory.resolve("slika" + i + "-" + city + ".jpg"), random, size, false);
+			}
+		}
+		
+		List<DirectoryTask> tasks = new ArrayList<>();
+		if (level < profile.getDepth()) {
+			for (int i = 0, n = profile.getFanout(); i < n; i++) {
+				long subdirectorySeed = childSeed(directorySeed, -1 - i);
+				tasks.add(new DirectoryTask(directory.resolve("dir" + i), subdirectorySeed, level + 1));
+			}
+		}
+		return tasks;
+	}
+	
+	/**
+	 * Method writes small file with random content.
+	 * 
+	 * @param file   path of file
+	 * @param random generator of content
+	 * @param size   size of file in bytes
+	 * @param text   {@code true} if file contains lines of printable characters
+	 * @throws IOException if file could not be written
+	 */
+	private void writeFile(Path file, Random random, int size, boolean text) throws IOException {
+		byte[] data = new byte[size];
+		fill(data, random, text);
+		Files.write(file, data, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+		files.increment();
+		bytes.add(size);
+	}
+	
+	/**
+	 * Method fills given array with random content.
+	 * 
+	 * @param data   array that is filled
+	 * @param random generator of content
+	 * @param text   {@code true} if content should be lines of printable characters
+	 */
+	private static void fill(byte[] data, Random random, boolean text) {
+		if (!text) {
+			random.nextBytes(data);
+			return;
+		}
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (i % LINE_LENGTH == LINE_LENGTH - 1) 
+					? (byte) '\n' 
+					: TEXT_CHARACTERS[random.nextInt(TEXT_CHARACTERS.length)];
+		}
+	}
+	
+	/**
+	 * Method writes huge file with random content.
+	 * 
+	 * @param file     path of file
+	 * @param fileSeed seed of file
+	 * @throws IOException if file could not be written
+	 */
+	private void writeHugeFile(Path file, long fileSeed) throws IOException {
+		Random random = new Random(fileSeed);
+		byte[] data = new byte[BUFFER_SIZE];
+		ByteBuffer buffer = ByteBuffer.wrap(data);
+		long size = profile.getHugeFileSize();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+			for (long written = 0; written < size; ) {
+				int length = (int) Math.min(BUFFER_SIZE, size - written);
+				random.nextBytes(data);
+				buffer.clear().limit(length);
+				while (buffer.hasRemaining()) {
+					written += channel.write(buffer);
+				}
+			}
+		}
+		files.increment();
+		bytes.add(size);
+	}
+	
+	/**
+	 * Method writes sparse file which contains few blocks of random data
+	 * evenly spread over its logical size, rest of file are holes.
+	 * 
+	 * @param file     path of file
+	 * @param fileSeed seed of file
+	 * @throws IOException if file could not be written
+	 */
+	private void writeSparseFile(Path file, long fileSeed) throws IOException {
+		Random random = new Random(fileSeed);
+		long size = profile.getSparseFileSize();
+		int blockSize = (int) Math.min(SPARSE_BLOCK_SIZE, size);
+		byte[] data = new byte[blockSize];
+		try (FileChannel channel = FileChannel.open(file, 
+				StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.SPARSE)) {
+			for (int i = 0; i < SPARSE_BLOCKS; i++) {
+				long position = (size - blockSize) * i / (SPARSE_BLOCKS - 1);
+				random.nextBytes(data);
+				ByteBuffer buffer = ByteBuffer.wrap(data);
+				while (buffer.hasRemaining()) {
+					channel.write(buffer, position + buffer.position());
+				}
+			}
+		}
+		files.increment();
+		bytes.add(size);
+	}
+	
+	/**
+	 * Task that generates root directory with huge and sparse files and then whole tree.
+	 * 
+	 * @author Ante Gazibarić
+	 * @version 1.0
+	 *
+	 */
+	private class RootTask extends RecursiveAction {
+		
+		/** serial version */
+		private static final long serialVersionUID = 1L;
+		/** root directory */
+		private final Path root;
+		
+		/**
+		 * Constructor that creates new {@code RootTask} object.
+		 * 
+		 * @param root {@link #root}
+		 */
+		public RootTask(Path root) {
+			this.root = root;
+		}
+
+		@Override
+		protected void compute() {
+			try {
+				Files.createDirectories(root);
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+			
+			List<RecursiveAction> tasks = new ArrayList<>();
+			tasks.add(new DirectoryTask(root, seed, 0));
+			for (int i = 0; i < profile.getHugeFiles(); i++) {
+				Path file = root.resolve("huge" + i + ".bin");
+				long fileSeed = childSeed(seed, Integer.MAX_VALUE + (long) i);
+				tasks.add(new FileTask(() -> writeHugeFile(file, fileSeed)));
+			}
+			for (int i = 0; i < profile.getSparseFiles(); i++) {
+				Path file = root.resolve("sparse" + i + ".bin");
+				long fileSeed = childSeed(seed, 2L * Integer.MAX_VALUE + i);
+				tasks.add(new FileTask(() -> writeSparseFile(file, fileSeed)));
+			}
+			invokeAll(tasks);
+		}
+		
+	}
+	
+	/**
+	 * Task that generates single directory and forks tasks of its subdirectories.
+	 * 
+	 * @author Ante Gazibarić
+	 * @version 1.0
+	 *
+	 */
+	private class DirectoryTask extends RecursiveAction {
+		
+		/** serial version */
+		private static final long serialVersionUID = 1L;
+		/** path of directory */
+		private final Path directory;
+		/** seed of directory */
+		private final long directorySeed;
+		/** level of directory */
+		private final int level;
+		
+		/**
+		 * Constructor that creates new {@code DirectoryTask} object.
+		 * 
+		 * @param directory     {@link #directory}
+		 * @param directorySeed {@link #directorySeed}
+		 * @param level         {@link #level}
+		 */
+		public DirectoryTask(Path directory, long directorySeed, int level) {
+			this.directory = directory;
+			this.directorySeed = directorySeed;
+			this.level = level;
+		}
+
+		@Override
+		protected void compute() {
+			try {
+				invokeAll(createDirectory(directory, directorySeed, level));
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+		
+	}
+	
+	/**
+	 * Task that writes single file.
+	 * 
+	 * @author Ante Gazibarić
+	 * @version 1.0
+	 *
+	 */
+	private static class FileTask extends RecursiveAction {
+		
+		/** serial version */
+		private static final long serialVersionUID = 1L;
+		/** action that writes file */
+		private final FileWriter writer;
+		
+		/**
+		 * Constructor that creates new {@code FileTask} object.
+		 * 
+		 * @param writer {@link #writer}
+		 */
+		public FileTask(FileWriter writer) {
+			this.writer = writer;
+		}
+
+		@Override
+		protected void compute() {
+			try {
+				writer.write();
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+		
+	}
+	
+	/**
+	 * Action that writes file and can throw {@link IOException}.
+	 * 
+	 * @author Ante Gazibarić
+	 * @version 1.0
+	 *
+	 */
+	@FunctionalInterface
+	private interface FileWriter {
+		
+		/**
+		 * Method writes file.
+		 * 
+		 * @throws IOException if file could not be written
+		 */
+		void write() throws IOException;
+		
+	}
+	
+}
@@ -0,0 +1,141 @@
+package hr.fer.zemris.java.hw07.shell.workload;
+
+/**
+ * Size profiles of directory trees built by {@link WorkloadGenerator}. </br>
+ * Every directory up to {@link #getDepth()} levels below root has </br>
+ * {@link #getFanout()} subdirectories and {@link #getFilesPerDirectory()} small files. </br>
+ * Huge and sparse files are placed directly in root.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public enum WorkloadProfile {
+	
+	/** few hundred small files, suitable for regression tests */
+	SMALL(2, 4, 16, 4 << 10, 0, 0, 0, 0),
+	/** more than million tiny files in 1111 directories */
+	MANY(3, 10, 1000, 512, 0, 0, 0, 0),
+	/** single chain of 64 nested directories */
+	DEEP(64, 1, 4, 4 << 10, 0, 0, 0, 0),
+	/** few small files next to two files of 256 MiB */
+	HUGE(1, 2, 4, 4 << 10, 2, 256L << 20, 0, 0),
+	/** few small files next to four sparse files of 1 GiB */
+	SPARSE(1, 2, 8, 4 << 10, 0, 0, 4, 1L << 30),
+	/** combination of all the other profiles in smaller scale */
+	MIXED(3, 4, 32, 64 << 10, 1, 64L << 20, 2, 256L << 20);
+	
+	/** number of directory levels below root */
+	private final int depth;
+	/** number of subdirectories of every directory */
+	private final int fanout;
+	/** number of small files in every directory */
+	private final int filesPerDirectory;
+	/** maximal size of small file in bytes */
+	private final int maxFileSize;
+	/** number of huge files */
+	private final int hugeFiles;
+	/** size of huge file in bytes */
+	private final long hugeFileSize;
+	/** number of sparse files */
+	private final int sparseFiles;
+	/** logical size of sparse file in bytes */
+	private final long sparseFileSize;
+	
+	/**
+	 * Constructor that creates new {@code WorkloadProfile}.
+	 * 
+	 * @param depth             {@link #depth}
+	 * @param fanout            {@link #fanout}
+	 * @param filesPerDirectory {@link #filesPerDirectory}
+	 * @param maxFileSize       {@link #maxFileSize}
+	 * @param hugeFiles         {@link #hugeFiles}
+	 * @param hugeFileSize      {@link #hugeFileSize}
+	 * @param sparseFiles       {@link #sparseFiles}
+	 * @param sparseFileSize    {@link #sparseFileSize}
+	 */
+	private WorkloadProfile(int depth, int fanout, int filesPerDirectory, int maxFileSize, 
+			int hugeFiles, long hugeFileSize, int sparseFiles, long sparseFileSize) {
+		this.depth = depth;
+		this.fanout = fanout;
+		this.filesPerDirectory = filesPerDirectory;
+		this.maxFileSize = maxFileSize;
+		this.hugeFiles = hugeFiles;
+		this.hugeFileSize = hugeFileSize;
+		this.sparseFiles = sparseFiles;
+		this.sparseFileSize = sparseFileSize;
+	}
+
+	/**
+	 * Method returns number of directory levels below root.
+	 * 
+	 * @return number of directory levels below root
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Method returns number of subdirectories of every directory.
+	 * 
+	 * @return number of subdirectories of every directory
+	 */
+	public int getFanout() {
+		return fanout;
+	}
+
+	/**
+	 * Method returns number of small files in every directory.
+	 * 
+	 * @return number of small files in every directory
+	 */
+	public int getFilesPerDirectory() {
+		return filesPerDirectory;
+	}
+
+	/**
+	 * Method returns maximal size of small file in bytes.
+	 * 
+	 * @return maximal size of small file in bytes
+	 */
+	public int getMaxFileSize() {
+		return maxFileSize;
+	}
+
+	/**
+	 * Method returns number of huge files.
+	 * 
+	 * @return number of huge files
+	 */
+	public int getHugeFiles() {
+		return hugeFiles;
+	}
+
+	/**
+	 * Method returns size of huge file in bytes.
+	 * 
+	 * @return size of huge file in bytes
+	 */
+	public long getHugeFileSize() {
+		return hugeFileSize;
+	}
+
+	/**
+	 * Method returns number of sparse files.
+	 * 
+	 * @return number of sparse files
+	 */
+	public int getSparseFiles() {
+		return sparseFiles;
+	}
+
+	/**
+	 * Method returns logical size of sparse file in bytes.
+	 * 
+	 * @return logical size of sparse file in bytes
+	 */
+	public long getSparseFileSize() {
+		return sparseFileSize;
+	}
+	
+}
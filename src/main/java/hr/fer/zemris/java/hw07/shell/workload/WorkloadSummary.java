@@ -0,0 +1,78 @@
+package hr.fer.zemris.java.hw07.shell.workload;
+
+/**
+ * Summary of directory tree built by {@link WorkloadGenerator}.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public class WorkloadSummary {
+
+	/** number of created files */
+	private final long files;
+	/** number of created directories, root included */
+	private final long directories;
+	/** logical size of all created files in bytes */
+	private final long bytes;
+	/** duration of generation in nanoseconds */
+	private final long elapsedNanos;
+	
+	/**
+	 * Constructor that creates new {@code WorkloadSummary} object.
+	 * 
+	 * @param files        {@link #files}
+	 * @param directories  {@link #directories}
+	 * @param bytes        {@link #bytes}
+	 * @param elapsedNanos {@link #elapsedNanos}
+	 */
+	public WorkloadSummary(long files, long directories, long bytes, long elapsedNanos) {
+		this.files = files;
+		this.directories = directories;
+		this.bytes = bytes;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * Method returns number of created files.
+	 * 
+	 * @return number of created files
+	 */
+	public long getFiles() {
+		return files;
+	}
+
+	/**
+	 * Method returns number of created directories, root included.
+	 * 
+	 * @return number of created directories, root included
+	 */
+	public long getDirectories() {
+		return directories;
+	}
+
+	/**
+	 * Method returns logical size of all created files in bytes.
+	 * 
+	 * @return logical size of all created files in bytes
+	 */
+	public long getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * Method returns duration of generation in nanoseconds.
+	 * 
+	 * @return duration of generation in nanoseconds
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("%d files in %d directories, %d bytes, %.1f ms", 
+				files, directories, bytes, elapsedNanos / 1e6);
+	}
+	
+}
@@ -0,0 +1,104 @@
+package hr.fer.zemris.java.hw07.shell.api;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+
+public class ShellSessionTest {
+
+	private Path directory;
+	private ShellSession session;
+
+	@Before
+	public void createSession() throws IOException {
+		directory = Files.createTempDirectory("session");
+		session = Shell.newSession(directory);
+	}
+
+	@After
+	public void deleteDirectory() {
+		Shell.newSession(directory.getParent()).execute("rmtree \"" + directory.getFileName() + "\"");
+	}
+
+	@Test
+	public void testOverwritePromptDoesNotTerminateSession() throws IOException {
+		Files.write(directory.resolve("a.txt"), "a".getBytes(StandardCharsets.UTF_8));
+		Files.write(directory.resolve("b.txt"), "b".getBytes(StandardCharsets.UTF_8));
+
+		CommandResult result = session.execute("copy a.txt b.txt");
+
+		Assert.assertEquals(ShellStatus.CONTINUE, result.getStatus());
+		Assert.assertFalse(session.isTerminated());
+		Assert.assertEquals("b", new String(Files.readAllBytes(directory.resolve("b.txt")), StandardCharsets.UTF_8));
+		Assert.assertEquals(directory.toString(), session.execute("pwd").getOutput().trim());
+	}
+
+	@Test
+	public void testFailedCommandReportsError() {
+		CommandResult result = session.execute("copy nosuch.txt b.txt");
+
+		Assert.assertFalse(result.isSuccessful());
+		Assert.assertNotNull(result.getError());
+		Assert.assertEquals("", result.getOutput());
+		Assert.assertTrue(session.execute("pwd").isSuccessful());
+	}
+
+	@Test
+	public void testErrorOfPipelineStageIsNotPiped() {
+		CommandResult result = session.execute("cat nosuch.txt | cat");
+
+		Assert.assertFalse(result.isSuccessful());
+		Assert.assertEquals("", result.getOutput());
+	}
+
+	@Test
+	public void testCatReportsMissingLastFile() throws IOException {
+		Files.write(directory.resolve("a.txt"), "a".getBytes(StandardCharsets.UTF_8));
+
+		CommandResult missing = session.execute("cat a.txt missing.txt");
+		CommandResult charset = session.execute("cat a.txt UTF-8");
+
+		Assert.assertTrue(missing.getError().contains("does not exist"));
+		Assert.assertTrue(charset.isSuccessful());
+		Assert.assertEquals("a", charset.getOutput().trim());
+	}
+
+	@Test
+	public void testRedirectedFileIsVisibleToNextCommand() {
+		Assert.assertFalse(session.execute("cat out.txt").isSuccessful());
+
+		session.execute("seq 2 > out.txt");
+		session.execute("seq 3 >> out.txt");
+		CommandResult result = session.execute("cat out.txt");
+
+		Assert.assertTrue(result.isSuccessful());
+		Assert.assertEquals("1\n2\n1\n2\n3", result.getOutput().trim().replaceAll("\\R", "\n"));
+	}
+
+	@Test
+	public void testTimeMeasuresWholeQuotedPipeline() throws IOException {
+		Files.write(directory.resolve("a.txt"), "abc".getBytes(StandardCharsets.UTF_8));
+
+		CommandResult result = session.execute("time \"cat a.txt | cat > b.txt\"");
+
+		Assert.assertTrue(result.isSuccessful());
+		Assert.assertTrue(result.getOutput().startsWith("time: "));
+		Assert.assertTrue(result.getOutput().contains("read 3 B"));
+		Assert.assertEquals("abc", new String(Files.readAllBytes(directory.resolve("b.txt")), StandardCharsets.UTF_8).trim());
+	}
+
+	@Test
+	public void testExitTerminatesSession() {
+		Assert.assertEquals(ShellStatus.TERMINATE, session.execute("exit").getStatus());
+		Assert.assertTrue(session.isTerminated());
+	}
+
+}
@@ -0,0 +1,68 @@
+package hr.fer.zemris.java.hw07.shell.commands.tools;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AttributeCacheTest {
+
+	@Test
+	public void testAttributesAreCachedUntilInvalidated() throws IOException {
+		Path directory = Files.createTempDirectory("attributes");
+		Path file = directory.resolve("a.txt");
+		try {
+			AttributeCache cache = new AttributeCache(60_000);
+			Assert.assertNull(cache.get(file));
+			Files.write(file, new byte[10]);
+			Assert.assertNull(cache.get(file));
+			Assert.assertTrue(cache.get(directory).isDirectory());
+
+			cache.invalidate(directory);
+			Assert.assertEquals(10, cache.get(file).size());
+			Assert.assertEquals(10, cache.get(file).size());
+			Assert.assertEquals(2, cache.getHits());
+			Assert.assertEquals(3, cache.getMisses());
+		} finally {
+			Files.deleteIfExists(file);
+			Files.deleteIfExists(directory);
+		}
+	}
+
+	@Test
+	public void testSpellingsOfPathShareEntry() throws IOException {
+		Path directory = Files.createTempDirectory("attributes");
+		Path file = directory.resolve("a.txt");
+		try {
+			AttributeCache cache = new AttributeCache(60_000);
+			Assert.assertNull(cache.get(directory.resolve(".").resolve("a.txt")));
+			Files.write(file, new byte[10]);
+
+			cache.invalidate(directory.resolve("x").resolve("..").resolve("a.txt"));
+			Assert.assertEquals(10, cache.get(directory.resolve("./a.txt")).size());
+			Assert.assertEquals(10, cache.get(file).size());
+			Assert.assertEquals(1, cache.getHits());
+		} finally {
+			Files.deleteIfExists(file);
+			Files.deleteIfExists(directory);
+		}
+	}
+
+	@Test
+	public void testZeroTimeToLiveDisablesCaching() throws IOException {
+		Path file = Files.createTempFile("attributes", ".txt");
+		try {
+			AttributeCache cache = new AttributeCache(0);
+			cache.get(file);
+			Files.delete(file);
+
+			Assert.assertNull(cache.get(file));
+			Assert.assertEquals(0, cache.getHits());
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+}
@@ -0,0 +1,89 @@
+package hr.fer.zemris.java.hw07.shell.commands.tools;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import hr.fer.zemris.java.hw07.shell.CommandLineExecutor;
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellCommand;
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+import hr.fer.zemris.java.hw07.shell.api.Shell;
+import hr.fer.zemris.java.hw07.shell.api.ShellSession;
+import hr.fer.zemris.java.hw07.shell.glob.Operands;
+
+public class CommandToolsTest {
+
+	private Path directory;
+	private ShellSession session;
+
+	@Before
+	public void createSession() throws IOException {
+		directory = Files.createTempDirectory("tools");
+		session = Shell.newSession(directory);
+	}
+
+	@After
+	public void deleteDirectory() {
+		session.setCurrentDirectory(directory.getParent());
+		session.execute("rmtree \"" + directory.getFileName() + "\"");
+	}
+
+	@Test
+	public void testLiteralArgumentsDoNotHideExpansion() {
+		session.execute("set v value");
+		String[] literal = CommandTools.getArguments("w \"$v\"", true);
+		Assert.assertEquals("$v", literal[1]);
+
+		session.execute("set w \"$v\"");
+
+		Assert.assertTrue(session.execute("set").getOutput().contains("w=value"));
+	}
+
+	@Test
+	public void testRepeatedLineIsLexedOnce() {
+		OperandsCommand command = new OperandsCommand();
+		CommandLineExecutor executor = new CommandLineExecutor(new TreeMap<>(Collections.singletonMap("operands", command)));
+		ShellSession repeated = new ShellSession(executor);
+
+		repeated.execute("operands \"a b\" *.txt");
+		Operands first = command.operands;
+		repeated.execute("operands \"a b\" *.txt");
+
+		Assert.assertSame(first, command.operands);
+		Assert.assertEquals("a b", first.get(0));
+		Assert.assertFalse(first.isPattern(0));
+		Assert.assertTrue(first.isPattern(1));
+		Assert.assertEquals(2, CommandTools.getOperands(null, "\"a b\" *.txt").size());
+	}
+
+	private static class OperandsCommand implements ShellCommand {
+
+		private Operands operands;
+
+		@Override
+		public ShellStatus executeCommand(Environment env, String arguments) {
+			operands = CommandTools.getOperands(env, arguments);
+			return ShellStatus.CONTINUE;
+		}
+
+		@Override
+		public String getCommandName() {
+			return "operands";
+		}
+
+		@Override
+		public List<String> getCommandDescription() {
+			return Collections.emptyList();
+		}
+	}
+
+}
@@ -0,0 +1,199 @@
+package hr.fer.zemris.java.hw07.shell.copy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.CRC32C;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import hr.fer.zemris.java.hw07.crypto.Util;
+
+public class CopyEngineTest {
+
+	private Path directory;
+	private Path source;
+	private Path destination;
+
+	@Before
+	public void createSource() throws IOException {
+		directory = Files.createTempDirectory("copy");
+		source = directory.resolve("source.bin");
+		destination = directory.resolve("destination.bin");
+	}
+
+	@After
+	public void deleteFiles() throws IOException {
+		Files.deleteIfExists(source);
+		Files.deleteIfExists(destination);
+		Files.deleteIfExists(directory);
+	}
+
+	@Test
+	public void testBinaryIsCopiedUnchanged() throws IOException {
+		byte[] content = new byte[300_000];
+		new Random(42).nextBytes(content);
+		Files.write(source, content);
+
+		CopyResult result = new CopyEngine(new CopyOptions()).copy(source, destination);
+
+		Assert.assertArrayEquals(content, Files.readAllBytes(destination));
+		Assert.assertEquals(content.length, result.getBytesWritten());
+	}
+
+	@Test
+	public void testParallelCopyOfChunks() throws IOException {
+		byte[] content = new byte[1_000_003];
+		new Random(7).nextBytes(content);
+		Files.write(source, content);
+		Files.write(destination, new byte[2_000_000]);
+		CopyOptions options = new CopyOptions();
+		options.setWorkers(4);
+		options.setChunkSize(65_536);
+
+		CopyResult result = new CopyEngine(options).copy(source, destination);
+
+		Assert.assertArrayEquals(content, Files.readAllBytes(destination));
+		Assert.assertEquals(content.length, result.getBytesRead());
+	}
+
+	@Test
+	public void testResumeContinuesAfterVerifiedRanges() throws IOException {
+		byte[] content = new byte[100_000];
+		new Random(3).nextBytes(content);
+		Files.write(source, content);
+		byte[] partial = Arrays.copyOf(content, 30_000);
+		partial[25_000]++;
+		Files.write(destination, partial);
+		
+		Path file = CopyCheckpoint.getPath(destination);
+		CopyCheckpoint checkpoint = CopyCheckpoint.create(file, source.toAbsolutePath().normalize().toString(), 
+				content.length, Files.getLastModifiedTime(source).toMillis());
+		for (int end = 10_000; end <= 30_000; end += 10_000) {
+			CRC32C digest = new CRC32C();
+			digest.update(content, end - 10_000, 10_000);
+			checkpoint.append(end, digest.getValue());
+		}
+		CopyOptions options = new CopyOptions();
+		options.setResume(true);
+		options.setCheckpointInterval(10_000);
+
+		CopyResult result = new CopyEngine(options).copy(source, destination);
+
+		Assert.assertEquals(20_000, result.getResumed());
+		Assert.assertArrayEquals(content, Files.readAllBytes(destination));
+		Assert.assertFalse(Files.exists(file));
+	}
+
+	@Test
+	public void testPartialRangeLineIsRemovedWhenCheckpointIsResumed() throws IOException {
+		Path file = CopyCheckpoint.getPath(destination);
+		try {
+			CopyCheckpoint checkpoint = CopyCheckpoint.create(file, "source", 100, 1);
+			checkpoint.append(10, 0xab);
+			checkpoint.append(20, 0xcd);
+			Files.write(file, "range=3".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+			
+			CopyCheckpoint loaded = CopyCheckpoint.load(file);
+			Assert.assertEquals(2, loaded.getRanges());
+			loaded.keep(2);
+			loaded.append(30, 0xef);
+			
+			CopyCheckpoint resumed = CopyCheckpoint.load(file);
+			Assert.assertEquals(3, resumed.getRanges());
+			Assert.assertEquals(30, resumed.getEnd(2));
+			Assert.assertEquals(0xef, resumed.getDigest(2));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void testVerifiedCopyReportsDigestOfSource() throws IOException, NoSuchAlgorithmException {
+		byte[] content = new byte[2_500_000];
+		new Random(11).nextBytes(content);
+		Files.write(source, content);
+		CopyOptions options = new CopyOptions();
+		options.setVerify(StreamDigest.SHA256);
+
+		CopyResult result = new CopyEngine(options).copy(source, destination);
+
+		Assert.assertArrayEquals(content, Files.readAllBytes(destination));
+		Assert.assertEquals(Util.bytesToHex(MessageDigest.getInstance("SHA-256").digest(content)), result.getDigest());
+		Assert.assertEquals(2L * content.length, result.getBytesRead());
+		
+		options.setVerify(StreamDigest.CRC32C);
+		options.setTrustWrite(true);
+		result = new CopyEngine(options).copy(source, destination);
+		CRC32C digest = new CRC32C();
+		digest.update(content);
+		Assert.assertEquals(String.format("%08x", digest.getValue()), result.getDigest());
+		Assert.assertEquals(content.length, result.getBytesRead());
+	}
+
+	@Test
+	public void testEngineCopiesSeveralFilesWithSameBuffer() throws IOException {
+		byte[] large = new byte[1_500_000];
+		new Random(9).nextBytes(large);
+		byte[] small = "small".getBytes(StandardCharsets.UTF_8);
+		CopyOptions options = new CopyOptions();
+		options.setVerify(StreamDigest.CRC32C);
+		options.setSparse(true);
+		CopyEngine engine = new CopyEngine(options);
+
+		Files.write(source, large);
+		engine.copy(source, destination);
+		Assert.assertArrayEquals(large, Files.readAllBytes(destination));
+		Files.write(source, small);
+		CopyResult result = engine.copy(source, destination);
+
+		Assert.assertArrayEquals(small, Files.readAllBytes(destination));
+		Assert.assertEquals(2L * small.length, result.getBytesRead());
+	}
+
+	@Test
+	public void testSparseCopySkipsBlocksOfZeros() throws IOException {
+		byte[] content = new byte[3_000_000];
+		new Random(5).nextBytes(content);
+		Arrays.fill(content, 100_000, 2_000_000, (byte) 0);
+		Arrays.fill(content, 2_900_000, content.length, (byte) 0);
+		Files.write(source, content);
+		Files.write(destination, new byte[] {1, 2, 3});
+		CopyOptions options = new CopyOptions();
+		options.setSparse(true);
+
+		CopyResult result = new CopyEngine(options).copy(source, destination);
+
+		Assert.assertArrayEquals(content, Files.readAllBytes(destination));
+		Assert.assertEquals(content.length, result.getLogicalBytes());
+		Assert.assertTrue(result.getHoles() > 1_900_000);
+		Assert.assertTrue(result.getBytesWritten() < 1_100_000);
+	}
+
+	@Test
+	public void testTextModeConvertsLinesAndCharset() throws IOException {
+		Files.write(source, "čć\r\nab".getBytes(StandardCharsets.UTF_16));
+		CopyOptions options = new CopyOptions();
+		options.setSourceCharset(StandardCharsets.UTF_16);
+
+		new CopyEngine(options).copy(source, destination);
+
+		Assert.assertEquals("čć\nab\n", new String(Files.readAllBytes(destination), StandardCharsets.UTF_8));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFileIsNotCopiedToItself() throws IOException {
+		Files.write(source, new byte[] {1});
+		new CopyEngine(new CopyOptions()).copy(source, directory.resolve(".").resolve("source.bin"));
+	}
+
+}
@@ -0,0 +1,84 @@
+package hr.fer.zemris.java.hw07.shell.dispatch;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import hr.fer.zemris.java.hw07.shell.MyShell;
+
+public class AliasTableTest {
+	
+	@Test
+	public void testAliasesAreStoredAndLoaded() throws IOException {
+		Path file = Files.createTempFile("aliases", ".txt");
+		try {
+			AliasTable aliases = new AliasTable(MyShell.getExecutor(), file);
+			Alias copy = aliases.define("bk", "cptree src backup");
+			aliases.define("bkx", "bk extra");
+			aliases.define("dump", "cat a.txt | hexdumb");
+			
+			Assert.assertTrue(copy.isSimple());
+			Assert.assertEquals("src backup more", copy.resolve("more").getArguments());
+			Assert.assertTrue(copy.resolve("").isAlias());
+			Assert.assertFalse(aliases.get("dump").isSimple());
+			
+			AliasTable loaded = new AliasTable(MyShell.getExecutor(), file);
+			Assert.assertEquals("cptree src backup extra", loaded.get("bkx").getExpansion());
+			Assert.assertEquals("cat a.txt | hexdumb x", loaded.get("dump").expand("x"));
+			Assert.assertEquals(3, loaded.getAll().size());
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+	
+	@Test
+	public void testTablesSharingFileKeepAliasesOfEachOther() throws IOException {
+		Path file = Files.createTempFile("aliases", ".txt");
+		try {
+			AliasTable first = new AliasTable(MyShell.getExecutor(), file);
+			AliasTable second = new AliasTable(MyShell.getExecutor(), file);
+			first.getAll();
+			second.getAll();
+			
+			first.define("a", "pwd");
+			second.define("b", "ls .");
+			first.remove("a");
+			
+			AliasTable loaded = new AliasTable(MyShell.getExecutor(), file);
+			Assert.assertNull(loaded.get("a"));
+			Assert.assertEquals("ls .", loaded.get("b").getExpansion());
+			Assert.assertEquals("ls .", first.get("b").getExpansion());
+		} finally {
+			Files.deleteIfExists(file);
+			Files.deleteIfExists(file.resolveSibling(file.getFileName() + ".lock"));
+		}
+	}
+	
+	@Test
+	public void testOnlyArgumentsGivenToAliasAreLexed() {
+		Alias alias = new AliasTable(MyShell.getExecutor(), null).define("bk", "cptree \"my src\" backup");
+		
+		ParsedCommand first = alias.resolve("\"a b\"");
+		ParsedCommand second = alias.resolve("c");
+		
+		Assert.assertEquals("\"my src\" backup \"a b\"", first.getArguments());
+		Assert.assertArrayEquals(new String[] {"my src", "backup", "a b"}, first.lex(null, true).getArguments());
+		Assert.assertArrayEquals(new String[] {"my src", "backup", "c"}, second.lex(null, true).getArguments());
+		Assert.assertTrue(first.lex(null, true).getQuoted().get(2));
+		Assert.assertFalse(second.lex(null, true).getQuoted().get(2));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testAliasCanNotHideCommand() {
+		new AliasTable(MyShell.getExecutor(), null).define("cat", "ls .");
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidExpansion() {
+		new AliasTable(MyShell.getExecutor(), null).define("x", "nosuchcommand");
+	}
+
+}
@@ -0,0 +1,95 @@
+package hr.fer.zemris.java.hw07.shell.dispatch;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import hr.fer.zemris.java.hw07.shell.CommandLineExecutor;
+import hr.fer.zemris.java.hw07.shell.Environment;
+import hr.fer.zemris.java.hw07.shell.ShellCommand;
+import hr.fer.zemris.java.hw07.shell.ShellStatus;
+import hr.fer.zemris.java.hw07.shell.api.ShellSession;
+
+public class CommandTableTest {
+	
+	@Test
+	public void testEveryNameIsResolved() {
+		SortedMap<String, ShellCommand> commands = new TreeMap<>();
+		for (int i = 0; i < 500; i++) {
+			commands.put("command" + i, new RecordingCommand());
+		}
+		CommandTable table = new CommandTable(commands);
+		
+		Assert.assertEquals(500, table.size());
+		for (String name : commands.keySet()) {
+			Assert.assertSame(commands.get(name), table.get(name));
+		}
+		Assert.assertNull(table.get("command500"));
+		Assert.assertNull(table.get(""));
+	}
+	
+	@Test(timeout = 10_000)
+	public void testNamesWithEqualStringHash() {
+		ShellCommand aa = new RecordingCommand();
+		ShellCommand bb = new RecordingCommand();
+		SortedMap<String, ShellCommand> commands = new TreeMap<>();
+		commands.put("Aa", aa);
+		commands.put("BB", bb);
+		commands.put("AaAa", new RecordingCommand());
+		commands.put("BBBB", new RecordingCommand());
+		commands.put("AaBB", new RecordingCommand());
+		commands.put("BBAa", new RecordingCommand());
+		CommandTable table = new CommandTable(commands);
+		
+		for (String name : commands.keySet()) {
+			Assert.assertSame(commands.get(name), table.get(name));
+		}
+	}
+	
+	@Test
+	public void testNameInsideOfText() {
+		ShellCommand cat = new RecordingCommand();
+		CommandTable table = new CommandTable(new TreeMap<>(Collections.singletonMap("cat", cat)));
+		
+		Assert.assertSame(cat, table.get("  cat file", 2, 5));
+		Assert.assertNull(table.get("  cat file", 2, 4));
+	}
+	
+	@Test
+	public void testArgumentsKeepCommandName() {
+		RecordingCommand cat = new RecordingCommand();
+		SortedMap<String, ShellCommand> commands = new TreeMap<>(Collections.singletonMap("cat", cat));
+		CommandLineExecutor executor = new CommandLineExecutor(commands);
+		
+		new ShellSession(executor).execute("cat cat.txt concat");
+		Assert.assertEquals("cat.txt concat", cat.arguments);
+		new ShellSession(executor).execute("cat cat.txt concat");
+		Assert.assertEquals(1, executor.getCache().getHits());
+	}
+	
+	private static class RecordingCommand implements ShellCommand {
+		
+		private String arguments;
+		
+		@Override
+		public ShellStatus executeCommand(Environment env, String arguments) {
+			this.arguments = arguments;
+			return ShellStatus.CONTINUE;
+		}
+		
+		@Override
+		public String getCommandName() {
+			return "recording";
+		}
+		
+		@Override
+		public List<String> getCommandDescription() {
+			return Collections.emptyList();
+		}
+	}
+
+}
@@ -0,0 +1,84 @@
+package hr.fer.zemris.java.hw07.shell.glob;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import hr.fer.zemris.java.hw07.shell.api.Shell;
+import hr.fer.zemris.java.hw07.shell.api.ShellSession;
+import hr.fer.zemris.java.hw07.shell.commands.tools.CommandTools;
+
+public class GlobTest {
+
+	private Path root;
+
+	@Before
+	public void createTree() throws IOException {
+		root = Files.createTempDirectory("glob");
+		for (String file : new String[] {"a.bin", "b.bin", "c.txt", ".hidden.bin", "d/e.txt", "d/f/g.txt", "d/f/h.bin"}) {
+			Path path = root.resolve(file);
+			Files.createDirectories(path.getParent());
+			Files.write(path, file.getBytes());
+		}
+	}
+
+	@After
+	public void deleteTree() throws IOException {
+		ShellSession session = Shell.newSession();
+		session.setCurrentDirectory(root.getParent());
+		session.execute("rmtree \"" + root.getFileName() + "\"");
+	}
+
+	@Test
+	public void testPatterns() throws IOException {
+		Assert.assertEquals(names("a.bin", "b.bin"), matches("*.bin"));
+		Assert.assertEquals(names("a.bin", "c.txt"), matches("{a,c}.*"));
+		Assert.assertEquals(names("c.txt", "d/e.txt", "d/f/g.txt"), matches("**/*.txt"));
+		Assert.assertEquals(names("d/f/h.bin"), matches("d/?/*.bin"));
+		Assert.assertEquals(names(".hidden.bin"), matches(".*.bin"));
+		Assert.assertEquals(names(), matches("x/*.bin"));
+	}
+
+	@Test
+	public void testQuotedOperandIsNotPattern() throws IOException {
+		Operands operands = CommandTools.getOperands(null, "*.bin \"*.txt\" d");
+
+		Assert.assertTrue(operands.isPattern(0));
+		Assert.assertFalse(operands.isPattern(1));
+		Assert.assertFalse(operands.isPattern(2));
+		Assert.assertEquals(3, operands.forEachPath(0, 1, root, path -> {}) + operands.forEachPath(2, 3, root, path -> {}));
+	}
+
+	@Test
+	public void testCommandsAcceptManyOperands() throws IOException {
+		ShellSession session = Shell.newSession();
+		session.setCurrentDirectory(root);
+		Files.createDirectory(root.resolve("dest"));
+		session.execute("copy *.bin d/f/*.bin dest");
+
+		Assert.assertEquals(names("dest/a.bin", "dest/b.bin", "dest/h.bin"), matches("dest/*"));
+		Assert.assertEquals("a.bin\nb.bin", session.execute("cat dest/a.bin dest/b.bin").getOutput().trim());
+	}
+
+	private Set<Path> matches(String pattern) throws IOException {
+		Set<Path> matches = new HashSet<>();
+		Glob.compile(pattern).forEachMatch(root, path -> Assert.assertTrue(matches.add(root.relativize(path))));
+		return matches;
+	}
+
+	private Set<Path> names(String... names) {
+		Set<Path> paths = new HashSet<>();
+		for (String name : names) {
+			paths.add(root.getFileSystem().getPath(name));
+		}
+		return paths;
+	}
+
+}
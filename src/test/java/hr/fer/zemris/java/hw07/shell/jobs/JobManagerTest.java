@@ -0,0 +1,102 @@
+package hr.fer.zemris.java.hw07.shell.jobs;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import hr.fer.zemris.java.hw07.shell.CommandLineExecutor;
+import hr.fer.zemris.java.hw07.shell.MyShell;
+import hr.fer.zemris.java.hw07.shell.ShellIOException;
+import hr.fer.zemris.java.hw07.shell.environment.AbstractEnvironment;
+
+public class JobManagerTest {
+
+	private Path directory;
+	private CommandLineExecutor executor;
+	private TestEnvironment env;
+
+	@Before
+	public void createEnvironment() throws IOException {
+		directory = Files.createTempDirectory("jobs");
+		executor = MyShell.getExecutor();
+		env = new TestEnvironment(executor);
+		env.setCurrentDirectory(directory);
+		env.setSharedData(CommandLineExecutor.SHARED_DATA_KEY, executor);
+		env.setSharedData(JobManager.SHARED_DATA_KEY, new JobManager());
+	}
+
+	@After
+	public void deleteDirectory() {
+		env.setCurrentDirectory(directory.getParent());
+		executor.execute(env, "rmtree \"" + directory.getFileName() + "\"");
+	}
+
+	@Test(timeout = 10_000)
+	public void testWaitReportsFinishedJobs() {
+		executor.execute(env, "seq 3 &");
+		executor.execute(env, "pwd &");
+		executor.execute(env, "wait");
+
+		String output = env.output.toString();
+		Assert.assertTrue(output.contains("[1] seq 3"));
+		Assert.assertTrue(output.contains("[1] Done  seq 3"));
+		Assert.assertTrue(output.contains("[2] Done  pwd"));
+		Assert.assertTrue(output.contains(directory.toString()));
+		Assert.assertTrue(((JobManager) env.getSharedData(JobManager.SHARED_DATA_KEY)).getJobs().isEmpty());
+	}
+
+	@Test(timeout = 10_000)
+	public void testFgWaitsForJobAndCountsBytesOfFiles() throws IOException {
+		Files.write(directory.resolve("a.bin"), new byte[10_000]);
+		JobManager jobManager = (JobManager) env.getSharedData(JobManager.SHARED_DATA_KEY);
+
+		executor.execute(env, "copy a.bin b.bin &");
+		Job job = jobManager.getLast();
+		executor.execute(env, "fg");
+
+		Assert.assertTrue(job.isDone());
+		Assert.assertEquals(20_000, job.getBytesProcessed());
+		Assert.assertTrue(env.output.toString().contains("[1] Done  copy a.bin b.bin"));
+		Assert.assertTrue(Files.exists(directory.resolve("b.bin")));
+	}
+
+	private static class TestEnvironment extends AbstractEnvironment {
+
+		private StringBuffer output = new StringBuffer();
+
+		public TestEnvironment(CommandLineExecutor executor) {
+			super(executor.getCommands());
+		}
+
+		@Override
+		public String readLine() throws ShellIOException {
+			return null;
+		}
+
+		@Override
+		public boolean hasPipedInput() {
+			return false;
+		}
+
+		@Override
+		public void write(String text) throws ShellIOException {
+			output.append(text);
+		}
+
+		@Override
+		public void writeln(String text) throws ShellIOException {
+			output.append(text + "\n");
+		}
+
+		@Override
+		public void flush() throws ShellIOException {
+		}
+
+	}
+
+}
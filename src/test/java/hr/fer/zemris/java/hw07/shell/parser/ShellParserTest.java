@@ -0,0 +1,106 @@
+package hr.fer.zemris.java.hw07.shell.parser;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import hr.fer.zemris.java.hw07.shell.lexer.Expander;
+import hr.fer.zemris.java.hw07.shell.lexer.ShellLexer;
+import hr.fer.zemris.java.hw07.shell.lexer.ShellLexerException;
+import hr.fer.zemris.java.hw07.shell.lexer.TokenType;
+
+public class ShellParserTest {
+	
+	@Test
+	public void testUnquotedInputs() {
+		String[] actual = new ShellParser("  copy \t a.txt\n b.txt ", true).getArguments();
+		
+		Assert.assertArrayEquals(new String[] {"copy", "a.txt", "b.txt"}, actual);
+	}
+	
+	@Test
+	public void testEmptyInput() {
+		Assert.assertEquals(0, new ShellParser("   ", true).getArguments().length);
+	}
+	
+	@Test
+	public void testQuotedInputWithEscaping() {
+		String[] actual = new ShellParser("\"C:\\\\Program Files\\\\a \\\"b\\\"\" next", true).getArguments();
+		
+		Assert.assertArrayEquals(new String[] {"C:\\Program Files\\a \"b\"", "next"}, actual);
+	}
+	
+	@Test
+	public void testQuotedInputWithoutEscaping() {
+		String[] actual = new ShellParser("\"slika(\\d+)-([^.]+)\\.jpg\" \"${1}\"", false).getArguments();
+		
+		Assert.assertArrayEquals(new String[] {"slika(\\d+)-([^.]+)\\.jpg", "${1}"}, actual);
+	}
+	
+	@Test
+	public void testManyInputs() {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			sb.append("\"arg\\\"").append(i).append("\" ");
+		}
+		String[] actual = new ShellParser(sb, true).getArguments();
+		
+		Assert.assertEquals(1000, actual.length);
+		Assert.assertEquals("arg\"999", actual[999]);
+	}
+	
+	@Test(expected = ShellParserException.class)
+	public void testMissingQuote() {
+		new ShellParser("\"abc\\\"", true);
+	}
+	
+	@Test
+	public void testLexerReturnsSlices() {
+		ShellLexer lexer = new ShellLexer("first \"sec\\\"ond\"");
+		
+		Assert.assertEquals("first", lexer.nextToken().getValue().toString());
+		Assert.assertEquals("sec\"ond", lexer.nextToken().getValue().toString());
+		Assert.assertEquals(TokenType.EOF, lexer.nextToken().getType());
+	}
+	
+	@Test(expected = ShellLexerException.class)
+	public void testLexerAfterEof() {
+		ShellLexer lexer = new ShellLexer("");
+		lexer.nextToken();
+		lexer.nextToken();
+	}
+	
+	@Test
+	public void testExpansion() {
+		String[] actual = new ShellParser("$DIR/a \"${DIR}x \\$DIR\" \"${1}\" $(ls \"a b\") $MISSING$ end", true, new TestExpander()).getArguments();
+		
+		Assert.assertArrayEquals(new String[] {"dir/a", "dirx $DIR", "${1}", "[ls \"a b\"]", "$", "end"}, actual);
+	}
+	
+	@Test
+	public void testSubstitutionIsLazy() {
+		TestExpander expander = new TestExpander();
+		ShellLexer lexer = new ShellLexer("first $(second) $(third)", expander);
+		
+		lexer.nextToken();
+		Assert.assertEquals(0, expander.substitutions);
+		Assert.assertEquals("[second]", lexer.nextToken().getValue().toString());
+		Assert.assertEquals(1, expander.substitutions);
+	}
+	
+	private static class TestExpander implements Expander {
+		
+		private int substitutions;
+		
+		@Override
+		public String getVariable(String name) {
+			return name.equals("DIR") ? "dir" : null;
+		}
+		
+		@Override
+		public String substitute(String commandLine) {
+			substitutions++;
+			return "[" + commandLine + "]";
+		}
+	}
+	
+}
@@ -0,0 +1,71 @@
+package hr.fer.zemris.java.hw07.shell.pipeline;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import hr.fer.zemris.java.hw07.shell.ShellIOException;
+import hr.fer.zemris.java.hw07.shell.api.CommandResult;
+import hr.fer.zemris.java.hw07.shell.api.Shell;
+import hr.fer.zemris.java.hw07.shell.api.ShellSession;
+
+public class PipelineTest {
+
+	private Path directory;
+	private ShellSession session;
+
+	@Before
+	public void createSession() throws IOException {
+		directory = Files.createTempDirectory("pipeline");
+		session = Shell.newSession(directory);
+	}
+
+	@After
+	public void deleteDirectory() {
+		session.setCurrentDirectory(directory.getParent());
+		session.execute("rmtree \"" + directory.getFileName() + "\"");
+	}
+
+	@Test
+	public void testLinesAreStreamedToNextCommand() {
+		CommandResult result = session.execute("seq 3 | cat | cat");
+
+		Assert.assertTrue(result.isSuccessful());
+		Assert.assertEquals(Arrays.asList("1", "2", "3"), Arrays.asList(result.getOutput().trim().split("\\R")));
+	}
+
+	@Test(timeout = 10_000)
+	public void testWriterStopsWhenReaderExits() {
+		CommandResult result = session.execute("seq 100000000 | pwd");
+
+		Assert.assertTrue(result.isSuccessful());
+		Assert.assertEquals(directory.toString(), result.getOutput().trim());
+	}
+
+	@Test(expected = ShellIOException.class)
+	public void testClosedPipeFailsWriter() {
+		Pipe pipe = new Pipe(1);
+		pipe.write("a");
+		pipe.closeRead();
+		pipe.closeWrite();
+		pipe.write("b");
+	}
+
+	@Test
+	public void testCopyDoesNotReadAnswerFromPipe() throws IOException {
+		Files.write(directory.resolve("a.txt"), "a".getBytes(StandardCharsets.UTF_8));
+		Files.write(directory.resolve("b.txt"), "b".getBytes(StandardCharsets.UTF_8));
+
+		session.execute("seq 3 | copy a.txt b.txt");
+
+		Assert.assertEquals("b", new String(Files.readAllBytes(directory.resolve("b.txt")), StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,54 @@
+package hr.fer.zemris.java.hw07.shell.script;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import hr.fer.zemris.java.hw07.shell.MyShell;
+import hr.fer.zemris.java.hw07.shell.api.CommandResult;
+import hr.fer.zemris.java.hw07.shell.api.Shell;
+import hr.fer.zemris.java.hw07.shell.api.ShellSession;
+
+public class ScriptCompilerTest {
+	
+	@Test
+	public void testLoops() {
+		ShellSession session = Shell.newSession();
+		session.execute("for i in $(seq 3) \"a b\"; do set LAST $i; done");
+		session.execute("while [ -n \"$LAST\" ]; do\n set LAST\n set EMPTY yes\ndone");
+		
+		Assert.assertEquals("EMPTY=yes\ni=a b\n", session.execute("set").getOutput());
+	}
+	
+	@Test
+	public void testIf() {
+		ShellSession session = Shell.newSession();
+		String script = 
+				"# comment\n" +
+				"for x in 1 2 3; do\n" +
+				"  if [ $x -eq 1 ]; then set A $x\n" +
+				"  elif [ \"$x\" = 2 ]; then set B $x\n" +
+				"  else set C $x; fi\n" +
+				"done";
+		
+		CommandResult result = session.execute(script);
+		Assert.assertTrue(result.isSuccessful());
+		Assert.assertEquals("A=1\nB=2\nC=3\nx=3\n", session.execute("set").getOutput());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testMissingDone() {
+		ScriptCompiler.compile("for x in a b; do\n set X $x\n", MyShell.getExecutor());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidCommandIsFoundBeforeExecution() {
+		ScriptCompiler.compile("if [ -d . ]; then\n pwd\nelse\n nosuchcommand\nfi", MyShell.getExecutor());
+	}
+	
+	@Test
+	public void testDepthChange() {
+		Assert.assertEquals(2, ScriptCompiler.getDepthChange("for x in a; do if [ a ]; then"));
+		Assert.assertEquals(0, ScriptCompiler.getDepthChange("while [ a ]; do set \"done;fi\"; done"));
+	}
+
+}
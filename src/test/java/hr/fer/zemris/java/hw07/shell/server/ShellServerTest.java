@@ -0,0 +1,70 @@
+package hr.fer.zemris.java.hw07.shell.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ShellServerTest {
+
+	private Path directory;
+	private ShellServer server;
+
+	@Before
+	public void startServer() throws IOException {
+		directory = Files.createTempDirectory("server");
+		server = new ShellServer(0, directory.resolve("token"));
+		server.start();
+	}
+
+	@After
+	public void stopServer() throws IOException {
+		server.close();
+		Files.deleteIfExists(directory);
+	}
+
+	@Test
+	public void testTokenFileIsReadableOnlyByOwner() throws IOException {
+		Assert.assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(server.getTokenFile())));
+	}
+
+	@Test(timeout = 10_000)
+	public void testClientWithTokenGetsSession() throws IOException {
+		try (Socket socket = ShellClient.connect(server.getPort(), server.getTokenFile())) {
+			socket.getOutputStream().write("pwd\nexit\n".getBytes(ShellServer.CHARSET));
+			String output = read(socket);
+			Assert.assertFalse(output.contains("Authentication failed."));
+			Assert.assertTrue(output.contains(System.getProperty("user.dir")));
+		}
+	}
+
+	@Test(timeout = 10_000)
+	public void testClientWithoutTokenIsRejected() throws IOException {
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+			OutputStream os = socket.getOutputStream();
+			os.write("pwd\nexit\n".getBytes(ShellServer.CHARSET));
+			Assert.assertEquals("Authentication failed.", read(socket).trim());
+		}
+	}
+
+	private static String read(Socket socket) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), ShellServer.CHARSET));
+		String line;
+		while ((line = reader.readLine()) != null) {
+			sb.append(line).append('\n');
+		}
+		return sb.toString();
+	}
+
+}
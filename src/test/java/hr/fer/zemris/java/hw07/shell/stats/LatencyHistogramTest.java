@@ -0,0 +1,78 @@
+package hr.fer.zemris.java.hw07.shell.stats;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void testEmptyHistogram() {
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		Assert.assertEquals(0, histogram.getPercentile(50));
+		Assert.assertEquals(0, histogram.getMax());
+		Assert.assertEquals(0, histogram.getCount());
+	}
+
+	@Test
+	public void testPercentilesAndMax() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1000; i >= 1; i--) {
+			histogram.record(i);
+		}
+
+		Assert.assertEquals(1000, histogram.getCount());
+		Assert.assertEquals(500_500, histogram.getTotal());
+		Assert.assertEquals(1000, histogram.getMax());
+		Assert.assertEquals(511, histogram.getPercentile(50));
+		Assert.assertEquals(1000, histogram.getPercentile(99));
+		Assert.assertEquals(1000, histogram.getPercentile(100));
+		Assert.assertEquals(1, histogram.getPercentile(0));
+	}
+
+	@Test
+	public void testValuesAtBucketEdges() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(15);
+		histogram.record(16);
+		histogram.record(17);
+		histogram.record(18);
+
+		Assert.assertEquals(15, histogram.getPercentile(25));
+		Assert.assertEquals(17, histogram.getPercentile(50));
+		Assert.assertEquals(17, histogram.getPercentile(75));
+		Assert.assertEquals(18, histogram.getPercentile(99));
+		Assert.assertEquals(18, histogram.getMax());
+	}
+
+	@Test
+	public void testPercentileIsUpperBoundOfBucketWithinEighth() {
+		long[] values = {0, 7, 8, 9, 15, 16, 17, 31, 32, 33, 1023, 1024, 1025, 999_999, 1_000_000,
+				Long.MAX_VALUE / 2, Long.MAX_VALUE / 2 + 1, Long.MAX_VALUE - 1};
+		for (long value : values) {
+			LatencyHistogram histogram = new LatencyHistogram();
+			histogram.record(value);
+			histogram.record(Long.MAX_VALUE);
+
+			long percentile = histogram.getPercentile(50);
+			Assert.assertTrue(value + " -> " + percentile, percentile >= value);
+			Assert.assertTrue(value + " -> " + percentile, percentile - value <= value / 8);
+			Assert.assertEquals(Long.MAX_VALUE, histogram.getPercentile(100));
+		}
+	}
+
+	@Test
+	public void testNegativeValueIsRecordedAsZero() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(-5);
+
+		Assert.assertEquals(0, histogram.getPercentile(99));
+		Assert.assertEquals(0, histogram.getTotal());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testPercentileOutOfRange() {
+		new LatencyHistogram().getPercentile(100.5);
+	}
+
+}
@@ -0,0 +1,53 @@
+package hr.fer.zemris.java.hw07.shell.workload;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class WorkloadGeneratorTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	@Test
+	public void testSameSeedGivesSameTree() throws IOException {
+		Path first = folder.getRoot().toPath().resolve("first");
+		Path second = folder.getRoot().toPath().resolve("second");
+		new WorkloadGenerator(Workloads.SEED, WorkloadProfile.SMALL, 1).generate(first);
+		new WorkloadGenerator(Workloads.SEED, WorkloadProfile.SMALL, 4).generate(second);
+		
+		Assert.assertEquals(Workloads.fingerprint(first), Workloads.fingerprint(second));
+	}
+	
+	@Test
+	public void testDifferentSeedGivesDifferentTree() throws IOException {
+		Path first = folder.getRoot().toPath().resolve("first");
+		Path second = folder.getRoot().toPath().resolve("second");
+		new WorkloadGenerator(1, WorkloadProfile.SMALL).generate(first);
+		new WorkloadGenerator(2, WorkloadProfile.SMALL).generate(second);
+		
+		Assert.assertNotEquals(Workloads.fingerprint(first), Workloads.fingerprint(second));
+	}
+	
+	@Test
+	public void testSummaryMatchesProfile() throws IOException {
+		Path root = folder.getRoot().toPath().resolve("deep");
+		WorkloadSummary summary = new WorkloadGenerator(Workloads.SEED, WorkloadProfile.DEEP).generate(root);
+		
+		Assert.assertEquals(65, summary.getDirectories());
+		Assert.assertEquals(65 * 4, summary.getFiles());
+		Assert.assertTrue(Files.isDirectory(root.resolve("dir0/dir0/dir0")));
+	}
+	
+	@Test(expected = IOException.class)
+	public void testNonEmptyRootIsRejected() throws IOException {
+		Path root = Workloads.create(folder, WorkloadProfile.SMALL);
+		new WorkloadGenerator(Workloads.SEED, WorkloadProfile.SMALL).generate(root);
+	}
+	
+}
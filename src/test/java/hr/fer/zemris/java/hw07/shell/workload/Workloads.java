@@ -0,0 +1,84 @@
+package hr.fer.zemris.java.hw07.shell.workload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.rules.TemporaryFolder;
+
+import hr.fer.zemris.java.hw07.crypto.Util;
+
+/**
+ * Helper methods for tests that need generated directory trees.
+ * 
+ * @author Ante Gazibarić
+ * @version 1.0
+ *
+ */
+public final class Workloads {
+
+	/** default seed used by tests */
+	public static final long SEED = 42;
+	
+	/**
+	 * Private constructor, class only has static methods.
+	 */
+	private Workloads() {
+	}
+	
+	/**
+	 * Method generates tree with given profile and {@link #SEED} in new directory of given folder.
+	 * 
+	 * @param folder  temporary folder of test
+	 * @param profile profile of tree
+	 * @return        root of generated tree
+	 * @throws IOException if tree could not be generated
+	 */
+	public static Path create(TemporaryFolder folder, WorkloadProfile profile) throws IOException {
+		Path root = folder.getRoot().toPath().resolve(profile.name().toLowerCase() + "-" + SEED);
+		new WorkloadGenerator(SEED, profile).generate(root);
+		return root;
+	}
+	
+	/**
+	 * Method calculates SHA-256 fingerprint of tree: relative paths of all files </br>
+	 * and directories in sorted order together with content of files.
+	 * 
+	 * @param root root of tree
+	 * @return     hex encoded fingerprint
+	 * @throws IOException if tree could not be read
+	 */
+	public static String fingerprint(Path root) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+		
+		List<Path> paths;
+		try (Stream<Path> stream = Files.walk(root)) {
+			paths = stream.sorted().collect(Collectors.toList());
+		}
+		byte[] buffer = new byte[1 << 16];
+		for (Path path : paths) {
+			digest.update(root.relativize(path).toString().getBytes("UTF-8"));
+			if (!Files.isRegularFile(path)) 
+				continue;
+			try (InputStream is = Files.newInputStream(path)) {
+				int r;
+				while ((r = is.read(buffer)) > 0) {
+					digest.update(buffer, 0, r);
+				}
+			}
+		}
+		return Util.bytesToHex(digest.digest());
+	}
+	
+}